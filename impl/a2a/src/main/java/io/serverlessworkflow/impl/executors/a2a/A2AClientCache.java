@@ -0,0 +1,101 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.executors.a2a;
+
+import io.serverlessworkflow.impl.WorkflowApplication;
+import io.serverlessworkflow.impl.config.ConfigManager;
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import org.a2aproject.sdk.client.Client;
+import org.a2aproject.sdk.client.config.ClientConfig;
+import org.a2aproject.sdk.client.transport.jsonrpc.JSONRPCTransport;
+import org.a2aproject.sdk.client.transport.jsonrpc.JSONRPCTransportConfig;
+import org.a2aproject.sdk.jsonrpc.common.json.JsonProcessingException;
+import org.a2aproject.sdk.jsonrpc.common.json.JsonUtil;
+import org.a2aproject.sdk.spec.A2AClientException;
+import org.a2aproject.sdk.spec.AgentCard;
+
+/**
+ * Agent cards and the clients built for them, keyed by the card URI. All clients are built with the
+ * same JSON-RPC transport configuration.
+ *
+ * <p>Cards are cached for one minute by default, then revalidated as described in {@link
+ * AgentCardCache}. A TTL of zero revalidates the card on every call, still reusing the client while
+ * the card does not change. Failures fetching the card or talking to the agent evict the entry.
+ */
+class A2AClientCache extends AgentCardCache<AgentCard, Client, A2AClientException> {
+
+  static final String A2A_CLIENT_CACHE = "a2aClientCache";
+  static final String TTL_PROPERTY = "io.serverlessworkflow.impl.a2a.cardTtlMillis";
+  static final String MAX_ENTRIES_PROPERTY = "io.serverlessworkflow.impl.a2a.maxCachedCards";
+  static final long DEFAULT_TTL_MILLIS = 60_000L;
+  static final int DEFAULT_MAX_ENTRIES = 64;
+
+  static A2AClientCache of(WorkflowApplication application) {
+    ConfigManager config = application.configManager();
+    return application.sharedResource(
+        A2A_CLIENT_CACHE,
+        () ->
+            new A2AClientCache(
+                Duration.ofMillis(
+                    config.config(TTL_PROPERTY, Long.class).orElse(DEFAULT_TTL_MILLIS)),
+                config.config(MAX_ENTRIES_PROPERTY, Integer.class).orElse(DEFAULT_MAX_ENTRIES)));
+  }
+
+  A2AClientCache(Duration ttl, int maxEntries) {
+    super(ttl, maxEntries);
+  }
+
+  /** Whether the error is likely due to a stale card or a broken client */
+  static boolean isClientError(Throwable ex) {
+    while (ex != null) {
+      if (ex instanceof A2AClientException || ex instanceof IOException) {
+        return true;
+      }
+      ex = ex.getCause();
+    }
+    return false;
+  }
+
+  @Override
+  protected AgentCard parseCard(URI uri, String body) throws A2AClientException {
+    // same parsing A2ACardResolver applies to the card it fetches
+    try {
+      return JsonUtil.fromJson(body, AgentCard.class);
+    } catch (JsonProcessingException e) {
+      throw new A2AClientException("Invalid agent card " + uri, e);
+    }
+  }
+
+  @Override
+  protected A2AClientException fetchError(URI uri, String message, Exception cause) {
+    return new A2AClientException(message, cause);
+  }
+
+  @Override
+  protected Client buildClient(AgentCard card) throws A2AClientException {
+    return Client.builder(card)
+        .clientConfig(new ClientConfig.Builder().build())
+        .withTransport(JSONRPCTransport.class, new JSONRPCTransportConfig())
+        .build();
+  }
+
+  @Override
+  protected void closeClient(Client client) {
+    client.close();
+  }
+}
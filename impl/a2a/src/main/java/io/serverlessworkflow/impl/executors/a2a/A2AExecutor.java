@@ -16,19 +16,18 @@
 package io.serverlessworkflow.impl.executors.a2a;
 
 import io.serverlessworkflow.impl.TaskContext;
+import io.serverlessworkflow.impl.WorkflowApplication;
 import io.serverlessworkflow.impl.WorkflowContext;
 import io.serverlessworkflow.impl.WorkflowModel;
 import io.serverlessworkflow.impl.WorkflowValueResolver;
+import io.serverlessworkflow.impl.WorkloadType;
+import io.serverlessworkflow.impl.auth.AuthProvider;
+import io.serverlessworkflow.impl.auth.AuthUtils;
 import io.serverlessworkflow.impl.executors.CallableTask;
 import java.net.URI;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
-import org.a2aproject.sdk.client.Client;
-import org.a2aproject.sdk.client.config.ClientConfig;
-import org.a2aproject.sdk.client.http.A2ACardResolver;
-import org.a2aproject.sdk.client.transport.jsonrpc.JSONRPCTransport;
-import org.a2aproject.sdk.client.transport.jsonrpc.JSONRPCTransportConfig;
 import org.a2aproject.sdk.spec.A2AClientException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,6 +35,7 @@ import org.slf4j.LoggerFactory;
 class A2AExecutor implements CallableTask {
 
   private final WorkflowValueResolver<URI> uriSupplier;
+  private final Optional<AuthProvider> authProvider;
   private final A2ARequestDispatcher dispatcher;
   private final Optional<WorkflowValueResolver<Map<String, Object>>> mapResolver;
 
@@ -43,9 +43,11 @@ class A2AExecutor implements CallableTask {
 
   public A2AExecutor(
       WorkflowValueResolver<URI> uriSupplier,
+      Optional<AuthProvider> authProvider,
       A2ARequestDispatcher dispatcher,
       Optional<WorkflowValueResolver<Map<String, Object>>> mapResolver) {
     this.uriSupplier = uriSupplier;
+    this.authProvider = authProvider;
     this.dispatcher = dispatcher;
     this.mapResolver = mapResolver;
   }
@@ -54,37 +56,51 @@ class A2AExecutor implements CallableTask {
   public CompletableFuture<WorkflowModel> apply(
       WorkflowContext workflowContext, TaskContext taskContext, WorkflowModel input) {
     URI uri = uriSupplier.apply(workflowContext, taskContext, input);
+    WorkflowApplication application = workflowContext.definition().application();
+    A2AClientCache cache = A2AClientCache.of(application);
 
     return CompletableFuture.supplyAsync(
             () -> {
               try {
-                return A2ACardResolver.builder()
-                    .baseUrl(uri.resolve("/").toString())
-                    .agentCardPath(uri.getPath())
-                    .build()
-                    .getAgentCard();
+                // resolving the authorization might fetch a token, so it is not done by the caller
+                Optional<String> auth =
+                    authProvider.map(
+                        p ->
+                            AuthUtils.authHeaderValue(
+                                p.scheme(), p.content(workflowContext, taskContext, input, uri)));
+                return cache.acquire(uri, auth);
               } catch (A2AClientException ex) {
                 throw A2AUtils.workflowException(taskContext.position(), ex);
               }
             },
-            workflowContext.definition().application().executorService())
+            application.executorService(WorkloadType.BLOCKING_IO))
         .thenCompose(
-            agentCard -> {
-              logger.debug("Agent card is {}", agentCard);
+            entry -> {
+              logger.debug("Agent card is {}", entry.card());
               try {
-                return dispatcher.apply(
-                    agentCard,
-                    Client.builder(agentCard)
-                        .clientConfig(new ClientConfig.Builder().build())
-                        .withTransport(JSONRPCTransport.class, new JSONRPCTransportConfig())
-                        .build(),
-                    mapResolver
-                        .map(m -> m.apply(workflowContext, taskContext, input))
-                        .orElse(Map.of()),
-                    workflowContext,
-                    taskContext);
+                return dispatcher
+                    .apply(
+                        entry.card(),
+                        entry.client(),
+                        mapResolver
+                            .map(m -> m.apply(workflowContext, taskContext, input))
+                            .orElse(Map.of()),
+                        workflowContext,
+                        taskContext)
+                    .whenComplete(
+                        (result, ex) -> {
+                          if (A2AClientCache.isClientError(ex)) {
+                            cache.invalidate(uri, entry);
+                          }
+                          cache.release(entry);
+                        });
               } catch (A2AClientException ex) {
+                cache.invalidate(uri, entry);
+                cache.release(entry);
                 throw A2AUtils.workflowException(taskContext.position(), ex);
+              } catch (RuntimeException ex) {
+                cache.release(entry);
+                throw ex;
               }
             });
   }
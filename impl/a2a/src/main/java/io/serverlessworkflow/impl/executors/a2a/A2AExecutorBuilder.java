@@ -17,6 +17,7 @@ package io.serverlessworkflow.impl.executors.a2a;
 
 import io.serverlessworkflow.api.types.A2AArguments;
 import io.serverlessworkflow.api.types.CallA2A;
+import io.serverlessworkflow.api.types.Endpoint;
 import io.serverlessworkflow.api.types.Parameters;
 import io.serverlessworkflow.api.types.TaskBase;
 import io.serverlessworkflow.api.types.WithA2AParameters;
@@ -24,6 +25,7 @@ import io.serverlessworkflow.impl.WorkflowDefinition;
 import io.serverlessworkflow.impl.WorkflowMutablePosition;
 import io.serverlessworkflow.impl.WorkflowUtils;
 import io.serverlessworkflow.impl.WorkflowValueResolver;
+import io.serverlessworkflow.impl.auth.AuthProvider;
 import io.serverlessworkflow.impl.executors.CallableTaskBuilder;
 import io.serverlessworkflow.impl.executors.CallableTaskFactory;
 import java.net.URI;
@@ -42,14 +44,20 @@ public class A2AExecutorBuilder implements CallableTaskBuilder<CallA2A> {
       CallA2A task, WorkflowDefinition definition, WorkflowMutablePosition position) {
     A2AArguments args = task.getWith();
 
-    WorkflowValueResolver<URI> uriSupplier;
+    Endpoint endpoint;
     if (args.getServer() != null) {
-      uriSupplier = definition.resourceLoader().uriSupplier(args.getServer());
+      endpoint = args.getServer();
     } else if (args.getAgentCard() != null) {
-      uriSupplier = definition.resourceLoader().uriSupplier(args.getAgentCard().getEndpoint());
+      endpoint = args.getAgentCard().getEndpoint();
     } else {
       throw new IllegalArgumentException("Neither server nor agent card is set for task: " + task);
     }
+    WorkflowValueResolver<URI> uriSupplier = definition.resourceLoader().uriSupplier(endpoint);
+    Optional<AuthProvider> authProvider =
+        definition
+            .application()
+            .authProviderFactory()
+            .getAuth(definition, endpoint.getEndpointConfiguration());
 
     A2ARequestDispatcher dispatcher =
         switch (args.getMethod()) {
@@ -88,6 +96,6 @@ public class A2AExecutorBuilder implements CallableTaskBuilder<CallA2A> {
                   parameters.getString(),
                   a2aParameters != null ? a2aParameters.getAdditionalProperties() : null));
     }
-    return () -> new A2AExecutor(uriSupplier, dispatcher, mapResolver);
+    return () -> new A2AExecutor(uriSupplier, authProvider, dispatcher, mapResolver);
   }
 }
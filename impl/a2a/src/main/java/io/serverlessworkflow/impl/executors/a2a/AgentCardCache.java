@@ -0,0 +1,324 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.executors.a2a;
+
+import io.serverlessworkflow.impl.auth.AuthUtils;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Agent cards and the clients built for them, keyed by the card URI, in least recently used order.
+ *
+ * <p>Cards are fetched with a single GET, carrying the authorization header of the call. Once the
+ * TTL of a card expires, that GET is conditional (<code>If-None-Match</code> with the ETag the card
+ * was served with), so an unchanged card costs a <code>304</code> response, while a changed one
+ * comes in the same response. The client is only rebuilt if the card has changed. Concurrent calls
+ * finding the same card missing or expired wait for the one loading it instead of fetching it too.
+ *
+ * <p>Calls lease an entry through {@link #acquire(URI, Optional)} and give it back through {@link
+ * #release(Entry)}. The client of an entry that is replaced, evicted, invalidated or still cached
+ * when the cache is closed is closed as soon as no call is using it.
+ */
+abstract class AgentCardCache<C, T, E extends Exception> implements AutoCloseable {
+
+  private static final Logger logger = LoggerFactory.getLogger(AgentCardCache.class);
+
+  private static final Duration FETCH_TIMEOUT = Duration.ofSeconds(10);
+
+  /** Card and client of an agent */
+  static final class Entry<C, T> {
+    private final C card;
+    private final T client;
+    private volatile String etag;
+    private volatile Instant loadedAt;
+    // guarded by the cache
+    private int inUse;
+    private boolean retired;
+
+    private Entry(C card, T client, String etag) {
+      this.card = card;
+      this.client = client;
+      this.etag = etag;
+      this.loadedAt = Instant.now();
+    }
+
+    C card() {
+      return card;
+    }
+
+    T client() {
+      return client;
+    }
+
+    private void refreshed(String etag) {
+      this.etag = etag;
+      this.loadedAt = Instant.now();
+    }
+  }
+
+  private final Duration ttl;
+  private final int maxEntries;
+  private final Map<String, Entry<C, T>> entries = new LinkedHashMap<>(16, 0.75f, true);
+  // loads in progress, completed with the loaded entry or null if loading failed
+  private final Map<String, CompletableFuture<Entry<C, T>>> loading = new HashMap<>();
+  private final HttpClient http =
+      HttpClient.newBuilder()
+          .connectTimeout(FETCH_TIMEOUT)
+          .followRedirects(HttpClient.Redirect.NORMAL)
+          .build();
+  private boolean closed;
+
+  protected AgentCardCache(Duration ttl, int maxEntries) {
+    this.ttl = ttl;
+    this.maxEntries = maxEntries;
+  }
+
+  /** Parses the card returned by the agent */
+  protected abstract C parseCard(URI uri, String body) throws E;
+
+  protected abstract T buildClient(C card) throws E;
+
+  protected abstract void closeClient(T client);
+
+  /** Error to throw when the card cannot be fetched */
+  protected abstract E fetchError(URI uri, String message, Exception cause);
+
+  /**
+   * Entry of the given card URI, to be released once the call using its client completes. The
+   * authorization header value, if any, is sent when the card is fetched.
+   */
+  Entry<C, T> acquire(URI uri, Optional<String> auth) throws E {
+    String key = uri.toString();
+    while (true) {
+      Entry<C, T> cached;
+      CompletableFuture<Entry<C, T>> inProgress;
+      CompletableFuture<Entry<C, T>> ours = null;
+      synchronized (this) {
+        checkOpen();
+        cached = entries.get(key);
+        if (cached != null && Instant.now().isBefore(cached.loadedAt.plus(ttl))) {
+          cached.inUse++;
+          return cached;
+        }
+        inProgress = loading.get(key);
+        if (inProgress == null) {
+          ours = new CompletableFuture<>();
+          loading.put(key, ours);
+        }
+      }
+      if (ours == null) {
+        // another call is loading the card, take its result or try again if it failed
+        Entry<C, T> loaded = inProgress.join();
+        synchronized (this) {
+          checkOpen();
+          if (loaded != null && entries.get(key) == loaded) {
+            loaded.inUse++;
+            return loaded;
+          }
+        }
+        continue;
+      }
+      Entry<C, T> loaded = null;
+      try {
+        loaded = load(uri, cached, auth);
+        Entry<C, T> result = store(key, cached, loaded);
+        if (result != null) {
+          return result;
+        }
+      } finally {
+        synchronized (this) {
+          loading.remove(key);
+        }
+        ours.complete(loaded);
+      }
+    }
+  }
+
+  // caches the loaded entry, returning it leased or null if it was evicted while revalidated
+  private Entry<C, T> store(String key, Entry<C, T> cached, Entry<C, T> loaded) {
+    List<T> toClose = new ArrayList<>();
+    try {
+      synchronized (this) {
+        if (closed) {
+          if (loaded != cached) {
+            toClose.add(loaded.client);
+          }
+          checkOpen();
+        }
+        if (loaded == cached) {
+          if (entries.get(key) != cached) {
+            return null;
+          }
+        } else {
+          Entry<C, T> previous = entries.put(key, loaded);
+          if (previous != null) {
+            retire(previous, toClose);
+          }
+          evict(toClose);
+        }
+        loaded.inUse++;
+        return loaded;
+      }
+    } finally {
+      toClose.forEach(this::close);
+    }
+  }
+
+  void release(Entry<C, T> entry) {
+    boolean close;
+    synchronized (this) {
+      close = --entry.inUse == 0 && entry.retired;
+    }
+    if (close) {
+      close(entry.client);
+    }
+  }
+
+  /**
+   * Evicts the entry of the given URI if it is still the given one, so the next call fetches the
+   * card again
+   */
+  void invalidate(URI uri, Entry<C, T> entry) {
+    String key = uri.toString();
+    List<T> toClose = new ArrayList<>();
+    synchronized (this) {
+      if (entries.get(key) == entry) {
+        logger.debug("Invalidating cached agent card {}", key);
+        entries.remove(key);
+        retire(entry, toClose);
+      }
+    }
+    toClose.forEach(this::close);
+  }
+
+  synchronized int size() {
+    return entries.size();
+  }
+
+  @Override
+  public void close() {
+    List<T> toClose = new ArrayList<>();
+    synchronized (this) {
+      closed = true;
+      entries.values().forEach(entry -> retire(entry, toClose));
+      entries.clear();
+    }
+    toClose.forEach(this::close);
+  }
+
+  private Entry<C, T> load(URI uri, Entry<C, T> cached, Optional<String> auth) throws E {
+    HttpResponse<String> response;
+    try {
+      response = fetch(uri, cached == null ? null : cached.etag, auth);
+    } catch (Exception ex) {
+      if (cached != null) {
+        invalidate(uri, cached);
+      }
+      throw ex;
+    }
+    if (cached != null && response.statusCode() == 304) {
+      cached.refreshed(cached.etag);
+      return cached;
+    }
+    String etag = response.headers().firstValue("ETag").orElse(null);
+    C card;
+    try {
+      card = parseCard(uri, response.body());
+    } catch (Exception ex) {
+      if (cached != null) {
+        invalidate(uri, cached);
+      }
+      throw ex;
+    }
+    if (cached != null && cached.card.equals(card)) {
+      cached.refreshed(etag);
+      return cached;
+    }
+    logger.debug("Building client for agent card {}", card);
+    return new Entry<>(card, buildClient(card), etag);
+  }
+
+  private HttpResponse<String> fetch(URI uri, String etag, Optional<String> auth) throws E {
+    HttpRequest.Builder request =
+        HttpRequest.newBuilder(uri)
+            .timeout(FETCH_TIMEOUT)
+            .header("Accept", "application/json")
+            .GET();
+    if (etag != null) {
+      request.header("If-None-Match", etag);
+    }
+    auth.ifPresent(value -> request.header(AuthUtils.AUTH_HEADER_NAME, value));
+    HttpResponse<String> response;
+    try {
+      response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    } catch (IOException ex) {
+      throw fetchError(uri, "Error fetching agent card " + uri, ex);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw fetchError(uri, "Interrupted while fetching agent card " + uri, ex);
+    }
+    int status = response.statusCode();
+    if (status / 100 != 2 && !(status == 304 && etag != null)) {
+      throw fetchError(uri, "Agent card " + uri + " cannot be fetched, status " + status, null);
+    }
+    return response;
+  }
+
+  private void evict(List<T> toClose) {
+    Iterator<Entry<C, T>> iter = entries.values().iterator();
+    while (entries.size() > maxEntries && iter.hasNext()) {
+      Entry<C, T> eldest = iter.next();
+      iter.remove();
+      retire(eldest, toClose);
+    }
+  }
+
+  private void retire(Entry<C, T> entry, List<T> toClose) {
+    entry.retired = true;
+    if (entry.inUse == 0) {
+      toClose.add(entry.client);
+    }
+  }
+
+  private void close(T client) {
+    try {
+      closeClient(client);
+    } catch (RuntimeException ex) {
+      logger.debug("Error closing agent client", ex);
+    }
+  }
+
+  private void checkOpen() {
+    if (closed) {
+      throw new IllegalStateException("Agent card cache has been closed");
+    }
+  }
+}
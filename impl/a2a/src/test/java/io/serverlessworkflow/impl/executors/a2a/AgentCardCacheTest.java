@@ -0,0 +1,283 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.executors.a2a;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AgentCardCacheTest {
+
+  private static final String CARD_PATH = "/.well-known/agent-card.json";
+
+  private HttpServer server;
+  private URI uri;
+  private volatile String card = "card-1";
+  private volatile boolean sendEtag = true;
+  private volatile boolean down;
+  private volatile CountDownLatch serving = new CountDownLatch(0);
+  private final AtomicInteger requests = new AtomicInteger();
+  private final AtomicInteger notModified = new AtomicInteger();
+  private final List<String> authHeaders = new CopyOnWriteArrayList<>();
+
+  private static class FakeClient {
+    private final String card;
+    private boolean closed;
+
+    FakeClient(String card) {
+      this.card = card;
+    }
+  }
+
+  private class TestCache extends AgentCardCache<String, FakeClient, IOException> {
+    private final AtomicInteger parses = new AtomicInteger();
+    private final List<FakeClient> built = new CopyOnWriteArrayList<>();
+
+    TestCache(Duration ttl, int maxEntries) {
+      super(ttl, maxEntries);
+    }
+
+    @Override
+    protected String parseCard(URI uri, String body) {
+      parses.incrementAndGet();
+      return body;
+    }
+
+    @Override
+    protected IOException fetchError(URI uri, String message, Exception cause) {
+      return new IOException(message, cause);
+    }
+
+    @Override
+    protected FakeClient buildClient(String card) {
+      FakeClient client = new FakeClient(card);
+      built.add(client);
+      return client;
+    }
+
+    @Override
+    protected void closeClient(FakeClient client) {
+      client.closed = true;
+    }
+  }
+
+  @BeforeEach
+  void setup() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext(
+        CARD_PATH,
+        exchange -> {
+          requests.incrementAndGet();
+          authHeaders.add(String.valueOf(exchange.getRequestHeaders().getFirst("Authorization")));
+          try {
+            serving.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          if (down) {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+            return;
+          }
+          String etag = "\"" + card + "\"";
+          if (sendEtag && etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            notModified.incrementAndGet();
+            exchange.sendResponseHeaders(304, -1);
+          } else {
+            byte[] body = card.getBytes(StandardCharsets.UTF_8);
+            if (sendEtag) {
+              exchange.getResponseHeaders().add("ETag", etag);
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+              out.write(body);
+            }
+          }
+          exchange.close();
+        });
+    server.start();
+    uri = URI.create("http://localhost:" + server.getAddress().getPort() + CARD_PATH);
+  }
+
+  @AfterEach
+  void cleanup() {
+    server.stop(0);
+  }
+
+  @Test
+  void testHit() throws IOException {
+    try (TestCache cache = new TestCache(Duration.ofMinutes(1), 4)) {
+      AgentCardCache.Entry<String, FakeClient> first = cache.acquire(uri, Optional.empty());
+      cache.release(first);
+      AgentCardCache.Entry<String, FakeClient> second = cache.acquire(uri, Optional.empty());
+      cache.release(second);
+      assertThat(second).isSameAs(first);
+      assertThat(cache.parses).hasValue(1);
+      assertThat(requests).hasValue(1);
+    }
+  }
+
+  @Test
+  void testExpiredNotModified() throws IOException {
+    try (TestCache cache = new TestCache(Duration.ZERO, 4)) {
+      AgentCardCache.Entry<String, FakeClient> first = cache.acquire(uri, Optional.empty());
+      cache.release(first);
+      AgentCardCache.Entry<String, FakeClient> second = cache.acquire(uri, Optional.empty());
+      cache.release(second);
+      assertThat(second).isSameAs(first);
+      assertThat(cache.parses).hasValue(1);
+      assertThat(requests).hasValue(2);
+      assertThat(notModified).hasValue(1);
+    }
+  }
+
+  @Test
+  void testExpiredChanged() throws IOException {
+    try (TestCache cache = new TestCache(Duration.ZERO, 4)) {
+      AgentCardCache.Entry<String, FakeClient> first = cache.acquire(uri, Optional.empty());
+      card = "card-2";
+      AgentCardCache.Entry<String, FakeClient> second = cache.acquire(uri, Optional.empty());
+      assertThat(second.card()).isEqualTo("card-2");
+      assertThat(second.client()).isNotSameAs(first.client());
+      assertThat(cache.parses).hasValue(2);
+      // still in use by the first call
+      assertThat(first.client().closed).isFalse();
+      cache.release(first);
+      assertThat(first.client().closed).isTrue();
+      cache.release(second);
+      assertThat(second.client().closed).isFalse();
+    }
+  }
+
+  @Test
+  void testExpiredWithoutEtag() throws IOException {
+    sendEtag = false;
+    try (TestCache cache = new TestCache(Duration.ZERO, 4)) {
+      AgentCardCache.Entry<String, FakeClient> first = cache.acquire(uri, Optional.empty());
+      cache.release(first);
+      AgentCardCache.Entry<String, FakeClient> second = cache.acquire(uri, Optional.empty());
+      cache.release(second);
+      // the card is fetched again, but the unchanged card keeps its client
+      assertThat(second.client()).isSameAs(first.client());
+      assertThat(cache.parses).hasValue(2);
+      assertThat(requests).hasValue(2);
+      assertThat(cache.built).hasSize(1);
+    }
+  }
+
+  @Test
+  void testFetchFailureEvicts() throws IOException {
+    try (TestCache cache = new TestCache(Duration.ZERO, 4)) {
+      AgentCardCache.Entry<String, FakeClient> first = cache.acquire(uri, Optional.empty());
+      cache.release(first);
+      card = "card-2";
+      down = true;
+      assertThatThrownBy(() -> cache.acquire(uri, Optional.empty()))
+          .isInstanceOf(IOException.class);
+      assertThat(cache.size()).isZero();
+      assertThat(first.client().closed).isTrue();
+      down = false;
+      assertThat(cache.acquire(uri, Optional.empty()).card()).isEqualTo("card-2");
+    }
+  }
+
+  @Test
+  void testAuthorizationSent() throws IOException {
+    try (TestCache cache = new TestCache(Duration.ZERO, 4)) {
+      cache.release(cache.acquire(uri, Optional.of("Bearer token")));
+      cache.release(cache.acquire(uri, Optional.of("Bearer token")));
+      assertThat(authHeaders).containsExactly("Bearer token", "Bearer token");
+    }
+  }
+
+  @Test
+  void testConcurrentLoadsShareOneRequest() throws Exception {
+    serving = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try (TestCache cache = new TestCache(Duration.ofMinutes(1), 4)) {
+      List<Future<AgentCardCache.Entry<String, FakeClient>>> calls = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        calls.add(executor.submit(() -> cache.acquire(uri, Optional.empty())));
+      }
+      while (requests.get() == 0) {
+        Thread.onSpinWait();
+      }
+      // give the rest of the calls the chance to find the card being loaded
+      Thread.sleep(100);
+      serving.countDown();
+      AgentCardCache.Entry<String, FakeClient> first = calls.get(0).get(5, TimeUnit.SECONDS);
+      for (Future<AgentCardCache.Entry<String, FakeClient>> call : calls) {
+        assertThat(call.get(5, TimeUnit.SECONDS)).isSameAs(first);
+        cache.release(first);
+      }
+      assertThat(requests).hasValue(1);
+      assertThat(cache.built).hasSize(1);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testInvalidate() throws IOException {
+    try (TestCache cache = new TestCache(Duration.ofMinutes(1), 4)) {
+      AgentCardCache.Entry<String, FakeClient> first = cache.acquire(uri, Optional.empty());
+      cache.invalidate(uri, first);
+      assertThat(first.client().closed).isFalse();
+      cache.release(first);
+      assertThat(first.client().closed).isTrue();
+      AgentCardCache.Entry<String, FakeClient> second = cache.acquire(uri, Optional.empty());
+      assertThat(second).isNotSameAs(first);
+      cache.release(second);
+    }
+  }
+
+  @Test
+  void testEvictionAndClose() throws IOException {
+    TestCache cache = new TestCache(Duration.ofMinutes(1), 1);
+    AgentCardCache.Entry<String, FakeClient> first = cache.acquire(uri, Optional.empty());
+    cache.release(first);
+    AgentCardCache.Entry<String, FakeClient> second =
+        cache.acquire(URI.create(uri + "?other"), Optional.empty());
+    assertThat(cache.size()).isOne();
+    assertThat(first.client().closed).isTrue();
+    cache.close();
+    assertThat(second.client().closed).isFalse();
+    cache.release(second);
+    assertThat(second.client().closed).isTrue();
+    assertThatThrownBy(() -> cache.acquire(uri, Optional.empty()))
+        .isInstanceOf(IllegalStateException.class);
+  }
+}
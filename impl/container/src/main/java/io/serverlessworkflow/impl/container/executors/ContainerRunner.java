@@ -24,25 +24,23 @@ import com.github.dockerjava.api.command.CreateContainerResponse;
 import com.github.dockerjava.api.command.WaitContainerResultCallback;
 import com.github.dockerjava.api.exception.DockerClientException;
 import com.github.dockerjava.api.exception.NotFoundException;
-import com.github.dockerjava.core.DefaultDockerClientConfig;
-import com.github.dockerjava.core.DockerClientImpl;
-import com.github.dockerjava.core.NameParser;
-import com.github.dockerjava.httpclient5.ApacheDockerHttpClient;
 import io.serverlessworkflow.api.types.ContainerLifetime.ContainerCleanupPolicy;
 import io.serverlessworkflow.impl.TaskContext;
+import io.serverlessworkflow.impl.WorkflowApplication;
 import io.serverlessworkflow.impl.WorkflowContext;
 import io.serverlessworkflow.impl.WorkflowModel;
-import io.serverlessworkflow.impl.WorkflowUtils;
 import io.serverlessworkflow.impl.WorkflowValueResolver;
+import io.serverlessworkflow.impl.WorkloadType;
 import io.serverlessworkflow.impl.executors.CallableTask;
 import java.io.IOException;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 
 class ContainerRunner implements CallableTask {
 
@@ -67,7 +65,7 @@ class ContainerRunner implements CallableTask {
       WorkflowContext workflowContext, TaskContext taskContext, WorkflowModel input) {
     return CompletableFuture.supplyAsync(
         () -> startSync(workflowContext, taskContext, input),
-        workflowContext.definition().application().executorService());
+        workflowContext.definition().application().executorService(WorkloadType.BLOCKING_IO));
   }
 
   private WorkflowModel startSync(
@@ -87,11 +85,32 @@ class ContainerRunner implements CallableTask {
       WorkflowModel input,
       DockerClient dockerClient) {
     try {
-      pullImageIfNeeded(containerImage, dockerClient);
+      WorkflowApplication application = workflowContext.definition().application();
+      ImageCache images = ImageCache.of(application);
+      images.ensure(containerImage);
       CreateContainerCmd containerCommand = dockerClient.createContainerCmd(containerImage);
       propertySetters.forEach(p -> p.accept(containerCommand, workflowContext, taskContext, input));
+      Optional<WarmContainerPool> warmPool =
+          policy == ContainerCleanupPolicy.EVENTUALLY
+              ? Optional.empty()
+              : WarmContainerPool.of(application)
+                  .filter(p -> WarmContainerPool.accepts(containerCommand));
+      if (warmPool.isPresent()) {
+        OptionalInt exit =
+            warmPool
+                .get()
+                .run(
+                    containerImage,
+                    containerCommand.getCmd(),
+                    containerCommand.getEnv() == null
+                        ? List.of()
+                        : Arrays.asList(containerCommand.getEnv()));
+        if (exit.isPresent()) {
+          return exit.getAsInt();
+        }
+      }
       return waitAccordingToLifetime(
-          createAndStartContainer(containerCommand, dockerClient),
+          createAndStartContainer(containerCommand, images, dockerClient),
           workflowContext,
           taskContext,
           input,
@@ -104,19 +123,10 @@ class ContainerRunner implements CallableTask {
     }
   }
 
-  private void pullImageIfNeeded(String imageRef, DockerClient dockerClient)
-      throws InterruptedException {
-    NameParser.ReposTag rt = NameParser.parseRepositoryTag(imageRef);
-    dockerClient
-        .pullImageCmd(NameParser.resolveRepositoryName(imageRef).reposName)
-        .withTag(WorkflowUtils.isValid(rt.tag) ? rt.tag : "latest")
-        .start()
-        .awaitCompletion();
-  }
-
   private String createAndStartContainer(
-      CreateContainerCmd containerCommand, DockerClient dockerClient) {
-    CreateContainerResponse resp = containerCommand.exec();
+      CreateContainerCmd containerCommand, ImageCache images, DockerClient dockerClient)
+      throws InterruptedException {
+    CreateContainerResponse resp = images.create(containerImage, containerCommand::exec);
     String id = resp.getId();
     if (!isValid(id)) {
       throw new IllegalStateException("Container creation failed: empty ID");
@@ -211,30 +221,4 @@ class ContainerRunner implements CallableTask {
   private static RuntimeException failed(String message) {
     return new RuntimeException(message);
   }
-
-  private static class DockerClientHolder {
-    private static volatile DockerClient client;
-    private static final Lock dockerLock = new ReentrantLock();
-
-    private static DockerClient client() {
-      if (client == null) {
-        dockerLock.lock();
-        try {
-          if (client == null) {
-            DefaultDockerClientConfig config =
-                DefaultDockerClientConfig.createDefaultConfigBuilder().build();
-            client =
-                DockerClientImpl.getInstance(
-                    config,
-                    new ApacheDockerHttpClient.Builder()
-                        .dockerHost(config.getDockerHost())
-                        .build());
-          }
-        } finally {
-          dockerLock.unlock();
-        }
-      }
-      return client;
-    }
-  }
 }
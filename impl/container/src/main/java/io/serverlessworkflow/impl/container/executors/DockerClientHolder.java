@@ -0,0 +1,49 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.container.executors;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.core.DefaultDockerClientConfig;
+import com.github.dockerjava.core.DockerClientImpl;
+import com.github.dockerjava.httpclient5.ApacheDockerHttpClient;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+class DockerClientHolder {
+  private static volatile DockerClient client;
+  private static final Lock dockerLock = new ReentrantLock();
+
+  static DockerClient client() {
+    if (client == null) {
+      dockerLock.lock();
+      try {
+        if (client == null) {
+          DefaultDockerClientConfig config =
+              DefaultDockerClientConfig.createDefaultConfigBuilder().build();
+          client =
+              DockerClientImpl.getInstance(
+                  config,
+                  new ApacheDockerHttpClient.Builder().dockerHost(config.getDockerHost()).build());
+        }
+      } finally {
+        dockerLock.unlock();
+      }
+    }
+    return client;
+  }
+
+  private DockerClientHolder() {}
+}
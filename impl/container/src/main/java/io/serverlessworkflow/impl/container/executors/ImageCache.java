@@ -0,0 +1,166 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.container.executors;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.exception.NotFoundException;
+import com.github.dockerjava.core.NameParser;
+import io.serverlessworkflow.impl.WorkflowApplication;
+import io.serverlessworkflow.impl.WorkflowUtils;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Images known to be present in the docker daemon. Images referenced by digest or by a tag other
+ * than <code>latest</code> are inspected the first time they are used and only pulled if missing.
+ * <code>latest</code> images are pulled again once the configured refresh interval expires, which
+ * by default is zero, so they are pulled on every execution. Since images might be removed from the
+ * daemon after being checked, containers are created through {@link #create(String, Supplier)},
+ * which pulls the image again if the daemon reports it missing.
+ */
+class ImageCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(ImageCache.class);
+
+  static final String IMAGE_CACHE = "containerImageCache";
+  static final String LATEST_REFRESH_PROPERTY =
+      "io.serverlessworkflow.impl.container.latestRefreshMillis";
+  static final String PRE_PULL_PROPERTY = "io.serverlessworkflow.impl.container.prePull";
+
+  private static final String LATEST = "latest";
+
+  record ImageName(String repository, String tag, boolean digest) {
+
+    static ImageName parse(String imageRef) {
+      int digestIndex = imageRef.indexOf('@');
+      if (digestIndex > 0) {
+        return new ImageName(
+            imageRef.substring(0, digestIndex), imageRef.substring(digestIndex + 1), true);
+      }
+      NameParser.ReposTag rt = NameParser.parseRepositoryTag(imageRef);
+      return new ImageName(rt.repos, WorkflowUtils.isValid(rt.tag) ? rt.tag : LATEST, false);
+    }
+
+    boolean isLatest() {
+      return !digest && LATEST.equals(tag);
+    }
+
+    String reference() {
+      return repository + (digest ? '@' : ':') + tag;
+    }
+  }
+
+  private static class ImageEntry {
+    private volatile Instant checkedAt;
+  }
+
+  private final DockerClient client;
+  private final Duration latestRefresh;
+  private final Map<String, ImageEntry> images = new ConcurrentHashMap<>();
+
+  static ImageCache of(WorkflowApplication application) {
+    return application.sharedResource(
+        IMAGE_CACHE,
+        () ->
+            new ImageCache(
+                DockerClientHolder.client(),
+                Duration.ofMillis(
+                    application
+                        .configManager()
+                        .config(LATEST_REFRESH_PROPERTY, Long.class)
+                        .orElse(0L))));
+  }
+
+  ImageCache(DockerClient client, Duration latestRefresh) {
+    this.client = client;
+    this.latestRefresh = latestRefresh;
+  }
+
+  /** Makes sure the image is present, pulling it if needed */
+  void ensure(String imageRef) throws InterruptedException {
+    ImageName name = ImageName.parse(imageRef);
+    ImageEntry entry = images.computeIfAbsent(name.reference(), k -> new ImageEntry());
+    if (isFresh(name, entry)) {
+      return;
+    }
+    synchronized (entry) {
+      if (isFresh(name, entry)) {
+        return;
+      }
+      if (name.isLatest() || !isPresent(name)) {
+        logger.debug("Pulling image {}", name.reference());
+        client.pullImageCmd(name.repository()).withTag(name.tag()).start().awaitCompletion();
+      }
+      entry.checkedAt = Instant.now();
+    }
+  }
+
+  /**
+   * Runs the given container creation, pulling the image and retrying once if the daemon no longer
+   * has it
+   */
+  <T> T create(String imageRef, Supplier<T> creation) throws InterruptedException {
+    try {
+      return creation.get();
+    } catch (NotFoundException ex) {
+      ImageName name = ImageName.parse(imageRef);
+      logger.debug("Image {} no longer present, pulling it again", name.reference());
+      ImageEntry entry = images.get(name.reference());
+      if (entry != null) {
+        entry.checkedAt = null;
+      }
+      ensure(imageRef);
+      return creation.get();
+    }
+  }
+
+  /** Pulls the image in background, if needed, when the definition is loaded */
+  void prePull(String imageRef, Executor executor) {
+    CompletableFuture.runAsync(
+        () -> {
+          try {
+            ensure(imageRef);
+          } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+          } catch (RuntimeException ex) {
+            logger.warn("Error pre pulling image {}", imageRef, ex);
+          }
+        },
+        executor);
+  }
+
+  private boolean isFresh(ImageName name, ImageEntry entry) {
+    Instant checkedAt = entry.checkedAt;
+    return checkedAt != null
+        && (!name.isLatest() || Instant.now().isBefore(checkedAt.plus(latestRefresh)));
+  }
+
+  private boolean isPresent(ImageName name) {
+    try {
+      client.inspectImageCmd(name.reference()).exec();
+      return true;
+    } catch (NotFoundException ex) {
+      return false;
+    }
+  }
+}
@@ -21,9 +21,11 @@ import io.serverlessworkflow.api.types.ContainerLifetime.ContainerCleanupPolicy;
 import io.serverlessworkflow.api.types.RunContainer;
 import io.serverlessworkflow.api.types.RunTaskConfiguration;
 import io.serverlessworkflow.api.types.TimeoutAfter;
+import io.serverlessworkflow.impl.WorkflowApplication;
 import io.serverlessworkflow.impl.WorkflowDefinition;
 import io.serverlessworkflow.impl.WorkflowUtils;
 import io.serverlessworkflow.impl.WorkflowValueResolver;
+import io.serverlessworkflow.impl.WorkloadType;
 import io.serverlessworkflow.impl.executors.CallableTask;
 import io.serverlessworkflow.impl.executors.RunnableTaskBuilder;
 import java.time.Duration;
@@ -53,6 +55,14 @@ public class RunContainerExecutorBuilder implements RunnableTaskBuilder<RunConta
       if (afterTimeout != null)
         timeout = WorkflowUtils.fromTimeoutAfter(definition.application(), afterTimeout);
     }
+    WorkflowApplication application = definition.application();
+    if (application
+        .configManager()
+        .config(ImageCache.PRE_PULL_PROPERTY, Boolean.class)
+        .orElse(false)) {
+      ImageCache.of(application)
+          .prePull(container.getImage(), application.executorService(WorkloadType.BLOCKING_IO));
+    }
     return new ContainerRunner(
         propertySetters, Optional.ofNullable(timeout), policy, container.getImage());
   }
@@ -0,0 +1,282 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.container.executors;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.command.CreateContainerCmd;
+import com.github.dockerjava.api.exception.DockerException;
+import com.github.dockerjava.api.model.Frame;
+import com.github.dockerjava.api.model.HostConfig;
+import io.serverlessworkflow.impl.WorkflowApplication;
+import io.serverlessworkflow.impl.config.ConfigManager;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Long running containers, at most the configured number per image, where short lived commands are
+ * executed through <code>docker exec</code> instead of creating a container for each of them. Once
+ * every warm container of an image is busy, further commands of that image wait for one to be
+ * released.
+ *
+ * <p>Commands run this way skip the image entrypoint and share the filesystem of the previous
+ * commands run in the same container, so the pool is disabled by default and only used for
+ * containers that just set a command and environment variables. A command still running after the
+ * configured exec timeout fails, and its container is removed.
+ *
+ * <p>Warm containers are kept alive by an entrypoint running <code>sh</code>, so images without a
+ * shell (distroless or <code>scratch</code> based ones) cannot be kept warm. When the keep-alive
+ * container of an image fails to start because there is no shell, the image is recorded as such and
+ * its commands run in a container of their own, as if the pool were disabled. Other start failures
+ * are retried.
+ */
+class WarmContainerPool implements AutoCloseable {
+
+  private static final Logger logger = LoggerFactory.getLogger(WarmContainerPool.class);
+
+  static final String WARM_CONTAINER_POOL = "warmContainerPool";
+  static final String SIZE_PROPERTY = "io.serverlessworkflow.impl.container.warmContainers";
+  static final String EXEC_TIMEOUT_PROPERTY =
+      "io.serverlessworkflow.impl.container.warmExecTimeoutMillis";
+  static final long DEFAULT_EXEC_TIMEOUT_MILLIS = 600_000L;
+
+  private static final String[] KEEP_ALIVE = {"sh", "-c", "while :; do sleep 3600; done"};
+  private static final int START_ATTEMPTS = 3;
+  private static final int MAX_LOGGED_OUTPUT = 4096;
+
+  private record ImagePool(Semaphore leases, BlockingQueue<String> idle) {}
+
+  private final DockerClient client;
+  private final ImageCache images;
+  private final int size;
+  private final Duration execTimeout;
+  private final Map<String, ImagePool> pools = new ConcurrentHashMap<>();
+  private final Set<String> containers = ConcurrentHashMap.newKeySet();
+  private final Set<String> coldImages = ConcurrentHashMap.newKeySet();
+  private volatile boolean closed;
+
+  /** Pool of the application, empty if warm containers are not enabled through configuration */
+  static Optional<WarmContainerPool> of(WorkflowApplication application) {
+    ConfigManager config = application.configManager();
+    int size = config.config(SIZE_PROPERTY, Integer.class).orElse(0);
+    return size <= 0
+        ? Optional.empty()
+        : Optional.of(
+            application.sharedResource(
+                WARM_CONTAINER_POOL,
+                () ->
+                    new WarmContainerPool(
+                        DockerClientHolder.client(),
+                        ImageCache.of(application),
+                        size,
+                        Duration.ofMillis(
+                            config
+                                .config(EXEC_TIMEOUT_PROPERTY, Long.class)
+                                .orElse(DEFAULT_EXEC_TIMEOUT_MILLIS)))));
+  }
+
+  WarmContainerPool(DockerClient client, ImageCache images, int size, Duration execTimeout) {
+    this.client = client;
+    this.images = images;
+    this.size = size;
+    this.execTimeout = execTimeout;
+  }
+
+  /** Whether the container only sets a command and environment, so it can be run warm */
+  static boolean accepts(CreateContainerCmd command) {
+    HostConfig hostConfig = command.getHostConfig();
+    return command.getCmd() != null
+        && command.getCmd().length > 0
+        && command.getName() == null
+        && isEmpty(command.getExposedPorts())
+        && (hostConfig == null
+            || (isEmpty(hostConfig.getBinds())
+                && (hostConfig.getPortBindings() == null
+                    || hostConfig.getPortBindings().getBindings().isEmpty())));
+  }
+
+  /**
+   * Runs the command in a warm container of the image and returns its exit code, empty if the image
+   * cannot be kept warm
+   */
+  OptionalInt run(String image, String[] command, List<String> env)
+      throws InterruptedException, IOException {
+    if (coldImages.contains(image)) {
+      return OptionalInt.empty();
+    }
+    ImagePool pool =
+        pools.computeIfAbsent(
+            image, k -> new ImagePool(new Semaphore(size, true), new LinkedBlockingQueue<>(size)));
+    // a lease per running command, so there are never more containers than leases
+    pool.leases().acquire();
+    try {
+      String id = acquire(image, pool);
+      if (id == null) {
+        return OptionalInt.empty();
+      }
+      boolean reusable = false;
+      try {
+        OptionalInt exitCode = exec(id, command, env);
+        reusable = true;
+        return exitCode;
+      } finally {
+        release(pool, id, reusable);
+      }
+    } finally {
+      pool.leases().release();
+    }
+  }
+
+  private OptionalInt exec(String id, String[] command, List<String> env)
+      throws InterruptedException, IOException {
+    String execId =
+        client
+            .execCreateCmd(id)
+            .withCmd(command)
+            .withEnv(env)
+            .withAttachStdout(true)
+            .withAttachStderr(true)
+            .exec()
+            .getId();
+    OutputCollector output = new OutputCollector();
+    try (OutputCollector callback = client.execStartCmd(execId).exec(output)) {
+      if (!callback.awaitCompletion(execTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+        logger.debug("Output of timed out command in warm container {}: {}", id, output);
+        throw new IOException(
+            "Command " + Arrays.toString(command) + " did not complete within " + execTimeout);
+      }
+    }
+    Long exitCode = client.inspectExecCmd(execId).exec().getExitCodeLong();
+    logger.debug(
+        "Command in warm container {} exited with code {}, output: {}", id, exitCode, output);
+    return OptionalInt.of(exitCode == null ? 0 : exitCode.intValue());
+  }
+
+  private String acquire(String image, ImagePool pool) throws InterruptedException {
+    String id = pool.idle().poll();
+    if (id != null) {
+      return id;
+    }
+    for (int attempt = 1; attempt <= START_ATTEMPTS; attempt++) {
+      id =
+          images
+              .create(
+                  image,
+                  () ->
+                      client
+                          .createContainerCmd(image)
+                          .withEntrypoint(KEEP_ALIVE)
+                          .withHostConfig(HostConfig.newHostConfig().withAutoRemove(true))
+                          .exec())
+              .getId();
+      containers.add(id);
+      try {
+        client.startContainerCmd(id).exec();
+        logger.debug("Started warm container {} for image {}", id, image);
+        return id;
+      } catch (DockerException ex) {
+        remove(id);
+        if (isNoShell(ex)) {
+          logger.info(
+              "Image {} cannot be kept warm because it has no shell. Its commands will run in"
+                  + " their own containers",
+              image,
+              ex);
+          coldImages.add(image);
+          return null;
+        }
+        logger.debug(
+            "Error starting warm container for image {}, attempt {} of {}",
+            image,
+            attempt,
+            START_ATTEMPTS,
+            ex);
+      }
+    }
+    // this command runs in a container of its own, the next one tries to start a warm one again
+    return null;
+  }
+
+  // the entrypoint cannot be found, as reported by the runtime when starting the container
+  private static boolean isNoShell(DockerException ex) {
+    String message = ex.getMessage();
+    return message != null
+        && (message.contains("executable file not found")
+            || message.contains("no such file or directory"));
+  }
+
+  private void release(ImagePool pool, String id, boolean reusable) {
+    if (!reusable || closed || !pool.idle().offer(id)) {
+      remove(id);
+    }
+  }
+
+  private void remove(String id) {
+    containers.remove(id);
+    try {
+      client.removeContainerCmd(id).withForce(true).exec();
+    } catch (Exception ex) {
+      logger.debug("Error removing warm container {}", id, ex);
+    }
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    pools.clear();
+    containers.forEach(this::remove);
+  }
+
+  private static boolean isEmpty(Object[] array) {
+    return array == null || array.length == 0;
+  }
+
+  /** Keeps the last bytes written by a command, for logging */
+  private static class OutputCollector extends ResultCallback.Adapter<Frame> {
+    private final StringBuilder output = new StringBuilder();
+
+    @Override
+    public void onNext(Frame frame) {
+      synchronized (output) {
+        output.append(new String(frame.getPayload(), StandardCharsets.UTF_8));
+        if (output.length() > MAX_LOGGED_OUTPUT) {
+          output.delete(0, output.length() - MAX_LOGGED_OUTPUT);
+        }
+      }
+    }
+
+    @Override
+    public String toString() {
+      synchronized (output) {
+        return output.toString();
+      }
+    }
+  }
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.container.executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.core.DefaultDockerClientConfig;
+import com.github.dockerjava.core.DockerClientImpl;
+import com.github.dockerjava.httpclient5.ApacheDockerHttpClient;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Image cache and warm containers against a stub of the Docker Engine API */
+class DockerStubTest {
+
+  private MockWebServer docker;
+  private DockerClient client;
+  private final Set<String> localImages = ConcurrentHashMap.newKeySet();
+  private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+  private volatile boolean imageRemoved;
+  private volatile boolean noShell;
+  private final AtomicInteger startFailures = new AtomicInteger();
+  private volatile boolean execHangs;
+  private volatile long execDelayMillis;
+
+  @BeforeEach
+  void setup() throws IOException {
+    docker = new MockWebServer();
+    docker.setDispatcher(
+        new Dispatcher() {
+          @Override
+          public MockResponse dispatch(RecordedRequest request) {
+            return handle(request.getMethod(), request.getRequestUrl().encodedPath());
+          }
+        });
+    docker.start();
+    DefaultDockerClientConfig config =
+        DefaultDockerClientConfig.createDefaultConfigBuilder()
+            .withDockerHost("tcp://localhost:" + docker.getPort())
+            .withDockerTlsVerify(false)
+            .build();
+    client =
+        DockerClientImpl.getInstance(
+            config,
+            new ApacheDockerHttpClient.Builder().dockerHost(config.getDockerHost()).build());
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    client.close();
+    docker.close();
+  }
+
+  @Test
+  void testPinnedImagePresent() throws InterruptedException {
+    localImages.add("alpine:3.19");
+    ImageCache cache = new ImageCache(client, Duration.ZERO);
+    cache.ensure("alpine:3.19");
+    cache.ensure("alpine:3.19");
+    assertEquals(1, calls("inspectImage"));
+    assertEquals(0, calls("pull"));
+  }
+
+  @Test
+  void testPinnedImageMissing() throws InterruptedException {
+    ImageCache cache = new ImageCache(client, Duration.ZERO);
+    cache.ensure("alpine:3.19");
+    cache.ensure("alpine:3.19");
+    assertEquals(1, calls("inspectImage"));
+    assertEquals(1, calls("pull"));
+  }
+
+  @Test
+  void testLatestImage() throws InterruptedException {
+    localImages.add("alpine:latest");
+    ImageCache alwaysPull = new ImageCache(client, Duration.ZERO);
+    alwaysPull.ensure("alpine");
+    alwaysPull.ensure("alpine:latest");
+    assertEquals(2, calls("pull"));
+    ImageCache refreshed = new ImageCache(client, Duration.ofHours(1));
+    refreshed.ensure("alpine");
+    refreshed.ensure("alpine:latest");
+    assertEquals(3, calls("pull"));
+    assertEquals(0, calls("inspectImage"));
+  }
+
+  @Test
+  void testPinnedImageRemoved() throws InterruptedException {
+    localImages.add("alpine:3.19");
+    ImageCache cache = new ImageCache(client, Duration.ZERO);
+    cache.ensure("alpine:3.19");
+    localImages.remove("alpine:3.19");
+    imageRemoved = true;
+    cache.ensure("alpine:3.19");
+    assertEquals(
+        "warm1",
+        cache.create("alpine:3.19", () -> client.createContainerCmd("alpine:3.19").exec()).getId());
+    assertEquals(2, calls("inspectImage"));
+    assertEquals(1, calls("pull"));
+    assertEquals(2, calls("create"));
+  }
+
+  @Test
+  void testWarmContainers() throws InterruptedException, IOException {
+    try (WarmContainerPool pool =
+        new WarmContainerPool(
+            client, new ImageCache(client, Duration.ZERO), 1, Duration.ofMinutes(1))) {
+      for (int i = 0; i < 3; i++) {
+        assertEquals(
+            OptionalInt.of(3),
+            pool.run("alpine:3.19", new String[] {"sh", "-c", "exit 3"}, List.of()));
+      }
+    }
+    assertEquals(1, calls("create"));
+    assertEquals(1, calls("start"));
+    assertEquals(3, calls("exec"));
+    assertEquals(1, calls("remove"));
+  }
+
+  @Test
+  void testWarmContainersWithoutShell() throws InterruptedException, IOException {
+    noShell = true;
+    try (WarmContainerPool pool =
+        new WarmContainerPool(
+            client, new ImageCache(client, Duration.ZERO), 1, Duration.ofMinutes(1))) {
+      for (int i = 0; i < 2; i++) {
+        assertTrue(pool.run("distroless:1", new String[] {"/app"}, List.of()).isEmpty());
+      }
+    }
+    assertEquals(1, calls("create"));
+    assertEquals(1, calls("start"));
+    assertEquals(0, calls("exec"));
+    assertEquals(1, calls("remove"));
+  }
+
+  @Test
+  void testWarmContainersTransientStartFailure() throws InterruptedException, IOException {
+    startFailures.set(1);
+    try (WarmContainerPool pool =
+        new WarmContainerPool(
+            client, new ImageCache(client, Duration.ZERO), 1, Duration.ofMinutes(1))) {
+      for (int i = 0; i < 2; i++) {
+        assertEquals(
+            OptionalInt.of(3),
+            pool.run("alpine:3.19", new String[] {"sh", "-c", "exit 3"}, List.of()));
+      }
+    }
+    assertEquals(2, calls("create"));
+    assertEquals(2, calls("start"));
+    assertEquals(2, calls("exec"));
+    assertEquals(2, calls("remove"));
+  }
+
+  @Test
+  void testWarmContainersBoundedPerImage() throws Exception {
+    execDelayMillis = 200;
+    try (WarmContainerPool pool =
+        new WarmContainerPool(
+            client, new ImageCache(client, Duration.ZERO), 1, Duration.ofMinutes(1))) {
+      List<CompletableFuture<OptionalInt>> runs =
+          List.of(
+              CompletableFuture.supplyAsync(() -> run(pool)),
+              CompletableFuture.supplyAsync(() -> run(pool)),
+              CompletableFuture.supplyAsync(() -> run(pool)));
+      for (CompletableFuture<OptionalInt> run : runs) {
+        assertEquals(OptionalInt.of(3), run.get(10, TimeUnit.SECONDS));
+      }
+    }
+    assertEquals(1, calls("create"));
+    assertEquals(3, calls("exec"));
+  }
+
+  @Test
+  void testWarmContainerExecTimeout() throws InterruptedException, IOException {
+    execHangs = true;
+    try (WarmContainerPool pool =
+        new WarmContainerPool(
+            client, new ImageCache(client, Duration.ZERO), 1, Duration.ofMillis(200))) {
+      assertThrows(
+          IOException.class,
+          () -> pool.run("alpine:3.19", new String[] {"sleep", "3600"}, List.of()));
+      assertEquals(1, calls("remove"));
+      execHangs = false;
+      assertEquals(
+          OptionalInt.of(3),
+          pool.run("alpine:3.19", new String[] {"sh", "-c", "exit 3"}, List.of()));
+    }
+    assertEquals(2, calls("create"));
+  }
+
+  private static OptionalInt run(WarmContainerPool pool) {
+    try {
+      return pool.run("alpine:3.19", new String[] {"sh", "-c", "exit 3"}, List.of());
+    } catch (InterruptedException | IOException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private int calls(String operation) {
+    return calls.getOrDefault(operation, new AtomicInteger()).get();
+  }
+
+  private MockResponse handle(String method, String path) {
+    if (path.matches(".*/images/.+/json")) {
+      count("inspectImage");
+      String image = path.substring(path.indexOf("/images/") + 8, path.lastIndexOf("/json"));
+      return localImages.contains(image) ? json("{}") : notFound();
+    } else if (path.endsWith("/images/create")) {
+      count("pull");
+      imageRemoved = false;
+      return json("{\"status\":\"Downloaded newer image\"}");
+    } else if (path.endsWith("/containers/create")) {
+      count("create");
+      if (imageRemoved) {
+        return notFound();
+      }
+      return json("{\"Id\":\"warm1\"}").setResponseCode(201);
+    } else if (path.endsWith("/containers/warm1/start")) {
+      count("start");
+      if (startFailures.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+        return json("{\"message\":\"Cannot start container: device busy\"}").setResponseCode(500);
+      }
+      return noShell
+          ? json("{\"message\":\"exec: \\\"sh\\\": executable file not found in $PATH\"}")
+              .setResponseCode(400)
+          : new MockResponse().setResponseCode(204);
+    } else if (path.endsWith("/containers/warm1/exec")) {
+      count("exec");
+      return json("{\"Id\":\"exec1\"}").setResponseCode(201);
+    } else if (path.endsWith("/exec/exec1/start")) {
+      if (execHangs) {
+        return new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE);
+      }
+      return new MockResponse()
+          .setResponseCode(200)
+          .setHeader("Content-Type", "application/vnd.docker.raw-stream")
+          .setHeadersDelay(execDelayMillis, TimeUnit.MILLISECONDS);
+    } else if (path.endsWith("/exec/exec1/json")) {
+      return json("{\"ID\":\"exec1\",\"Running\":false,\"ExitCode\":3}");
+    } else if ("DELETE".equals(method) && path.endsWith("/containers/warm1")) {
+      count("remove");
+      return new MockResponse().setResponseCode(204);
+    }
+    return notFound();
+  }
+
+  private void count(String operation) {
+    calls.computeIfAbsent(operation, k -> new AtomicInteger()).incrementAndGet();
+  }
+
+  private static MockResponse json(String body) {
+    return new MockResponse()
+        .setResponseCode(200)
+        .setHeader("Content-Type", "application/json")
+        .setBody(body);
+  }
+
+  private static MockResponse notFound() {
+    return json("{\"message\":\"not found\"}").setResponseCode(404);
+  }
+}
@@ -19,6 +19,7 @@ import io.cloudevents.CloudEventData;
 import io.serverlessworkflow.api.types.TaskBase;
 import io.serverlessworkflow.impl.expressions.ExpressionDescriptor;
 import io.serverlessworkflow.impl.expressions.ExpressionFactory;
+import io.serverlessworkflow.impl.utils.CacheStats;
 import java.time.OffsetDateTime;
 import java.util.Collection;
 import java.util.Map;
@@ -91,4 +92,16 @@ class CompositeExpressionFactory implements ExpressionFactory {
         .flatMap(Optional::stream)
         .findAny();
   }
+
+  @Override
+  public boolean isContextFree(ExpressionDescriptor desc) {
+    return processFactories(desc, f -> f.isContextFree(desc));
+  }
+
+  @Override
+  public CacheStats cacheStats() {
+    return exprFactories.stream()
+        .map(ExpressionFactory::cacheStats)
+        .reduce(CacheStats.EMPTY, CacheStats::plus);
+  }
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl;
+
+/**
+ * Immutable position of a task executor within a {@link WorkflowDefinition}. The json pointer is
+ * computed once and every position of a definition gets a sequential id, so per instance data can
+ * be indexed by position.
+ */
+public final class FrozenWorkflowPosition implements WorkflowPosition {
+
+  private final int id;
+  private final String jsonPointer;
+  private final Object last;
+
+  FrozenWorkflowPosition(int id, WorkflowPosition position) {
+    this.id = id;
+    this.jsonPointer = position.jsonPointer().intern();
+    Object last = position.last();
+    this.last = last instanceof String str ? str.intern() : last;
+  }
+
+  public int id() {
+    return id;
+  }
+
+  @Override
+  public String jsonPointer() {
+    return jsonPointer;
+  }
+
+  @Override
+  public Object last() {
+    return last;
+  }
+
+  @Override
+  public int hashCode() {
+    return jsonPointer.hashCode();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return this == obj
+        || obj instanceof FrozenWorkflowPosition other && jsonPointer.equals(other.jsonPointer);
+  }
+
+  @Override
+  public String toString() {
+    return "FrozenWorkflowPosition [id=" + id + ", jsonPointer=" + jsonPointer + "]";
+  }
+}
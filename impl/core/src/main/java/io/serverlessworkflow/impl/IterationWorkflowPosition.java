@@ -0,0 +1,109 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl;
+
+import java.util.function.Predicate;
+
+/**
+ * Position of a task running within one iteration of a parallel for loop. The json pointer of the
+ * task is qualified with the iteration index right after the loop, as in <code>
+ * do/0/loop/do/for/2/0/task</code>, so every iteration has its own key when persisted.
+ */
+public final class IterationWorkflowPosition implements WorkflowPosition {
+
+  private static final String ITERATION_SEGMENT = "for";
+
+  private final String prefix;
+  private final int loopPointerLength;
+  private final WorkflowPosition position;
+  private final String jsonPointer;
+
+  private IterationWorkflowPosition(
+      String prefix, int loopPointerLength, WorkflowPosition position) {
+    this.prefix = prefix;
+    this.loopPointerLength = loopPointerLength;
+    this.position = position;
+    this.jsonPointer = prefix + position.jsonPointer().substring(loopPointerLength);
+  }
+
+  /**
+   * Position of the iteration itself
+   *
+   * @param loopContext position of the context running the loop, might already be an iteration one
+   * @param loopPosition position of the loop within the definition
+   */
+  public static IterationWorkflowPosition of(
+      WorkflowPosition loopContext, WorkflowPosition loopPosition, int index) {
+    return new IterationWorkflowPosition(
+        loopContext.jsonPointer() + '/' + ITERATION_SEGMENT + '/' + index,
+        loopPosition.jsonPointer().length(),
+        loopPosition);
+  }
+
+  /** Position within this iteration of a task nested into the loop */
+  public IterationWorkflowPosition child(WorkflowPosition taskPosition) {
+    return new IterationWorkflowPosition(prefix, loopPointerLength, taskPosition);
+  }
+
+  /**
+   * Json pointer of the task within the definition, without iteration indexes. Iteration segments
+   * are only dropped right after the position of a loop, so task names are never mistaken for them
+   *
+   * @param isLoop whether the given definition pointer is the position of a for loop
+   */
+  public static String definitionPointer(String jsonPointer, Predicate<String> isLoop) {
+    String[] segments = jsonPointer.split("/");
+    StringBuilder pointer = new StringBuilder();
+    for (int i = 0; i < segments.length; i++) {
+      if (i + 1 < segments.length
+          && segments[i].equals(ITERATION_SEGMENT)
+          && isIndex(segments[i + 1])
+          && isLoop.test(pointer.toString())) {
+        i++;
+        continue;
+      }
+      if (i > 0) {
+        pointer.append('/');
+      }
+      pointer.append(segments[i]);
+    }
+    return pointer.toString();
+  }
+
+  private static boolean isIndex(String segment) {
+    return !segment.isEmpty() && segment.chars().allMatch(Character::isDigit);
+  }
+
+  /** Position of the task within the definition */
+  public WorkflowPosition definitionPosition() {
+    return position;
+  }
+
+  @Override
+  public String jsonPointer() {
+    return jsonPointer;
+  }
+
+  @Override
+  public Object last() {
+    return position.last();
+  }
+
+  @Override
+  public String toString() {
+    return "IterationWorkflowPosition [jsonPointer=" + jsonPointer + "]";
+  }
+}
@@ -15,10 +15,15 @@
  */
 package io.serverlessworkflow.impl;
 
+import io.serverlessworkflow.impl.lifecycle.LifecycleEventType;
+import io.serverlessworkflow.impl.lifecycle.WorkflowEvent;
 import io.serverlessworkflow.impl.lifecycle.WorkflowExecutionCompletableListener;
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -26,14 +31,43 @@ public class LifecycleEventsUtils {
 
   private static final Logger logger = LoggerFactory.getLogger(LifecycleEventsUtils.class);
 
+  private static final CompletableFuture<?> NO_LISTENERS = CompletableFuture.completedFuture(null);
+
   private LifecycleEventsUtils() {}
 
+  public static boolean hasListeners(WorkflowContext workflowContext, LifecycleEventType type) {
+    return !workflowContext.definition().application().listenersByPriority(type).isEmpty();
+  }
+
+  /**
+   * Notifies the listeners interested on the given event type. The event is only built if there is
+   * at least one of them.
+   */
+  public static <T extends WorkflowEvent> CompletableFuture<?> publishEvent(
+      WorkflowContext workflowContext,
+      LifecycleEventType type,
+      Supplier<T> eventSupplier,
+      BiFunction<WorkflowExecutionCompletableListener, T, CompletableFuture<?>> function) {
+    List<Collection<WorkflowExecutionCompletableListener>> listenersByPriority =
+        workflowContext.definition().application().listenersByPriority(type);
+    if (listenersByPriority.isEmpty()) {
+      return NO_LISTENERS;
+    }
+    T event = eventSupplier.get();
+    return publishEvent(listenersByPriority, l -> function.apply(l, event));
+  }
+
   public static CompletableFuture<?> publishEvent(
       WorkflowContext workflowContext,
       Function<WorkflowExecutionCompletableListener, CompletableFuture<?>> function) {
+    return publishEvent(workflowContext.definition().application().listenersByPriority(), function);
+  }
+
+  private static CompletableFuture<?> publishEvent(
+      List<Collection<WorkflowExecutionCompletableListener>> listenersByPriority,
+      Function<WorkflowExecutionCompletableListener, CompletableFuture<?>> function) {
     CompletableFuture<?> result = CompletableFuture.completedFuture(null);
-    for (Collection<WorkflowExecutionCompletableListener> listeners :
-        workflowContext.definition().application().listenersByPriority()) {
+    for (Collection<WorkflowExecutionCompletableListener> listeners : listenersByPriority) {
       result =
           result.thenCompose(
               __ ->
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Starts a new virtual thread per submitted task, so blocking calls do not hold a platform thread.
+ * Virtual threads are looked up at runtime, when running on a JVM without them (before 21) it falls
+ * back to {@link Executors#newCachedThreadPool()}.
+ */
+public class VirtualThreadExecutorServiceFactory extends AbstractExecutorServiceHolder {
+
+  private static final Logger logger =
+      LoggerFactory.getLogger(VirtualThreadExecutorServiceFactory.class);
+
+  private static final MethodHandle NEW_VIRTUAL_THREAD_EXECUTOR = lookupVirtualThreadExecutor();
+
+  private Lock serviceLock = new ReentrantLock();
+
+  public static boolean isSupported() {
+    return NEW_VIRTUAL_THREAD_EXECUTOR != null;
+  }
+
+  @Override
+  public ExecutorService get() {
+    try {
+      serviceLock.lock();
+      if (service == null) {
+        service = newExecutorService();
+      }
+    } finally {
+      serviceLock.unlock();
+    }
+    return service;
+  }
+
+  private static ExecutorService newExecutorService() {
+    if (NEW_VIRTUAL_THREAD_EXECUTOR != null) {
+      try {
+        return (ExecutorService) NEW_VIRTUAL_THREAD_EXECUTOR.invokeExact();
+      } catch (Throwable ex) {
+        logger.warn("Cannot create virtual thread executor, using a cached thread pool", ex);
+      }
+    } else {
+      logger.warn("Virtual threads are not available in this JVM, using a cached thread pool");
+    }
+    return Executors.newCachedThreadPool();
+  }
+
+  private static MethodHandle lookupVirtualThreadExecutor() {
+    try {
+      return MethodHandles.publicLookup()
+          .findStatic(
+              Executors.class,
+              "newVirtualThreadPerTaskExecutor",
+              MethodType.methodType(ExecutorService.class));
+    } catch (ReflectiveOperationException ex) {
+      return null;
+    }
+  }
+}
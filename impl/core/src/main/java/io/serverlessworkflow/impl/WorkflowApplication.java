@@ -38,10 +38,12 @@ import io.serverlessworkflow.impl.executors.DefaultTaskExecutorFactory;
 import io.serverlessworkflow.impl.executors.TaskExecutorFactory;
 import io.serverlessworkflow.impl.expressions.ExpressionFactory;
 import io.serverlessworkflow.impl.expressions.RuntimeDescriptor;
+import io.serverlessworkflow.impl.lifecycle.LifecycleEventType;
 import io.serverlessworkflow.impl.lifecycle.WorkflowExecutionCompletableListener;
 import io.serverlessworkflow.impl.lifecycle.WorkflowExecutionListener;
 import io.serverlessworkflow.impl.lifecycle.WorkflowExecutionListenerAdapter;
 import io.serverlessworkflow.impl.lifecycle.ce.DefaultLifeCycleCloudEventFactory;
+import io.serverlessworkflow.impl.lifecycle.ce.LifeCyclePublishingConfig;
 import io.serverlessworkflow.impl.lifecycle.ce.WorkflowLifeCycleCloudEventFactory;
 import io.serverlessworkflow.impl.resources.DefaultResourceLoaderFactory;
 import io.serverlessworkflow.impl.resources.ExternalResourceHandler;
@@ -55,11 +57,13 @@ import io.serverlessworkflow.impl.scheduler.InMemoryAllStrategyCorrelationInfo;
 import io.serverlessworkflow.impl.scheduler.WorkflowScheduler;
 import io.serverlessworkflow.impl.schema.SchemaValidator;
 import io.serverlessworkflow.impl.schema.SchemaValidatorFactory;
+import io.serverlessworkflow.impl.utils.CacheStats;
 import java.net.URI;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -69,6 +73,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.ServiceLoader.Provider;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -85,14 +90,19 @@ public class WorkflowApplication implements AutoCloseable {
   private final SchemaValidatorFactory schemaValidatorFactory;
   private final WorkflowInstanceIdFactory idFactory;
   private final List<Collection<WorkflowExecutionCompletableListener>> listenersByPriority;
+  private final Map<LifecycleEventType, List<Collection<WorkflowExecutionCompletableListener>>>
+      listenersByType;
   private final Map<WorkflowDefinitionId, WorkflowDefinition> definitions;
   private final WorkflowPositionFactory positionFactory;
   private final ExecutorServiceFactory executorFactory;
+  private final Map<WorkloadType, ExecutorServiceFactory> workloadExecutorFactories;
+  private final Map<String, Object> sharedResources = new ConcurrentHashMap<>();
   private final RuntimeDescriptorFactory runtimeDescriptorFactory;
   private final EventConsumer<?, ?> eventConsumer;
   private final Collection<EventPublisher> eventPublishers;
   private final boolean lifeCycleCEPublishingEnabled;
   private final boolean lifeCycleStatusChangeEnabled;
+  private final LifeCyclePublishingConfig lifeCyclePublishingConfig;
   private final WorkflowModelFactory modelFactory;
   private final WorkflowModelFactory contextFactory;
   private final WorkflowScheduler scheduler;
@@ -120,12 +130,14 @@ public class WorkflowApplication implements AutoCloseable {
     this.idFactory = builder.idFactory;
     this.runtimeDescriptorFactory = builder.descriptorFactory;
     this.executorFactory = builder.executorFactory;
+    this.workloadExecutorFactories = builder.workloadExecutorFactories;
     this.listenersByPriority = groupByPriority(new LinkedHashSet<>(builder.listeners));
     this.definitions = new ConcurrentHashMap<>();
     this.eventConsumer = builder.eventConsumer;
     this.eventPublishers = builder.eventPublishers;
     this.lifeCycleCEPublishingEnabled = builder.lifeCycleCEPublishingEnabled;
     this.lifeCycleStatusChangeEnabled = builder.lifeCycleStatusChangeEnabled;
+    this.lifeCyclePublishingConfig = builder.lifeCyclePublishingConfig;
     this.modelFactory = builder.modelFactory;
     this.contextFactory = builder.contextFactory;
     this.scheduler = builder.scheduler;
@@ -144,6 +156,7 @@ public class WorkflowApplication implements AutoCloseable {
     this.allStrategyCorrelationInfoFactory = builder.allStrategyCorrelationInfoFactory;
     this.lifeCycleCloudEventFactory = builder.lifeCycleCloudEventFactory;
     this.schedulerExecutorService = builder.schedulerExecutorService;
+    this.listenersByType = groupByType(listenersByPriority);
   }
 
   public TaskExecutorFactory taskFactory() {
@@ -158,6 +171,10 @@ public class WorkflowApplication implements AutoCloseable {
     return exprFactory;
   }
 
+  public CacheStats expressionCacheStats() {
+    return exprFactory.cacheStats();
+  }
+
   public SchemaValidatorFactory validatorFactory() {
     return schemaValidatorFactory;
   }
@@ -182,6 +199,35 @@ public class WorkflowApplication implements AutoCloseable {
     return listenersByPriority;
   }
 
+  /** Listeners interested on the given event type, grouped by priority */
+  List<Collection<WorkflowExecutionCompletableListener>> listenersByPriority(
+      LifecycleEventType type) {
+    return listenersByType.getOrDefault(type, List.of());
+  }
+
+  private Map<LifecycleEventType, List<Collection<WorkflowExecutionCompletableListener>>>
+      groupByType(List<Collection<WorkflowExecutionCompletableListener>> listenersByPriority) {
+    Map<WorkflowExecutionCompletableListener, Set<LifecycleEventType>> interests = new HashMap<>();
+    listenersByPriority.forEach(
+        listeners -> listeners.forEach(l -> interests.put(l, l.interests(this))));
+    Map<LifecycleEventType, List<Collection<WorkflowExecutionCompletableListener>>> result =
+        new EnumMap<>(LifecycleEventType.class);
+    for (LifecycleEventType type : LifecycleEventType.values()) {
+      List<Collection<WorkflowExecutionCompletableListener>> groups = new ArrayList<>();
+      for (Collection<WorkflowExecutionCompletableListener> listeners : listenersByPriority) {
+        List<WorkflowExecutionCompletableListener> group =
+            listeners.stream().filter(l -> interests.get(l).contains(type)).toList();
+        if (!group.isEmpty()) {
+          groups.add(group);
+        }
+      }
+      if (!groups.isEmpty()) {
+        result.put(type, groups);
+      }
+    }
+    return result;
+  }
+
   private static List<Collection<WorkflowExecutionCompletableListener>> groupByPriority(
       Collection<WorkflowExecutionCompletableListener> listeners) {
     if (listeners.isEmpty()) {
@@ -246,12 +292,16 @@ public class WorkflowApplication implements AutoCloseable {
     private WorkflowInstanceIdFactory idFactory;
     private WorkflowScheduler scheduler;
     private ExecutorServiceFactory executorFactory = new DefaultExecutorServiceFactory();
+    private Map<WorkloadType, ExecutorServiceFactory> workloadExecutorFactories =
+        new EnumMap<>(WorkloadType.class);
     private EventConsumer<?, ?> eventConsumer;
     private Collection<EventPublisher> eventPublishers = new ArrayList<>();
     private RuntimeDescriptorFactory descriptorFactory =
         () -> new RuntimeDescriptor("reference impl", "1.0.0_alpha", Collections.emptyMap());
     private boolean lifeCycleCEPublishingEnabled = true;
     private boolean lifeCycleStatusChangeEnabled = true;
+    private LifeCyclePublishingConfig lifeCyclePublishingConfig =
+        LifeCyclePublishingConfig.defaultConfig();
     private WorkflowModelFactory modelFactory;
     private WorkflowModelFactory contextFactory;
     private Map<String, WorkflowAdditionalObject<?>> additionalObjects = new HashMap<>();
@@ -324,11 +374,26 @@ public class WorkflowApplication implements AutoCloseable {
       return this;
     }
 
+    public Builder withLifeCyclePublishing(LifeCyclePublishingConfig lifeCyclePublishingConfig) {
+      this.lifeCyclePublishingConfig = lifeCyclePublishingConfig;
+      return this;
+    }
+
     public Builder withExecutorFactory(ExecutorServiceFactory executorFactory) {
       this.executorFactory = executorFactory;
       return this;
     }
 
+    /**
+     * Executor used for the given kind of work. Workloads without a specific executor use the one
+     * set through {@link #withExecutorFactory(ExecutorServiceFactory)}
+     */
+    public Builder withExecutorFactory(
+        WorkloadType workloadType, ExecutorServiceFactory executorFactory) {
+      this.workloadExecutorFactories.put(workloadType, executorFactory);
+      return this;
+    }
+
     public Builder withPositionFactory(WorkflowPositionFactory positionFactory) {
       this.positionFactory = positionFactory;
       return this;
@@ -456,7 +521,10 @@ public class WorkflowApplication implements AutoCloseable {
             loadFirst(EventConsumer.class)
                 .orElseGet(
                     () -> {
-                      InMemoryEvents inMemory = new InMemoryEvents(executorFactory);
+                      InMemoryEvents inMemory =
+                          new InMemoryEvents(
+                              workloadExecutorFactories.getOrDefault(
+                                  WorkloadType.EVENTS, executorFactory));
                       if (eventPublishers.isEmpty()) {
                         eventPublishers.add(inMemory);
                       }
@@ -550,16 +618,28 @@ public class WorkflowApplication implements AutoCloseable {
   @Override
   public void close() {
     safeClose(executorFactory);
-    for (EventPublisher eventPublisher : eventPublishers) {
-      safeClose(eventPublisher);
+    for (ExecutorServiceFactory workloadExecutorFactory : workloadExecutorFactories.values()) {
+      safeClose(workloadExecutorFactory);
     }
-    safeClose(eventConsumer);
-
     for (WorkflowDefinition definition : definitions.values()) {
       safeClose(definition);
     }
     definitions.clear();
 
+    for (Object resource : sharedResources.values()) {
+      if (resource instanceof AutoCloseable closeable) {
+        safeClose(closeable);
+      }
+    }
+    sharedResources.clear();
+
+    // closed after shared resources, since lifecycle event batchers flush their pending events
+    // through the publishers when closed
+    for (EventPublisher eventPublisher : eventPublishers) {
+      safeClose(eventPublisher);
+    }
+    safeClose(eventConsumer);
+
     if (!listenersByPriority.isEmpty()) {
       for (Collection<WorkflowExecutionCompletableListener> listeners : listenersByPriority) {
         for (WorkflowExecutionCompletableListener listener : listeners) {
@@ -568,6 +648,7 @@ public class WorkflowApplication implements AutoCloseable {
         listeners.clear();
       }
       listenersByPriority.clear();
+      listenersByType.clear();
     }
     if (this.schedulerExecutorService != null) {
       schedulerExecutorService.shutdownNow();
@@ -599,6 +680,19 @@ public class WorkflowApplication implements AutoCloseable {
     return executorFactory.get();
   }
 
+  public ExecutorService executorService(WorkloadType workloadType) {
+    return workloadExecutorFactories.getOrDefault(workloadType, executorFactory).get();
+  }
+
+  /**
+   * Object shared by all the definitions of this application, created on first use. It is closed
+   * together with the application if it is {@link AutoCloseable}
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T sharedResource(String name, Supplier<T> supplier) {
+    return (T) sharedResources.computeIfAbsent(name, k -> supplier.get());
+  }
+
   public boolean isLifeCycleCEPublishingEnabled() {
     return lifeCycleCEPublishingEnabled;
   }
@@ -607,6 +701,10 @@ public class WorkflowApplication implements AutoCloseable {
     return lifeCycleStatusChangeEnabled;
   }
 
+  public LifeCyclePublishingConfig lifeCyclePublishingConfig() {
+    return lifeCyclePublishingConfig;
+  }
+
   public WorkflowScheduler scheduler() {
     return scheduler;
   }
@@ -15,10 +15,13 @@
  */
 package io.serverlessworkflow.impl;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 public class WorkflowContext implements WorkflowContextData {
   private final WorkflowDefinition definition;
   private final WorkflowMutableInstance instance;
-  private WorkflowModel context;
+  private volatile WorkflowModel context;
+  private final AtomicLong contextVersion = new AtomicLong();
 
   WorkflowContext(WorkflowDefinition definition, WorkflowMutableInstance instance) {
     this.definition = definition;
@@ -42,6 +45,12 @@ public class WorkflowContext implements WorkflowContextData {
 
   public void context(WorkflowModel context) {
     this.context = context;
+    contextVersion.incrementAndGet();
+  }
+
+  @Override
+  public long contextVersion() {
+    return contextVersion.get();
   }
 
   @Override
@@ -21,5 +21,17 @@ public interface WorkflowContextData {
 
   WorkflowModel context();
 
+  /** Context version of implementations that do not track context changes */
+  long UNKNOWN_CONTEXT_VERSION = -1;
+
+  /**
+   * Incremented every time the context is replaced, so writers can tell whether it changed. {@link
+   * #UNKNOWN_CONTEXT_VERSION} means changes are not tracked and the context should always be
+   * written.
+   */
+  default long contextVersion() {
+    return UNKNOWN_CONTEXT_VERSION;
+  }
+
   WorkflowDefinitionData definition();
 }
@@ -53,6 +53,8 @@ public class WorkflowDefinition implements AutoCloseable, WorkflowDefinitionData
   private final TaskExecutor<?> taskExecutor;
   private final ResourceLoader resourceLoader;
   private final Map<String, TaskExecutor<?>> executors = new HashMap<>();
+  private final Map<String, FrozenWorkflowPosition> positions = new ConcurrentHashMap<>();
+  private int nextPositionId;
   private ScheduledEventConsumer scheculedConsumer;
   private Cancellable everySchedule;
   private Cancellable cronSchedule;
@@ -175,6 +177,22 @@ public class WorkflowDefinition implements AutoCloseable, WorkflowDefinitionData
     executors.put(position.jsonPointer(), taskExecutor);
   }
 
+  /** Immutable copy of the given position, with an id unique within this definition */
+  public synchronized FrozenWorkflowPosition freeze(WorkflowPosition position) {
+    return position instanceof FrozenWorkflowPosition frozen
+        ? frozen
+        : positions.computeIfAbsent(
+            position.jsonPointer(), k -> new FrozenWorkflowPosition(nextPositionId++, position));
+  }
+
+  public Optional<FrozenWorkflowPosition> position(String jsonPointer) {
+    return Optional.ofNullable(positions.get(jsonPointer));
+  }
+
+  public int positionCount() {
+    return positions.size();
+  }
+
   public Collection<WorkflowInstance> scheduledInstances() {
     return Collections.unmodifiableCollection(scheduledInstances);
   }
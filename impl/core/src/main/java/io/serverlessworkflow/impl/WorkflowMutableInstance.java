@@ -16,10 +16,19 @@
 package io.serverlessworkflow.impl;
 
 import static io.serverlessworkflow.impl.LifecycleEventsUtils.publishEvent;
-
+import static io.serverlessworkflow.impl.lifecycle.LifecycleEventType.WORKFLOW_CANCELLED;
+import static io.serverlessworkflow.impl.lifecycle.LifecycleEventType.WORKFLOW_COMPLETED;
+import static io.serverlessworkflow.impl.lifecycle.LifecycleEventType.WORKFLOW_FAILED;
+import static io.serverlessworkflow.impl.lifecycle.LifecycleEventType.WORKFLOW_RESUMED;
+import static io.serverlessworkflow.impl.lifecycle.LifecycleEventType.WORKFLOW_STARTED;
+import static io.serverlessworkflow.impl.lifecycle.LifecycleEventType.WORKFLOW_STATUS_CHANGED;
+import static io.serverlessworkflow.impl.lifecycle.LifecycleEventType.WORKFLOW_SUSPENDED;
+
+import io.serverlessworkflow.impl.executors.ForExecutor;
 import io.serverlessworkflow.impl.executors.TaskExecutorHelper;
 import io.serverlessworkflow.impl.lifecycle.WorkflowCancelledEvent;
 import io.serverlessworkflow.impl.lifecycle.WorkflowCompletedEvent;
+import io.serverlessworkflow.impl.lifecycle.WorkflowExecutionCompletableListener;
 import io.serverlessworkflow.impl.lifecycle.WorkflowFailedEvent;
 import io.serverlessworkflow.impl.lifecycle.WorkflowResumedEvent;
 import io.serverlessworkflow.impl.lifecycle.WorkflowStartedEvent;
@@ -34,6 +43,7 @@ import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -53,7 +63,9 @@ public class WorkflowMutableInstance implements WorkflowInstance {
 
   protected final Map<String, Object> additionalObjects = new ConcurrentHashMap<>();
 
-  protected final Map<String, Integer> iterationsMap = new ConcurrentHashMap<>();
+  // indexed by position id, positions unknown to the definition are kept in the map
+  private final AtomicIntegerArray iterations;
+  private final Map<String, Integer> iterationsMap = new ConcurrentHashMap<>();
 
   private Lock statusLock = new ReentrantLock();
   private Map<CompletableFuture<TaskContext>, TaskContext> suspended;
@@ -65,6 +77,7 @@ public class WorkflowMutableInstance implements WorkflowInstance {
     this.input = input;
     this.status = new AtomicReference<>(WorkflowStatus.PENDING);
     this.workflowContext = new WorkflowContext(definition, this);
+    this.iterations = new AtomicIntegerArray(definition.positionCount());
     definition.addInstance(this);
   }
 
@@ -74,7 +87,10 @@ public class WorkflowMutableInstance implements WorkflowInstance {
         () -> {
           startedAt = Instant.now();
           return publishEvent(
-              workflowContext, l -> l.onWorkflowStarted(new WorkflowStartedEvent(workflowContext)));
+              workflowContext,
+              WORKFLOW_STARTED,
+              () -> new WorkflowStartedEvent(workflowContext),
+              WorkflowExecutionCompletableListener::onWorkflowStarted);
         });
   }
 
@@ -106,9 +122,9 @@ public class WorkflowMutableInstance implements WorkflowInstance {
                             model ->
                                 publishEvent(
                                         workflowContext,
-                                        l ->
-                                            l.onWorkflowCompleted(
-                                                new WorkflowCompletedEvent(workflowContext, model)))
+                                        WORKFLOW_COMPLETED,
+                                        () -> new WorkflowCompletedEvent(workflowContext, model),
+                                        WorkflowExecutionCompletableListener::onWorkflowCompleted)
                                     .thenApply(__ -> model)));
     futureRef.set(future);
     return future;
@@ -130,7 +146,10 @@ public class WorkflowMutableInstance implements WorkflowInstance {
     if (!(ex instanceof CancellationException)) {
       status(WorkflowStatus.FAULTED);
       publishEvent(
-          workflowContext, l -> l.onWorkflowFailed(new WorkflowFailedEvent(workflowContext, ex)));
+          workflowContext,
+          WORKFLOW_FAILED,
+          () -> new WorkflowFailedEvent(workflowContext, ex),
+          WorkflowExecutionCompletableListener::onWorkflowFailed);
     }
   }
 
@@ -167,9 +186,42 @@ public class WorkflowMutableInstance implements WorkflowInstance {
   }
 
   public int incIteration(WorkflowPosition position) {
+    if (position instanceof FrozenWorkflowPosition frozen && frozen.id() < iterations.length()) {
+      return iterations.incrementAndGet(frozen.id());
+    }
     return iterationsMap.compute(position.jsonPointer(), (k, v) -> v == null ? 1 : v + 1);
   }
 
+  /** Current iteration count of the task at the given position */
+  protected int iteration(String jsonPointer) {
+    String definitionPointer = definitionPointer(jsonPointer);
+    return workflowContext
+        .definition()
+        .position(definitionPointer)
+        .filter(p -> p.id() < iterations.length())
+        .map(p -> iterations.get(p.id()))
+        .orElseGet(() -> iterationsMap.getOrDefault(definitionPointer, 0));
+  }
+
+  /** Raises the iteration count of the task at the given position, if lower than the given one */
+  protected void iteration(String jsonPointer, int iteration) {
+    String definitionPointer = definitionPointer(jsonPointer);
+    workflowContext
+        .definition()
+        .position(definitionPointer)
+        .filter(p -> p.id() < iterations.length())
+        .ifPresentOrElse(
+            p -> iterations.accumulateAndGet(p.id(), iteration, Math::max),
+            () -> iterationsMap.merge(definitionPointer, iteration, Math::max));
+  }
+
+  // tasks of parallel loop iterations share the counter of their definition position
+  private String definitionPointer(String jsonPointer) {
+    WorkflowDefinition definition = workflowContext.definition();
+    return IterationWorkflowPosition.definitionPointer(
+        jsonPointer, p -> definition.taskExecutor(p) instanceof ForExecutor);
+  }
+
   @Override
   public WorkflowStatus status() {
     return status.get();
@@ -204,9 +256,9 @@ public class WorkflowMutableInstance implements WorkflowInstance {
     if (prevState != state) {
       publishEvent(
           workflowContext,
-          l ->
-              l.onWorkflowStatusChanged(
-                  new WorkflowStatusEvent(workflowContext, prevState, state)));
+          WORKFLOW_STATUS_CHANGED,
+          () -> new WorkflowStatusEvent(workflowContext, prevState, state),
+          WorkflowExecutionCompletableListener::onWorkflowStatusChanged);
     }
   }
 
@@ -231,7 +283,9 @@ public class WorkflowMutableInstance implements WorkflowInstance {
         internalSuspend();
         publishEvent(
             workflowContext,
-            l -> l.onWorkflowSuspended(new WorkflowSuspendedEvent(workflowContext)));
+            WORKFLOW_SUSPENDED,
+            () -> new WorkflowSuspendedEvent(workflowContext),
+            WorkflowExecutionCompletableListener::onWorkflowSuspended);
         return true;
       } else {
         return false;
@@ -267,7 +321,10 @@ public class WorkflowMutableInstance implements WorkflowInstance {
     }
     if (result) {
       publishEvent(
-          workflowContext, l -> l.onWorkflowResumed(new WorkflowResumedEvent(workflowContext)));
+          workflowContext,
+          WORKFLOW_RESUMED,
+          () -> new WorkflowResumedEvent(workflowContext),
+          WorkflowExecutionCompletableListener::onWorkflowResumed);
     }
     return result;
   }
@@ -322,7 +379,10 @@ public class WorkflowMutableInstance implements WorkflowInstance {
     }
     if (result) {
       publishEvent(
-          workflowContext, l -> l.onWorkflowCancelled(new WorkflowCancelledEvent(workflowContext)));
+          workflowContext,
+          WORKFLOW_CANCELLED,
+          () -> new WorkflowCancelledEvent(workflowContext),
+          WorkflowExecutionCompletableListener::onWorkflowCancelled);
       if (toCancel != null) {
         toCancel.forEach(t -> t.cancel(true));
       }
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl;
+
+/**
+ * Kind of work submitted by the runtime to an executor, used to pick the executor configured for it
+ * through {@link WorkflowApplication.Builder#withExecutorFactory(WorkloadType,
+ * ExecutorServiceFactory)}
+ */
+public enum WorkloadType {
+  /** Calls waiting on remote services or processes: http, grpc, a2a, containers, shell */
+  BLOCKING_IO,
+  /** In process computation: fork branches and scripts */
+  CPU,
+  /** Writes to the persistence store */
+  PERSISTENCE,
+  /** Delivery of events published through the default in memory broker */
+  EVENTS,
+  /** Resumption of wait tasks and start of scheduled instances */
+  SCHEDULING
+}
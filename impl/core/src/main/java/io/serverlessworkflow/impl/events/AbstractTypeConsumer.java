@@ -30,9 +30,11 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -89,27 +91,48 @@ public abstract class AbstractTypeConsumer
   private static class CloudEventConsumer extends AbstractCollection<TypeEventRegistration>
       implements Consumer<CloudEvent> {
     private Collection<TypeEventRegistration> registrations = new CopyOnWriteArrayList<>();
+    private Map<CorrelationPredicate, CorrelationIndex> indexes = new ConcurrentHashMap<>();
+    private Map<TypeEventRegistration, IndexedValue> indexed = new ConcurrentHashMap<>();
+
+    private record IndexedValue(CorrelationPredicate predicate, Object expectedValue) {}
 
     @Override
     public void accept(CloudEvent ce) {
       logger.debug("Received cloud event {}", ce);
       WorkflowModel eventModel = null;
       for (TypeEventRegistration registration : registrations) {
-        if (!registration.predicate().test(ce, registration.workflow(), registration.task())) {
+        eventModel = accept(ce, registration, eventModel);
+      }
+      for (CorrelationIndex index : indexes.values()) {
+        Optional<TypeEventRegistration> sample = index.sample();
+        if (sample.isEmpty()) {
           continue;
         }
-        Collection<CloudEventPredicate> correlationPredicates =
-            registration.correlationPredicates();
-        if (!correlationPredicates.isEmpty()) {
-          if (eventModel == null && registration.hasModelAwareCorrelation()) {
-            eventModel = registration.workflow().definition().application().modelFactory().from(ce);
-          }
-          if (!testCorrelation(ce, registration, eventModel)) {
-            continue;
-          }
+        if (eventModel == null) {
+          eventModel = sample.get().workflow().definition().application().modelFactory().from(ce);
+        }
+        for (TypeEventRegistration registration : index.candidates(eventModel, sample.get())) {
+          accept(ce, registration, eventModel);
+        }
+      }
+    }
+
+    private WorkflowModel accept(
+        CloudEvent ce, TypeEventRegistration registration, WorkflowModel eventModel) {
+      if (!registration.predicate().test(ce, registration.workflow(), registration.task())) {
+        return eventModel;
+      }
+      Collection<CloudEventPredicate> correlationPredicates = registration.correlationPredicates();
+      if (!correlationPredicates.isEmpty()) {
+        if (eventModel == null && registration.hasModelAwareCorrelation()) {
+          eventModel = registration.workflow().definition().application().modelFactory().from(ce);
+        }
+        if (!testCorrelation(ce, registration, eventModel)) {
+          return eventModel;
         }
-        registration.consumer().accept(ce);
       }
+      registration.consumer().accept(ce);
+      return eventModel;
     }
 
     private boolean testCorrelation(
@@ -131,22 +154,65 @@ public abstract class AbstractTypeConsumer
 
     @Override
     public boolean add(TypeEventRegistration registration) {
-      return registrations.add(registration);
+      IndexedValue indexedValue = indexedValue(registration);
+      if (indexedValue == null) {
+        return registrations.add(registration);
+      }
+      indexes.compute(
+          indexedValue.predicate(),
+          (k, v) -> {
+            if (v == null) {
+              v = new CorrelationIndex(k);
+            }
+            v.add(indexedValue.expectedValue(), registration);
+            return v;
+          });
+      indexed.put(registration, indexedValue);
+      return true;
+    }
+
+    private IndexedValue indexedValue(TypeEventRegistration registration) {
+      if (registration.workflow() == null || registration.task() == null) {
+        return null;
+      }
+      for (CloudEventPredicate pred : registration.correlationPredicates()) {
+        if (pred instanceof CorrelationPredicate cp && cp.isIndexable()) {
+          try {
+            Object expectedValue = cp.expectedValue(registration.workflow(), registration.task());
+            // a null expected value never matches, keep it in the scan list as before
+            return expectedValue == null ? null : new IndexedValue(cp, expectedValue);
+          } catch (RuntimeException ex) {
+            logger.debug("Cannot index registration {}, it will be scanned", registration, ex);
+            return null;
+          }
+        }
+      }
+      return null;
     }
 
     @Override
     public boolean remove(Object registration) {
-      return registrations.remove(registration);
+      IndexedValue indexedValue = indexed.remove(registration);
+      if (indexedValue == null) {
+        return registrations.remove(registration);
+      }
+      indexes.computeIfPresent(
+          indexedValue.predicate(),
+          (k, v) -> {
+            v.remove(indexedValue.expectedValue(), (TypeEventRegistration) registration);
+            return v.isEmpty() ? null : v;
+          });
+      return true;
     }
 
     @Override
     public Iterator<TypeEventRegistration> iterator() {
-      return registrations.iterator();
+      return Stream.concat(registrations.stream(), indexed.keySet().stream()).iterator();
     }
 
     @Override
     public int size() {
-      return registrations.size();
+      return registrations.size() + indexed.size();
     }
   }
 
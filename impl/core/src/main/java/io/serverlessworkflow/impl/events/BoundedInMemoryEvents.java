@@ -0,0 +1,380 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.events;
+
+import io.cloudevents.CloudEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In memory event broker with bounded memory and thread usage.
+ *
+ * <p>Published events are queued into a fixed number of shards, chosen by event type, each one
+ * being a bounded ring buffer drained by a single thread. Events of the same type are therefore
+ * delivered in publication order. When a shard is full, the {@link OverflowPolicy} decides whether
+ * the publisher waits, the event is discarded or the returned future fails.
+ *
+ * <p>Consumers are invoked on the shard thread, so a slow consumer delays the rest of the events of
+ * its shard. Up to the configured batch size of queued events are taken at once. Consecutive events
+ * of a batch sharing a type are handed to their consumer in one call, through {@link
+ * CloudEventBatchConsumer} when the consumer implements it, and statistics are updated once per
+ * batch rather than per event.
+ *
+ * <p>With the {@link OverflowPolicy#BLOCK} policy, a consumer publishing into a full shard cannot
+ * wait for room, since that might block the thread draining it, either its own or one waiting for
+ * room in the consumer shard. That event is rejected instead.
+ */
+public class BoundedInMemoryEvents extends AbstractTypeConsumer implements EventPublisher {
+
+  private static final Logger logger = LoggerFactory.getLogger(BoundedInMemoryEvents.class);
+
+  public enum OverflowPolicy {
+    /** Publisher waits till there is room in the shard */
+    BLOCK,
+    /** Event is discarded and the returned future completes normally */
+    DROP,
+    /** Event is discarded and the returned future fails with {@link RejectedExecutionException} */
+    FAIL
+  }
+
+  public static final int DEFAULT_SHARDS = Runtime.getRuntime().availableProcessors();
+  public static final int DEFAULT_CAPACITY = 1024;
+  public static final int DEFAULT_BATCH_SIZE = 64;
+
+  private final Map<String, Consumer<CloudEvent>> topicMap = new ConcurrentHashMap<>();
+  private final AtomicReference<Consumer<CloudEvent>> allConsumerRef = new AtomicReference<>();
+  private final OverflowPolicy overflowPolicy;
+  private final int batchSize;
+  private final Shard[] shards;
+  private volatile boolean closed;
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public static class Builder {
+    private int shards = DEFAULT_SHARDS;
+    private int capacity = DEFAULT_CAPACITY;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+    private Builder() {}
+
+    public Builder withShards(int shards) {
+      this.shards = shards;
+      return this;
+    }
+
+    public Builder withCapacity(int capacity) {
+      this.capacity = capacity;
+      return this;
+    }
+
+    public Builder withBatchSize(int batchSize) {
+      this.batchSize = batchSize;
+      return this;
+    }
+
+    public Builder withOverflowPolicy(OverflowPolicy overflowPolicy) {
+      this.overflowPolicy = overflowPolicy;
+      return this;
+    }
+
+    public BoundedInMemoryEvents build() {
+      if (shards <= 0 || capacity <= 0 || batchSize <= 0) {
+        throw new IllegalArgumentException(
+            "Shards, capacity and batch size should be positive, but they are "
+                + shards
+                + ", "
+                + capacity
+                + " and "
+                + batchSize);
+      }
+      return new BoundedInMemoryEvents(this);
+    }
+  }
+
+  public BoundedInMemoryEvents() {
+    this(new Builder());
+  }
+
+  private BoundedInMemoryEvents(Builder builder) {
+    this.overflowPolicy = builder.overflowPolicy;
+    this.batchSize = builder.batchSize;
+    this.shards = new Shard[builder.shards];
+    for (int i = 0; i < shards.length; i++) {
+      shards[i] = new Shard(i, builder.capacity);
+    }
+  }
+
+  @Override
+  public void register(String topicName, Consumer<CloudEvent> consumer) {
+    topicMap.put(topicName, consumer);
+  }
+
+  @Override
+  protected void unregister(String topicName) {
+    topicMap.remove(topicName);
+  }
+
+  @Override
+  protected void registerToAll(Consumer<CloudEvent> consumer) {
+    allConsumerRef.set(consumer);
+  }
+
+  @Override
+  protected void unregisterFromAll() {
+    allConsumerRef.set(null);
+  }
+
+  @Override
+  public CompletableFuture<Void> publish(CloudEvent ce) {
+    if (closed) {
+      return CompletableFuture.failedFuture(closedException());
+    }
+    return shards[Math.floorMod(ce.getType().hashCode(), shards.length)].publish(ce);
+  }
+
+  public EventBusStats stats() {
+    return Arrays.stream(shards).map(Shard::stats).reduce(EventBusStats.EMPTY, EventBusStats::plus);
+  }
+
+  public List<EventBusStats> shardStats() {
+    return Arrays.stream(shards).map(Shard::stats).toList();
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    for (Shard shard : shards) {
+      shard.stop();
+    }
+    topicMap.clear();
+  }
+
+  private boolean isWorker(Thread thread) {
+    for (Shard shard : shards) {
+      if (shard.worker == thread) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static IllegalStateException closedException() {
+    return new IllegalStateException("Event broker has been closed");
+  }
+
+  private record PendingEvent(CloudEvent ce, CompletableFuture<Void> future, long queuedAt) {}
+
+  private class Shard implements Runnable {
+
+    private final int id;
+    private final BlockingQueue<PendingEvent> queue;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile Thread worker;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalLatency = new LongAdder();
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    Shard(int id, int capacity) {
+      this.id = id;
+      this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    CompletableFuture<Void> publish(CloudEvent ce) {
+      start();
+      PendingEvent event = new PendingEvent(ce, new CompletableFuture<>(), System.nanoTime());
+      if (queue.offer(event)) {
+        published.increment();
+        return event.future();
+      }
+      switch (overflowPolicy) {
+        case DROP:
+          dropped.increment();
+          logger.debug("Shard {} is full, dropping event {}", id, ce.getId());
+          return CompletableFuture.completedFuture(null);
+        case BLOCK:
+          if (!isWorker(Thread.currentThread())) {
+            return put(event);
+          }
+          // waiting from a shard thread might block the thread draining this shard, delivering
+          // right away would overtake the events already queued
+          rejected.increment();
+          return CompletableFuture.failedFuture(
+              new RejectedExecutionException(
+                  "Shard "
+                      + id
+                      + " is full and cannot be waited for from a consumer, rejecting event "
+                      + ce.getId()));
+        case FAIL:
+        default:
+          rejected.increment();
+          return CompletableFuture.failedFuture(
+              new RejectedExecutionException(
+                  "Shard " + id + " is full, cannot accept event " + ce.getId()));
+      }
+    }
+
+    private CompletableFuture<Void> put(PendingEvent event) {
+      try {
+        queue.put(event);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        rejected.increment();
+        return CompletableFuture.failedFuture(ex);
+      }
+      published.increment();
+      if (closed && queue.remove(event)) {
+        event.future().completeExceptionally(closedException());
+      }
+      return event.future();
+    }
+
+    private void start() {
+      if (started.compareAndSet(false, true)) {
+        Thread thread = new Thread(this, "workflow-events-" + id);
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+      }
+    }
+
+    @Override
+    public void run() {
+      List<PendingEvent> batch = new ArrayList<>(batchSize);
+      try {
+        while (!closed) {
+          batch.add(queue.take());
+          queue.drainTo(batch, batchSize - 1);
+          try {
+            deliver(batch);
+          } catch (Throwable ex) {
+            logger.error("Unexpected error delivering a batch of {} events", batch.size(), ex);
+            batch.forEach(e -> e.future().completeExceptionally(ex));
+          }
+          batch.clear();
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      } finally {
+        batch.forEach(e -> e.future().completeExceptionally(closedException()));
+      }
+    }
+
+    private void deliver(List<PendingEvent> batch) {
+      RuntimeException[] errors = new RuntimeException[batch.size()];
+      Consumer<CloudEvent> allConsumer = allConsumerRef.get();
+      if (allConsumer != null) {
+        deliver(allConsumer, batch, 0, batch.size(), errors);
+      }
+      // each run of events sharing a type is handed to its consumer in one call, so events are
+      // still delivered in the order they were queued
+      int start = 0;
+      while (start < batch.size()) {
+        String type = batch.get(start).ce().getType();
+        int end = start + 1;
+        while (end < batch.size() && type.equals(batch.get(end).ce().getType())) {
+          end++;
+        }
+        Consumer<CloudEvent> consumer = topicMap.get(type);
+        if (consumer != null) {
+          deliver(consumer, batch, start, end, errors);
+        }
+        start = end;
+      }
+      long now = System.nanoTime();
+      long batchLatency = 0;
+      long batchMaxLatency = 0;
+      for (PendingEvent event : batch) {
+        long latency = now - event.queuedAt();
+        batchLatency += latency;
+        batchMaxLatency = Math.max(batchMaxLatency, latency);
+      }
+      delivered.add(batch.size());
+      totalLatency.add(batchLatency);
+      maxLatency.accumulateAndGet(batchMaxLatency, Math::max);
+      // completed once stats are updated, so they already account for the event
+      for (int i = 0; i < errors.length; i++) {
+        if (errors[i] == null) {
+          batch.get(i).future().complete(null);
+        } else {
+          batch.get(i).future().completeExceptionally(errors[i]);
+        }
+      }
+    }
+
+    private void deliver(
+        Consumer<CloudEvent> consumer,
+        List<PendingEvent> batch,
+        int start,
+        int end,
+        RuntimeException[] errors) {
+      List<CloudEvent> events = new ArrayList<>(end - start);
+      for (int i = start; i < end; i++) {
+        events.add(batch.get(i).ce());
+      }
+      CloudEventBatchConsumer.acceptAll(
+          consumer,
+          events,
+          (ex, i) -> {
+            logger.debug("Error delivering event {}", events.get(i).getId(), ex);
+            if (errors[start + i] == null) {
+              errors[start + i] = ex;
+            }
+          });
+    }
+
+    void stop() {
+      Thread thread = worker;
+      if (thread != null) {
+        thread.interrupt();
+      }
+      List<PendingEvent> pending = new ArrayList<>();
+      queue.drainTo(pending);
+      pending.forEach(e -> e.future().completeExceptionally(closedException()));
+    }
+
+    EventBusStats stats() {
+      return new EventBusStats(
+          published.sum(),
+          delivered.sum(),
+          dropped.sum(),
+          rejected.sum(),
+          queue.size(),
+          totalLatency.sum(),
+          maxLatency.get());
+    }
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.events;
+
+import io.cloudevents.CloudEvent;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+
+/** Event consumer able to take several events in one call */
+public interface CloudEventBatchConsumer extends Consumer<CloudEvent> {
+
+  /**
+   * Delivers the events in order. A failure delivering one of them does not prevent the rest from
+   * being delivered, it is reported to the error handler together with the index of the event.
+   */
+  default void acceptAll(List<CloudEvent> events, ObjIntConsumer<RuntimeException> onError) {
+    for (int i = 0; i < events.size(); i++) {
+      try {
+        accept(events.get(i));
+      } catch (RuntimeException ex) {
+        onError.accept(ex, i);
+      }
+    }
+  }
+
+  /** Hands the events to the consumer in one call if it takes batches, one by one otherwise */
+  static void acceptAll(
+      Consumer<CloudEvent> consumer,
+      List<CloudEvent> events,
+      ObjIntConsumer<RuntimeException> onError) {
+    CloudEventBatchConsumer batchConsumer =
+        consumer instanceof CloudEventBatchConsumer c ? c : consumer::accept;
+    batchConsumer.acceptAll(events, onError);
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.events;
+
+import io.serverlessworkflow.impl.WorkflowModel;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Registrations sharing the same indexable {@link CorrelationPredicate} (that is, waiting on the
+ * same listen task), grouped by the value they expect. Mutations are expected to be serialized by
+ * the caller, lookups might run concurrently with them.
+ */
+class CorrelationIndex {
+
+  private static final Logger logger = LoggerFactory.getLogger(CorrelationIndex.class);
+
+  private final CorrelationPredicate predicate;
+  private final Map<Object, Set<TypeEventRegistration>> registrations = new ConcurrentHashMap<>();
+
+  CorrelationIndex(CorrelationPredicate predicate) {
+    this.predicate = predicate;
+  }
+
+  void add(Object expectedValue, TypeEventRegistration registration) {
+    registrations
+        .computeIfAbsent(expectedValue, k -> ConcurrentHashMap.newKeySet())
+        .add(registration);
+  }
+
+  void remove(Object expectedValue, TypeEventRegistration registration) {
+    registrations.computeIfPresent(
+        expectedValue,
+        (k, v) -> {
+          v.remove(registration);
+          return v.isEmpty() ? null : v;
+        });
+  }
+
+  boolean isEmpty() {
+    return registrations.isEmpty();
+  }
+
+  /** Any of the indexed registrations */
+  Optional<TypeEventRegistration> sample() {
+    for (Set<TypeEventRegistration> bucket : registrations.values()) {
+      Iterator<TypeEventRegistration> iter = bucket.iterator();
+      if (iter.hasNext()) {
+        return Optional.of(iter.next());
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Registrations whose expected value is the one extracted from the event. Since the from
+   * expression does not depend on the instance, it is evaluated with the context of the sample.
+   */
+  Collection<TypeEventRegistration> candidates(
+      WorkflowModel eventModel, TypeEventRegistration sample) {
+    Object eventValue;
+    try {
+      eventValue = predicate.eventValue(eventModel, sample.workflow(), sample.task());
+    } catch (RuntimeException ex) {
+      // would have failed for every registration, so none of them matches
+      logger.debug("Error extracting correlation value from event {}", eventModel, ex);
+      return List.of();
+    }
+    return eventValue == null ? List.of() : registrations.getOrDefault(eventValue, Set.of());
+  }
+}
@@ -23,6 +23,7 @@ import io.serverlessworkflow.impl.WorkflowContext;
 import io.serverlessworkflow.impl.WorkflowModel;
 import io.serverlessworkflow.impl.WorkflowValueResolver;
 import io.serverlessworkflow.impl.expressions.ExpressionDescriptor;
+import io.serverlessworkflow.impl.expressions.ExpressionFactory;
 import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
@@ -35,25 +36,50 @@ class CorrelationPredicate implements ModelAwareCloudEventPredicate {
   private final String correlationKey;
   private final WorkflowValueResolver<Object> fromResolver;
   private final WorkflowValueResolver<Object> expectResolver;
+  private final boolean indexable;
 
   private CorrelationPredicate(
       String correlationKey,
       WorkflowValueResolver<Object> fromResolver,
-      WorkflowValueResolver<Object> expectResolver) {
+      WorkflowValueResolver<Object> expectResolver,
+      boolean indexable) {
     this.correlationKey = correlationKey;
     this.fromResolver = fromResolver;
     this.expectResolver = expectResolver;
+    this.indexable = indexable;
   }
 
   public static CorrelationPredicate from(
       String key, CorrelateProperty prop, WorkflowApplication app) {
-    WorkflowValueResolver<Object> fromResolver =
-        app.expressionFactory().resolveValue(ExpressionDescriptor.from(prop.getFrom()));
-    WorkflowValueResolver<Object> expectResolver =
-        prop.getExpect() != null
-            ? app.expressionFactory().resolveValue(ExpressionDescriptor.from(prop.getExpect()))
-            : null;
-    return new CorrelationPredicate(key, fromResolver, expectResolver);
+    ExpressionFactory exprFactory = app.expressionFactory();
+    ExpressionDescriptor fromDesc = ExpressionDescriptor.from(prop.getFrom());
+    WorkflowValueResolver<Object> fromResolver = exprFactory.resolveValue(fromDesc);
+    if (prop.getExpect() == null) {
+      return new CorrelationPredicate(key, fromResolver, null, false);
+    }
+    ExpressionDescriptor expectDesc = ExpressionDescriptor.from(prop.getExpect());
+    return new CorrelationPredicate(
+        key,
+        fromResolver,
+        exprFactory.resolveValue(expectDesc),
+        exprFactory.isContextFree(fromDesc) && exprFactory.isContextFree(expectDesc));
+  }
+
+  /**
+   * An indexable predicate extracts the correlation value from the event without looking at the
+   * waiting instance, and its expected value only depends on the (immutable) input of the waiting
+   * task, so registrations might be looked up by expected value rather than tested one by one.
+   */
+  boolean isIndexable() {
+    return indexable;
+  }
+
+  Object eventValue(WorkflowModel eventModel, WorkflowContext workflow, TaskContext task) {
+    return fromResolver.apply(workflow, task, eventModel);
+  }
+
+  Object expectedValue(WorkflowContext workflow, TaskContext task) {
+    return expectResolver.apply(workflow, task, task.input());
   }
 
   private String correlationStateKey(TaskContext task) {
@@ -77,7 +103,7 @@ class CorrelationPredicate implements ModelAwareCloudEventPredicate {
 
   @Override
   public boolean test(WorkflowModel eventModel, WorkflowContext workflow, TaskContext task) {
-    Object eventValue = fromResolver.apply(workflow, task, eventModel);
+    Object eventValue = eventValue(eventModel, workflow, task);
     if (eventValue == null) {
       logger.debug("Correlation from expression returned null");
       return false;
@@ -95,7 +121,7 @@ class CorrelationPredicate implements ModelAwareCloudEventPredicate {
       return result;
     }
 
-    Object expectedValue = expectResolver.apply(workflow, task, task.input());
+    Object expectedValue = expectedValue(workflow, task);
     boolean result = Objects.equals(eventValue, expectedValue);
     logger.debug(
         "Correlation eventValue='{}', expectedValue='{}', match={}",
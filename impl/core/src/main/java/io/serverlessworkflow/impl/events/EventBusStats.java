@@ -0,0 +1,44 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.events;
+
+public record EventBusStats(
+    long published,
+    long delivered,
+    long dropped,
+    long rejected,
+    long pending,
+    long totalLatencyNanos,
+    long maxLatencyNanos) {
+
+  public static final EventBusStats EMPTY = new EventBusStats(0, 0, 0, 0, 0, 0, 0);
+
+  public EventBusStats plus(EventBusStats other) {
+    return new EventBusStats(
+        published + other.published,
+        delivered + other.delivered,
+        dropped + other.dropped,
+        rejected + other.rejected,
+        pending + other.pending,
+        totalLatencyNanos + other.totalLatencyNanos,
+        Math.max(maxLatencyNanos, other.maxLatencyNanos));
+  }
+
+  /** Average time elapsed between an event being queued and its delivery being completed */
+  public double averageLatencyNanos() {
+    return delivered == 0 ? 0 : (double) totalLatencyNanos / delivered;
+  }
+}
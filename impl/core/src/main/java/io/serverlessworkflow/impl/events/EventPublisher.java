@@ -16,6 +16,7 @@
 package io.serverlessworkflow.impl.events;
 
 import io.cloudevents.CloudEvent;
+import java.util.Collection;
 import java.util.concurrent.CompletableFuture;
 
 public interface EventPublisher extends AutoCloseable {
@@ -25,4 +26,9 @@ public interface EventPublisher extends AutoCloseable {
   default void publishLifeCycle(CloudEvent event) {
     publish(event);
   }
+
+  /*override this method to send a batch of life cycle events at once*/
+  default void publishLifeCycle(Collection<CloudEvent> events) {
+    events.forEach(this::publishLifeCycle);
+  }
 }
@@ -15,9 +15,15 @@
  */
 package io.serverlessworkflow.impl.executors;
 
+import static io.serverlessworkflow.impl.LifecycleEventsUtils.hasListeners;
 import static io.serverlessworkflow.impl.LifecycleEventsUtils.publishEvent;
 import static io.serverlessworkflow.impl.WorkflowUtils.buildWorkflowFilter;
 import static io.serverlessworkflow.impl.WorkflowUtils.getSchemaValidator;
+import static io.serverlessworkflow.impl.lifecycle.LifecycleEventType.TASK_CANCELLED;
+import static io.serverlessworkflow.impl.lifecycle.LifecycleEventType.TASK_COMPLETED;
+import static io.serverlessworkflow.impl.lifecycle.LifecycleEventType.TASK_FAILED;
+import static io.serverlessworkflow.impl.lifecycle.LifecycleEventType.TASK_RETRIED;
+import static io.serverlessworkflow.impl.lifecycle.LifecycleEventType.TASK_STARTED;
 
 import io.serverlessworkflow.api.types.Export;
 import io.serverlessworkflow.api.types.FlowDirective;
@@ -25,6 +31,7 @@ import io.serverlessworkflow.api.types.Input;
 import io.serverlessworkflow.api.types.Output;
 import io.serverlessworkflow.api.types.TaskBase;
 import io.serverlessworkflow.api.types.Workflow;
+import io.serverlessworkflow.impl.IterationWorkflowPosition;
 import io.serverlessworkflow.impl.TaskContext;
 import io.serverlessworkflow.impl.WorkflowApplication;
 import io.serverlessworkflow.impl.WorkflowContext;
@@ -44,6 +51,7 @@ import io.serverlessworkflow.impl.lifecycle.TaskCompletedEvent;
 import io.serverlessworkflow.impl.lifecycle.TaskFailedEvent;
 import io.serverlessworkflow.impl.lifecycle.TaskRetriedEvent;
 import io.serverlessworkflow.impl.lifecycle.TaskStartedEvent;
+import io.serverlessworkflow.impl.lifecycle.WorkflowExecutionCompletableListener;
 import io.serverlessworkflow.impl.resources.ResourceLoader;
 import io.serverlessworkflow.impl.schema.SchemaValidator;
 import java.time.Duration;
@@ -172,7 +180,7 @@ public abstract class AbstractTaskExecutor<T extends TaskBase> implements TaskEx
   protected AbstractTaskExecutor(AbstractTaskExecutorBuilder<T, ?> builder) {
     this.task = builder.task;
     this.taskName = builder.taskName;
-    this.position = builder.position;
+    this.position = builder.definition.freeze(builder.position);
     this.inputProcessor = builder.inputProcessor;
     this.outputProcessor = builder.outputProcessor;
     this.contextProcessor = builder.contextProcessor;
@@ -202,7 +210,8 @@ public abstract class AbstractTaskExecutor<T extends TaskBase> implements TaskEx
   @Override
   public CompletableFuture<TaskContext> apply(
       WorkflowContext workflowContext, Optional<TaskContext> parentContext, WorkflowModel input) {
-    TaskContext taskContext = new TaskContext(input, position, parentContext, taskName, task);
+    TaskContext taskContext =
+        new TaskContext(input, contextPosition(parentContext), parentContext, taskName, task);
     workflowContext.instance().restoreContext(workflowContext, taskContext);
     CompletableFuture<TaskContext> completable = CompletableFuture.completedFuture(taskContext);
     if (!TaskExecutorHelper.isActive(workflowContext)) {
@@ -211,25 +220,29 @@ public abstract class AbstractTaskExecutor<T extends TaskBase> implements TaskEx
       return executeNext(completable, workflowContext);
     } else if (ifFilter.map(f -> f.test(workflowContext, taskContext, input)).orElse(true)) {
       taskContext.iteration(workflowContext.instance().incIteration(position));
+      completable = completable.thenCompose(workflowContext.instance()::suspendedCheck);
+      if (hasListeners(workflowContext, TASK_STARTED)
+          || hasListeners(workflowContext, TASK_RETRIED)) {
+        completable =
+            completable.thenCompose(
+                t -> {
+                  CompletableFuture<?> events =
+                      t.isRetrying()
+                          ? publishEvent(
+                              workflowContext,
+                              TASK_RETRIED,
+                              () -> new TaskRetriedEvent(workflowContext, taskContext),
+                              WorkflowExecutionCompletableListener::onTaskRetried)
+                          : publishEvent(
+                              workflowContext,
+                              TASK_STARTED,
+                              () -> new TaskStartedEvent(workflowContext, taskContext),
+                              WorkflowExecutionCompletableListener::onTaskStarted);
+                  return events.thenApply(v -> t);
+                });
+      }
       completable =
           completable
-              .thenCompose(workflowContext.instance()::suspendedCheck)
-              .thenCompose(
-                  t -> {
-                    CompletableFuture<?> events =
-                        t.isRetrying()
-                            ? publishEvent(
-                                workflowContext,
-                                l ->
-                                    l.onTaskRetried(
-                                        new TaskRetriedEvent(workflowContext, taskContext)))
-                            : publishEvent(
-                                workflowContext,
-                                l ->
-                                    l.onTaskStarted(
-                                        new TaskStartedEvent(workflowContext, taskContext)));
-                    return events.thenApply(v -> t);
-                  })
               .thenApply(
                   t -> {
                     inputSchemaValidator.ifPresent(s -> s.validate(t.rawInput()));
@@ -260,15 +273,18 @@ public abstract class AbstractTaskExecutor<T extends TaskBase> implements TaskEx
                     contextSchemaValidator.ifPresent(s -> s.validate(workflowContext.context()));
                     t.completedAt(Instant.now());
                     return t;
-                  })
-              .thenCompose(
-                  t ->
-                      publishEvent(
-                              workflowContext,
-                              l ->
-                                  l.onTaskCompleted(
-                                      new TaskCompletedEvent(workflowContext, taskContext)))
-                          .thenApply(__ -> t));
+                  });
+      if (hasListeners(workflowContext, TASK_COMPLETED)) {
+        completable =
+            completable.thenCompose(
+                t ->
+                    publishEvent(
+                            workflowContext,
+                            TASK_COMPLETED,
+                            () -> new TaskCompletedEvent(workflowContext, taskContext),
+                            WorkflowExecutionCompletableListener::onTaskCompleted)
+                        .thenApply(__ -> t));
+      }
       if (timeout.isPresent()) {
         completable =
             completable
@@ -294,16 +310,28 @@ public abstract class AbstractTaskExecutor<T extends TaskBase> implements TaskEx
     }
   }
 
+  private WorkflowPosition contextPosition(Optional<TaskContext> parentContext) {
+    if (parentContext.isPresent()
+        && parentContext.orElseThrow().position() instanceof IterationWorkflowPosition iteration) {
+      return iteration.child(position);
+    }
+    return position;
+  }
+
   private void handleException(
       WorkflowContext workflowContext, TaskContext taskContext, Throwable e) {
     if (e instanceof CancellationException) {
       publishEvent(
           workflowContext,
-          l -> l.onTaskCancelled(new TaskCancelledEvent(workflowContext, taskContext)));
+          TASK_CANCELLED,
+          () -> new TaskCancelledEvent(workflowContext, taskContext),
+          WorkflowExecutionCompletableListener::onTaskCancelled);
     } else {
       publishEvent(
           workflowContext,
-          l -> l.onTaskFailed(new TaskFailedEvent(workflowContext, taskContext, e)));
+          TASK_FAILED,
+          () -> new TaskFailedEvent(workflowContext, taskContext, e),
+          WorkflowExecutionCompletableListener::onTaskFailed);
     }
   }
 
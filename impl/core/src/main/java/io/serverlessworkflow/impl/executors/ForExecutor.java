@@ -16,25 +16,50 @@
 package io.serverlessworkflow.impl.executors;
 
 import io.serverlessworkflow.api.types.ForTask;
+import io.serverlessworkflow.api.types.TaskMetadata;
+import io.serverlessworkflow.impl.IterationWorkflowPosition;
 import io.serverlessworkflow.impl.TaskContext;
 import io.serverlessworkflow.impl.WorkflowContext;
 import io.serverlessworkflow.impl.WorkflowDefinition;
 import io.serverlessworkflow.impl.WorkflowModel;
+import io.serverlessworkflow.impl.WorkflowModelCollection;
 import io.serverlessworkflow.impl.WorkflowMutablePosition;
 import io.serverlessworkflow.impl.WorkflowPredicate;
 import io.serverlessworkflow.impl.WorkflowUtils;
 import io.serverlessworkflow.impl.WorkflowValueResolver;
+import io.serverlessworkflow.impl.WorkloadType;
 import io.serverlessworkflow.impl.expressions.ExpressionDescriptor;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
 public class ForExecutor extends RegularTaskExecutor<ForTask> {
 
+  /**
+   * Task metadata property that enables the parallel mode, setting how many iterations might run at
+   * the same time. In parallel mode, every iteration receives the task input rather than the output
+   * of the previous one, and tasks within an iteration get a position qualified by its index (see
+   * {@link IterationWorkflowPosition}). As in the sequential mode, the task output is the output of
+   * the last iteration.
+   */
+  public static final String MAX_CONCURRENCY = "maxConcurrency";
+
+  /**
+   * Task metadata property that, in parallel mode, makes the task output the collection of every
+   * iteration output, in iteration order, instead of the output of the last iteration.
+   */
+  public static final String COLLECT_OUTPUTS = "collectOutputs";
+
   private final WorkflowValueResolver<Collection<?>> collectionExpr;
   private final Optional<WorkflowPredicate> whileExpr;
   private final TaskExecutor<?> taskExecutor;
+  private final int maxConcurrency;
+  private final boolean collectOutputs;
+  private final ExecutorService service;
 
   public static class ForExecutorBuilder extends RegularTaskExecutorBuilder<ForTask> {
     private TaskExecutor<?> taskExecutor;
@@ -49,6 +74,32 @@ public class ForExecutor extends RegularTaskExecutor<ForTask> {
       return WorkflowUtils.optionalPredicate(application, task.getWhile());
     }
 
+    protected int buildMaxConcurrency() {
+      Object value = metadata(MAX_CONCURRENCY);
+      if (value == null) {
+        return 1;
+      }
+      int maxConcurrency =
+          value instanceof Number number ? number.intValue() : Integer.parseInt(value.toString());
+      if (maxConcurrency < 1) {
+        throw new IllegalArgumentException(
+            MAX_CONCURRENCY + " should be greater than zero but it is " + maxConcurrency);
+      }
+      return maxConcurrency;
+    }
+
+    protected boolean buildCollectOutputs() {
+      Object value = metadata(COLLECT_OUTPUTS);
+      return value instanceof Boolean bool
+          ? bool
+          : value != null && Boolean.parseBoolean(value.toString());
+    }
+
+    private Object metadata(String name) {
+      TaskMetadata metadata = task.getMetadata();
+      return metadata == null ? null : metadata.getAdditionalProperties().get(name);
+    }
+
     protected WorkflowValueResolver<Collection<?>> buildCollectionFilter() {
       return application
           .expressionFactory()
@@ -66,17 +117,18 @@ public class ForExecutor extends RegularTaskExecutor<ForTask> {
     this.collectionExpr = builder.buildCollectionFilter();
     this.whileExpr = builder.buildWhileFilter();
     this.taskExecutor = builder.taskExecutor;
+    this.maxConcurrency = builder.buildMaxConcurrency();
+    this.collectOutputs = builder.buildCollectOutputs();
+    this.service = builder.application.executorService(WorkloadType.CPU);
   }
 
   @Override
   protected CompletableFuture<WorkflowModel> internalExecute(
       WorkflowContext workflow, TaskContext taskContext) {
-    return buildLoopFuture(
-        workflow,
-        taskContext,
-        taskContext.input(),
-        collectionExpr.apply(workflow, taskContext, taskContext.input()).iterator(),
-        -1);
+    Iterator<?> iter = collectionExpr.apply(workflow, taskContext, taskContext.input()).iterator();
+    return maxConcurrency > 1
+        ? new ParallelLoop(workflow, taskContext, iter).start()
+        : buildLoopFuture(workflow, taskContext, taskContext.input(), iter, -1);
   }
 
   private CompletableFuture<WorkflowModel> buildLoopFuture(
@@ -97,4 +149,102 @@ public class ForExecutor extends RegularTaskExecutor<ForTask> {
     }
     return CompletableFuture.completedFuture(input);
   }
+
+  /**
+   * Keeps up to maxConcurrency iterations in flight, each one with its own task context holding the
+   * item and index variables and its own position. Once the while condition turns false, an
+   * iteration fails or the workflow is no longer active, no more iterations are started. The loop
+   * completes once the running iterations have finished, failing with the first error, if any, so
+   * no iteration keeps changing the workflow after the task is over.
+   */
+  private class ParallelLoop {
+    private final WorkflowContext workflow;
+    private final TaskContext taskContext;
+    private final Iterator<?> iter;
+    private final List<WorkflowModel> outputs = new ArrayList<>();
+    private final CompletableFuture<WorkflowModel> result = new CompletableFuture<>();
+    private int inFlight;
+    private boolean exhausted;
+    private Throwable failure;
+
+    ParallelLoop(WorkflowContext workflow, TaskContext taskContext, Iterator<?> iter) {
+      this.workflow = workflow;
+      this.taskContext = taskContext;
+      this.iter = iter;
+    }
+
+    CompletableFuture<WorkflowModel> start() {
+      launch();
+      return result;
+    }
+
+    private synchronized void launch() {
+      while (!exhausted && inFlight < maxConcurrency) {
+        if (failure != null || !iter.hasNext() || !TaskExecutorHelper.isActive(workflow)) {
+          exhausted = true;
+          break;
+        }
+        int index = outputs.size();
+        TaskContext iterationContext =
+            new TaskContext(
+                taskContext.input(),
+                IterationWorkflowPosition.of(taskContext.position(), position(), index),
+                Optional.of(taskContext),
+                taskContext.taskName(),
+                taskContext.task());
+        iterationContext.variables().put(task.getFor().getEach(), iter.next());
+        iterationContext.variables().put(task.getFor().getAt(), index);
+        try {
+          if (!whileExpr
+              .map(w -> w.test(workflow, iterationContext, taskContext.input()))
+              .orElse(true)) {
+            exhausted = true;
+            break;
+          }
+        } catch (RuntimeException ex) {
+          // might be running within a completion callback, where it would be lost
+          failure = ex;
+          exhausted = true;
+          break;
+        }
+        outputs.add(null);
+        inFlight++;
+        CompletableFuture.supplyAsync(() -> iterationContext, service)
+            .thenCompose(
+                t ->
+                    TaskExecutorHelper.processTaskList(
+                        taskExecutor, workflow, Optional.of(t), t.input()))
+            .whenComplete((output, ex) -> completed(index, output, ex));
+      }
+      if (exhausted && inFlight == 0 && !result.isDone()) {
+        if (failure != null) {
+          result.completeExceptionally(failure);
+        } else {
+          result.complete(output());
+        }
+      }
+    }
+
+    private WorkflowModel output() {
+      if (collectOutputs) {
+        WorkflowModelCollection collection =
+            workflow.definition().application().modelFactory().createCollection();
+        collection.addAll(outputs);
+        return collection;
+      }
+      return outputs.isEmpty() ? taskContext.input() : outputs.get(outputs.size() - 1);
+    }
+
+    private synchronized void completed(int index, WorkflowModel output, Throwable ex) {
+      inFlight--;
+      if (ex != null) {
+        if (failure == null) {
+          failure = ex;
+        }
+      } else {
+        outputs.set(index, output);
+      }
+      launch();
+    }
+  }
 }
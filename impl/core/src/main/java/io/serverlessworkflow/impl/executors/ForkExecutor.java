@@ -22,6 +22,7 @@ import io.serverlessworkflow.impl.WorkflowContext;
 import io.serverlessworkflow.impl.WorkflowDefinition;
 import io.serverlessworkflow.impl.WorkflowModel;
 import io.serverlessworkflow.impl.WorkflowMutablePosition;
+import io.serverlessworkflow.impl.WorkloadType;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -61,7 +62,7 @@ public class ForkExecutor extends RegularTaskExecutor<ForkTask> {
 
   protected ForkExecutor(ForkExecutorBuilder builder) {
     super(builder);
-    service = builder.application.executorService();
+    service = builder.application.executorService(WorkloadType.CPU);
     this.taskExecutors = builder.taskExecutors;
     this.compete = builder.compete;
   }
@@ -23,6 +23,7 @@ import io.serverlessworkflow.impl.WorkflowError;
 import io.serverlessworkflow.impl.WorkflowException;
 import io.serverlessworkflow.impl.WorkflowModel;
 import io.serverlessworkflow.impl.WorkflowValueResolver;
+import io.serverlessworkflow.impl.WorkloadType;
 import io.serverlessworkflow.impl.scripts.ScriptContext;
 import io.serverlessworkflow.impl.scripts.ScriptRunner;
 import java.util.Map;
@@ -65,12 +66,12 @@ public class RunScriptExecutor implements CallableTask {
     if (isAwait) {
       return CompletableFuture.supplyAsync(
           () -> runScript(scriptContext, workflowContext, taskContext, input),
-          workflowContext.definition().application().executorService());
+          workflowContext.definition().application().executorService(WorkloadType.CPU));
     } else {
       workflowContext
           .definition()
           .application()
-          .executorService()
+          .executorService(WorkloadType.CPU)
           .submit(() -> runScript(scriptContext, workflowContext, taskContext, input));
       return CompletableFuture.completedFuture(input);
     }
@@ -22,6 +22,7 @@ import io.serverlessworkflow.impl.TaskContext;
 import io.serverlessworkflow.impl.WorkflowContext;
 import io.serverlessworkflow.impl.WorkflowModel;
 import io.serverlessworkflow.impl.WorkflowValueResolver;
+import io.serverlessworkflow.impl.WorkloadType;
 import io.serverlessworkflow.impl.scripts.ScriptUtils;
 import java.util.Map;
 import java.util.Optional;
@@ -69,13 +70,16 @@ public class RunShellExecutor implements CallableTask {
                     () ->
                         ScriptUtils.buildResultFromProcess(
                             workflowContext.definition(), uncheckedStart(builder), type, model),
-                    workflowContext.definition().application().executorService()))
+                    workflowContext
+                        .definition()
+                        .application()
+                        .executorService(WorkloadType.BLOCKING_IO)))
         .orElseGet(
             () -> {
               workflowContext
                   .definition()
                   .application()
-                  .executorService()
+                  .executorService(WorkloadType.BLOCKING_IO)
                   .submit(() -> uncheckedStart(builder));
               return CompletableFuture.completedFuture(model);
             });
@@ -24,6 +24,7 @@ import io.serverlessworkflow.impl.WorkflowMutablePosition;
 import io.serverlessworkflow.impl.WorkflowStatus;
 import io.serverlessworkflow.impl.WorkflowUtils;
 import io.serverlessworkflow.impl.WorkflowValueResolver;
+import io.serverlessworkflow.impl.WorkloadType;
 import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
@@ -60,7 +61,7 @@ public class WaitExecutor extends RegularTaskExecutor<WaitTask> {
     CompletableFuture.delayedExecutor(
             durationResolver.apply(workflow, taskContext, taskContext.input()).toMillis(),
             TimeUnit.MILLISECONDS,
-            workflow.definition().application().executorService())
+            workflow.definition().application().executorService(WorkloadType.SCHEDULING))
         .execute(() -> future.complete(taskContext.output()));
     return future;
   }
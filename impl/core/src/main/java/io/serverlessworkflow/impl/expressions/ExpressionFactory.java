@@ -21,6 +21,7 @@ import io.serverlessworkflow.impl.WorkflowFilter;
 import io.serverlessworkflow.impl.WorkflowModelFactory;
 import io.serverlessworkflow.impl.WorkflowPredicate;
 import io.serverlessworkflow.impl.WorkflowValueResolver;
+import io.serverlessworkflow.impl.utils.CacheStats;
 import java.time.OffsetDateTime;
 import java.util.Collection;
 import java.util.Map;
@@ -53,4 +54,17 @@ public interface ExpressionFactory {
   WorkflowPredicate buildPredicate(ExpressionDescriptor desc);
 
   Optional<WorkflowPredicate> buildIfFilter(TaskBase task);
+
+  /**
+   * Returns true if the result of the expression only depends on the model it is evaluated against,
+   * so it can be evaluated once and shared among workflow instances. Returning false is always
+   * safe.
+   */
+  default boolean isContextFree(ExpressionDescriptor desc) {
+    return false;
+  }
+
+  default CacheStats cacheStats() {
+    return CacheStats.EMPTY;
+  }
 }
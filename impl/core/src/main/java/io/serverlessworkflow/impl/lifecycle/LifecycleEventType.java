@@ -0,0 +1,64 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.lifecycle;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/** Kinds of events notified to {@link WorkflowExecutionListener} */
+public enum LifecycleEventType {
+  WORKFLOW_STARTED("onWorkflowStarted", WorkflowStartedEvent.class),
+  WORKFLOW_SUSPENDED("onWorkflowSuspended", WorkflowSuspendedEvent.class),
+  WORKFLOW_RESUMED("onWorkflowResumed", WorkflowResumedEvent.class),
+  WORKFLOW_COMPLETED("onWorkflowCompleted", WorkflowCompletedEvent.class),
+  WORKFLOW_FAILED("onWorkflowFailed", WorkflowFailedEvent.class),
+  WORKFLOW_CANCELLED("onWorkflowCancelled", WorkflowCancelledEvent.class),
+  WORKFLOW_STATUS_CHANGED("onWorkflowStatusChanged", WorkflowStatusEvent.class),
+  TASK_STARTED("onTaskStarted", TaskStartedEvent.class),
+  TASK_COMPLETED("onTaskCompleted", TaskCompletedEvent.class),
+  TASK_FAILED("onTaskFailed", TaskFailedEvent.class),
+  TASK_CANCELLED("onTaskCancelled", TaskCancelledEvent.class),
+  TASK_SUSPENDED("onTaskSuspended", TaskSuspendedEvent.class),
+  TASK_RESUMED("onTaskResumed", TaskResumedEvent.class),
+  TASK_RETRIED("onTaskRetried", TaskRetriedEvent.class);
+
+  private final String methodName;
+  private final Class<? extends WorkflowEvent> eventClass;
+
+  private LifecycleEventType(String methodName, Class<? extends WorkflowEvent> eventClass) {
+    this.methodName = methodName;
+    this.eventClass = eventClass;
+  }
+
+  /**
+   * Types whose callback method is overridden by the listener, that is, not inherited from the
+   * given listener interface
+   */
+  public static Set<LifecycleEventType> implementedBy(Object listener, Class<?> listenerInterface) {
+    Set<LifecycleEventType> result = EnumSet.noneOf(LifecycleEventType.class);
+    for (LifecycleEventType type : values()) {
+      try {
+        if (listener.getClass().getMethod(type.methodName, type.eventClass).getDeclaringClass()
+            != listenerInterface) {
+          result.add(type);
+        }
+      } catch (NoSuchMethodException ex) {
+        result.add(type);
+      }
+    }
+    return result;
+  }
+}
@@ -16,6 +16,8 @@
 package io.serverlessworkflow.impl.lifecycle;
 
 import io.serverlessworkflow.impl.ServicePriority;
+import io.serverlessworkflow.impl.WorkflowApplication;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 public interface WorkflowExecutionCompletableListener extends AutoCloseable, ServicePriority {
@@ -76,6 +78,14 @@ public interface WorkflowExecutionCompletableListener extends AutoCloseable, Ser
     return CompletableFuture.completedFuture(null);
   }
 
+  /**
+   * Kinds of events this listener should be notified about. Events nobody is interested in are not
+   * even created. By default, the ones whose callback is overridden by the listener.
+   */
+  default Set<LifecycleEventType> interests(WorkflowApplication application) {
+    return LifecycleEventType.implementedBy(this, WorkflowExecutionCompletableListener.class);
+  }
+
   @Override
   default void close() {}
 }
@@ -16,6 +16,8 @@
 package io.serverlessworkflow.impl.lifecycle;
 
 import io.serverlessworkflow.impl.ServicePriority;
+import io.serverlessworkflow.impl.WorkflowApplication;
+import java.util.Set;
 
 public interface WorkflowExecutionListener extends AutoCloseable, ServicePriority {
 
@@ -47,6 +49,14 @@ public interface WorkflowExecutionListener extends AutoCloseable, ServicePriorit
 
   default void onWorkflowStatusChanged(WorkflowStatusEvent ev) {}
 
+  /**
+   * Kinds of events this listener should be notified about. Events nobody is interested in are not
+   * even created. By default, the ones whose callback is overridden by the listener.
+   */
+  default Set<LifecycleEventType> interests(WorkflowApplication application) {
+    return LifecycleEventType.implementedBy(this, WorkflowExecutionListener.class);
+  }
+
   @Override
   default void close() {}
 }
@@ -15,6 +15,8 @@
  */
 package io.serverlessworkflow.impl.lifecycle;
 
+import io.serverlessworkflow.impl.WorkflowApplication;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 public class WorkflowExecutionListenerAdapter implements WorkflowExecutionCompletableListener {
@@ -25,6 +27,11 @@ public class WorkflowExecutionListenerAdapter implements WorkflowExecutionComple
     this.listener = listener;
   }
 
+  @Override
+  public Set<LifecycleEventType> interests(WorkflowApplication application) {
+    return listener.interests(application);
+  }
+
   @Override
   public CompletableFuture<?> onWorkflowStarted(WorkflowStartedEvent ev) {
     try {
@@ -37,6 +37,7 @@ import io.cloudevents.core.data.PojoCloudEventData;
 import io.cloudevents.core.data.PojoCloudEventData.ToBytes;
 import io.serverlessworkflow.impl.WorkflowApplication;
 import io.serverlessworkflow.impl.events.CloudEventUtils;
+import io.serverlessworkflow.impl.lifecycle.LifecycleEventType;
 import io.serverlessworkflow.impl.lifecycle.TaskCancelledEvent;
 import io.serverlessworkflow.impl.lifecycle.TaskCompletedEvent;
 import io.serverlessworkflow.impl.lifecycle.TaskFailedEvent;
@@ -78,6 +79,19 @@ public abstract class AbstractLifeCyclePublisher implements WorkflowExecutionLis
         WORKFLOW_STATUS_CHANGED);
   }
 
+  @Override
+  public Set<LifecycleEventType> interests(WorkflowApplication application) {
+    if (!application.isLifeCycleCEPublishingEnabled()) {
+      return Set.of();
+    }
+    Set<LifecycleEventType> interests = WorkflowExecutionListener.super.interests(application);
+    interests.retainAll(application.lifeCyclePublishingConfig().types());
+    if (!application.isStatusChangePublishingEnabled()) {
+      interests.remove(LifecycleEventType.WORKFLOW_STATUS_CHANGED);
+    }
+    return interests;
+  }
+
   private WorkflowLifeCycleCloudEventFactory lifeCycleFactory(WorkflowEvent ev) {
     return ev.workflowContext().definition().application().lifeCycleCloudEventFactory();
   }
@@ -312,18 +326,36 @@ public abstract class AbstractLifeCyclePublisher implements WorkflowExecutionLis
 
   protected <T extends WorkflowEvent> void publish(T ev, Function<T, CloudEvent> ceFunction) {
     WorkflowApplication appl = appl(ev);
-    if (appl.isLifeCycleCEPublishingEnabled()) {
-      publish(appl, ceFunction.apply(ev));
+    LifeCyclePublishingConfig config = appl.lifeCyclePublishingConfig();
+    if (appl.isLifeCycleCEPublishingEnabled() && config.isSampled(ev.workflowContext())) {
+      if (config.isBatched()) {
+        LifeCycleEventBatcher.of(appl, this)
+            .add(
+                ev.workflowContext().instanceData().id(),
+                ceFunction.apply(ev),
+                ev instanceof WorkflowStatusEvent);
+      } else {
+        publish(appl, ceFunction.apply(ev));
+      }
     }
   }
 
   /* By default, generated cloud events are published, if user has not disabled them at application level,
-   * using application event publishers. That might be changed if needed by children by overriding this method
+   * using application event publishers. That might be changed if needed by children by overriding this method.
+   * Batched events do not go through this method, but through the one receiving the whole batch
    */
   protected void publish(WorkflowApplication application, CloudEvent ce) {
     application.eventPublishers().forEach(p -> p.publishLifeCycle(ce));
   }
 
+  /* When batching is enabled, buffered cloud events are published through this method when flushed, by default
+   * handing the whole batch to each application event publisher. Children overriding the single event method
+   * should usually override this one too.
+   */
+  protected void publish(WorkflowApplication application, Collection<CloudEvent> batch) {
+    application.eventPublishers().forEach(p -> p.publishLifeCycle(batch));
+  }
+
   private static <T> CloudEventData cloudEventData(T data, ToBytes<T> toBytes) {
     return PojoCloudEventData.wrap(data, toBytes);
   }
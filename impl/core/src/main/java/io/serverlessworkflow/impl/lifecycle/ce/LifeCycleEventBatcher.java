@@ -0,0 +1,136 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.lifecycle.ce;
+
+import io.cloudevents.CloudEvent;
+import io.serverlessworkflow.impl.WorkflowApplication;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Buffers the lifecycle cloud events generated by a publisher for an application and hands them to
+ * {@link AbstractLifeCyclePublisher#publish(WorkflowApplication, java.util.Collection)} every flush
+ * interval, or earlier if the buffer reaches the max batch size.
+ */
+class LifeCycleEventBatcher implements AutoCloseable {
+
+  private static final Logger logger = LoggerFactory.getLogger(LifeCycleEventBatcher.class);
+
+  private record LastEvent(int index, boolean statusChange) {}
+
+  private final Consumer<List<CloudEvent>> sink;
+  private final LifeCyclePublishingConfig config;
+  private final ScheduledExecutorService flusher;
+  private List<CloudEvent> buffer;
+  private Map<String, LastEvent> lastEvents = new HashMap<>();
+  private boolean flushRequested;
+  private boolean closed;
+
+  static LifeCycleEventBatcher of(
+      WorkflowApplication application, AbstractLifeCyclePublisher publisher) {
+    return application.sharedResource(
+        LifeCycleEventBatcher.class.getName() + ':' + publisher.getClass().getName(),
+        () ->
+            new LifeCycleEventBatcher(application, batch -> publisher.publish(application, batch)));
+  }
+
+  private LifeCycleEventBatcher(WorkflowApplication application, Consumer<List<CloudEvent>> sink) {
+    this.sink = sink;
+    this.config = application.lifeCyclePublishingConfig();
+    this.buffer = new ArrayList<>(config.maxBatchSize());
+    this.flusher =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> {
+              Thread thread = new Thread(r, "workflow-lifecycle-events-" + application.id());
+              thread.setDaemon(true);
+              return thread;
+            });
+    long interval = config.flushInterval().toMillis();
+    flusher.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+  }
+
+  void add(String instanceId, CloudEvent ce, boolean statusChange) {
+    boolean full = false;
+    boolean unbuffered = false;
+    synchronized (this) {
+      if (closed) {
+        // the buffer is flushed one last time on close, so later events are published on their own
+        unbuffered = true;
+      } else {
+        LastEvent last = lastEvents.get(instanceId);
+        if (statusChange && config.coalesceStatusChanges() && last != null && last.statusChange()) {
+          buffer.set(last.index(), ce);
+          return;
+        }
+        lastEvents.put(instanceId, new LastEvent(buffer.size(), statusChange));
+        buffer.add(ce);
+        full = buffer.size() >= config.maxBatchSize() && !flushRequested;
+        if (full) {
+          flushRequested = true;
+        }
+      }
+    }
+    if (unbuffered) {
+      publish(List.of(ce));
+    } else if (full) {
+      try {
+        flusher.execute(this::flush);
+      } catch (RejectedExecutionException ex) {
+        flush();
+      }
+    }
+  }
+
+  void flush() {
+    List<CloudEvent> batch;
+    synchronized (this) {
+      flushRequested = false;
+      if (buffer.isEmpty()) {
+        return;
+      }
+      batch = buffer;
+      buffer = new ArrayList<>(config.maxBatchSize());
+      lastEvents = new HashMap<>();
+    }
+    publish(batch);
+  }
+
+  private void publish(List<CloudEvent> batch) {
+    try {
+      sink.accept(batch);
+    } catch (RuntimeException ex) {
+      logger.warn("Error publishing {} lifecycle events", batch.size(), ex);
+    }
+  }
+
+  @Override
+  public void close() {
+    synchronized (this) {
+      closed = true;
+    }
+    flusher.shutdownNow();
+    flush();
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.lifecycle.ce;
+
+import io.serverlessworkflow.impl.WorkflowContextData;
+import io.serverlessworkflow.impl.WorkflowDefinitionId;
+import io.serverlessworkflow.impl.lifecycle.LifecycleEventType;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Controls which lifecycle cloud events are published and how.
+ *
+ * <p>Sampling is decided per workflow instance, using its id, so either all the events of an
+ * instance are published or none of them. When a flush interval is set, events are buffered and
+ * handed in batches to the <code>publish(WorkflowApplication, Collection)</code> method of {@link
+ * AbstractLifeCyclePublisher}, optionally keeping only the last of several consecutive status
+ * changes of the same instance. Batches skip its single event <code>publish</code> method, so
+ * publishers overriding that one should override the batch one too. By default, each batch is
+ * passed to {@link io.serverlessworkflow.impl.events.EventPublisher#publishLifeCycle(Collection)},
+ * which publishes the events one by one unless the event publisher overrides it to send them at
+ * once.
+ */
+public class LifeCyclePublishingConfig {
+
+  public static final int DEFAULT_MAX_BATCH_SIZE = 512;
+
+  private static final LifeCyclePublishingConfig DEFAULT = builder().build();
+
+  private final Set<LifecycleEventType> types;
+  private final double samplingRate;
+  private final Map<WorkflowDefinitionId, Double> definitionSamplingRates;
+  private final boolean coalesceStatusChanges;
+  private final Duration flushInterval;
+  private final int maxBatchSize;
+
+  public static LifeCyclePublishingConfig defaultConfig() {
+    return DEFAULT;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public static class Builder {
+    private Set<LifecycleEventType> types = EnumSet.allOf(LifecycleEventType.class);
+    private double samplingRate = 1.0;
+    private Map<WorkflowDefinitionId, Double> definitionSamplingRates = new HashMap<>();
+    private boolean coalesceStatusChanges;
+    private Duration flushInterval = Duration.ZERO;
+    private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+
+    private Builder() {}
+
+    public Builder withTypes(Collection<LifecycleEventType> types) {
+      this.types =
+          types.isEmpty() ? EnumSet.noneOf(LifecycleEventType.class) : EnumSet.copyOf(types);
+      return this;
+    }
+
+    public Builder withoutTypes(Collection<LifecycleEventType> types) {
+      this.types.removeAll(types);
+      return this;
+    }
+
+    /** Ratio, between 0 and 1, of workflow instances whose events are published */
+    public Builder withSamplingRate(double samplingRate) {
+      this.samplingRate = checkRate(samplingRate);
+      return this;
+    }
+
+    /** Overrides the sampling rate for the instances of the given definition */
+    public Builder withSamplingRate(WorkflowDefinitionId definitionId, double samplingRate) {
+      this.definitionSamplingRates.put(definitionId, checkRate(samplingRate));
+      return this;
+    }
+
+    public Builder coalesceStatusChanges() {
+      this.coalesceStatusChanges = true;
+      return this;
+    }
+
+    public Builder withFlushInterval(Duration flushInterval) {
+      this.flushInterval = flushInterval;
+      return this;
+    }
+
+    public Builder withMaxBatchSize(int maxBatchSize) {
+      this.maxBatchSize = maxBatchSize;
+      return this;
+    }
+
+    public LifeCyclePublishingConfig build() {
+      if (flushInterval.isNegative() || maxBatchSize <= 0) {
+        throw new IllegalArgumentException(
+            "Flush interval should not be negative and max batch size should be positive, but they are "
+                + flushInterval
+                + " and "
+                + maxBatchSize);
+      }
+      return new LifeCyclePublishingConfig(this);
+    }
+
+    private static double checkRate(double samplingRate) {
+      if (samplingRate < 0 || samplingRate > 1) {
+        throw new IllegalArgumentException(
+            "Sampling rate should be between 0 and 1, but it is " + samplingRate);
+      }
+      return samplingRate;
+    }
+  }
+
+  private LifeCyclePublishingConfig(Builder builder) {
+    this.types = Set.copyOf(builder.types);
+    this.samplingRate = builder.samplingRate;
+    this.definitionSamplingRates = Map.copyOf(builder.definitionSamplingRates);
+    this.coalesceStatusChanges = builder.coalesceStatusChanges;
+    this.flushInterval = builder.flushInterval;
+    this.maxBatchSize = builder.maxBatchSize;
+  }
+
+  public Set<LifecycleEventType> types() {
+    return types;
+  }
+
+  public boolean isBatched() {
+    return !flushInterval.isZero();
+  }
+
+  public Duration flushInterval() {
+    return flushInterval;
+  }
+
+  public int maxBatchSize() {
+    return maxBatchSize;
+  }
+
+  public boolean coalesceStatusChanges() {
+    return coalesceStatusChanges;
+  }
+
+  public boolean isSampled(WorkflowContextData workflowContext) {
+    double rate =
+        definitionSamplingRates.isEmpty()
+            ? samplingRate
+            : definitionSamplingRates.getOrDefault(workflowContext.definition().id(), samplingRate);
+    if (rate >= 1) {
+      return true;
+    } else if (rate <= 0) {
+      return false;
+    }
+    return sample(workflowContext.instanceData().id()) < rate;
+  }
+
+  /* spreads the id hash, ids generated close in time share most of their characters */
+  private static double sample(String instanceId) {
+    long h = instanceId.hashCode();
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return (h >>> 11) * 0x1.0p-53;
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.marshaller;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.ServiceLoader;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Buffer factory producing smaller payloads than {@link DefaultBufferFactory}. Every payload starts
+ * with a one byte header holding the format version and whether the rest is deflated, which callers
+ * like persistence stores never see. Payloads without header are read with {@link
+ * DefaultInputBuffer}, so data written by the default factory is still readable after switching, as
+ * long as it does not start with one of the header values.
+ */
+public class CompactBufferFactory implements WorkflowBufferFactory {
+
+  static final byte HEADER = (byte) 0xC1;
+  static final byte COMPRESSED_HEADER = (byte) 0xD1;
+
+  public static final int DEFAULT_COMPRESSION_THRESHOLD = 1024;
+
+  private final Collection<CustomObjectMarshaller> marshallers;
+  private final int compressionThreshold;
+
+  private static class CompactBufferFactoryHolder {
+    private static CompactBufferFactory instance =
+        new CompactBufferFactory(loadMarshallers(), DEFAULT_COMPRESSION_THRESHOLD);
+  }
+
+  public static CompactBufferFactory factory() {
+    return CompactBufferFactoryHolder.instance;
+  }
+
+  /**
+   * Factory deflating payloads bigger than the given number of bytes, use {@link Integer#MAX_VALUE}
+   * to never compress
+   */
+  public static CompactBufferFactory factory(int compressionThreshold) {
+    return new CompactBufferFactory(loadMarshallers(), compressionThreshold);
+  }
+
+  private static Collection<CustomObjectMarshaller> loadMarshallers() {
+    return ServiceLoader.load(CustomObjectMarshaller.class).stream()
+        .map(ServiceLoader.Provider::get)
+        .sorted()
+        .toList();
+  }
+
+  protected CompactBufferFactory(
+      Collection<CustomObjectMarshaller> marshallers, int compressionThreshold) {
+    this.marshallers = marshallers;
+    this.compressionThreshold = compressionThreshold;
+  }
+
+  @Override
+  public WorkflowInputBuffer input(InputStream input) {
+    try {
+      int header = input.read();
+      if (header == (HEADER & 0xFF)) {
+        return new CompactInputBuffer(input, marshallers);
+      } else if (header == (COMPRESSED_HEADER & 0xFF)) {
+        int length = readVarInt(input);
+        try (InputStream inflater = new InflaterInputStream(input)) {
+          return new CompactInputBuffer(inflater.readNBytes(length), marshallers);
+        }
+      } else if (header < 0) {
+        return new DefaultInputBuffer(input, marshallers);
+      } else {
+        return new DefaultInputBuffer(
+            new SequenceInputStream(new ByteArrayInputStream(new byte[] {(byte) header}), input),
+            marshallers);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public WorkflowOutputBuffer output(OutputStream output) {
+    return new CompactOutputBuffer(output, marshallers, compressionThreshold);
+  }
+
+  private static int readVarInt(InputStream input) throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      int b = input.read();
+      if (b < 0) {
+        throw new IllegalStateException("Unexpected end of compact buffer");
+      }
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IllegalStateException("Malformed variable length int");
+  }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.marshaller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Input buffer of {@link CompactBufferFactory}, reads what {@link CompactOutputBuffer} writes */
+public class CompactInputBuffer extends AbstractInputBuffer {
+
+  private final byte[] input;
+  private int position;
+  private final List<String> names = new ArrayList<>();
+
+  /** The header has already been consumed from the given stream */
+  public CompactInputBuffer(InputStream input, Collection<CustomObjectMarshaller> marshallers) {
+    this(readAll(input), marshallers);
+  }
+
+  /** Content without header */
+  public CompactInputBuffer(byte[] input, Collection<CustomObjectMarshaller> marshallers) {
+    super(marshallers);
+    this.input = input;
+  }
+
+  private static byte[] readAll(InputStream input) {
+    try (input) {
+      return input.readAllBytes();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Reads a string written by {@link CompactOutputBuffer#writeName(String)} */
+  public String readName() {
+    int value = readVarInt();
+    if ((value & 1) == 0) {
+      String name = readString(value >>> 1);
+      names.add(name);
+      return name;
+    }
+    return names.get(value >>> 1);
+  }
+
+  @Override
+  public String readString() {
+    return readString(readVarInt());
+  }
+
+  private String readString(int length) {
+    if (length > input.length - position) {
+      throw new IllegalStateException("Unexpected end of compact buffer");
+    }
+    String text = new String(input, position, length, StandardCharsets.UTF_8);
+    position += length;
+    return text;
+  }
+
+  @Override
+  public int readInt() {
+    int value = readVarInt();
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  @Override
+  public short readShort() {
+    return (short) readInt();
+  }
+
+  @Override
+  public long readLong() {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      int b = read();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return (value >>> 1) ^ -(value & 1);
+      }
+    }
+    throw new IllegalStateException("Malformed variable length long");
+  }
+
+  @Override
+  public float readFloat() {
+    int bits = 0;
+    for (int i = 0; i < 4; i++) {
+      bits = (bits << 8) | read();
+    }
+    return Float.intBitsToFloat(bits);
+  }
+
+  @Override
+  public double readDouble() {
+    long bits = 0;
+    for (int i = 0; i < 8; i++) {
+      bits = (bits << 8) | read();
+    }
+    return Double.longBitsToDouble(bits);
+  }
+
+  @Override
+  public boolean readBoolean() {
+    return read() != 0;
+  }
+
+  @Override
+  public byte readByte() {
+    return (byte) read();
+  }
+
+  @Override
+  public byte[] readBytes() {
+    return readFully(readVarInt());
+  }
+
+  @Override
+  public <T extends Enum<T>> T readEnum(Class<T> enumClass) {
+    return Enum.valueOf(enumClass, readName());
+  }
+
+  @Override
+  public Map<String, Object> readMap() {
+    int size = readVarInt();
+    Map<String, Object> map = new LinkedHashMap<>(size);
+    while (size-- > 0) {
+      map.put(readName(), readObject());
+    }
+    return map;
+  }
+
+  @Override
+  public Collection<Object> readCollection() {
+    int size = readVarInt();
+    Collection<Object> col = new ArrayList<>(size);
+    while (size-- > 0) {
+      col.add(readObject());
+    }
+    return col;
+  }
+
+  @Override
+  protected Class<?> readClass() {
+    try {
+      return loadClass(readName());
+    } catch (ClassNotFoundException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private int readVarInt() {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      int b = read();
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IllegalStateException("Malformed variable length int");
+  }
+
+  private int read() {
+    if (position >= input.length) {
+      throw new IllegalStateException("Unexpected end of compact buffer");
+    }
+    return input[position++] & 0xFF;
+  }
+
+  private byte[] readFully(int length) {
+    if (length > input.length - position) {
+      throw new IllegalStateException("Unexpected end of compact buffer");
+    }
+    byte[] bytes = Arrays.copyOfRange(input, position, position + length);
+    position += length;
+    return bytes;
+  }
+
+  @Override
+  public void close() {}
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.marshaller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+/**
+ * Output buffer of {@link CompactBufferFactory}. Integers are written as zig-zag varints, strings
+ * as length prefixed UTF-8 and class names, enum constants and map keys through a dictionary, so
+ * repeated ones take a single varint. Content is kept in memory till the buffer is closed, when it
+ * is written to the target stream after the header, deflated if larger than the factory threshold.
+ * Closing it again does nothing.
+ */
+public class CompactOutputBuffer extends AbstractOutputBuffer {
+
+  private final OutputStream target;
+  private final int compressionThreshold;
+  private byte[] output = new byte[256];
+  private int size;
+  private boolean closed;
+  private final Map<String, Integer> names = new HashMap<>();
+
+  public CompactOutputBuffer(
+      OutputStream target,
+      Collection<CustomObjectMarshaller> customMarshallers,
+      int compressionThreshold) {
+    super(customMarshallers);
+    this.target = target;
+    this.compressionThreshold = compressionThreshold;
+  }
+
+  /** Writes a string that is likely to be repeated, like a field name, through the dictionary */
+  public WorkflowOutputBuffer writeName(String name) {
+    // lowest bit tells a reference to an already written name from the length of a new one
+    Integer id = names.get(name);
+    if (id == null) {
+      names.put(name, names.size());
+      byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+      writeVarInt(bytes.length << 1);
+      write(bytes);
+    } else {
+      writeVarInt((id << 1) | 1);
+    }
+    return this;
+  }
+
+  @Override
+  public WorkflowOutputBuffer writeString(String text) {
+    byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+    writeVarInt(bytes.length);
+    write(bytes);
+    return this;
+  }
+
+  @Override
+  public WorkflowOutputBuffer writeInt(int number) {
+    writeVarInt((number << 1) ^ (number >> 31));
+    return this;
+  }
+
+  @Override
+  public WorkflowOutputBuffer writeShort(short number) {
+    return writeInt(number);
+  }
+
+  @Override
+  public WorkflowOutputBuffer writeLong(long number) {
+    long value = (number << 1) ^ (number >> 63);
+    while ((value & ~0x7FL) != 0) {
+      write((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    write((int) value);
+    return this;
+  }
+
+  @Override
+  public WorkflowOutputBuffer writeFloat(float number) {
+    int bits = Float.floatToIntBits(number);
+    for (int shift = 24; shift >= 0; shift -= 8) {
+      write(bits >>> shift);
+    }
+    return this;
+  }
+
+  @Override
+  public WorkflowOutputBuffer writeDouble(double number) {
+    long bits = Double.doubleToLongBits(number);
+    for (int shift = 56; shift >= 0; shift -= 8) {
+      write((int) (bits >>> shift));
+    }
+    return this;
+  }
+
+  @Override
+  public WorkflowOutputBuffer writeBoolean(boolean bool) {
+    write(bool ? 1 : 0);
+    return this;
+  }
+
+  @Override
+  public WorkflowOutputBuffer writeByte(byte one) {
+    write(one);
+    return this;
+  }
+
+  @Override
+  public WorkflowOutputBuffer writeBytes(byte[] bytes) {
+    writeVarInt(bytes.length);
+    write(bytes);
+    return this;
+  }
+
+  @Override
+  public <T extends Enum<T>> WorkflowOutputBuffer writeEnum(T value) {
+    return writeName(value.name());
+  }
+
+  @Override
+  public WorkflowOutputBuffer writeMap(Map<String, Object> map) {
+    writeVarInt(map.size());
+    map.forEach(
+        (k, v) -> {
+          writeName(k);
+          writeObject(v);
+        });
+    return this;
+  }
+
+  @Override
+  public WorkflowOutputBuffer writeCollection(Collection<Object> col) {
+    writeVarInt(col.size());
+    col.forEach(this::writeObject);
+    return this;
+  }
+
+  @Override
+  protected void writeClass(Class<?> objectClass) {
+    writeName(objectClass.getName());
+  }
+
+  private void writeVarInt(int value) {
+    while ((value & ~0x7F) != 0) {
+      write((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    write(value);
+  }
+
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try (target) {
+      if (size > compressionThreshold) {
+        byte[] raw = Arrays.copyOf(output, size);
+        size = 0;
+        write(CompactBufferFactory.COMPRESSED_HEADER);
+        writeVarInt(raw.length);
+        target.write(output, 0, size);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+          deflater.setInput(raw);
+          deflater.finish();
+          while (!deflater.finished()) {
+            target.write(output, 0, deflater.deflate(output));
+          }
+        } finally {
+          deflater.end();
+        }
+      } else {
+        target.write(CompactBufferFactory.HEADER);
+        target.write(output, 0, size);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void write(int b) {
+    ensureCapacity(1);
+    output[size++] = (byte) b;
+  }
+
+  private void write(byte[] bytes) {
+    ensureCapacity(bytes.length);
+    System.arraycopy(bytes, 0, output, size, bytes.length);
+    size += bytes.length;
+  }
+
+  private void ensureCapacity(int length) {
+    if (size + length > output.length) {
+      output = Arrays.copyOf(output, Math.max(output.length * 2, size + length));
+    }
+  }
+}
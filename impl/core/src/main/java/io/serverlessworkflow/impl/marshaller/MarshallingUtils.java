@@ -87,13 +87,7 @@ public class MarshallingUtils {
   }
 
   public static byte[] writeCloudEventExtensions(WorkflowBufferFactory factory, CloudEvent event) {
-    try (ByteArrayOutputStream bytesOut = new ByteArrayOutputStream();
-        WorkflowOutputBuffer out = factory.output(bytesOut)) {
-      writeCloudEventExtensions(out, event);
-      return bytesOut.toByteArray();
-    } catch (IOException e) {
-      throw new UncheckedIOException(e);
-    }
+    return writeValue(factory, event, (b, v) -> writeCloudEventExtensions(b, v));
   }
 
   public static void writeCloudEventExtensions(WorkflowOutputBuffer out, CloudEvent event) {
@@ -16,39 +16,180 @@
 package io.serverlessworkflow.impl.resources;
 
 import io.serverlessworkflow.impl.WorkflowApplication;
+import io.serverlessworkflow.impl.WorkloadType;
+import io.serverlessworkflow.impl.config.ConfigManager;
+import io.serverlessworkflow.impl.utils.BoundedCache;
+import io.serverlessworkflow.impl.utils.CacheStats;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
-import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+/**
+ * Loads resources from the file system, the classpath or http, keeping the result of the loading
+ * function in a bounded least recently used cache.
+ *
+ * <p>Http resources are never revalidated on the caller thread. Once older than the configured time
+ * to live, the cached content is still returned and a conditional request (using the ETag and
+ * Last-Modified validators of the previous response) is sent in background; the content is only
+ * replaced if the server returns a new version. When a cache directory is configured, http
+ * resources are also stored there, so after a restart they are served from disk while being
+ * revalidated. Resources requested with credentials are only kept in memory, cached separately for
+ * every credential, and never written to disk.
+ */
 public class DefaultResourceLoader extends ResourceLoader {
 
+  private static final Logger logger = LoggerFactory.getLogger(DefaultResourceLoader.class);
+
+  public static final String TTL_PROPERTY = "io.serverlessworkflow.impl.resources.ttlMillis";
+  public static final String MAX_ENTRIES_PROPERTY =
+      "io.serverlessworkflow.impl.resources.maxEntries";
+  public static final String CACHE_DIR_PROPERTY = "io.serverlessworkflow.impl.resources.cacheDir";
+  public static final int DEFAULT_MAX_ENTRIES = 256;
+  public static final long DEFAULT_TTL_MILLIS = 60_000L;
+
   private final Optional<Path> workflowPath;
+  private final Duration ttl;
+  private final Optional<ResourceDiskCache> diskCache;
+  private final BoundedCache<ExternalResourceHandler, CachedEntry> resourceCache;
 
-  private Map<ExternalResourceHandler, CachedResource> resourceCache = new ConcurrentHashMap<>();
+  private static class CachedEntry {
+    private final Object content;
+    private final String etag;
+    private final String lastModified;
+    private final AtomicBoolean revalidating = new AtomicBoolean();
+    private volatile Instant lastReload;
+
+    CachedEntry(Object content, String etag, String lastModified, Instant lastReload) {
+      this.content = content;
+      this.etag = etag;
+      this.lastModified = lastModified;
+      this.lastReload = lastReload;
+    }
+  }
 
   protected DefaultResourceLoader(WorkflowApplication application, Path workflowPath) {
     super(application);
     this.workflowPath = Optional.ofNullable(workflowPath);
+    ConfigManager config = application.configManager();
+    this.ttl =
+        Duration.ofMillis(config.config(TTL_PROPERTY, Long.class).orElse(DEFAULT_TTL_MILLIS));
+    this.diskCache =
+        config.config(CACHE_DIR_PROPERTY, String.class).map(Path::of).map(ResourceDiskCache::new);
+    this.resourceCache =
+        new BoundedCache<>(
+            config.config(MAX_ENTRIES_PROPERTY, Integer.class).orElse(DEFAULT_MAX_ENTRIES));
   }
 
   @Override
   public <T> T loadURI(
       URI uri, Function<ExternalResourceHandler, T> function, Optional<String> auth) {
     ExternalResourceHandler resourceHandler = buildFromURI(uri, auth);
-    return (T)
-        resourceCache
-            .compute(
-                resourceHandler,
-                (k, v) ->
-                    v == null || k.shouldReload(v.lastReload())
-                        ? new CachedResource(Instant.now(), function.apply(k))
-                        : v)
-            .content();
+    return resourceHandler instanceof HttpResource httpResource
+        ? loadHttp(httpResource, function)
+        : loadLocal(resourceHandler, function);
+  }
+
+  public CacheStats stats() {
+    return resourceCache.stats();
+  }
+
+  private <T> T loadLocal(
+      ExternalResourceHandler resourceHandler, Function<ExternalResourceHandler, T> function) {
+    CachedEntry entry = resourceCache.get(resourceHandler).orElse(null);
+    if (entry == null || resourceHandler.shouldReload(entry.lastReload)) {
+      entry = new CachedEntry(function.apply(resourceHandler), null, null, Instant.now());
+      resourceCache.put(resourceHandler, entry);
+    }
+    return (T) entry.content;
+  }
+
+  private <T> T loadHttp(HttpResource resource, Function<ExternalResourceHandler, T> function) {
+    CachedEntry entry =
+        resourceCache.computeIfAbsent(
+            resource,
+            k ->
+                diskCache(resource)
+                    .flatMap(d -> d.read(resource.url()))
+                    .map(
+                        stored -> toEntry(resource, function, stored.content(), stored.fetchedAt()))
+                    .orElseGet(() -> fetch(resource, function)));
+    if (Instant.now().isAfter(entry.lastReload.plus(ttl))) {
+      revalidate(resource, function, entry);
+    }
+    return (T) entry.content;
+  }
+
+  private CachedEntry fetch(HttpResource resource, Function<ExternalResourceHandler, ?> function) {
+    try {
+      HttpContent content = resource.fetch(null, null, null).orElseThrow();
+      Instant fetchedAt = Instant.now();
+      diskCache(resource).ifPresent(d -> d.write(resource.url(), content, fetchedAt));
+      return toEntry(resource, function, content, fetchedAt);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void revalidate(
+      HttpResource resource, Function<ExternalResourceHandler, ?> function, CachedEntry entry) {
+    if (!entry.revalidating.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      application
+          .executorService(WorkloadType.BLOCKING_IO)
+          .execute(
+              () -> {
+                try {
+                  Optional<HttpContent> content =
+                      resource.fetch(entry.etag, entry.lastModified, entry.lastReload);
+                  Instant fetchedAt = Instant.now();
+                  if (content.isPresent()) {
+                    diskCache(resource)
+                        .ifPresent(d -> d.write(resource.url(), content.get(), fetchedAt));
+                    resourceCache.put(
+                        resource, toEntry(resource, function, content.get(), fetchedAt));
+                  } else {
+                    entry.lastReload = fetchedAt;
+                  }
+                } catch (IOException | RuntimeException e) {
+                  logger.warn(
+                      "Error revalidating resource {}, keeping cached content", resource.url(), e);
+                } finally {
+                  entry.revalidating.set(false);
+                }
+              });
+    } catch (RejectedExecutionException e) {
+      entry.revalidating.set(false);
+      logger.debug("Cannot revalidate resource {}", resource.url(), e);
+    }
+  }
+
+  // the disk cache is shared by every caller and keyed by url, so it only holds public resources
+  private Optional<ResourceDiskCache> diskCache(HttpResource resource) {
+    return resource.isAuthenticated() ? Optional.empty() : diskCache;
+  }
+
+  private static CachedEntry toEntry(
+      HttpResource resource,
+      Function<ExternalResourceHandler, ?> function,
+      HttpContent content,
+      Instant fetchedAt) {
+    return new CachedEntry(
+        function.apply(new ByteArrayResource(resource.name(), content.content())),
+        content.etag(),
+        content.lastModified(),
+        fetchedAt);
   }
 
   private ExternalResourceHandler fileResource(String pathStr) {
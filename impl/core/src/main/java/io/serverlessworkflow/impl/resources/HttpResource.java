@@ -47,6 +47,45 @@ public class HttpResource implements ExternalResourceHandler {
     return url.getFile();
   }
 
+  /**
+   * Conditional GET of the resource, empty if the server reports it has not been modified since the
+   * given validators were obtained (or since the given instant, if it did not provide any)
+   */
+  Optional<HttpContent> fetch(String etag, String lastModified, Instant since) throws IOException {
+    HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+    auth.ifPresent(s -> connection.setRequestProperty(AuthUtils.AUTH_HEADER_NAME, s));
+    if (etag != null) {
+      connection.setRequestProperty("If-None-Match", etag);
+    }
+    if (lastModified != null) {
+      connection.setRequestProperty("If-Modified-Since", lastModified);
+    } else if (since != null) {
+      connection.setIfModifiedSince(since.toEpochMilli());
+    }
+    try {
+      if (connection.getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+        return Optional.empty();
+      }
+      try (InputStream in = connection.getInputStream()) {
+        return Optional.of(
+            new HttpContent(
+                in.readAllBytes(),
+                connection.getHeaderField("ETag"),
+                connection.getHeaderField("Last-Modified")));
+      }
+    } finally {
+      connection.disconnect();
+    }
+  }
+
+  URL url() {
+    return url;
+  }
+
+  boolean isAuthenticated() {
+    return auth.isPresent();
+  }
+
   @Override
   public boolean shouldReload(Instant lastUpdate) {
     try {
@@ -64,7 +103,7 @@ public class HttpResource implements ExternalResourceHandler {
 
   @Override
   public int hashCode() {
-    return Objects.hash(url);
+    return Objects.hash(url, auth);
   }
 
   @Override
@@ -73,6 +112,6 @@ public class HttpResource implements ExternalResourceHandler {
     if (obj == null) return false;
     if (getClass() != obj.getClass()) return false;
     HttpResource other = (HttpResource) obj;
-    return Objects.equals(url, other.url);
+    return Objects.equals(url, other.url) && Objects.equals(auth, other.auth);
   }
 }
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.resources;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Properties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Copy of http resources in a local directory, so they are available right away after a restart and
+ * only need to be revalidated. Every resource is stored in two files named after the hash of its
+ * url: the content and its validators.
+ */
+class ResourceDiskCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(ResourceDiskCache.class);
+
+  private static final String CONTENT_EXTENSION = ".content";
+  private static final String METADATA_EXTENSION = ".properties";
+  private static final String URL = "url";
+  private static final String ETAG = "etag";
+  private static final String LAST_MODIFIED = "lastModified";
+  private static final String FETCHED_AT = "fetchedAt";
+
+  record StoredResource(HttpContent content, Instant fetchedAt) {}
+
+  private final Path dir;
+
+  ResourceDiskCache(Path dir) {
+    this.dir = dir;
+  }
+
+  Optional<StoredResource> read(URL url) {
+    String key = key(url);
+    Path metadataFile = dir.resolve(key + METADATA_EXTENSION);
+    Path contentFile = dir.resolve(key + CONTENT_EXTENSION);
+    if (!Files.isRegularFile(metadataFile) || !Files.isRegularFile(contentFile)) {
+      return Optional.empty();
+    }
+    try (InputStream in = Files.newInputStream(metadataFile)) {
+      Properties metadata = new Properties();
+      metadata.load(in);
+      if (!url.toString().equals(metadata.getProperty(URL))) {
+        return Optional.empty();
+      }
+      return Optional.of(
+          new StoredResource(
+              new HttpContent(
+                  Files.readAllBytes(contentFile),
+                  metadata.getProperty(ETAG),
+                  metadata.getProperty(LAST_MODIFIED)),
+              Instant.parse(metadata.getProperty(FETCHED_AT))));
+    } catch (IOException | RuntimeException e) {
+      logger.warn("Ignoring unreadable cached resource {}", metadataFile, e);
+      return Optional.empty();
+    }
+  }
+
+  void write(URL url, HttpContent content, Instant fetchedAt) {
+    String key = key(url);
+    Properties metadata = new Properties();
+    metadata.setProperty(URL, url.toString());
+    metadata.setProperty(FETCHED_AT, fetchedAt.toString());
+    if (content.etag() != null) {
+      metadata.setProperty(ETAG, content.etag());
+    }
+    if (content.lastModified() != null) {
+      metadata.setProperty(LAST_MODIFIED, content.lastModified());
+    }
+    try {
+      Files.createDirectories(dir);
+      store(dir.resolve(key + CONTENT_EXTENSION), out -> out.write(content.content()));
+      store(dir.resolve(key + METADATA_EXTENSION), out -> metadata.store(out, null));
+    } catch (IOException e) {
+      logger.warn("Error storing resource {} in {}", url, dir, e);
+    }
+  }
+
+  @FunctionalInterface
+  private interface Writer {
+    void write(OutputStream out) throws IOException;
+  }
+
+  /** Writes a temporary file that is then moved to the target, deleting it if anything fails */
+  private void store(Path target, Writer writer) throws IOException {
+    Path temp = Files.createTempFile(dir, "resource-", ".tmp");
+    try {
+      try (OutputStream out = Files.newOutputStream(temp)) {
+        writer.write(out);
+      }
+      move(temp, target);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  private static void move(Path source, Path target) throws IOException {
+    try {
+      Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  private static String key(URL url) {
+    try {
+      return HexFormat.of()
+          .formatHex(
+              MessageDigest.getInstance("SHA-256")
+                  .digest(url.toString().getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -18,6 +18,7 @@ package io.serverlessworkflow.impl.scheduler;
 import io.serverlessworkflow.impl.WorkflowDefinition;
 import io.serverlessworkflow.impl.WorkflowInstance;
 import io.serverlessworkflow.impl.WorkflowModel;
+import io.serverlessworkflow.impl.WorkloadType;
 import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -51,7 +52,7 @@ public class ScheduledInstanceRunnable implements Runnable, Consumer<WorkflowIns
     definition.addScheduledInstance(instance);
     definition
         .application()
-        .executorService()
+        .executorService(WorkloadType.SCHEDULING)
         .execute(
             () ->
                 instance
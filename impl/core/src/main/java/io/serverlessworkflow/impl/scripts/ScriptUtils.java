@@ -73,20 +73,28 @@ public class ScriptUtils {
       WorkflowDefinition definition, Process process, ProcessReturnType type, WorkflowModel model) {
     try {
       int code = process.waitFor();
-      StreamSuppliers suppliers = StreamSuppliers.from(process);
-      if (definition
-          .application()
-          .configManager()
-          .config("io.serverlessworkflow.impl.scripts.dumpOutput", Boolean.class)
-          .orElse(true)) {
-        System.out.println(suppliers.outputStream().get());
-      }
-      return modelFromOutput(code, suppliers, type, definition.application().modelFactory(), model);
+      return buildResult(definition, code, StreamSuppliers.from(process), type, model);
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
       return model;
     }
   }
 
+  public static WorkflowModel buildResult(
+      WorkflowDefinition definition,
+      int code,
+      StreamSuppliers suppliers,
+      ProcessReturnType type,
+      WorkflowModel model) {
+    if (definition
+        .application()
+        .configManager()
+        .config("io.serverlessworkflow.impl.scripts.dumpOutput", Boolean.class)
+        .orElse(true)) {
+      System.out.println(suppliers.outputStream().get());
+    }
+    return modelFromOutput(code, suppliers, type, definition.application().modelFactory(), model);
+  }
+
   private ScriptUtils() {}
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.utils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * Thread safe least recently used cache bounded both by number of entries and by the total weight
+ * of its entries, as computed by the provided weigher. Values are computed outside the lock, so two
+ * threads missing the same key at the same time might both compute it; the first one stored wins.
+ */
+public class BoundedCache<K, V> {
+
+  private final LinkedHashMap<K, Entry<V>> map = new LinkedHashMap<>(16, 0.75f, true);
+  private final int maxSize;
+  private final long maxWeight;
+  private final ToLongBiFunction<K, V> weigher;
+
+  private long weight;
+  private long hits;
+  private long misses;
+  private long evictions;
+
+  private record Entry<V>(V value, long weight) {}
+
+  public BoundedCache(int maxSize) {
+    this(maxSize, Long.MAX_VALUE, (k, v) -> 1);
+  }
+
+  public BoundedCache(int maxSize, long maxWeight, ToLongBiFunction<K, V> weigher) {
+    this.maxSize = maxSize;
+    this.maxWeight = maxWeight;
+    this.weigher = weigher;
+  }
+
+  public V computeIfAbsent(K key, Function<? super K, ? extends V> function) {
+    synchronized (this) {
+      Entry<V> entry = map.get(key);
+      if (entry != null) {
+        hits++;
+        return entry.value();
+      }
+      misses++;
+    }
+    V value = function.apply(key);
+    synchronized (this) {
+      Entry<V> entry = map.get(key);
+      if (entry != null) {
+        return entry.value();
+      }
+      store(key, value);
+    }
+    return value;
+  }
+
+  public synchronized Optional<V> get(K key) {
+    Entry<V> entry = map.get(key);
+    if (entry == null) {
+      misses++;
+      return Optional.empty();
+    }
+    hits++;
+    return Optional.of(entry.value());
+  }
+
+  public synchronized void put(K key, V value) {
+    Entry<V> previous = map.remove(key);
+    if (previous != null) {
+      weight -= previous.weight();
+    }
+    store(key, value);
+  }
+
+  public synchronized Optional<V> remove(K key) {
+    Entry<V> previous = map.remove(key);
+    if (previous == null) {
+      return Optional.empty();
+    }
+    weight -= previous.weight();
+    return Optional.of(previous.value());
+  }
+
+  public synchronized void clear() {
+    map.clear();
+    weight = 0;
+  }
+
+  public synchronized int size() {
+    return map.size();
+  }
+
+  public synchronized CacheStats stats() {
+    return new CacheStats(hits, misses, evictions, map.size(), weight);
+  }
+
+  private void store(K key, V value) {
+    long entryWeight = weigher.applyAsLong(key, value);
+    if (maxSize <= 0 || entryWeight > maxWeight) {
+      // would evict everything else and still not fit
+      return;
+    }
+    map.put(key, new Entry<>(value, entryWeight));
+    weight += entryWeight;
+    Iterator<Map.Entry<K, Entry<V>>> iter = map.entrySet().iterator();
+    while ((map.size() > maxSize || weight > maxWeight) && iter.hasNext()) {
+      Entry<V> eldest = iter.next().getValue();
+      iter.remove();
+      weight -= eldest.weight();
+      evictions++;
+    }
+  }
+}
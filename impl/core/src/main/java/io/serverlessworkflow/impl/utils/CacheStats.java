@@ -0,0 +1,39 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.utils;
+
+public record CacheStats(long hits, long misses, long evictions, long size, long weight) {
+
+  public static final CacheStats EMPTY = new CacheStats(0, 0, 0, 0, 0);
+
+  public CacheStats plus(CacheStats other) {
+    return new CacheStats(
+        hits + other.hits,
+        misses + other.misses,
+        evictions + other.evictions,
+        size + other.size,
+        weight + other.weight);
+  }
+
+  public long requests() {
+    return hits + misses;
+  }
+
+  public double hitRatio() {
+    long requests = requests();
+    return requests == 0 ? 1.0 : (double) hits / requests;
+  }
+}
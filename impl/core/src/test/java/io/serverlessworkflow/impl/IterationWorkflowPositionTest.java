@@ -0,0 +1,44 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class IterationWorkflowPositionTest {
+
+  @Test
+  void testDefinitionPointer() {
+    Set<String> loops = Set.of("do/0/loop/do", "do/0/loop/do/1/inner/do");
+    assertThat(
+            IterationWorkflowPosition.definitionPointer(
+                "do/0/loop/do/for/2/1/inner/do/for/10/0/task", loops::contains))
+        .isEqualTo("do/0/loop/do/1/inner/do/0/task");
+  }
+
+  @Test
+  void testDefinitionPointerWithTaskNamedFor() {
+    Set<String> loops = Set.of("do/0/for/do");
+    assertThat(
+            IterationWorkflowPosition.definitionPointer("do/0/for/do/for/3/0/for", loops::contains))
+        .isEqualTo("do/0/for/do/0/for");
+    // a task whose name looks like an iteration segment, not following any loop
+    assertThat(IterationWorkflowPosition.definitionPointer("do/0/for/1/do/0/task", loops::contains))
+        .isEqualTo("do/0/for/1/do/0/task");
+  }
+}
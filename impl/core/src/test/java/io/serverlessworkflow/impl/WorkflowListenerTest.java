@@ -17,7 +17,11 @@ package io.serverlessworkflow.impl;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.serverlessworkflow.impl.lifecycle.LifecycleEventType;
+import io.serverlessworkflow.impl.lifecycle.TaskStartedEvent;
 import io.serverlessworkflow.impl.lifecycle.WorkflowExecutionCompletableListener;
+import io.serverlessworkflow.impl.lifecycle.WorkflowExecutionListener;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -72,4 +76,36 @@ public class WorkflowListenerTest {
     assertThat(app.listeners())
         .startsWith(topPrio, mediumPrio, app.schedulerListener(), lowestPrio);
   }
+
+  @Test
+  void testInterests() {
+    WorkflowExecutionCompletableListener taskListener =
+        new WorkflowExecutionCompletableListener() {
+          @Override
+          public CompletableFuture<?> onTaskStarted(TaskStartedEvent ev) {
+            return CompletableFuture.completedFuture(null);
+          }
+        };
+    WorkflowExecutionListener blockingListener =
+        new WorkflowExecutionListener() {
+          @Override
+          public void onTaskStarted(TaskStartedEvent ev) {}
+        };
+
+    WorkflowApplication app =
+        WorkflowApplication.builder()
+            .withModelFactory(modelFactory)
+            .withListener(taskListener)
+            .withListener(blockingListener)
+            .withListener(new TopPriorityListener())
+            .build();
+
+    assertThat(app.listenersByPriority(LifecycleEventType.TASK_STARTED))
+        .singleElement()
+        .satisfies(l -> assertThat(l).hasSize(2).contains(taskListener));
+    assertThat(app.listenersByPriority(LifecycleEventType.WORKFLOW_COMPLETED))
+        .singleElement()
+        .satisfies(l -> assertThat(l).containsExactly(app.schedulerListener()));
+    assertThat(app.listenersByPriority(LifecycleEventType.TASK_COMPLETED)).isEmpty();
+  }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mock;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class WorkloadExecutorTest {
+
+  @Test
+  void testWorkloadExecutor() {
+    ExecutorServiceFactory ioFactory = new DefaultExecutorServiceFactory();
+    ExecutorService ioService;
+    try (WorkflowApplication appl =
+        WorkflowApplication.builder()
+            .withModelFactory(mock(WorkflowModelFactory.class))
+            .withExecutorFactory(WorkloadType.BLOCKING_IO, ioFactory)
+            .build()) {
+      ioService = appl.executorService(WorkloadType.BLOCKING_IO);
+      assertThat(ioService).isSameAs(ioFactory.get());
+      assertThat(appl.executorService(WorkloadType.CPU)).isSameAs(appl.executorService());
+      assertThat(appl.executorService(WorkloadType.SCHEDULING)).isSameAs(appl.executorService());
+      assertThat(CompletableFuture.supplyAsync(() -> "done", ioService))
+          .succeedsWithin(5, TimeUnit.SECONDS)
+          .isEqualTo("done");
+    }
+    assertThat(ioService.isShutdown()).isTrue();
+  }
+
+  @Test
+  void testVirtualThreads() throws Exception {
+    assumeTrue(
+        VirtualThreadExecutorServiceFactory.isSupported(), "Virtual threads require Java 21");
+    Method isVirtual = Thread.class.getMethod("isVirtual");
+    try (VirtualThreadExecutorServiceFactory factory = new VirtualThreadExecutorServiceFactory()) {
+      assertThat(
+              CompletableFuture.supplyAsync(
+                  () -> {
+                    try {
+                      return isVirtual.invoke(Thread.currentThread());
+                    } catch (ReflectiveOperationException e) {
+                      throw new IllegalStateException(e);
+                    }
+                  },
+                  factory.get()))
+          .succeedsWithin(5, TimeUnit.SECONDS)
+          .isEqualTo(true);
+    }
+  }
+}
@@ -0,0 +1,316 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+import io.serverlessworkflow.impl.events.BoundedInMemoryEvents.OverflowPolicy;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class BoundedInMemoryEventsTest {
+
+  @Test
+  void testOrderPerType() throws Exception {
+    try (BoundedInMemoryEvents events =
+        BoundedInMemoryEvents.builder().withShards(2).withCapacity(8).withBatchSize(3).build()) {
+      List<String> received = new CopyOnWriteArrayList<>();
+      events.register("order", ce -> received.add(ce.getId()));
+      CompletableFuture<?>[] futures = new CompletableFuture[100];
+      for (int i = 0; i < futures.length; i++) {
+        futures[i] = events.publish(event("order", Integer.toString(i)));
+      }
+      CompletableFuture.allOf(futures).get(5, TimeUnit.SECONDS);
+      assertThat(received)
+          .containsExactlyElementsOf(IntStream.range(0, 100).mapToObj(Integer::toString).toList());
+      assertThat(events.stats().delivered()).isEqualTo(100);
+      assertThat(events.stats().published()).isEqualTo(100);
+    }
+  }
+
+  @Test
+  void testDropWhenFull() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    try (BoundedInMemoryEvents events = blockedEvents(OverflowPolicy.DROP, release)) {
+      CompletableFuture<Void> queued = events.publish(event("blocked", "2"));
+      CompletableFuture<Void> dropped = events.publish(event("blocked", "3"));
+      assertThat(dropped).isCompleted();
+      assertThat(events.stats().dropped()).isEqualTo(1);
+      release.countDown();
+      queued.get(5, TimeUnit.SECONDS);
+    }
+  }
+
+  @Test
+  void testFailWhenFull() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    try (BoundedInMemoryEvents events = blockedEvents(OverflowPolicy.FAIL, release)) {
+      events.publish(event("blocked", "2"));
+      CompletableFuture<Void> rejected = events.publish(event("blocked", "3"));
+      assertThat(rejected)
+          .failsWithin(0, TimeUnit.SECONDS)
+          .withThrowableOfType(ExecutionException.class)
+          .withCauseInstanceOf(RejectedExecutionException.class);
+      assertThat(events.stats().rejected()).isEqualTo(1);
+      release.countDown();
+    }
+  }
+
+  @Test
+  void testConsumerPublishingIntoItsFullShard() throws Exception {
+    try (BoundedInMemoryEvents events =
+        BoundedInMemoryEvents.builder().withShards(1).withCapacity(1).build()) {
+      List<String> received = new CopyOnWriteArrayList<>();
+      List<CompletableFuture<Void>> republished = new CopyOnWriteArrayList<>();
+      events.register(
+          "order",
+          ce -> {
+            received.add(ce.getId());
+            if (ce.getId().equals("1")) {
+              republished.add(events.publish(event("order", "2")));
+              republished.add(events.publish(event("order", "3")));
+            }
+          });
+      events.publish(event("order", "1")).get(5, TimeUnit.SECONDS);
+      republished.get(0).get(5, TimeUnit.SECONDS);
+      assertThat(republished.get(1))
+          .failsWithin(0, TimeUnit.SECONDS)
+          .withThrowableOfType(ExecutionException.class)
+          .withCauseInstanceOf(RejectedExecutionException.class);
+      assertThat(received).containsExactly("1", "2");
+      assertThat(events.stats().rejected()).isEqualTo(1);
+    }
+  }
+
+  @Test
+  void testConsumerDroppingIntoItsFullShard() throws Exception {
+    try (BoundedInMemoryEvents events =
+        BoundedInMemoryEvents.builder()
+            .withShards(1)
+            .withCapacity(1)
+            .withOverflowPolicy(OverflowPolicy.DROP)
+            .build()) {
+      List<CompletableFuture<Void>> republished = new CopyOnWriteArrayList<>();
+      events.register(
+          "order",
+          ce -> {
+            if (ce.getId().equals("1")) {
+              republished.add(events.publish(event("order", "2")));
+              republished.add(events.publish(event("order", "3")));
+            }
+          });
+      events.publish(event("order", "1")).get(5, TimeUnit.SECONDS);
+      republished.get(0).get(5, TimeUnit.SECONDS);
+      assertThat(republished.get(1)).isCompleted();
+      assertThat(events.stats().dropped()).isEqualTo(1);
+      assertThat(events.stats().rejected()).isZero();
+    }
+  }
+
+  @Test
+  void testConsumerPublishingIntoAnotherFullShard() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    try (BoundedInMemoryEvents events =
+        BoundedInMemoryEvents.builder().withShards(2).withCapacity(1).build()) {
+      String blocked = typeOfShard(0, 2);
+      String other = typeOfShard(1, 2);
+      CountDownLatch delivering = new CountDownLatch(1);
+      events.register(
+          blocked,
+          ce -> {
+            delivering.countDown();
+            try {
+              release.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          });
+      List<CompletableFuture<Void>> republished = new CopyOnWriteArrayList<>();
+      events.register(other, ce -> republished.add(events.publish(event(blocked, "3"))));
+      events.publish(event(blocked, "1"));
+      assertThat(delivering.await(5, TimeUnit.SECONDS)).isTrue();
+      events.publish(event(blocked, "2"));
+      // waiting for room in the blocked shard would block the other shard as well
+      events.publish(event(other, "4")).get(5, TimeUnit.SECONDS);
+      assertThat(republished.get(0))
+          .failsWithin(0, TimeUnit.SECONDS)
+          .withThrowableOfType(ExecutionException.class)
+          .withCauseInstanceOf(RejectedExecutionException.class);
+      release.countDown();
+    }
+  }
+
+  @Test
+  void testBatchConsumer() throws Exception {
+    CountDownLatch delivering = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    try (BoundedInMemoryEvents events =
+        BoundedInMemoryEvents.builder().withShards(1).withCapacity(16).withBatchSize(8).build()) {
+      List<List<String>> calls = new CopyOnWriteArrayList<>();
+      events.register(
+          "order",
+          new CloudEventBatchConsumer() {
+            @Override
+            public void accept(CloudEvent ce) {
+              calls.add(List.of(ce.getId()));
+            }
+
+            @Override
+            public void acceptAll(
+                List<CloudEvent> batch, ObjIntConsumer<RuntimeException> onError) {
+              calls.add(batch.stream().map(CloudEvent::getId).toList());
+              onError.accept(new IllegalStateException("Cannot process"), 1);
+            }
+          });
+      events.register("blocked", ce -> await(delivering, release));
+      events.publish(event("blocked", "0"));
+      assertThat(delivering.await(5, TimeUnit.SECONDS)).isTrue();
+      CompletableFuture<Void> first = events.publish(event("order", "1"));
+      CompletableFuture<Void> second = events.publish(event("order", "2"));
+      CompletableFuture<Void> third = events.publish(event("order", "3"));
+      release.countDown();
+      first.get(5, TimeUnit.SECONDS);
+      third.get(5, TimeUnit.SECONDS);
+      assertThat(second)
+          .failsWithin(5, TimeUnit.SECONDS)
+          .withThrowableOfType(ExecutionException.class)
+          .withCauseInstanceOf(IllegalStateException.class);
+      assertThat(calls).containsExactly(List.of("1", "2", "3"));
+    }
+  }
+
+  @Test
+  void testUnexpectedDeliveryError() throws Exception {
+    try (BoundedInMemoryEvents events =
+        BoundedInMemoryEvents.builder().withShards(1).withCapacity(4).build()) {
+      events.register(
+          "order",
+          ce -> {
+            if (ce.getId().equals("1")) {
+              throw new AssertionError("Cannot process " + ce.getId());
+            }
+          });
+      assertThat(events.publish(event("order", "1")))
+          .failsWithin(5, TimeUnit.SECONDS)
+          .withThrowableOfType(ExecutionException.class)
+          .withCauseInstanceOf(AssertionError.class);
+      // the shard keeps delivering
+      events.publish(event("order", "2")).get(5, TimeUnit.SECONDS);
+    }
+  }
+
+  @Test
+  void testBatchDelivery() throws Exception {
+    CountDownLatch delivering = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    try (BoundedInMemoryEvents events =
+        BoundedInMemoryEvents.builder().withShards(1).withCapacity(16).withBatchSize(4).build()) {
+      List<String> received = new CopyOnWriteArrayList<>();
+      events.register("order", ce -> received.add(ce.getId()));
+      events.register("other", ce -> received.add(ce.getType() + ce.getId()));
+      events.register(
+          "blocked",
+          ce -> {
+            delivering.countDown();
+            try {
+              release.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          });
+      events.publish(event("blocked", "0"));
+      assertThat(delivering.await(5, TimeUnit.SECONDS)).isTrue();
+      CompletableFuture<?>[] futures = new CompletableFuture[6];
+      for (int i = 0; i < futures.length; i++) {
+        futures[i] = events.publish(event(i == 2 ? "other" : "order", Integer.toString(i)));
+      }
+      assertThat(events.stats().pending()).isEqualTo(6);
+      release.countDown();
+      CompletableFuture.allOf(futures).get(5, TimeUnit.SECONDS);
+      assertThat(received).containsExactly("0", "1", "other2", "3", "4", "5");
+      assertThat(events.stats().delivered()).isEqualTo(7);
+      assertThat(events.stats().pending()).isZero();
+    }
+  }
+
+  @Test
+  void testPublishAfterClose() {
+    BoundedInMemoryEvents events = new BoundedInMemoryEvents();
+    events.close();
+    assertThat(events.publish(event("order", "1"))).isCompletedExceptionally();
+  }
+
+  /* single shard with room for one event, whose consumer is blocked processing a first event */
+  private static BoundedInMemoryEvents blockedEvents(OverflowPolicy policy, CountDownLatch release)
+      throws InterruptedException {
+    BoundedInMemoryEvents events =
+        BoundedInMemoryEvents.builder()
+            .withShards(1)
+            .withCapacity(1)
+            .withOverflowPolicy(policy)
+            .build();
+    CountDownLatch delivering = new CountDownLatch(1);
+    events.register(
+        "blocked",
+        ce -> {
+          delivering.countDown();
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        });
+    events.publish(event("blocked", "1"));
+    assertThat(delivering.await(5, TimeUnit.SECONDS)).isTrue();
+    return events;
+  }
+
+  private static void await(CountDownLatch delivering, CountDownLatch release) {
+    delivering.countDown();
+    try {
+      release.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static String typeOfShard(int shard, int shards) {
+    return IntStream.iterate(0, i -> i + 1)
+        .mapToObj(i -> "type" + i)
+        .filter(type -> Math.floorMod(type.hashCode(), shards) == shard)
+        .findFirst()
+        .orElseThrow();
+  }
+
+  private static CloudEvent event(String type, String id) {
+    return CloudEventBuilder.v1()
+        .withId(id)
+        .withType(type)
+        .withSource(URI.create("http://www.example.com"))
+        .build();
+  }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.marshaller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+import io.serverlessworkflow.impl.WorkflowStatus;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class CompactBufferFactoryTest {
+
+  private static final Map<String, Object> VALUE =
+      new LinkedHashMap<>(
+          Map.of(
+              "name",
+              "Mortadelo",
+              "age",
+              -42,
+              "id",
+              Long.MAX_VALUE,
+              "ratio",
+              0.5,
+              "tags",
+              List.of("TIA", Short.MIN_VALUE, true, 1.5f),
+              "startedAt",
+              Instant.ofEpochMilli(1_700_000_000_000L),
+              "updatedAt",
+              OffsetDateTime.of(2024, 1, 1, 10, 0, 0, 0, ZoneOffset.ofHours(2)),
+              "uri",
+              URI.create("http://www.example.com"),
+              "text",
+              "ñandú ".repeat(20_000)));
+
+  @Test
+  void testRoundTrip() {
+    WorkflowBufferFactory factory = CompactBufferFactory.factory(Integer.MAX_VALUE);
+    byte[] bytes = write(factory);
+    assertThat(bytes[0]).isEqualTo(CompactBufferFactory.HEADER);
+    assertRead(factory, bytes);
+  }
+
+  @Test
+  void testCompressed() {
+    WorkflowBufferFactory factory = CompactBufferFactory.factory();
+    byte[] bytes = write(factory);
+    assertThat(bytes[0]).isEqualTo(CompactBufferFactory.COMPRESSED_HEADER);
+    assertThat(bytes.length)
+        .isLessThan(write(CompactBufferFactory.factory(Integer.MAX_VALUE)).length);
+    assertRead(factory, bytes);
+  }
+
+  @Test
+  void testReadsDefaultFormat() {
+    WorkflowBufferFactory factory = CompactBufferFactory.factory();
+    assertThat(
+            MarshallingUtils.readEnum(
+                factory,
+                MarshallingUtils.writeEnum(DefaultBufferFactory.factory(), WorkflowStatus.RUNNING),
+                WorkflowStatus.class))
+        .isEqualTo(WorkflowStatus.RUNNING);
+    assertThat(
+            MarshallingUtils.readInstant(
+                factory,
+                MarshallingUtils.writeInstant(
+                    DefaultBufferFactory.factory(), Instant.ofEpochMilli(1000))))
+        .isEqualTo(Instant.ofEpochMilli(1000));
+  }
+
+  @Test
+  void testSmallerThanDefault() {
+    List<Object> items =
+        IntStream.range(0, 100)
+            .<Object>mapToObj(i -> Map.of("orderId", i, "status", "PAID"))
+            .toList();
+    assertThat(bytes(CompactBufferFactory.factory(Integer.MAX_VALUE), items).length)
+        .isLessThan(bytes(DefaultBufferFactory.factory(), items).length / 2);
+    assertThat(MarshallingUtils.writeEnum(CompactBufferFactory.factory(), WorkflowStatus.COMPLETED))
+        .hasSizeLessThanOrEqualTo(
+            MarshallingUtils.writeEnum(DefaultBufferFactory.factory(), WorkflowStatus.COMPLETED)
+                .length);
+  }
+
+  @Test
+  void testCloudEventExtensions() {
+    WorkflowBufferFactory factory = CompactBufferFactory.factory();
+    CloudEvent event =
+        CloudEventBuilder.v1()
+            .withId("1")
+            .withSource(URI.create("http://www.example.com"))
+            .withType("test")
+            .withExtension("orderid", "ñandú ".repeat(1_000))
+            .withExtension("attempt", 3)
+            .build();
+    byte[] bytes = MarshallingUtils.writeCloudEventExtensions(factory, event);
+    assertThat(bytes[0]).isEqualTo(CompactBufferFactory.COMPRESSED_HEADER);
+    CloudEvent read =
+        MarshallingUtils.readCloudEventExtensions(
+                factory,
+                bytes,
+                CloudEventBuilder.v1().withId("1").withSource(event.getSource()).withType("test"))
+            .build();
+    assertThat(read.getExtension("orderid")).isEqualTo(event.getExtension("orderid"));
+    assertThat(read.getExtension("attempt")).isEqualTo(3);
+  }
+
+  @Test
+  void testCloseTwice() {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    WorkflowOutputBuffer writer = CompactBufferFactory.factory().output(output);
+    writer.writeObject(VALUE);
+    writer.close();
+    byte[] bytes = output.toByteArray();
+    writer.close();
+    assertThat(output.toByteArray()).isEqualTo(bytes);
+    assertThat(bytes).isEqualTo(bytes(CompactBufferFactory.factory(), VALUE));
+  }
+
+  private static byte[] bytes(WorkflowBufferFactory factory, Object value) {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (WorkflowOutputBuffer writer = factory.output(output)) {
+      writer.writeObject(value);
+    }
+    return output.toByteArray();
+  }
+
+  private static byte[] write(WorkflowBufferFactory factory) {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (WorkflowOutputBuffer writer = factory.output(output)) {
+      writer.writeObject(VALUE);
+      writer.writeEnum(WorkflowStatus.RUNNING);
+      writer.writeEnum(WorkflowStatus.RUNNING);
+      writer.writeBytes(new byte[] {1, 2, 3});
+      writer.writeInt(Integer.MIN_VALUE);
+    }
+    return output.toByteArray();
+  }
+
+  private static void assertRead(WorkflowBufferFactory factory, byte[] bytes) {
+    try (WorkflowInputBuffer reader = factory.input(new ByteArrayInputStream(bytes))) {
+      assertThat(reader.readObject()).isEqualTo(VALUE);
+      assertThat(reader.readEnum(WorkflowStatus.class)).isEqualTo(WorkflowStatus.RUNNING);
+      assertThat(reader.readEnum(WorkflowStatus.class)).isEqualTo(WorkflowStatus.RUNNING);
+      assertThat(reader.readBytes()).isEqualTo(new byte[] {1, 2, 3});
+      assertThat(reader.readInt()).isEqualTo(Integer.MIN_VALUE);
+    }
+    assertThat(Arrays.equals(bytes, write(factory))).isTrue();
+  }
+}
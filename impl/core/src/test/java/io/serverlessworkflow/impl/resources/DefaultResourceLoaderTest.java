@@ -0,0 +1,188 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.resources;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.sun.net.httpserver.HttpServer;
+import io.serverlessworkflow.impl.WorkflowApplication;
+import io.serverlessworkflow.impl.WorkflowModelFactory;
+import io.serverlessworkflow.impl.config.ConfigManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class DefaultResourceLoaderTest {
+
+  private HttpServer server;
+  private URI uri;
+  private volatile String version = "1";
+  private final List<String> ifNoneMatch = new CopyOnWriteArrayList<>();
+  private final List<String> authorizations = new CopyOnWriteArrayList<>();
+
+  @BeforeEach
+  void setup() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext(
+        "/document",
+        exchange -> {
+          String etag = "\"" + version + "\"";
+          String requested = exchange.getRequestHeaders().getFirst("If-None-Match");
+          ifNoneMatch.add(String.valueOf(requested));
+          authorizations.add(
+              String.valueOf(exchange.getRequestHeaders().getFirst("Authorization")));
+          if (etag.equals(requested)) {
+            exchange.sendResponseHeaders(304, -1);
+          } else {
+            byte[] body = ("version " + version).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("ETag", etag);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+              out.write(body);
+            }
+          }
+          exchange.close();
+        });
+    server.start();
+    uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/document");
+  }
+
+  @AfterEach
+  void cleanup() {
+    server.stop(0);
+  }
+
+  @Test
+  void testStaleContentIsServedWhileRevalidating() throws InterruptedException {
+    try (WorkflowApplication appl = application(Optional.empty(), Optional.of(0L))) {
+      ResourceLoader loader = DefaultResourceLoaderFactory.get().getResourceLoader(appl, null);
+      assertThat(load(loader)).isEqualTo("version 1");
+      assertThat(load(loader)).isEqualTo("version 1");
+      waitForRequests(2);
+      assertThat(ifNoneMatch).containsExactly("null", "\"1\"");
+
+      version = "2";
+      waitForContent(loader, "version 2");
+      assertThat(ifNoneMatch).contains("\"1\"");
+    }
+  }
+
+  @Test
+  void testContentIsServedFromDiskAfterRestart(@TempDir Path cacheDir) {
+    try (WorkflowApplication appl = application(Optional.of(cacheDir))) {
+      assertThat(load(DefaultResourceLoaderFactory.get().getResourceLoader(appl, null)))
+          .isEqualTo("version 1");
+    }
+    server.stop(0);
+    try (WorkflowApplication appl = application(Optional.of(cacheDir))) {
+      assertThat(load(DefaultResourceLoaderFactory.get().getResourceLoader(appl, null)))
+          .isEqualTo("version 1");
+    }
+  }
+
+  @Test
+  void testFreshContentIsNotRevalidated() throws InterruptedException {
+    try (WorkflowApplication appl = application(Optional.empty())) {
+      ResourceLoader loader = DefaultResourceLoaderFactory.get().getResourceLoader(appl, null);
+      for (int i = 0; i < 3; i++) {
+        assertThat(load(loader)).isEqualTo("version 1");
+      }
+      Thread.sleep(100);
+      assertThat(ifNoneMatch).containsExactly("null");
+    }
+  }
+
+  @Test
+  void testAuthenticatedContentIsCachedPerCredentialAndNotStored(@TempDir Path cacheDir)
+      throws IOException {
+    try (WorkflowApplication appl = application(Optional.of(cacheDir))) {
+      ResourceLoader loader = DefaultResourceLoaderFactory.get().getResourceLoader(appl, null);
+      for (String auth : List.of("Bearer a", "Bearer b", "Bearer a")) {
+        assertThat(loader.loadURI(uri, ResourceLoaderUtils::readString, Optional.of(auth)))
+            .isEqualTo("version 1");
+      }
+    }
+    assertThat(authorizations).containsExactly("Bearer a", "Bearer b");
+    try (Stream<Path> files = Files.list(cacheDir)) {
+      assertThat(files).isEmpty();
+    }
+  }
+
+  @Test
+  void testFailedWriteLeavesNoTemporaryFile(@TempDir Path cacheDir) throws IOException {
+    ResourceDiskCache diskCache = new ResourceDiskCache(cacheDir);
+    HttpContent content = new HttpContent("content".getBytes(StandardCharsets.UTF_8), null, null);
+    diskCache.write(uri.toURL(), content, Instant.now());
+    Path contentFile;
+    try (Stream<Path> files = Files.list(cacheDir)) {
+      contentFile = files.filter(p -> p.toString().endsWith(".content")).findFirst().orElseThrow();
+    }
+    // a non empty directory in place of the content file makes the move fail
+    Files.delete(contentFile);
+    Files.createDirectories(contentFile.resolve("blocker"));
+    diskCache.write(uri.toURL(), content, Instant.now());
+    try (Stream<Path> files = Files.list(cacheDir)) {
+      assertThat(files).noneMatch(p -> p.toString().endsWith(".tmp"));
+    }
+  }
+
+  private String load(ResourceLoader loader) {
+    return loader.loadURI(uri, ResourceLoaderUtils::readString);
+  }
+
+  private void waitForRequests(int count) throws InterruptedException {
+    for (int i = 0; i < 500 && ifNoneMatch.size() < count; i++) {
+      Thread.sleep(10);
+    }
+  }
+
+  private void waitForContent(ResourceLoader loader, String expected) throws InterruptedException {
+    for (int i = 0; i < 500 && !load(loader).equals(expected); i++) {
+      Thread.sleep(10);
+    }
+    assertThat(load(loader)).isEqualTo(expected);
+  }
+
+  private static WorkflowApplication application(Optional<Path> cacheDir) {
+    return application(cacheDir, Optional.empty());
+  }
+
+  private static WorkflowApplication application(Optional<Path> cacheDir, Optional<Long> ttl) {
+    ConfigManager config = mock(ConfigManager.class);
+    when(config.config(DefaultResourceLoader.CACHE_DIR_PROPERTY, String.class))
+        .thenReturn(cacheDir.map(Path::toString));
+    when(config.config(DefaultResourceLoader.TTL_PROPERTY, Long.class)).thenReturn(ttl);
+    return WorkflowApplication.builder()
+        .withModelFactory(mock(WorkflowModelFactory.class))
+        .withConfigManager(config)
+        .build();
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class BoundedCacheTest {
+
+  @Test
+  void testSizeEviction() {
+    BoundedCache<String, String> cache = new BoundedCache<>(2);
+    cache.computeIfAbsent("a", String::toUpperCase);
+    cache.computeIfAbsent("b", String::toUpperCase);
+    // a becomes the most recently used
+    cache.computeIfAbsent("a", String::toUpperCase);
+    cache.computeIfAbsent("c", String::toUpperCase);
+    assertThat(cache.get("a")).contains("A");
+    assertThat(cache.get("b")).isEmpty();
+    assertThat(cache.stats()).isEqualTo(new CacheStats(2, 4, 1, 2, 2));
+  }
+
+  @Test
+  void testWeightEviction() {
+    BoundedCache<String, String> cache = new BoundedCache<>(10, 5, (k, v) -> v.length());
+    cache.put("a", "aaa");
+    cache.put("b", "bb");
+    assertThat(cache.size()).isEqualTo(2);
+    cache.put("c", "c");
+    assertThat(cache.get("a")).isEmpty();
+    assertThat(cache.stats().weight()).isEqualTo(3);
+    // heavier than the whole cache, never stored
+    cache.put("d", "dddddd");
+    assertThat(cache.get("d")).isEmpty();
+    assertThat(cache.size()).isEqualTo(2);
+  }
+}
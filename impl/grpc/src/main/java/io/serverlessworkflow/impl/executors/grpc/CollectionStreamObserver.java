@@ -22,13 +22,14 @@ import io.serverlessworkflow.impl.WorkflowModelCollection;
 
 class CollectionStreamObserver extends ModelStreamObserver<WorkflowModelCollection> {
 
-  public CollectionStreamObserver(WorkflowContext workflowContext, TaskContext taskContext) {
-    super(workflowContext, taskContext);
+  public CollectionStreamObserver(
+      WorkflowContext workflowContext, TaskContext taskContext, ProtobufModelConverter converter) {
+    super(workflowContext, taskContext, converter);
     this.model = modelFactory.createCollection();
   }
 
   @Override
   public void onNext(Message value) {
-    model.add(ProtobufMessageUtils.convert(value, modelFactory));
+    model.add(converter.toModel(value, modelFactory));
   }
 }
@@ -21,6 +21,7 @@ import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
 import com.google.protobuf.DescriptorProtos.FileDescriptorSet;
 import com.google.protobuf.Descriptors.DescriptorValidationException;
 import com.google.protobuf.Descriptors.FileDescriptor;
+import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.ProtocolStringList;
 import io.serverlessworkflow.impl.resources.ExternalResourceHandler;
 import java.io.FileNotFoundException;
@@ -34,10 +35,12 @@ import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,26 +48,60 @@ class FileDescriptorReader {
 
   private static final Logger logger = LoggerFactory.getLogger(FileDescriptorReader.class);
 
-  static FileDescriptor readDescriptor(ExternalResourceHandler externalResourceHandler) {
-    Path grpcDir = null;
+  static final String DESCRIPTOR_SET_EXTENSION = ".protobin";
+
+  static FileDescriptor readDescriptor(
+      ExternalResourceHandler externalResourceHandler, ProtoDescriptorCache cache) {
+    String name = Path.of(externalResourceHandler.name()).getFileName().toString();
+    byte[] content;
     try (InputStream inputStream = externalResourceHandler.open()) {
-      grpcDir = Files.createTempDirectory("serverless-workflow-");
-      Files.createDirectories(grpcDir);
-      String name = Path.of(externalResourceHandler.name()).getFileName().toString();
-      Path protoFile = grpcDir.resolve(name);
-      Files.copy(inputStream, protoFile);
-      Path descriptorOutput = grpcDir.resolve("descriptor.protobin");
-      generateFileDescriptor(grpcDir, protoFile, descriptorOutput);
-      return toFileDescriptor(
-          DescriptorProtos.FileDescriptorSet.newBuilder()
-              .mergeFrom(Files.readAllBytes(descriptorOutput))
-              .build(),
-          name);
+      content = inputStream.readAllBytes();
     } catch (IOException e) {
       throw new UncheckedIOException(
           "Unable to process gRPC proto file associated with resource: "
               + externalResourceHandler.name(),
           e);
+    }
+    return cache.descriptor(name, content);
+  }
+
+  static boolean isDescriptorSet(String name) {
+    return name.endsWith(DESCRIPTOR_SET_EXTENSION);
+  }
+
+  static FileDescriptor toFileDescriptor(String name, byte[] content) {
+    if (isDescriptorSet(name)) {
+      FileDescriptorSet set = parseDescriptorSet(name, content);
+      return toFileDescriptor(set, rootName(set, name));
+    }
+    return toFileDescriptor(compile(name, content), name);
+  }
+
+  static FileDescriptorSet parseDescriptorSet(String name, byte[] content) {
+    try {
+      return FileDescriptorSet.parseFrom(content);
+    } catch (InvalidProtocolBufferException e) {
+      throw new IllegalArgumentException("Invalid gRPC descriptor set " + name, e);
+    }
+  }
+
+  /*
+   * Compiles the proto file with protoc into a descriptor set including its imports
+   */
+  static FileDescriptorSet compile(String name, byte[] content) {
+    Path grpcDir = null;
+    try {
+      grpcDir = Files.createTempDirectory("serverless-workflow-");
+      Path protoFile = grpcDir.resolve(name);
+      Files.write(protoFile, content);
+      Path descriptorOutput = grpcDir.resolve("descriptor" + DESCRIPTOR_SET_EXTENSION);
+      generateFileDescriptor(grpcDir, protoFile, descriptorOutput);
+      return DescriptorProtos.FileDescriptorSet.newBuilder()
+          .mergeFrom(Files.readAllBytes(descriptorOutput))
+          .build();
+    } catch (IOException e) {
+      throw new UncheckedIOException(
+          "Unable to process gRPC proto file associated with resource: " + name, e);
     } finally {
       if (grpcDir != null) {
         deleteTempFiles(grpcDir);
@@ -72,7 +109,26 @@ class FileDescriptorReader {
     }
   }
 
-  private static FileDescriptor toFileDescriptor(FileDescriptorSet set, String name) {
+  /*
+   * A precompiled descriptor set does not say which of its files is the one being called, so the
+   * last file no other file depends on is taken, which is the one protoc puts last when invoked
+   * with --include_imports for a single proto.
+   */
+  static String rootName(FileDescriptorSet set, String name) {
+    Set<String> dependencies = new HashSet<>();
+    set.getFileList().forEach(proto -> dependencies.addAll(proto.getDependencyList()));
+    List<FileDescriptorProto> files = set.getFileList();
+    for (int i = files.size() - 1; i >= 0; i--) {
+      String protoName = files.get(i).getName();
+      if (!dependencies.contains(protoName)) {
+        return protoName;
+      }
+    }
+    throw new IllegalArgumentException(
+        "gRPC descriptor set " + name + " does not contain any file");
+  }
+
+  static FileDescriptor toFileDescriptor(FileDescriptorSet set, String name) {
     List<FileDescriptorProto> remainingProtos = new ArrayList<>(set.getFileList());
     Map<String, FileDescriptor> builtDescriptors = new HashMap<>();
     while (!remainingProtos.isEmpty()) {
@@ -165,8 +221,12 @@ class FileDescriptorReader {
         };
 
     try {
-      // First attempt: use protoc-jar library
-      int status = Protoc.runProtoc(protocArgs);
+      // First attempt: use protoc-jar library, resolving imports of well known types against the
+      // include files bundled with it
+      String[] protocJarArgs = new String[protocArgs.length + 1];
+      protocJarArgs[0] = "--include_std_types";
+      System.arraycopy(protocArgs, 0, protocJarArgs, 1, protocArgs.length);
+      int status = Protoc.runProtoc(protocJarArgs);
       if (status != 0) {
         throw new IOException(
             "Unable to generate file descriptor, 'protoc' execution failed with status " + status);
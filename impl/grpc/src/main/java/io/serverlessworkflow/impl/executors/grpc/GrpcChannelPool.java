@@ -0,0 +1,296 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.executors.grpc;
+
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.serverlessworkflow.impl.WorkflowApplication;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Application scoped pool of gRPC channels, so calls to the same target reuse established HTTP/2
+ * connections rather than opening (and closing) one per call.
+ *
+ * <p>Every target (host, port and transport security) gets up to <code>maxChannelsPerTarget</code>
+ * channels. A call goes to the least loaded channel and a new one is only opened when all of them
+ * have <code>maxCallsPerChannel</code> calls in flight. That is a soft limit: once the target has
+ * <code>maxChannelsPerTarget</code> channels, calls are never rejected nor queued by the pool, but
+ * multiplexed over the least loaded channel anyway, leaving any queueing to the HTTP/2 concurrent
+ * stream limit of the server. Channels with no calls for longer than <code>idleEviction</code> are
+ * shut down, and a target is forgotten once its last channel is. A pool with zero channels per
+ * target opens a channel per call, as done when there was no pool.
+ */
+public class GrpcChannelPool implements AutoCloseable {
+
+  private static final Logger logger = LoggerFactory.getLogger(GrpcChannelPool.class);
+
+  /** Name of the shared resource (or the additional object overriding it) holding the pool */
+  public static final String GRPC_CHANNEL_POOL = "grpcChannelPool";
+
+  public static final int DEFAULT_MAX_CHANNELS_PER_TARGET = 4;
+  public static final int DEFAULT_MAX_CALLS_PER_CHANNEL = 100;
+  public static final Duration DEFAULT_IDLE_EVICTION = Duration.ofMinutes(5);
+  public static final Duration DEFAULT_KEEP_ALIVE = Duration.ofMinutes(1);
+
+  private final int maxChannelsPerTarget;
+  private final int maxCallsPerChannel;
+  private final long idleEvictionNanos;
+  private final Duration keepAlive;
+  private final Map<ChannelTarget, List<PooledChannel>> channels = new ConcurrentHashMap<>();
+  private final AtomicLong nextEviction;
+  private final LongAdder created = new LongAdder();
+  private final LongAdder evicted = new LongAdder();
+  private final LongAdder calls = new LongAdder();
+  private volatile boolean closed;
+
+  public record ChannelTarget(String host, int port, boolean plaintext) {}
+
+  public record Stats(int channels, int inFlight, long created, long evicted, long calls) {}
+
+  /** Channel borrowed for a single call, released once the call is done */
+  public interface Lease {
+    ManagedChannel channel();
+
+    void release();
+  }
+
+  public static GrpcChannelPool of(WorkflowApplication application) {
+    return application
+        .<GrpcChannelPool>additionalObject(GRPC_CHANNEL_POOL)
+        .orElseGet(() -> application.sharedResource(GRPC_CHANNEL_POOL, () -> builder().build()));
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public static class Builder {
+    private int maxChannelsPerTarget = DEFAULT_MAX_CHANNELS_PER_TARGET;
+    private int maxCallsPerChannel = DEFAULT_MAX_CALLS_PER_CHANNEL;
+    private Duration idleEviction = DEFAULT_IDLE_EVICTION;
+    private Duration keepAlive = DEFAULT_KEEP_ALIVE;
+
+    private Builder() {}
+
+    public Builder withMaxChannelsPerTarget(int maxChannelsPerTarget) {
+      this.maxChannelsPerTarget = maxChannelsPerTarget;
+      return this;
+    }
+
+    /**
+     * Calls in flight on every channel of a target before another channel is opened for it. Once
+     * the target has <code>maxChannelsPerTarget</code> channels, this limit is exceeded rather than
+     * enforced.
+     */
+    public Builder withMaxCallsPerChannel(int maxCallsPerChannel) {
+      this.maxCallsPerChannel = maxCallsPerChannel;
+      return this;
+    }
+
+    public Builder withIdleEviction(Duration idleEviction) {
+      this.idleEviction = idleEviction;
+      return this;
+    }
+
+    public Builder withKeepAlive(Duration keepAlive) {
+      this.keepAlive = keepAlive;
+      return this;
+    }
+
+    public GrpcChannelPool build() {
+      if (maxChannelsPerTarget < 0 || maxCallsPerChannel <= 0) {
+        throw new IllegalArgumentException(
+            "Channels per target should not be negative and calls per channel should be positive,"
+                + " but they are "
+                + maxChannelsPerTarget
+                + " and "
+                + maxCallsPerChannel);
+      }
+      return new GrpcChannelPool(this);
+    }
+  }
+
+  private GrpcChannelPool(Builder builder) {
+    this.maxChannelsPerTarget = builder.maxChannelsPerTarget;
+    this.maxCallsPerChannel = builder.maxCallsPerChannel;
+    this.idleEvictionNanos = builder.idleEviction.toNanos();
+    this.keepAlive = builder.keepAlive;
+    this.nextEviction = new AtomicLong(System.nanoTime() + idleEvictionNanos);
+  }
+
+  public Lease acquire(String host, int port) {
+    return acquire(new ChannelTarget(host, port, true));
+  }
+
+  public Lease acquire(ChannelTarget target) {
+    if (closed) {
+      throw new IllegalStateException("gRPC channel pool has been closed");
+    }
+    calls.increment();
+    evictIdle();
+    if (maxChannelsPerTarget == 0) {
+      ManagedChannel channel = newChannel(target);
+      return new Lease() {
+        @Override
+        public ManagedChannel channel() {
+          return channel;
+        }
+
+        @Override
+        public void release() {
+          channel.shutdown();
+        }
+      };
+    }
+    while (true) {
+      List<PooledChannel> targetChannels =
+          channels.computeIfAbsent(target, k -> new ArrayList<>(maxChannelsPerTarget));
+      synchronized (targetChannels) {
+        // the target might have been evicted meanwhile, its list should not be used then
+        if (channels.get(target) == targetChannels) {
+          return select(target, targetChannels);
+        }
+      }
+    }
+  }
+
+  private PooledChannel select(ChannelTarget target, List<PooledChannel> targetChannels) {
+    PooledChannel selected = null;
+    for (PooledChannel candidate : targetChannels) {
+      if (selected == null || candidate.inFlight.get() < selected.inFlight.get()) {
+        selected = candidate;
+      }
+    }
+    if (selected == null
+        || (selected.inFlight.get() >= maxCallsPerChannel
+            && targetChannels.size() < maxChannelsPerTarget)) {
+      selected = new PooledChannel(newChannel(target));
+      targetChannels.add(selected);
+    }
+    selected.inFlight.incrementAndGet();
+    return selected;
+  }
+
+  private ManagedChannel newChannel(ChannelTarget target) {
+    created.increment();
+    ManagedChannelBuilder<?> builder =
+        ManagedChannelBuilder.forAddress(target.host(), target.port())
+            .keepAliveTime(keepAlive.toNanos(), TimeUnit.NANOSECONDS);
+    if (target.plaintext()) {
+      builder.usePlaintext();
+    } else {
+      builder.useTransportSecurity();
+    }
+    return builder.build();
+  }
+
+  private void evictIdle() {
+    long now = System.nanoTime();
+    long next = nextEviction.get();
+    if (now - next < 0 || !nextEviction.compareAndSet(next, now + idleEvictionNanos / 2)) {
+      return;
+    }
+    for (Map.Entry<ChannelTarget, List<PooledChannel>> entry : channels.entrySet()) {
+      List<PooledChannel> targetChannels = entry.getValue();
+      synchronized (targetChannels) {
+        Iterator<PooledChannel> iter = targetChannels.iterator();
+        while (iter.hasNext()) {
+          PooledChannel pooled = iter.next();
+          if (pooled.inFlight.get() == 0 && now - pooled.lastUsed > idleEvictionNanos) {
+            iter.remove();
+            pooled.channel.shutdown();
+            evicted.increment();
+          }
+        }
+        if (targetChannels.isEmpty()) {
+          channels.remove(entry.getKey(), targetChannels);
+        }
+      }
+    }
+  }
+
+  public Stats stats() {
+    int channelCount = 0;
+    int inFlight = 0;
+    for (List<PooledChannel> targetChannels : channels.values()) {
+      synchronized (targetChannels) {
+        channelCount += targetChannels.size();
+        for (PooledChannel pooled : targetChannels) {
+          inFlight += pooled.inFlight.get();
+        }
+      }
+    }
+    return new Stats(channelCount, inFlight, created.sum(), evicted.sum(), calls.sum());
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    Stats lastStats = stats();
+    List<ManagedChannel> toClose = new ArrayList<>();
+    for (List<PooledChannel> targetChannels : channels.values()) {
+      synchronized (targetChannels) {
+        targetChannels.forEach(p -> toClose.add(p.channel));
+        targetChannels.clear();
+      }
+    }
+    channels.clear();
+    toClose.forEach(ManagedChannel::shutdown);
+    for (ManagedChannel channel : toClose) {
+      try {
+        if (!channel.awaitTermination(1, TimeUnit.SECONDS)) {
+          channel.shutdownNow();
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        channel.shutdownNow();
+      }
+    }
+    logger.debug("Closed gRPC channel pool, stats were {}", lastStats);
+  }
+
+  private static class PooledChannel implements Lease {
+    private final ManagedChannel channel;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile long lastUsed = System.nanoTime();
+
+    PooledChannel(ManagedChannel channel) {
+      this.channel = channel;
+    }
+
+    @Override
+    public ManagedChannel channel() {
+      return channel;
+    }
+
+    @Override
+    public void release() {
+      lastUsed = System.nanoTime();
+      inFlight.decrementAndGet();
+    }
+  }
+}
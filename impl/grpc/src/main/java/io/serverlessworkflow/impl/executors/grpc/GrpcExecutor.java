@@ -22,8 +22,6 @@ import com.google.protobuf.Message;
 import io.grpc.CallOptions;
 import io.grpc.Channel;
 import io.grpc.ClientCall;
-import io.grpc.ManagedChannel;
-import io.grpc.ManagedChannelBuilder;
 import io.grpc.MethodDescriptor;
 import io.grpc.MethodDescriptor.MethodType;
 import io.grpc.protobuf.ProtoUtils;
@@ -32,8 +30,8 @@ import io.grpc.stub.StreamObserver;
 import io.serverlessworkflow.impl.TaskContext;
 import io.serverlessworkflow.impl.WorkflowContext;
 import io.serverlessworkflow.impl.WorkflowModel;
-import io.serverlessworkflow.impl.WorkflowModelCollection;
 import io.serverlessworkflow.impl.WorkflowValueResolver;
+import io.serverlessworkflow.impl.WorkloadType;
 import io.serverlessworkflow.impl.executors.CallableTask;
 import java.io.IOException;
 import java.util.Map;
@@ -45,8 +43,11 @@ public class GrpcExecutor implements CallableTask {
 
   public static final String GRPC_CHANNEL_PROVIDER = "grpcChannelProvider";
 
+  /** Additional object providing the {@link GrpcStreamSink} of server streaming calls */
+  public static final String GRPC_STREAM_SINK = "grpcStreamSink";
+
   private final WorkflowValueResolver<Map<String, Object>> arguments;
-  private final Descriptors.MethodDescriptor methodDescriptor;
+  private final ProtobufModelConverter converter;
   private final String address;
   private final int port;
   private final GRPCOperation operation;
@@ -58,7 +59,7 @@ public class GrpcExecutor implements CallableTask {
         WorkflowContext workflowContext,
         TaskContext taskContext,
         Map<String, Object> parameters,
-        Descriptors.MethodDescriptor methodDescriptor,
+        ProtobufModelConverter converter,
         ClientCall<Message, Message> call);
   }
 
@@ -68,10 +69,26 @@ public class GrpcExecutor implements CallableTask {
       WorkflowValueResolver<Map<String, Object>> arguments,
       Descriptors.ServiceDescriptor serviceDescriptor,
       Descriptors.MethodDescriptor methodDescriptor) {
+    this(
+        address,
+        port,
+        arguments,
+        serviceDescriptor,
+        methodDescriptor,
+        new ProtobufModelConverter(methodDescriptor));
+  }
+
+  GrpcExecutor(
+      String address,
+      int port,
+      WorkflowValueResolver<Map<String, Object>> arguments,
+      Descriptors.ServiceDescriptor serviceDescriptor,
+      Descriptors.MethodDescriptor methodDescriptor,
+      ProtobufModelConverter converter) {
     this.address = address;
     this.port = port;
     this.arguments = arguments;
-    this.methodDescriptor = methodDescriptor;
+    this.converter = converter;
     MethodType methodType = getMethodType(methodDescriptor);
     this.operation =
         switch (methodType) {
@@ -109,24 +126,32 @@ public class GrpcExecutor implements CallableTask {
             .definition()
             .application()
             .<Channel>additionalObject(GRPC_CHANNEL_PROVIDER, workflowContext, taskContext);
-    Channel channel =
-        providedChannel.orElseGet(
-            () -> ManagedChannelBuilder.forAddress(address, port).usePlaintext().build());
+    Optional<GrpcChannelPool.Lease> lease =
+        providedChannel.isPresent()
+            ? Optional.empty()
+            : Optional.of(
+                GrpcChannelPool.of(workflowContext.definition().application())
+                    .acquire(address, port));
+    Channel channel = providedChannel.orElseGet(() -> lease.orElseThrow().channel());
     ClientCall<Message, Message> call =
         channel.newCall(
             callDescriptor,
             CallOptions.DEFAULT
                 .withWaitForReady()
-                .withExecutor(workflowContext.definition().application().executorService()));
+                .withExecutor(
+                    workflowContext
+                        .definition()
+                        .application()
+                        .executorService(WorkloadType.BLOCKING_IO)));
     CompletableFuture<WorkflowModel> result = null;
     try {
-      result = operation.apply(workflowContext, taskContext, arguments, methodDescriptor, call);
+      result = operation.apply(workflowContext, taskContext, arguments, converter, call);
     } finally {
-      if (providedChannel.isEmpty() && channel instanceof ManagedChannel managedChannel) {
+      if (lease.isPresent()) {
         if (result == null) {
-          managedChannel.shutdown();
+          lease.get().release();
         } else {
-          result = result.whenComplete((__, ___) -> managedChannel.shutdown());
+          result = result.whenComplete((__, ___) -> lease.get().release());
         }
       }
     }
@@ -137,41 +162,37 @@ public class GrpcExecutor implements CallableTask {
       WorkflowContext workflowContext,
       TaskContext taskContext,
       Map<String, Object> parameters,
-      Descriptors.MethodDescriptor methodDescriptor,
+      ProtobufModelConverter converter,
       ClientCall<Message, Message> call) {
     return asyncStreamingCall(
         parameters,
-        methodDescriptor,
+        converter,
         responseObserver -> ClientCalls.asyncClientStreamingCall(call, responseObserver),
-        workflowContext,
-        taskContext);
+        new CollectionStreamObserver(workflowContext, taskContext, converter));
   }
 
   private static CompletableFuture<WorkflowModel> handleBidiStreaming(
       WorkflowContext workflowContext,
       TaskContext taskContext,
       Map<String, Object> parameters,
-      Descriptors.MethodDescriptor methodDescriptor,
+      ProtobufModelConverter converter,
       ClientCall<Message, Message> call) {
     return asyncStreamingCall(
         parameters,
-        methodDescriptor,
+        converter,
         responseObserver -> ClientCalls.asyncBidiStreamingCall(call, responseObserver),
-        workflowContext,
-        taskContext);
+        streamObserver(workflowContext, taskContext, converter));
   }
 
   private static CompletableFuture<WorkflowModel> handleServerStreaming(
       WorkflowContext workflowContext,
       TaskContext taskContext,
       Map<String, Object> parameters,
-      Descriptors.MethodDescriptor methodDescriptor,
+      ProtobufModelConverter converter,
       ClientCall<Message, Message> call) {
-    ModelStreamObserver<WorkflowModelCollection> observer =
-        new CollectionStreamObserver(workflowContext, taskContext);
+    ModelStreamObserver<?> observer = streamObserver(workflowContext, taskContext, converter);
     try {
-      ClientCalls.asyncServerStreamingCall(
-          call, ProtobufMessageUtils.buildMessage(methodDescriptor, parameters).build(), observer);
+      ClientCalls.asyncServerStreamingCall(call, converter.toMessage(parameters), observer);
     } catch (IOException io) {
       observer.onError(io);
     }
@@ -182,13 +203,12 @@ public class GrpcExecutor implements CallableTask {
       WorkflowContext workflowContext,
       TaskContext taskContext,
       Map<String, Object> parameters,
-      Descriptors.MethodDescriptor methodDescriptor,
+      ProtobufModelConverter converter,
       ClientCall<Message, Message> call) {
     ModelStreamObserver<WorkflowModel> observer =
-        new ItemStreamObserver(workflowContext, taskContext);
+        new ItemStreamObserver(workflowContext, taskContext, converter);
     try {
-      ClientCalls.asyncUnaryCall(
-          call, ProtobufMessageUtils.buildMessage(methodDescriptor, parameters).build(), observer);
+      ClientCalls.asyncUnaryCall(call, converter.toMessage(parameters), observer);
     } catch (IOException io) {
       observer.onError(io);
     }
@@ -197,19 +217,13 @@ public class GrpcExecutor implements CallableTask {
 
   private static CompletableFuture<WorkflowModel> asyncStreamingCall(
       Map<String, Object> parameters,
-      com.google.protobuf.Descriptors.MethodDescriptor methodDescriptor,
+      ProtobufModelConverter converter,
       UnaryOperator<StreamObserver<Message>> streamObserverFunction,
-      WorkflowContext workflowContext,
-      TaskContext taskContext) {
-    ModelStreamObserver<WorkflowModelCollection> responseObserver =
-        new CollectionStreamObserver(workflowContext, taskContext);
+      ModelStreamObserver<?> responseObserver) {
     StreamObserver<Message> requestObserver = streamObserverFunction.apply(responseObserver);
     try {
       for (Object entry : parameters.entrySet()) {
-        requestObserver.onNext(
-            ProtobufMessageUtils.buildMessage(
-                    entry, DynamicMessage.newBuilder(methodDescriptor.getInputType()))
-                .build());
+        requestObserver.onNext(converter.toMessage(entry));
       }
       requestObserver.onCompleted();
     } catch (IOException e) {
@@ -218,6 +232,17 @@ public class GrpcExecutor implements CallableTask {
     return responseObserver.future();
   }
 
+  private static ModelStreamObserver<?> streamObserver(
+      WorkflowContext workflowContext, TaskContext taskContext, ProtobufModelConverter converter) {
+    return workflowContext
+        .definition()
+        .application()
+        .<GrpcStreamSink>additionalObject(GRPC_STREAM_SINK, workflowContext, taskContext)
+        .<ModelStreamObserver<?>>map(
+            sink -> new SinkStreamObserver(workflowContext, taskContext, converter, sink))
+        .orElseGet(() -> new CollectionStreamObserver(workflowContext, taskContext, converter));
+  }
+
   private static MethodDescriptor.MethodType getMethodType(
       com.google.protobuf.Descriptors.MethodDescriptor methodDesc) {
     DescriptorProtos.MethodDescriptorProto methodDescProto = methodDesc.toProto();
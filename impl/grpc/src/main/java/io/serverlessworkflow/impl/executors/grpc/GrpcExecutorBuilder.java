@@ -44,7 +44,11 @@ public class GrpcExecutorBuilder implements CallableTaskBuilder<CallGRPC> {
     FileDescriptor fileDescriptor =
         definition
             .resourceLoader()
-            .loadStatic(with.getProto().getEndpoint(), FileDescriptorReader::readDescriptor);
+            .loadStatic(
+                with.getProto().getEndpoint(),
+                h ->
+                    FileDescriptorReader.readDescriptor(
+                        h, ProtoDescriptorCache.of(definition.application())));
     Descriptors.ServiceDescriptor serviceDescriptor =
         Objects.requireNonNull(
             fileDescriptor.findServiceByName(service.getName()),
@@ -53,6 +57,7 @@ public class GrpcExecutorBuilder implements CallableTaskBuilder<CallGRPC> {
         Objects.requireNonNull(
             serviceDescriptor.findMethodByName(with.getMethod()),
             "Method not found: " + with.getMethod());
+    ProtobufModelConverter converter = new ProtobufModelConverter(methodDescriptor);
     return () ->
         new GrpcExecutor(
             service.getHost(),
@@ -63,6 +68,7 @@ public class GrpcExecutorBuilder implements CallableTaskBuilder<CallGRPC> {
                     ? with.getArguments().getAdditionalProperties()
                     : Map.of()),
             serviceDescriptor,
-            methodDescriptor);
+            methodDescriptor,
+            converter);
   }
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.executors.grpc;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+import io.cloudevents.jackson.JsonCloudEventData;
+import io.serverlessworkflow.impl.TaskContext;
+import io.serverlessworkflow.impl.WorkflowContext;
+import io.serverlessworkflow.impl.WorkflowDefinition;
+import io.serverlessworkflow.impl.WorkflowModel;
+import io.serverlessworkflow.impl.events.CloudEventUtils;
+import io.serverlessworkflow.impl.jackson.JsonUtils;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Receives, one at a time, the messages of a server streaming or bidirectional gRPC call, rather
+ * than collecting all of them into the task output, so memory usage does not depend on the length
+ * of the stream.
+ *
+ * <p>It is enabled by registering an additional object named {@link GrpcExecutor#GRPC_STREAM_SINK};
+ * returning null for a task keeps the default behaviour for it. At most {@link #prefetch()}
+ * messages are requested from the server ahead of the ones whose returned future has completed. A
+ * null future means the message has already been processed, while an exception or a failed future
+ * cancels the call. The output of a streamed call is the number of messages received.
+ */
+@FunctionalInterface
+public interface GrpcStreamSink {
+
+  int DEFAULT_PREFETCH = 16;
+
+  CompletableFuture<?> accept(
+      WorkflowContext workflowContext, TaskContext taskContext, WorkflowModel message);
+
+  default int prefetch() {
+    return DEFAULT_PREFETCH;
+  }
+
+  /** Publishes every message as the data of a CloudEvent of the given type */
+  static GrpcStreamSink events(String type) {
+    return (workflowContext, taskContext, message) -> {
+      CloudEvent ce =
+          CloudEventBuilder.v1()
+              .withId(CloudEventUtils.id())
+              .withSource(CloudEventUtils.source())
+              .withType(type)
+              .withData(JsonCloudEventData.wrap(JsonUtils.modelToJson(message)))
+              .build();
+      return CompletableFuture.allOf(
+          workflowContext.definition().application().eventPublishers().stream()
+              .map(publisher -> publisher.publish(ce))
+              .toArray(CompletableFuture[]::new));
+    };
+  }
+
+  /** Starts an instance of the given workflow per message, using it as the instance input */
+  static GrpcStreamSink workflow(WorkflowDefinition definition) {
+    return (workflowContext, taskContext, message) -> definition.instance(message).start();
+  }
+}
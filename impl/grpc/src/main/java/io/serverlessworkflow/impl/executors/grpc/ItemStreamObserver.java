@@ -22,13 +22,14 @@ import io.serverlessworkflow.impl.WorkflowModel;
 
 class ItemStreamObserver extends ModelStreamObserver<WorkflowModel> {
 
-  public ItemStreamObserver(WorkflowContext workflowContext, TaskContext taskContext) {
-    super(workflowContext, taskContext);
+  public ItemStreamObserver(
+      WorkflowContext workflowContext, TaskContext taskContext, ProtobufModelConverter converter) {
+    super(workflowContext, taskContext, converter);
     model = modelFactory.fromNull();
   }
 
   @Override
   public void onNext(Message value) {
-    model = ProtobufMessageUtils.convert(value, modelFactory);
+    model = converter.toModel(value, modelFactory);
   }
 }
@@ -28,11 +28,14 @@ import java.util.concurrent.CompletableFuture;
 abstract class ModelStreamObserver<T extends WorkflowModel> implements StreamObserver<Message> {
   protected T model;
   protected final WorkflowModelFactory modelFactory;
+  protected final ProtobufModelConverter converter;
   private final CompletableFuture<WorkflowModel> future;
   private final TaskContext taskContext;
 
-  public ModelStreamObserver(WorkflowContext workflowContext, TaskContext taskContext) {
+  public ModelStreamObserver(
+      WorkflowContext workflowContext, TaskContext taskContext, ProtobufModelConverter converter) {
     this.modelFactory = workflowContext.definition().application().modelFactory();
+    this.converter = converter;
     this.taskContext = taskContext;
     this.future = new CompletableFuture<>();
   }
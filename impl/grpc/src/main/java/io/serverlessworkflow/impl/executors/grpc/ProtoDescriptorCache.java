@@ -0,0 +1,238 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.executors.grpc;
+
+import com.github.os72.protocjar.Protoc;
+import com.google.protobuf.DescriptorProtos.FileDescriptorSet;
+import com.google.protobuf.Descriptors.FileDescriptor;
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.serverlessworkflow.impl.WorkflowApplication;
+import io.serverlessworkflow.impl.utils.BoundedCache;
+import io.serverlessworkflow.impl.utils.CacheStats;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of the descriptors of the proto files referenced by gRPC calls, keyed by a hash of the file
+ * name and content, plus the name and content of the files it imports, so <code>protoc</code> is
+ * only invoked the first time a given proto is seen.
+ *
+ * <p>Descriptors are kept in memory and, if a cache directory is configured, the descriptor set
+ * generated by <code>protoc</code> is also stored there as a <code>.protobin</code> file, so it
+ * survives restarts. Proto resources that are already precompiled descriptor sets (<code>.protobin
+ * </code> extension) never invoke <code>protoc</code>.
+ */
+public class ProtoDescriptorCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(ProtoDescriptorCache.class);
+
+  /** Name of the shared resource (or the additional object overriding it) holding the cache */
+  public static final String GRPC_DESCRIPTOR_CACHE = "grpcDescriptorCache";
+
+  /** Config property with the directory where compiled descriptor sets are stored */
+  public static final String CACHE_DIR_PROPERTY =
+      "io.serverlessworkflow.impl.grpc.descriptorCacheDir";
+
+  public static final int DEFAULT_MAX_ENTRIES = 256;
+
+  private static final Pattern IMPORT =
+      Pattern.compile("^\\s*import\\s+(?:public\\s+|weak\\s+)?\"([^\"]+)\"", Pattern.MULTILINE);
+  private static final String INCLUDE_DIR = "proto3/include/";
+  private static final Map<String, Optional<byte[]>> INCLUDES = new ConcurrentHashMap<>();
+
+  private final BoundedCache<String, FileDescriptor> descriptors;
+  private final Optional<Path> cacheDir;
+
+  public static ProtoDescriptorCache of(WorkflowApplication application) {
+    return application
+        .<ProtoDescriptorCache>additionalObject(GRPC_DESCRIPTOR_CACHE)
+        .orElseGet(
+            () ->
+                application.sharedResource(
+                    GRPC_DESCRIPTOR_CACHE,
+                    () ->
+                        builder()
+                            .withCacheDir(
+                                application
+                                    .configManager()
+                                    .config(CACHE_DIR_PROPERTY, String.class)
+                                    .map(Path::of)
+                                    .orElse(null))
+                            .build()));
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public static class Builder {
+    private int maxEntries = DEFAULT_MAX_ENTRIES;
+    private Path cacheDir;
+
+    private Builder() {}
+
+    public Builder withMaxEntries(int maxEntries) {
+      this.maxEntries = maxEntries;
+      return this;
+    }
+
+    public Builder withCacheDir(Path cacheDir) {
+      this.cacheDir = cacheDir;
+      return this;
+    }
+
+    public ProtoDescriptorCache build() {
+      return new ProtoDescriptorCache(this);
+    }
+  }
+
+  private ProtoDescriptorCache(Builder builder) {
+    this.descriptors = new BoundedCache<>(builder.maxEntries);
+    this.cacheDir = Optional.ofNullable(builder.cacheDir);
+  }
+
+  public FileDescriptor descriptor(String name, byte[] content) {
+    return descriptors.computeIfAbsent(key(name, content), k -> load(k, name, content));
+  }
+
+  public CacheStats stats() {
+    return descriptors.stats();
+  }
+
+  private FileDescriptor load(String key, String name, byte[] content) {
+    if (FileDescriptorReader.isDescriptorSet(name)) {
+      return FileDescriptorReader.toFileDescriptor(name, content);
+    }
+    Optional<Path> file =
+        cacheDir.map(dir -> dir.resolve(key + FileDescriptorReader.DESCRIPTOR_SET_EXTENSION));
+    FileDescriptorSet set = file.flatMap(this::readStored).orElse(null);
+    if (set == null) {
+      set = FileDescriptorReader.compile(name, content);
+      FileDescriptorSet compiled = set;
+      file.ifPresent(f -> store(f, compiled));
+    }
+    return FileDescriptorReader.toFileDescriptor(set, name);
+  }
+
+  private Optional<FileDescriptorSet> readStored(Path file) {
+    if (!Files.isRegularFile(file)) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(FileDescriptorSet.parseFrom(Files.readAllBytes(file)));
+    } catch (InvalidProtocolBufferException e) {
+      logger.warn("Ignoring corrupted gRPC descriptor set {}", file, e);
+    } catch (IOException e) {
+      logger.warn("Error reading gRPC descriptor set {}", file, e);
+    }
+    return Optional.empty();
+  }
+
+  private void store(Path file, FileDescriptorSet set) {
+    try {
+      Files.createDirectories(file.getParent());
+      Path tempFile = Files.createTempFile(file.getParent(), "descriptor-", ".tmp");
+      Files.write(tempFile, set.toByteArray());
+      try {
+        Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException e) {
+      logger.warn("Error storing gRPC descriptor set {}", file, e);
+    }
+  }
+
+  private static String key(String name, byte[] content) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      update(digest, name, content);
+      if (!FileDescriptorReader.isDescriptorSet(name)) {
+        // imported files are part of the compiled descriptor set, so they are part of the key too
+        for (String imported : imports(content)) {
+          update(digest, imported, include(imported).orElse(new byte[0]));
+        }
+      }
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static void update(MessageDigest digest, String name, byte[] content) {
+    digest.update(name.getBytes(StandardCharsets.UTF_8));
+    digest.update((byte) 0);
+    digest.update(content);
+    digest.update((byte) 0);
+  }
+
+  /*
+   * Names of the files imported, directly or not, by the proto, sorted so the key does not depend
+   * on the import order
+   */
+  private static Set<String> imports(byte[] content) {
+    Set<String> imports = new TreeSet<>();
+    Deque<byte[]> pending = new ArrayDeque<>();
+    pending.push(content);
+    while (!pending.isEmpty()) {
+      Matcher matcher = IMPORT.matcher(new String(pending.pop(), StandardCharsets.UTF_8));
+      while (matcher.find()) {
+        String imported = matcher.group(1);
+        if (imports.add(imported)) {
+          include(imported).ifPresent(pending::push);
+        }
+      }
+    }
+    return imports;
+  }
+
+  /*
+   * Imports are resolved by protoc against the include files bundled with it, which protoc-jar
+   * ships as classpath resources
+   */
+  private static Optional<byte[]> include(String imported) {
+    return INCLUDES.computeIfAbsent(
+        imported,
+        k -> {
+          try (InputStream in =
+              Protoc.class.getClassLoader().getResourceAsStream(INCLUDE_DIR + k)) {
+            return in == null ? Optional.empty() : Optional.of(in.readAllBytes());
+          } catch (IOException e) {
+            logger.warn("Error reading proto include {}", k, e);
+            return Optional.empty();
+          }
+        });
+  }
+}
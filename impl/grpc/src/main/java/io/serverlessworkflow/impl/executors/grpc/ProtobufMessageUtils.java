@@ -15,41 +15,29 @@
  */
 package io.serverlessworkflow.impl.executors.grpc;
 
-import com.google.protobuf.Descriptors;
-import com.google.protobuf.DynamicMessage;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.google.protobuf.Message;
+import com.google.protobuf.MessageOrBuilder;
 import com.google.protobuf.util.JsonFormat;
-import io.serverlessworkflow.impl.WorkflowModel;
-import io.serverlessworkflow.impl.WorkflowModelFactory;
 import io.serverlessworkflow.impl.jackson.JsonUtils;
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.util.Map;
 
 class ProtobufMessageUtils {
 
-  static WorkflowModel convert(Message message, WorkflowModelFactory modelFactory) {
-    StringBuilder str = new StringBuilder();
+  static JsonNode printJson(MessageOrBuilder message) {
     try {
-      JsonFormat.printer().appendTo(message, str);
-      return modelFactory.from(str.toString());
+      return JsonUtils.mapper().readTree(JsonFormat.printer().print(message));
     } catch (IOException e) {
       throw new UncheckedIOException("Error converting protobuf message to JSON", e);
     }
   }
 
   static Message.Builder buildMessage(Object object, Message.Builder builder) throws IOException {
-    // let's use Jackson to serialize the object to string for now, although we probably need to
-    // revisit this.
+    // only used for well known types, whose JSON representation is not the regular one
     JsonFormat.parser().merge(JsonUtils.mapper().writeValueAsString(object), builder);
     return builder;
   }
 
-  static Message.Builder buildMessage(
-      Descriptors.MethodDescriptor methodDescriptor, Map<String, Object> parameters)
-      throws IOException {
-    return buildMessage(parameters, DynamicMessage.newBuilder(methodDescriptor.getInputType()));
-  }
-
   private ProtobufMessageUtils() {}
 }
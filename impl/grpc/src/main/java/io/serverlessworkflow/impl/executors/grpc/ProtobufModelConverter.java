@@ -0,0 +1,467 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.executors.grpc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.BooleanNode;
+import com.fasterxml.jackson.databind.node.DoubleNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.LongNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.EnumDescriptor;
+import com.google.protobuf.Descriptors.EnumValueDescriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.DynamicMessage;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import com.google.protobuf.NullValue;
+import com.google.protobuf.Value;
+import io.serverlessworkflow.impl.WorkflowModel;
+import io.serverlessworkflow.impl.WorkflowModelFactory;
+import io.serverlessworkflow.impl.jackson.JsonUtils;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Converts the messages of a gRPC method from and to the workflow model walking the message
+ * descriptors, rather than printing to (and parsing from) JSON text. Output follows the proto3 JSON
+ * mapping as implemented by {@link com.google.protobuf.util.JsonFormat}, which is still used for
+ * well known types with a special JSON representation.
+ *
+ * <p>The field plan of every message type reachable from the method input and output is computed
+ * once on construction, so instances are immutable and might be shared by concurrent calls.
+ */
+class ProtobufModelConverter {
+
+  private static final Set<String> WELL_KNOWN_TYPES =
+      Set.of(
+          "google.protobuf.Any",
+          "google.protobuf.Duration",
+          "google.protobuf.FieldMask",
+          "google.protobuf.Timestamp",
+          "google.protobuf.Struct",
+          "google.protobuf.Value",
+          "google.protobuf.ListValue",
+          "google.protobuf.DoubleValue",
+          "google.protobuf.FloatValue",
+          "google.protobuf.Int64Value",
+          "google.protobuf.UInt64Value",
+          "google.protobuf.Int32Value",
+          "google.protobuf.UInt32Value",
+          "google.protobuf.BoolValue",
+          "google.protobuf.StringValue",
+          "google.protobuf.BytesValue");
+
+  private static final String NULL_VALUE = "google.protobuf.NullValue";
+  private static final String VALUE = "google.protobuf.Value";
+  private static final ByteString NULL_VALUE_BYTES =
+      Value.newBuilder().setNullValue(NullValue.NULL_VALUE).build().toByteString();
+  private static final BigInteger MAX_UINT64 =
+      BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+
+  private static final JsonNodeFactory nodeFactory = JsonNodeFactory.instance;
+
+  private record FieldPlan(FieldDescriptor field, String jsonName, Descriptor messageType) {}
+
+  private record MessagePlan(
+      Descriptor descriptor,
+      FieldPlan[] fields,
+      Map<String, FieldPlan> byName,
+      boolean wellKnown) {}
+
+  private final Map<Descriptor, MessagePlan> plans = new HashMap<>();
+  private final MessagePlan inputPlan;
+
+  ProtobufModelConverter(Descriptors.MethodDescriptor methodDescriptor) {
+    this.inputPlan = plan(methodDescriptor.getInputType());
+    plan(methodDescriptor.getOutputType());
+  }
+
+  private MessagePlan plan(Descriptor descriptor) {
+    MessagePlan plan = plans.get(descriptor);
+    if (plan == null) {
+      List<FieldDescriptor> fieldDescriptors = descriptor.getFields();
+      FieldPlan[] fields = new FieldPlan[fieldDescriptors.size()];
+      Map<String, FieldPlan> byName = new HashMap<>();
+      plan =
+          new MessagePlan(
+              descriptor, fields, byName, WELL_KNOWN_TYPES.contains(descriptor.getFullName()));
+      // registered before walking the fields to support recursive messages
+      plans.put(descriptor, plan);
+      for (int i = 0; i < fields.length; i++) {
+        FieldDescriptor field = fieldDescriptors.get(i);
+        Descriptor messageType =
+            field.getJavaType() == FieldDescriptor.JavaType.MESSAGE ? field.getMessageType() : null;
+        fields[i] = new FieldPlan(field, field.getJsonName(), messageType);
+        byName.put(field.getJsonName(), fields[i]);
+        byName.put(field.getName(), fields[i]);
+        if (messageType != null) {
+          plan(messageType);
+        }
+      }
+    }
+    return plan;
+  }
+
+  WorkflowModel toModel(Message message, WorkflowModelFactory modelFactory) {
+    return modelFactory.fromOther(toJson(message));
+  }
+
+  JsonNode toJson(Message message) {
+    return toJson(message, plans.get(message.getDescriptorForType()));
+  }
+
+  Message toMessage(Object value) throws IOException {
+    return merge(value, DynamicMessage.newBuilder(inputPlan.descriptor()), inputPlan).build();
+  }
+
+  private JsonNode toJson(Message message, MessagePlan plan) {
+    if (plan.wellKnown()) {
+      return ProtobufMessageUtils.printJson(message);
+    }
+    ObjectNode node = nodeFactory.objectNode();
+    for (FieldPlan fieldPlan : plan.fields()) {
+      FieldDescriptor field = fieldPlan.field();
+      if (field.isMapField()) {
+        int count = message.getRepeatedFieldCount(field);
+        if (count > 0) {
+          node.set(fieldPlan.jsonName(), mapToJson(message, fieldPlan, count));
+        }
+      } else if (field.isRepeated()) {
+        int count = message.getRepeatedFieldCount(field);
+        if (count > 0) {
+          ArrayNode array = node.putArray(fieldPlan.jsonName());
+          for (int i = 0; i < count; i++) {
+            array.add(valueToJson(fieldPlan, message.getRepeatedField(field, i)));
+          }
+        }
+      } else if (message.hasField(field)) {
+        node.set(fieldPlan.jsonName(), valueToJson(fieldPlan, message.getField(field)));
+      }
+    }
+    return node;
+  }
+
+  private ObjectNode mapToJson(Message message, FieldPlan fieldPlan, int count) {
+    MessagePlan entryPlan = plans.get(fieldPlan.messageType());
+    FieldPlan keyPlan = entryPlan.fields()[0];
+    FieldPlan valuePlan = entryPlan.fields()[1];
+    ObjectNode node = nodeFactory.objectNode();
+    for (int i = 0; i < count; i++) {
+      Message entry = (Message) message.getRepeatedField(fieldPlan.field(), i);
+      node.set(
+          valueToJson(keyPlan, entry.getField(keyPlan.field())).asText(),
+          valueToJson(valuePlan, entry.getField(valuePlan.field())));
+    }
+    return node;
+  }
+
+  private JsonNode valueToJson(FieldPlan fieldPlan, Object value) {
+    switch (fieldPlan.field().getType()) {
+      case INT32:
+      case SINT32:
+      case SFIXED32:
+        return IntNode.valueOf((Integer) value);
+      case UINT32:
+      case FIXED32:
+        return numberNode(Integer.toUnsignedLong((Integer) value));
+      case INT64:
+      case SINT64:
+      case SFIXED64:
+        return TextNode.valueOf(Long.toString((Long) value));
+      case UINT64:
+      case FIXED64:
+        return TextNode.valueOf(Long.toUnsignedString((Long) value));
+      case BOOL:
+        return BooleanNode.valueOf((Boolean) value);
+      case FLOAT:
+        // printed as a float, read back as a double
+        return doubleNode(Double.parseDouble(Float.toString((Float) value)));
+      case DOUBLE:
+        return doubleNode((Double) value);
+      case STRING:
+        return TextNode.valueOf((String) value);
+      case BYTES:
+        return TextNode.valueOf(
+            Base64.getEncoder().encodeToString(((ByteString) value).toByteArray()));
+      case ENUM:
+        EnumValueDescriptor enumValue = (EnumValueDescriptor) value;
+        if (enumValue.getType().getFullName().equals(NULL_VALUE)) {
+          return NullNode.getInstance();
+        }
+        return enumValue.getIndex() == -1
+            ? IntNode.valueOf(enumValue.getNumber())
+            : TextNode.valueOf(enumValue.getName());
+      case MESSAGE:
+      case GROUP:
+      default:
+        return toJson((Message) value, plans.get(fieldPlan.messageType()));
+    }
+  }
+
+  private static JsonNode numberNode(long value) {
+    return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE
+        ? IntNode.valueOf((int) value)
+        : LongNode.valueOf(value);
+  }
+
+  private static JsonNode doubleNode(double value) {
+    if (Double.isNaN(value)) {
+      return TextNode.valueOf("NaN");
+    } else if (Double.isInfinite(value)) {
+      return TextNode.valueOf(value > 0 ? "Infinity" : "-Infinity");
+    }
+    return DoubleNode.valueOf(value);
+  }
+
+  private Message.Builder merge(Object value, Message.Builder builder, MessagePlan plan)
+      throws IOException {
+    if (plan.wellKnown()) {
+      return ProtobufMessageUtils.buildMessage(value, builder);
+    }
+    if (value instanceof JsonNode node) {
+      value = JsonUtils.toJavaValue(node);
+    }
+    if (value instanceof Map.Entry<?, ?> entry) {
+      mergeField(entry.getKey(), entry.getValue(), builder, plan);
+    } else if (value instanceof Map<?, ?> map) {
+      for (Map.Entry<?, ?> entry : map.entrySet()) {
+        mergeField(entry.getKey(), entry.getValue(), builder, plan);
+      }
+    } else {
+      throw new InvalidProtocolBufferException(
+          "Expect message object but got: " + value + " for " + plan.descriptor().getFullName());
+    }
+    return builder;
+  }
+
+  private void mergeField(Object key, Object value, Message.Builder builder, MessagePlan plan)
+      throws IOException {
+    FieldPlan fieldPlan = plan.byName().get(String.valueOf(key));
+    if (fieldPlan == null) {
+      throw new InvalidProtocolBufferException(
+          "Cannot find field: " + key + " in message " + plan.descriptor().getFullName());
+    }
+    FieldDescriptor field = fieldPlan.field();
+    if (value == null) {
+      if (fieldPlan.messageType() != null && fieldPlan.messageType().getFullName().equals(VALUE)) {
+        // built from bytes as JsonFormat does, so the enum belongs to the field descriptors
+        builder.setField(
+            field, builder.newBuilderForField(field).mergeFrom(NULL_VALUE_BYTES).build());
+      }
+      // otherwise null means default value, as the JSON parser does
+      return;
+    }
+    if (field.isMapField()) {
+      if (!(value instanceof Map<?, ?> map)) {
+        throw new InvalidProtocolBufferException(
+            "Expect a map object but found: " + value + " for field " + field.getFullName());
+      }
+      MessagePlan entryPlan = plans.get(fieldPlan.messageType());
+      FieldPlan keyPlan = entryPlan.fields()[0];
+      FieldPlan valuePlan = entryPlan.fields()[1];
+      for (Map.Entry<?, ?> item : map.entrySet()) {
+        Message.Builder entryBuilder = builder.newBuilderForField(field);
+        entryBuilder.setField(keyPlan.field(), toFieldValue(keyPlan, item.getKey(), entryBuilder));
+        if (item.getValue() != null) {
+          entryBuilder.setField(
+              valuePlan.field(), toFieldValue(valuePlan, item.getValue(), entryBuilder));
+        }
+        builder.addRepeatedField(field, entryBuilder.build());
+      }
+    } else if (field.isRepeated()) {
+      if (!(value instanceof Collection<?> items)) {
+        throw new InvalidProtocolBufferException(
+            "Expect an array but found: " + value + " for field " + field.getFullName());
+      }
+      for (Object item : items) {
+        if (item == null) {
+          throw new InvalidProtocolBufferException(
+              "Repeated field elements cannot be null in field: " + field.getFullName());
+        }
+        builder.addRepeatedField(field, toFieldValue(fieldPlan, item, builder));
+      }
+    } else {
+      builder.setField(field, toFieldValue(fieldPlan, value, builder));
+    }
+  }
+
+  private Object toFieldValue(FieldPlan fieldPlan, Object value, Message.Builder builder)
+      throws IOException {
+    FieldDescriptor field = fieldPlan.field();
+    try {
+      switch (field.getType()) {
+        case INT32:
+        case SINT32:
+        case SFIXED32:
+          return toBigDecimal(value).intValueExact();
+        case UINT32:
+        case FIXED32:
+          long uint32 = toBigDecimal(value).longValueExact();
+          if (uint32 < 0 || uint32 > 0xFFFFFFFFL) {
+            throw new InvalidProtocolBufferException("Out of range uint32 value: " + value);
+          }
+          return (int) uint32;
+        case INT64:
+        case SINT64:
+        case SFIXED64:
+          return toBigDecimal(value).longValueExact();
+        case UINT64:
+        case FIXED64:
+          BigInteger uint64 = toBigDecimal(value).toBigIntegerExact();
+          if (uint64.signum() < 0 || uint64.compareTo(MAX_UINT64) > 0) {
+            throw new InvalidProtocolBufferException("Out of range uint64 value: " + value);
+          }
+          return uint64.longValue();
+        case BOOL:
+          return toBoolean(value);
+        case FLOAT:
+          return (float) toDouble(value);
+        case DOUBLE:
+          return toDouble(value);
+        case STRING:
+          return toText(value);
+        case BYTES:
+          return value instanceof byte[] bytes
+              ? ByteString.copyFrom(bytes)
+              : ByteString.copyFrom(decodeBase64(toText(value)));
+        case ENUM:
+          return toEnum(field.getEnumType(), value);
+        case MESSAGE:
+        case GROUP:
+        default:
+          return fieldToMessage(fieldPlan, value, builder);
+      }
+    } catch (ArithmeticException | IllegalArgumentException e) {
+      InvalidProtocolBufferException ex =
+          new InvalidProtocolBufferException(
+              "Invalid value "
+                  + value
+                  + " for field "
+                  + field.getFullName()
+                  + ": "
+                  + e.getMessage());
+      ex.initCause(e);
+      throw ex;
+    }
+  }
+
+  private Message fieldToMessage(FieldPlan fieldPlan, Object value, Message.Builder builder)
+      throws IOException {
+    return merge(
+            value,
+            builder.newBuilderForField(fieldPlan.field()),
+            plans.get(fieldPlan.messageType()))
+        .build();
+  }
+
+  private static BigDecimal toBigDecimal(Object value) {
+    if (value instanceof Integer || value instanceof Long || value instanceof Short) {
+      return BigDecimal.valueOf(((Number) value).longValue());
+    } else if (value instanceof BigDecimal decimal) {
+      return decimal;
+    } else if (value instanceof BigInteger integer) {
+      return new BigDecimal(integer);
+    } else if (value instanceof Number || value instanceof String) {
+      return new BigDecimal(value.toString());
+    }
+    throw new IllegalArgumentException("Not a number " + value);
+  }
+
+  private static double toDouble(Object value) {
+    if (value instanceof Number number) {
+      return number.doubleValue();
+    } else if (value instanceof String str) {
+      switch (str) {
+        case "NaN":
+          return Double.NaN;
+        case "Infinity":
+          return Double.POSITIVE_INFINITY;
+        case "-Infinity":
+          return Double.NEGATIVE_INFINITY;
+        default:
+          return Double.parseDouble(str);
+      }
+    }
+    throw new IllegalArgumentException("Not a number " + value);
+  }
+
+  private static boolean toBoolean(Object value) {
+    if (value instanceof Boolean bool) {
+      return bool;
+    } else if ("true".equals(value)) {
+      return true;
+    } else if ("false".equals(value)) {
+      return false;
+    }
+    throw new IllegalArgumentException("Not a boolean " + value);
+  }
+
+  private static String toText(Object value) {
+    if (value instanceof String || value instanceof Number || value instanceof Boolean) {
+      return value.toString();
+    }
+    throw new IllegalArgumentException("Not a string " + value);
+  }
+
+  private static byte[] decodeBase64(String value) {
+    try {
+      return Base64.getDecoder().decode(value);
+    } catch (IllegalArgumentException e) {
+      return Base64.getUrlDecoder().decode(value);
+    }
+  }
+
+  private static EnumValueDescriptor toEnum(EnumDescriptor enumType, Object value) {
+    EnumValueDescriptor enumValue = null;
+    if (value instanceof String name) {
+      enumValue = enumType.findValueByName(name);
+      if (enumValue == null) {
+        try {
+          value = Integer.parseInt(name);
+        } catch (NumberFormatException e) {
+          // reported below as an invalid enum value
+        }
+      }
+    }
+    if (value instanceof Number number) {
+      int intValue = toBigDecimal(number).intValueExact();
+      enumValue =
+          enumType.isClosed()
+              ? enumType.findValueByNumber(intValue)
+              : enumType.findValueByNumberCreatingIfUnknown(intValue);
+    }
+    if (enumValue == null) {
+      throw new IllegalArgumentException(
+          "Invalid enum value " + value + " for enum type " + enumType.getFullName());
+    }
+    return enumValue;
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.executors.grpc;
+
+import com.google.protobuf.Message;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import io.serverlessworkflow.impl.TaskContext;
+import io.serverlessworkflow.impl.WorkflowContext;
+import io.serverlessworkflow.impl.WorkflowModel;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Pushes every received message to a {@link GrpcStreamSink}, requesting a new one from the server
+ * each time the sink is done with a previous one. The call completes once the server has completed
+ * and the sink has processed all the messages.
+ */
+class SinkStreamObserver extends ModelStreamObserver<WorkflowModel>
+    implements ClientResponseObserver<Message, Message> {
+
+  private final WorkflowContext workflowContext;
+  private final TaskContext taskContext;
+  private final GrpcStreamSink sink;
+  private ClientCallStreamObserver<Message> requestStream;
+  private long received;
+  private long pending;
+  private boolean completed;
+  private boolean failed;
+
+  public SinkStreamObserver(
+      WorkflowContext workflowContext,
+      TaskContext taskContext,
+      ProtobufModelConverter converter,
+      GrpcStreamSink sink) {
+    super(workflowContext, taskContext, converter);
+    this.workflowContext = workflowContext;
+    this.taskContext = taskContext;
+    this.sink = sink;
+  }
+
+  @Override
+  public void beforeStart(ClientCallStreamObserver<Message> requestStream) {
+    this.requestStream = requestStream;
+    requestStream.disableAutoRequestWithInitial(Math.max(1, sink.prefetch()));
+  }
+
+  @Override
+  public void onNext(Message value) {
+    synchronized (this) {
+      if (failed) {
+        return;
+      }
+      received++;
+      pending++;
+    }
+    CompletableFuture<?> future;
+    try {
+      future = sink.accept(workflowContext, taskContext, converter.toModel(value, modelFactory));
+    } catch (RuntimeException ex) {
+      fail(ex);
+      return;
+    }
+    if (future == null) {
+      // nothing to wait for, the message is already processed
+      processed();
+    } else {
+      future.whenComplete(
+          (__, ex) -> {
+            if (ex != null) {
+              fail(ex);
+            } else {
+              processed();
+            }
+          });
+    }
+  }
+
+  @Override
+  public void onError(Throwable t) {
+    synchronized (this) {
+      if (failed) {
+        return;
+      }
+      failed = true;
+    }
+    super.onError(t);
+  }
+
+  @Override
+  public void onCompleted() {
+    synchronized (this) {
+      completed = true;
+      if (pending > 0 || failed) {
+        return;
+      }
+    }
+    complete();
+  }
+
+  private void processed() {
+    synchronized (this) {
+      pending--;
+      if (failed) {
+        return;
+      }
+      if (!completed) {
+        requestStream.request(1);
+        return;
+      }
+      if (pending > 0) {
+        return;
+      }
+    }
+    complete();
+  }
+
+  private void fail(Throwable ex) {
+    synchronized (this) {
+      if (failed) {
+        return;
+      }
+      failed = true;
+    }
+    requestStream.cancel("Stream sink failed", ex);
+    super.onError(ex);
+  }
+
+  private void complete() {
+    model = modelFactory.from(received);
+    super.onCompleted();
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.executors.grpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.protobuf.Descriptors.FileDescriptor;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ProtoDescriptorCacheTest {
+
+  private static final String NAME = "greeting.proto";
+
+  private static final byte[] PROTO =
+      """
+      syntax = "proto3";
+      package test;
+      message Greeting {
+        string text = 1;
+      }
+      """
+          .getBytes(StandardCharsets.UTF_8);
+
+  @TempDir Path cacheDir;
+
+  @Test
+  void testMemoryHit() {
+    ProtoDescriptorCache cache = ProtoDescriptorCache.builder().build();
+    FileDescriptor descriptor = cache.descriptor(NAME, PROTO);
+    assertThat(descriptor.findMessageTypeByName("Greeting")).isNotNull();
+    assertThat(cache.descriptor(NAME, PROTO)).isSameAs(descriptor);
+    assertThat(cache.stats().misses()).isEqualTo(1);
+    assertThat(cache.stats().hits()).isEqualTo(1);
+  }
+
+  @Test
+  void testStoredOnDisk() throws IOException {
+    ProtoDescriptorCache.builder().withCacheDir(cacheDir).build().descriptor(NAME, PROTO);
+    List<Path> stored = storedFiles();
+    assertThat(stored).singleElement().satisfies(f -> assertThat(f).isNotEmptyFile());
+    // no temporary files left behind
+    assertThat(stored.get(0).getFileName().toString())
+        .endsWith(FileDescriptorReader.DESCRIPTOR_SET_EXTENSION);
+  }
+
+  @Test
+  void testReadBackFromDisk() throws IOException {
+    ProtoDescriptorCache.builder().withCacheDir(cacheDir).build().descriptor(NAME, PROTO);
+    Path stored = storedFiles().get(0);
+    // replace the stored descriptor set, so reading it back is told apart from compiling again
+    byte[] replaced =
+        """
+        syntax = "proto3";
+        package test;
+        message Replaced {
+          string text = 1;
+        }
+        """
+            .getBytes(StandardCharsets.UTF_8);
+    Files.write(stored, FileDescriptorReader.compile(NAME, replaced).toByteArray());
+    FileDescriptor descriptor =
+        ProtoDescriptorCache.builder().withCacheDir(cacheDir).build().descriptor(NAME, PROTO);
+    assertThat(descriptor.findMessageTypeByName("Replaced")).isNotNull();
+    assertThat(descriptor.findMessageTypeByName("Greeting")).isNull();
+  }
+
+  @Test
+  void testCorruptedFileIsCompiledAgain() throws IOException {
+    ProtoDescriptorCache.builder().withCacheDir(cacheDir).build().descriptor(NAME, PROTO);
+    Path stored = storedFiles().get(0);
+    Files.write(stored, new byte[] {(byte) 0xff, (byte) 0xff, (byte) 0xff});
+    FileDescriptor descriptor =
+        ProtoDescriptorCache.builder().withCacheDir(cacheDir).build().descriptor(NAME, PROTO);
+    assertThat(descriptor.findMessageTypeByName("Greeting")).isNotNull();
+    assertThat(FileDescriptorReader.parseDescriptorSet(NAME, Files.readAllBytes(stored)))
+        .isNotNull();
+  }
+
+  @Test
+  void testImportsAreCompiledAndPartOfTheKey() {
+    byte[] withImport =
+        """
+        syntax = "proto3";
+        package test;
+        import "google/protobuf/timestamp.proto";
+        message Greeting {
+          string text = 1;
+          google.protobuf.Timestamp at = 2;
+        }
+        """
+            .getBytes(StandardCharsets.UTF_8);
+    ProtoDescriptorCache cache = ProtoDescriptorCache.builder().build();
+    FileDescriptor descriptor = cache.descriptor(NAME, withImport);
+    assertThat(descriptor.getDependencies())
+        .extracting(FileDescriptor::getName)
+        .containsExactly("google/protobuf/timestamp.proto");
+    assertThat(cache.descriptor(NAME, PROTO)).isNotSameAs(descriptor);
+    assertThat(cache.stats().misses()).isEqualTo(2);
+  }
+
+  private List<Path> storedFiles() throws IOException {
+    try (Stream<Path> files = Files.list(cacheDir)) {
+      return files.toList();
+    }
+  }
+}
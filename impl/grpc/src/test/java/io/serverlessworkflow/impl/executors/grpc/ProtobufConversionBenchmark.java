@@ -0,0 +1,149 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.executors.grpc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.DynamicMessage;
+import com.google.protobuf.Message;
+import com.google.protobuf.util.JsonFormat;
+import io.serverlessworkflow.impl.jackson.JsonUtils;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Cost of converting an order with a nested customer, a map and <code>items</code> repeated items
+ * from workflow arguments to a protobuf message and back to JSON, walking the descriptors with
+ * {@link ProtobufModelConverter} versus printing and parsing JSON text with {@link JsonFormat}.
+ * Compiling the proto requires <code>protoc</code>.
+ *
+ * <p>Run with <code>mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=io.serverlessworkflow.impl.executors.grpc.ProtobufConversionBenchmark</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProtobufConversionBenchmark {
+
+  @Param({"1", "20"})
+  public int items;
+
+  private Descriptors.Descriptor orderType;
+  private ProtobufModelConverter converter;
+  private Map<String, Object> arguments;
+  private Message message;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    byte[] proto;
+    try (InputStream in =
+        getClass().getClassLoader().getResourceAsStream("benchmark/orders.proto")) {
+      proto = in.readAllBytes();
+    }
+    Descriptors.MethodDescriptor method =
+        FileDescriptorReader.toFileDescriptor(
+                FileDescriptorReader.compile("orders.proto", proto), "orders.proto")
+            .findServiceByName("Orders")
+            .findMethodByName("Update");
+    orderType = method.getInputType();
+    converter = new ProtobufModelConverter(method);
+    arguments = order(items);
+    message = converter.toMessage(arguments);
+  }
+
+  @Benchmark
+  public Message toMessageDescriptor() throws IOException {
+    return converter.toMessage(arguments);
+  }
+
+  @Benchmark
+  public Message toMessageJsonText() throws IOException {
+    Message.Builder builder = DynamicMessage.newBuilder(orderType);
+    JsonFormat.parser().merge(JsonUtils.mapper().writeValueAsString(arguments), builder);
+    return builder.build();
+  }
+
+  @Benchmark
+  public JsonNode toJsonDescriptor() {
+    return converter.toJson(message);
+  }
+
+  @Benchmark
+  public JsonNode toJsonJsonText() throws IOException {
+    return JsonUtils.mapper().readTree(JsonFormat.printer().print(message));
+  }
+
+  private static Map<String, Object> order(int items) {
+    List<Map<String, Object>> itemList = new ArrayList<>(items);
+    for (int i = 0; i < items; i++) {
+      itemList.add(item(i));
+    }
+    Map<String, Object> order = new HashMap<>();
+    order.put("id", "order-1");
+    order.put("createdAt", "1700000000000");
+    order.put("status", "PENDING");
+    order.put(
+        "customer",
+        Map.of(
+            "id",
+            "customer-1",
+            "name",
+            "John Doe",
+            "address",
+            Map.of("street", "Elmer St", "city", "Springfield", "zipCode", "12345"),
+            "attributes",
+            Map.of("tier", "gold", "channel", "web")));
+    order.put("items", itemList);
+    order.put("gifts", Map.of("wrap", item(items)));
+    order.put("express", true);
+    order.put("note", "leave at the door");
+    return order;
+  }
+
+  private static Map<String, Object> item(int i) {
+    return Map.of(
+        "sku", "sku-" + i, "quantity", i + 1, "price", 9.99 + i, "tags", List.of("new", "sale"));
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder().include(ProtobufConversionBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.executors.grpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.os72.protocjar.Protoc;
+import com.google.protobuf.Descriptors.MethodDescriptor;
+import com.google.protobuf.DynamicMessage;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import com.google.protobuf.util.JsonFormat;
+import io.serverlessworkflow.impl.jackson.JsonUtils;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/** Checks that both conversion directions give the same result as JsonFormat */
+class ProtobufModelConverterTest {
+
+  private static final String SAMPLE =
+      """
+      {
+        "int32Value": -5,
+        "int64Value": "9007199254740993",
+        "uint32Value": 4000000000,
+        "uint64Value": "18446744073709551615",
+        "sint64Value": "-9223372036854775808",
+        "fixed64Value": "42",
+        "floatValue": 1.1,
+        "doubleValue": 0.1,
+        "boolValue": true,
+        "stringValue": "hello",
+        "bytesValue": "AQID/w==",
+        "status": "ACTIVE",
+        "statuses": ["ACTIVE", "UNKNOWN"],
+        "items": [{"name": "a", "quantity": 1}, {"name": "b"}],
+        "longs": ["1", "-2"],
+        "itemsByName": {"a": {"name": "a", "quantity": 1}},
+        "labels": {"1": "one", "-2": "minus two"},
+        "nested": {"name": "n"},
+        "created": "2024-01-01T10:00:00.500Z",
+        "timeout": "1.500s",
+        "attributes": {"list": [1, "x", null, {"y": true}]},
+        "dynamic": null,
+        "wrapped": "7"
+      }
+      """;
+
+  @TempDir static Path dir;
+
+  private static MethodDescriptor method;
+  private static ProtobufModelConverter converter;
+
+  @BeforeAll
+  static void init() throws Exception {
+    // protoc is run directly, as the well known types have to be included
+    try (InputStream in =
+        ProtobufModelConverterTest.class
+            .getClassLoader()
+            .getResourceAsStream("converter/sample.proto")) {
+      Files.copy(in, dir.resolve("sample.proto"));
+    }
+    Path descriptorSet = dir.resolve("sample.protobin");
+    assertThat(
+            Protoc.runProtoc(
+                new String[] {
+                  "--include_std_types",
+                  "--include_imports",
+                  "--descriptor_set_out=" + descriptorSet,
+                  "-I",
+                  dir.toString(),
+                  dir.resolve("sample.proto").toString()
+                }))
+        .isZero();
+    method =
+        FileDescriptorReader.toFileDescriptor("sample.protobin", Files.readAllBytes(descriptorSet))
+            .findServiceByName("Samples")
+            .findMethodByName("Echo");
+    converter = new ProtobufModelConverter(method);
+  }
+
+  @Test
+  void testToJson() throws IOException {
+    Message message = parse(SAMPLE);
+    JsonNode json = converter.toJson(message);
+    assertThat(json).isEqualTo(print(message));
+    assertThat(json.get("int64Value").isTextual()).isTrue();
+    assertThat(json.get("uint64Value").asText()).isEqualTo("18446744073709551615");
+    assertThat(json.get("bytesValue").asText()).isEqualTo("AQID/w==");
+  }
+
+  @Test
+  void testToMessage() throws IOException {
+    assertThat(converter.toMessage(JsonUtils.mapper().readTree(SAMPLE))).isEqualTo(parse(SAMPLE));
+    assertThat(converter.toMessage(JsonUtils.mapper().readValue(SAMPLE, Map.class)))
+        .isEqualTo(parse(SAMPLE));
+  }
+
+  @Test
+  void testLongsAsNumbers() throws IOException {
+    assertThat(
+            converter.toMessage(
+                Map.of(
+                    "int64Value",
+                    9007199254740993L,
+                    "uint64Value",
+                    new BigInteger("18446744073709551615"),
+                    "longs",
+                    List.of(1, -2))))
+        .isEqualTo(
+            parse(
+                """
+                {"int64Value": "9007199254740993", "uint64Value": "18446744073709551615",
+                 "longs": ["1", "-2"]}
+                """));
+  }
+
+  @Test
+  void testUnknownEnumValue() throws IOException {
+    String json = "{\"status\": 7, \"statuses\": [7, \"ACTIVE\"]}";
+    Message message = parse(json);
+    assertThat(converter.toMessage(JsonUtils.mapper().readTree(json))).isEqualTo(message);
+    JsonNode printed = converter.toJson(message);
+    assertThat(printed).isEqualTo(print(message));
+    assertThat(printed.get("status").asInt()).isEqualTo(7);
+  }
+
+  @Test
+  void testNanAndInfinity() throws IOException {
+    String json = "{\"floatValue\": \"-Infinity\", \"doubleValue\": \"NaN\"}";
+    Message message = parse(json);
+    assertThat(converter.toMessage(JsonUtils.mapper().readTree(json))).isEqualTo(message);
+    assertThat(converter.toJson(message)).isEqualTo(print(message));
+  }
+
+  @Test
+  void testUrlSafeBase64() throws IOException {
+    String json = "{\"bytesValue\": \"AQID_w==\"}";
+    Message message = parse(json);
+    assertThat(converter.toMessage(JsonUtils.mapper().readTree(json))).isEqualTo(message);
+    assertThat(converter.toJson(message)).isEqualTo(print(message));
+  }
+
+  @Test
+  void testUnknownField() {
+    assertInvalid("{\"missing\": 1}");
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "{\"int32Value\": 2147483648}",
+        "{\"int32Value\": 1.5}",
+        "{\"uint32Value\": -1}",
+        "{\"uint32Value\": 4294967296}",
+        "{\"int64Value\": \"9223372036854775808\"}",
+        "{\"uint64Value\": \"18446744073709551616\"}",
+        "{\"uint64Value\": \"-1\"}",
+        "{\"status\": \"MISSING\"}",
+        "{\"boolValue\": \"yes\"}",
+        "{\"items\": {\"name\": \"a\"}}"
+      })
+  void testInvalidValue(String json) {
+    assertInvalid(json);
+  }
+
+  private static void assertInvalid(String json) {
+    assertThatThrownBy(() -> parse(json)).isInstanceOf(InvalidProtocolBufferException.class);
+    assertThatThrownBy(() -> converter.toMessage(JsonUtils.mapper().readTree(json)))
+        .isInstanceOf(InvalidProtocolBufferException.class);
+  }
+
+  private static Message parse(String json) throws InvalidProtocolBufferException {
+    DynamicMessage.Builder builder = DynamicMessage.newBuilder(method.getInputType());
+    JsonFormat.parser().merge(json, builder);
+    return builder.build();
+  }
+
+  private static JsonNode print(Message message) throws IOException {
+    return JsonUtils.mapper().readTree(JsonFormat.printer().print(message));
+  }
+}
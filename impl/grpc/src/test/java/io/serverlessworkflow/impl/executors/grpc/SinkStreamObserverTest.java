@@ -0,0 +1,221 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.executors.grpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.MethodDescriptor;
+import com.google.protobuf.DynamicMessage;
+import com.google.protobuf.Message;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.serverlessworkflow.impl.TaskContext;
+import io.serverlessworkflow.impl.WorkflowContext;
+import io.serverlessworkflow.impl.WorkflowModel;
+import io.serverlessworkflow.impl.WorkflowModelFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SinkStreamObserverTest {
+
+  private static ProtobufModelConverter converter;
+  private static Descriptor itemType;
+
+  private WorkflowModelFactory modelFactory;
+  private WorkflowContext workflowContext;
+  private TaskContext taskContext;
+  private RecordingCall call;
+
+  @BeforeAll
+  static void init() {
+    byte[] proto =
+        """
+        syntax = "proto3";
+        package sink;
+        message Item {
+          int32 id = 1;
+        }
+        service Items {
+          rpc List (Item) returns (stream Item);
+        }
+        """
+            .getBytes(StandardCharsets.UTF_8);
+    MethodDescriptor method =
+        FileDescriptorReader.toFileDescriptor("items.proto", proto)
+            .findServiceByName("Items")
+            .findMethodByName("List");
+    itemType = method.getOutputType();
+    converter = new ProtobufModelConverter(method);
+  }
+
+  @BeforeEach
+  void setup() {
+    modelFactory = mock(WorkflowModelFactory.class);
+    workflowContext = mock(WorkflowContext.class, RETURNS_DEEP_STUBS);
+    when(workflowContext.definition().application().modelFactory()).thenReturn(modelFactory);
+    taskContext = mock(TaskContext.class, RETURNS_DEEP_STUBS);
+    call = new RecordingCall();
+  }
+
+  @Test
+  void testSlowSink() {
+    List<CompletableFuture<Void>> accepted = new ArrayList<>();
+    SinkStreamObserver observer =
+        observer(
+            new GrpcStreamSink() {
+              @Override
+              public CompletableFuture<?> accept(
+                  WorkflowContext workflowContext, TaskContext taskContext, WorkflowModel message) {
+                CompletableFuture<Void> future = new CompletableFuture<>();
+                accepted.add(future);
+                return future;
+              }
+
+              @Override
+              public int prefetch() {
+                return 2;
+              }
+            });
+    assertThat(call.requested).isEqualTo(2);
+    observer.onNext(item(1));
+    observer.onNext(item(2));
+    // nothing else is requested until the sink is done with a message
+    assertThat(call.requested).isEqualTo(2);
+    accepted.get(0).complete(null);
+    assertThat(call.requested).isEqualTo(3);
+    observer.onNext(item(3));
+    observer.onCompleted();
+    // the call is not done while the sink has pending messages
+    assertThat(observer.future()).isNotDone();
+    accepted.get(1).complete(null);
+    accepted.get(2).complete(null);
+    assertThat(call.requested).isEqualTo(3);
+    assertThat(observer.future()).isCompleted();
+    verify(modelFactory).from((Number) 3L);
+    assertThat(call.cancelled).isNull();
+  }
+
+  @Test
+  void testFailingSink() {
+    List<WorkflowModel> received = new ArrayList<>();
+    IllegalStateException failure = new IllegalStateException("Sink is broken");
+    SinkStreamObserver observer =
+        observer(
+            (w, t, message) -> {
+              received.add(message);
+              return received.size() == 2
+                  ? CompletableFuture.failedFuture(failure)
+                  : CompletableFuture.completedFuture(null);
+            });
+    observer.onNext(item(1));
+    observer.onNext(item(2));
+    assertThat(call.cancelled).isSameAs(failure);
+    assertThat(observer.future()).isCompletedExceptionally();
+    // messages already in flight are ignored once the call is cancelled
+    observer.onNext(item(3));
+    observer.onError(new RuntimeException("Cancelled"));
+    assertThat(received).hasSize(2);
+  }
+
+  @Test
+  void testThrowingSink() {
+    IllegalStateException failure = new IllegalStateException("Sink is broken");
+    SinkStreamObserver observer =
+        observer(
+            (w, t, message) -> {
+              throw failure;
+            });
+    observer.onNext(item(1));
+    assertThat(call.cancelled).isSameAs(failure);
+    assertThat(observer.future()).isCompletedExceptionally();
+  }
+
+  @Test
+  void testNullFuture() {
+    SinkStreamObserver observer = observer((w, t, message) -> null);
+    observer.onNext(item(1));
+    observer.onNext(item(2));
+    observer.onCompleted();
+    assertThat(call.requested).isEqualTo(GrpcStreamSink.DEFAULT_PREFETCH + 2);
+    assertThat(observer.future()).isCompleted();
+    verify(modelFactory).from((Number) 2L);
+  }
+
+  private SinkStreamObserver observer(GrpcStreamSink sink) {
+    when(modelFactory.fromOther(any())).thenReturn(mock(WorkflowModel.class));
+    SinkStreamObserver observer =
+        new SinkStreamObserver(workflowContext, taskContext, converter, sink);
+    observer.beforeStart(call);
+    return observer;
+  }
+
+  private static Message item(int id) {
+    return DynamicMessage.newBuilder(itemType).setField(itemType.findFieldByName("id"), id).build();
+  }
+
+  private static class RecordingCall extends ClientCallStreamObserver<Message> {
+    private int requested;
+    private Throwable cancelled;
+
+    @Override
+    public void disableAutoRequestWithInitial(int request) {
+      requested += request;
+    }
+
+    @Override
+    public void request(int count) {
+      requested += count;
+    }
+
+    @Override
+    public void cancel(String message, Throwable cause) {
+      cancelled = cause;
+    }
+
+    @Override
+    public boolean isReady() {
+      return true;
+    }
+
+    @Override
+    public void setOnReadyHandler(Runnable onReadyHandler) {}
+
+    @Override
+    public void disableAutoInboundFlowControl() {}
+
+    @Override
+    public void setMessageCompression(boolean enable) {}
+
+    @Override
+    public void onNext(Message value) {}
+
+    @Override
+    public void onError(Throwable t) {}
+
+    @Override
+    public void onCompleted() {}
+  }
+}
@@ -31,18 +31,25 @@ import jakarta.ws.rs.client.Invocation.Builder;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.Status.Family;
 import java.net.URI;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 
 abstract class AbstractRequestExecutor implements RequestExecutor {
 
   private final boolean redirect;
   private final Optional<AuthProvider> authProvider;
+  private final List<String> projection;
   protected final String method;
 
-  public AbstractRequestExecutor(String method, boolean redirect, Optional<AuthProvider> auth) {
+  public AbstractRequestExecutor(
+      String method, boolean redirect, Optional<AuthProvider> auth, List<String> projection) {
     this.redirect = redirect;
     this.method = method;
     this.authProvider = auth;
+    this.projection = projection;
   }
 
   @Override
@@ -50,23 +57,57 @@ abstract class AbstractRequestExecutor implements RequestExecutor {
       Builder request, URI uri, WorkflowContext workflow, TaskContext task, WorkflowModel model) {
     HttpModelConverter converter = HttpConverterResolver.converter(workflow, task);
     authProvider.ifPresent(auth -> addAuthHeader(auth, uri, request, workflow, task, model));
-    try (Response response = invokeRequest(request, converter, workflow, task, model)) {
-      validateStatus(task, response, converter);
-      return workflow
-          .definition()
-          .application()
-          .modelFactory()
-          .fromAny(response.readEntity(converter.responseType()));
+    try {
+      return readResponse(
+          invokeRequest(request, converter, workflow, task, model), converter, workflow, task);
     } catch (ProcessingException | IllegalStateException ex) {
-      throw new WorkflowException(
-          WorkflowError.error(Errors.DATA.toString(), Errors.DATA.status())
-              .details(ex.getMessage())
-              .instance(task.position().jsonPointer())
-              .build(),
-          ex);
+      throw dataError(task, ex);
+    }
+  }
+
+  @Override
+  public CompletableFuture<WorkflowModel> applyAsync(
+      Builder request, URI uri, WorkflowContext workflow, TaskContext task, WorkflowModel model) {
+    HttpModelConverter converter = HttpConverterResolver.converter(workflow, task);
+    authProvider.ifPresent(auth -> addAuthHeader(auth, uri, request, workflow, task, model));
+    CompletableFuture<WorkflowModel> result = new CompletableFuture<>();
+    invokeRequestAsync(request, converter, workflow, task, model)
+        .whenComplete(
+            (response, ex) -> {
+              try {
+                if (ex != null) {
+                  throw ex instanceof CompletionException && ex.getCause() != null
+                      ? ex.getCause()
+                      : ex;
+                }
+                result.complete(readResponse(response, converter, workflow, task));
+              } catch (ProcessingException | IllegalStateException e) {
+                result.completeExceptionally(dataError(task, e));
+              } catch (Throwable e) {
+                result.completeExceptionally(e);
+              }
+            });
+    return result;
+  }
+
+  private WorkflowModel readResponse(
+      Response response, HttpModelConverter converter, WorkflowContext workflow, TaskContext task) {
+    try (response) {
+      validateStatus(task, response, converter);
+      return converter.toModel(
+          response, workflow.definition().application().modelFactory(), projection);
     }
   }
 
+  private static WorkflowException dataError(TaskContext task, RuntimeException ex) {
+    return new WorkflowException(
+        WorkflowError.error(Errors.DATA.toString(), Errors.DATA.status())
+            .details(ex.getMessage())
+            .instance(task.position().jsonPointer())
+            .build(),
+        ex);
+  }
+
   private void validateStatus(TaskContext task, Response response, HttpModelConverter converter) {
     Family statusFamily = response.getStatusInfo().getFamily();
     if (statusFamily != SUCCESSFUL && (!this.redirect || statusFamily != REDIRECTION)) {
@@ -84,6 +125,13 @@ abstract class AbstractRequestExecutor implements RequestExecutor {
       TaskContext task,
       WorkflowModel model);
 
+  protected abstract CompletionStage<Response> invokeRequestAsync(
+      Builder request,
+      HttpModelConverter converter,
+      WorkflowContext workflow,
+      TaskContext task,
+      WorkflowModel model);
+
   private void addAuthHeader(
       AuthProvider auth,
       URI uri,
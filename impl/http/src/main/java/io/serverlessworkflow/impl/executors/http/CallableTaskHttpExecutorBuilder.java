@@ -20,16 +20,31 @@ import static io.serverlessworkflow.impl.WorkflowUtils.buildMapResolver;
 import io.serverlessworkflow.api.types.CallHTTP;
 import io.serverlessworkflow.api.types.Endpoint;
 import io.serverlessworkflow.api.types.HTTPArguments;
+import io.serverlessworkflow.api.types.Output;
 import io.serverlessworkflow.api.types.TaskBase;
 import io.serverlessworkflow.impl.WorkflowDefinition;
 import io.serverlessworkflow.impl.WorkflowMutablePosition;
 import io.serverlessworkflow.impl.WorkflowValueResolver;
 import io.serverlessworkflow.impl.executors.CallableTaskBuilder;
 import io.serverlessworkflow.impl.executors.CallableTaskFactory;
+import io.serverlessworkflow.impl.expressions.ExpressionUtils;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class CallableTaskHttpExecutorBuilder implements CallableTaskBuilder<CallHTTP> {
 
+  /**
+   * Setting it to false turns off pushing the output filter down to the response parsing, see
+   * {@link #projection(CallHTTP)}
+   */
+  public static final String PROJECTION_PUSHDOWN_PROPERTY =
+      HttpClientFactory.CONFIG_PREFIX + "projectionPushdown";
+
+  private static final Pattern PATH_STEP = Pattern.compile("\\.([a-zA-Z_][a-zA-Z0-9_]*)|\\[\\]");
+
   @Override
   public CallableTaskFactory init(
       CallHTTP task, WorkflowDefinition definition, WorkflowMutablePosition position) {
@@ -67,9 +82,54 @@ public class CallableTaskHttpExecutorBuilder implements CallableTaskBuilder<Call
     builder.withBody(httpArgs.getBody());
     builder.withMethod(httpArgs.getMethod().toUpperCase());
     builder.redirect(httpArgs.isRedirect());
+    if (definition
+        .application()
+        .configManager()
+        .config(PROJECTION_PUSHDOWN_PROPERTY, Boolean.class)
+        .orElse(true)) {
+      builder.withProjection(projection(task));
+    }
     return () -> builder.build(uriSupplier);
   }
 
+  /**
+   * When the output is filtered by a plain path, made of field names and iterations, like <code>
+   * .a.b</code> or <code>.items[].id</code>, the rest of the response is not needed, so it is not
+   * read into the model. Raw output is visible to export expressions, so the response is read
+   * entirely when there is one. Listeners reading the raw output of the task get the pruned
+   * response too, the reason why this might be turned off through {@link
+   * #PROJECTION_PUSHDOWN_PROPERTY}.
+   */
+  private static List<String> projection(CallHTTP task) {
+    Output output = task.getOutput();
+    if (output == null
+        || output.getAs() == null
+        || output.getAs().getString() == null
+        || task.getExport() != null) {
+      return List.of();
+    }
+    return projection(ExpressionUtils.trimExpr(output.getAs().getString()));
+  }
+
+  static List<String> projection(String expr) {
+    if (!expr.startsWith(".")) {
+      return List.of();
+    }
+    // .[] iterates the root, there is no field step before it
+    String path = expr.startsWith(".[") ? expr.substring(1) : expr;
+    Matcher matcher = PATH_STEP.matcher(path);
+    List<String> steps = new ArrayList<>();
+    int index = 0;
+    while (index < path.length()) {
+      if (!matcher.region(index, path.length()).lookingAt()) {
+        return List.of();
+      }
+      steps.add(matcher.group(1) == null ? HttpModelConverter.EACH : matcher.group(1));
+      index = matcher.end();
+    }
+    return steps;
+  }
+
   @Override
   public boolean accept(Class<? extends TaskBase> clazz) {
     return clazz.equals(CallHTTP.class);
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.executors.http;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Limits the number of requests in flight to a host without blocking the callers: once the limit is
+ * reached, the returned future completes when one of the previous requests releases its slot.
+ */
+class ConnectionLimiter {
+
+  private static final CompletableFuture<Void> ACQUIRED = CompletableFuture.completedFuture(null);
+
+  private final int maxConnections;
+  private final Queue<CompletableFuture<Void>> waiting = new ArrayDeque<>();
+  private int inUse;
+
+  ConnectionLimiter(int maxConnections) {
+    this.maxConnections = maxConnections;
+  }
+
+  CompletableFuture<Void> acquire() {
+    if (maxConnections <= 0) {
+      return ACQUIRED;
+    }
+    synchronized (this) {
+      if (inUse < maxConnections) {
+        inUse++;
+        return ACQUIRED;
+      }
+      CompletableFuture<Void> future = new CompletableFuture<>();
+      waiting.add(future);
+      return future;
+    }
+  }
+
+  void release() {
+    if (maxConnections <= 0) {
+      return;
+    }
+    CompletableFuture<Void> next;
+    synchronized (this) {
+      next = waiting.poll();
+      if (next == null) {
+        inUse--;
+        return;
+      }
+    }
+    // the slot is handed over to the next waiting request
+    next.complete(null);
+  }
+}
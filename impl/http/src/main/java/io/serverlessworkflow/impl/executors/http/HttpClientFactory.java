@@ -0,0 +1,319 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.executors.http;
+
+import io.serverlessworkflow.impl.WorkflowApplication;
+import io.serverlessworkflow.impl.config.ConfigManager;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.ClientBuilder;
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates and keeps one JAX-RS {@link Client} per endpoint (scheme, host and port), configured with
+ * the {@link Settings} of its host.
+ *
+ * <p>Settings are taken, for a given host, from the properties <code>
+ * io.serverlessworkflow.impl.http.&lt;host&gt;.&lt;name&gt;</code>, falling back to <code>
+ * io.serverlessworkflow.impl.http.&lt;name&gt;</code>, where name is one of <code>
+ * connectTimeoutMillis</code>, <code>readTimeoutMillis</code>, <code>maxConnectionsPerHost</code>,
+ * <code>keepAlive</code> and <code>async</code>. Properties starting with <code>
+ * io.serverlessworkflow.impl.http.property.</code> are passed, without that prefix, to every
+ * client, which is how the connector of the JAX-RS implementation (connection pool size, HTTP/2) is
+ * tuned. A factory might also be registered as additional object {@link #HTTP_CLIENT_FACTORY}.
+ *
+ * <p>At most <code>io.serverlessworkflow.impl.http.maxEndpoints</code> endpoints are kept. Once
+ * reached, the least recently used one is evicted, its client being closed as soon as the requests
+ * in flight through it complete. Those requests are no longer counted by the limiter of a new
+ * client for the same endpoint.
+ */
+public class HttpClientFactory implements AutoCloseable {
+
+  private static final Logger logger = LoggerFactory.getLogger(HttpClientFactory.class);
+
+  public static final String HTTP_CLIENT_FACTORY = "httpClientFactory";
+  public static final String CONFIG_PREFIX = "io.serverlessworkflow.impl.http.";
+  public static final String CLIENT_PROPERTY_PREFIX = CONFIG_PREFIX + "property.";
+  public static final String MAX_ENDPOINTS_PROPERTY = CONFIG_PREFIX + "maxEndpoints";
+  public static final int DEFAULT_MAX_ENDPOINTS = 256;
+
+  /**
+   * Client settings of a host. A zero timeout means no timeout and zero connections per host means
+   * no limit. With <code>async</code>, requests are sent through the reactive invoker of the client
+   * rather than blocking a thread of the application executor.
+   *
+   * <p>Without <code>keepAlive</code>, every request is sent through a client of its own, closed
+   * once the request completes, so connectors pooling connections per client (Apache, Jetty) do not
+   * reuse them. Jersey's default connector relies on {@link java.net.HttpURLConnection}, whose idle
+   * connections are kept by the JVM regardless of the client, so it follows the <code>
+   * http.keepAlive
+   * </code> system property instead.
+   */
+  public record Settings(
+      Duration connectTimeout,
+      Duration readTimeout,
+      int maxConnectionsPerHost,
+      boolean keepAlive,
+      boolean async,
+      Map<String, Object> properties) {
+
+    public static final Settings DEFAULT =
+        new Settings(Duration.ZERO, Duration.ZERO, 0, true, false, Map.of());
+  }
+
+  /** Client of an endpoint acquired for a request, closing the lease gives it back */
+  record Lease(Endpoint endpoint, Client client) implements AutoCloseable {
+    @Override
+    public void close() {
+      endpoint.release(client);
+    }
+  }
+
+  static class Endpoint {
+    private final Client client;
+    private final ConnectionLimiter limiter;
+    private final Settings settings;
+    private final Supplier<Client> requestClients;
+    private int inUse;
+    private boolean retired;
+
+    Endpoint(Client client, ConnectionLimiter limiter, Settings settings) {
+      this(client, limiter, settings, () -> client);
+    }
+
+    private Endpoint(
+        Client client,
+        ConnectionLimiter limiter,
+        Settings settings,
+        Supplier<Client> requestClients) {
+      this.client = client;
+      this.limiter = limiter;
+      this.settings = settings;
+      this.requestClients = requestClients;
+    }
+
+    ConnectionLimiter limiter() {
+      return limiter;
+    }
+
+    Settings settings() {
+      return settings;
+    }
+
+    synchronized void use() {
+      inUse++;
+    }
+
+    /** Lease for a caller of use, with a client of its own unless connections are kept alive */
+    Lease lease() {
+      try {
+        return new Lease(this, requestClients.get());
+      } catch (RuntimeException ex) {
+        release(client);
+        throw ex;
+      }
+    }
+
+    void release(Client requestClient) {
+      if (requestClient != client) {
+        requestClient.close();
+      }
+      boolean close;
+      synchronized (this) {
+        close = --inUse == 0 && retired;
+      }
+      if (close) {
+        closeClient();
+      }
+    }
+
+    void retire() {
+      boolean close;
+      synchronized (this) {
+        retired = true;
+        close = inUse == 0;
+      }
+      if (close) {
+        closeClient();
+      }
+    }
+
+    private void closeClient() {
+      if (client != null) {
+        client.close();
+      }
+    }
+  }
+
+  private final Function<String, Settings> settings;
+  private final Map<String, Endpoint> endpoints;
+  private boolean closed;
+
+  public static HttpClientFactory of(WorkflowApplication application) {
+    return application
+        .<HttpClientFactory>additionalObject(HTTP_CLIENT_FACTORY)
+        .orElseGet(
+            () ->
+                application.sharedResource(
+                    HTTP_CLIENT_FACTORY,
+                    () -> {
+                      ConfigManager config = application.configManager();
+                      return new HttpClientFactory(
+                          new ConfigSettings(config),
+                          config
+                              .config(MAX_ENDPOINTS_PROPERTY, Integer.class)
+                              .orElse(DEFAULT_MAX_ENDPOINTS));
+                    }));
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public static class Builder {
+    private Settings defaults = Settings.DEFAULT;
+    private final Map<String, Settings> hosts = new HashMap<>();
+    private int maxEndpoints = DEFAULT_MAX_ENDPOINTS;
+
+    private Builder() {}
+
+    public Builder withDefaults(Settings defaults) {
+      this.defaults = defaults;
+      return this;
+    }
+
+    public Builder withHost(String host, Settings settings) {
+      hosts.put(host, settings);
+      return this;
+    }
+
+    public Builder withMaxEndpoints(int maxEndpoints) {
+      this.maxEndpoints = maxEndpoints;
+      return this;
+    }
+
+    public HttpClientFactory build() {
+      Settings defaults = this.defaults;
+      Map<String, Settings> hosts = Map.copyOf(this.hosts);
+      return new HttpClientFactory(host -> hosts.getOrDefault(host, defaults), maxEndpoints);
+    }
+  }
+
+  private HttpClientFactory(Function<String, Settings> settings, int maxEndpoints) {
+    this.settings = settings;
+    this.endpoints =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, Endpoint> eldest) {
+            if (size() > maxEndpoints) {
+              logger.debug("Evicting http client for endpoint {}", eldest.getKey());
+              eldest.getValue().retire();
+              return true;
+            }
+            return false;
+          }
+        };
+  }
+
+  /** Client for a request to the given uri, the lease must be closed once the request completes */
+  Lease acquire(URI uri) {
+    Endpoint endpoint;
+    synchronized (this) {
+      if (closed) {
+        throw new IllegalStateException("Http client factory has been closed");
+      }
+      endpoint =
+          endpoints.computeIfAbsent(
+              uri.getScheme() + "://" + uri.getAuthority(), k -> createEndpoint(uri.getHost()));
+      // while holding the lock, so the endpoint cannot be evicted and closed in between
+      endpoint.use();
+    }
+    return endpoint.lease();
+  }
+
+  private Endpoint createEndpoint(String host) {
+    Settings hostSettings = settings.apply(host);
+    logger.debug("Creating http client for host {} with {}", host, hostSettings);
+    ConnectionLimiter limiter = new ConnectionLimiter(hostSettings.maxConnectionsPerHost());
+    return hostSettings.keepAlive()
+        ? new Endpoint(buildClient(hostSettings), limiter, hostSettings)
+        : new Endpoint(null, limiter, hostSettings, () -> buildClient(hostSettings));
+  }
+
+  private static Client buildClient(Settings settings) {
+    ClientBuilder builder =
+        ClientBuilder.newBuilder()
+            .connectTimeout(settings.connectTimeout().toMillis(), TimeUnit.MILLISECONDS)
+            .readTimeout(settings.readTimeout().toMillis(), TimeUnit.MILLISECONDS);
+    settings.properties().forEach(builder::property);
+    return builder.build();
+  }
+
+  @Override
+  public synchronized void close() {
+    closed = true;
+    endpoints.values().forEach(Endpoint::retire);
+    endpoints.clear();
+  }
+
+  private static class ConfigSettings implements Function<String, Settings> {
+    private final ConfigManager config;
+    private final Map<String, Object> properties = new HashMap<>();
+
+    ConfigSettings(ConfigManager config) {
+      this.config = config;
+      for (String name : config.names()) {
+        if (name.startsWith(CLIENT_PROPERTY_PREFIX)) {
+          config
+              .config(name, String.class)
+              .ifPresent(v -> properties.put(name.substring(CLIENT_PROPERTY_PREFIX.length()), v));
+        }
+      }
+    }
+
+    @Override
+    public Settings apply(String host) {
+      Settings defaults = Settings.DEFAULT;
+      return new Settings(
+          config(host, "connectTimeoutMillis", Long.class)
+              .map(Duration::ofMillis)
+              .orElse(defaults.connectTimeout()),
+          config(host, "readTimeoutMillis", Long.class)
+              .map(Duration::ofMillis)
+              .orElse(defaults.readTimeout()),
+          config(host, "maxConnectionsPerHost", Integer.class)
+              .orElse(defaults.maxConnectionsPerHost()),
+          config(host, "keepAlive", Boolean.class).orElse(defaults.keepAlive()),
+          config(host, "async", Boolean.class).orElse(defaults.async()),
+          properties);
+    }
+
+    private <T> Optional<T> config(String host, String name, Class<T> clazz) {
+      return config
+          .config(CONFIG_PREFIX + host + "." + name, clazz)
+          .or(() -> config.config(CONFIG_PREFIX + name, clazz));
+    }
+  }
+}
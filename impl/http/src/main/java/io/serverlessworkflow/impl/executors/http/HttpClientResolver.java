@@ -20,8 +20,10 @@ import io.serverlessworkflow.impl.WorkflowApplication;
 import io.serverlessworkflow.impl.WorkflowContext;
 import jakarta.ws.rs.client.Client;
 import jakarta.ws.rs.client.ClientBuilder;
+import java.net.URI;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 
 public class HttpClientResolver {
 
@@ -53,5 +55,34 @@ public class HttpClientResolver {
         .orElseGet(() -> DefaultHolder.client());
   }
 
+  /**
+   * Applies the given function to the client for the given endpoint, as created by the {@link
+   * HttpClientFactory} of the application. The client should not be used once the function returns.
+   */
+  public static <T> T withClient(
+      WorkflowContext workflowContext,
+      TaskContext taskContext,
+      URI uri,
+      Function<Client, T> function) {
+    try (HttpClientFactory.Lease lease = acquire(workflowContext, taskContext, uri)) {
+      return function.apply(lease.client());
+    }
+  }
+
+  static HttpClientFactory.Lease acquire(
+      WorkflowContext workflowContext, TaskContext taskContext, URI uri) {
+    WorkflowApplication appl = workflowContext.definition().application();
+    return appl.<Client>additionalObject(HTTP_CLIENT_PROVIDER, workflowContext, taskContext)
+        .map(
+            client -> {
+              HttpClientFactory.Endpoint endpoint =
+                  new HttpClientFactory.Endpoint(
+                      client, new ConnectionLimiter(0), HttpClientFactory.Settings.DEFAULT);
+              endpoint.use();
+              return endpoint.lease();
+            })
+        .orElseGet(() -> HttpClientFactory.of(appl).acquire(uri));
+  }
+
   private HttpClientResolver() {}
 }
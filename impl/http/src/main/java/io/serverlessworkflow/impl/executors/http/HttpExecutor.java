@@ -20,6 +20,7 @@ import io.serverlessworkflow.impl.WorkflowContext;
 import io.serverlessworkflow.impl.WorkflowModel;
 import io.serverlessworkflow.impl.WorkflowUtils;
 import io.serverlessworkflow.impl.WorkflowValueResolver;
+import io.serverlessworkflow.impl.WorkloadType;
 import io.serverlessworkflow.impl.executors.CallableTask;
 import jakarta.ws.rs.client.Invocation.Builder;
 import jakarta.ws.rs.client.WebTarget;
@@ -65,16 +66,38 @@ public class HttpExecutor implements CallableTask {
                         p.apply(workflow, taskContext, input)))
             .orElse(uriSupplier.apply(workflow, taskContext, input));
 
-    WebTarget target = HttpClientResolver.client(workflow, taskContext).target(uri);
-    for (Entry<String, Object> entry :
-        queryMap.map(q -> q.apply(workflow, taskContext, input)).orElse(Map.of()).entrySet()) {
-      target = target.queryParam(entry.getKey(), entry.getValue());
+    HttpClientFactory.Lease lease = HttpClientResolver.acquire(workflow, taskContext, uri);
+    HttpClientFactory.Endpoint endpoint = lease.endpoint();
+    CompletableFuture<WorkflowModel> result;
+    try {
+      WebTarget target = lease.client().target(uri);
+      for (Entry<String, Object> entry :
+          queryMap.map(q -> q.apply(workflow, taskContext, input)).orElse(Map.of()).entrySet()) {
+        target = target.queryParam(entry.getKey(), entry.getValue());
+      }
+      Builder request = target.request();
+      requestDecorators.forEach(d -> d.decorate(request, workflow, taskContext));
+      headersMap.ifPresent(h -> h.apply(workflow, taskContext, input).forEach(request::header));
+      ConnectionLimiter limiter = endpoint.limiter();
+      result =
+          limiter
+              .acquire()
+              .thenCompose(
+                  v ->
+                      endpoint.settings().async()
+                          ? requestFunction.applyAsync(request, uri, workflow, taskContext, input)
+                          : CompletableFuture.supplyAsync(
+                              () ->
+                                  requestFunction.apply(request, uri, workflow, taskContext, input),
+                              workflow
+                                  .definition()
+                                  .application()
+                                  .executorService(WorkloadType.BLOCKING_IO)))
+              .whenComplete((r, ex) -> limiter.release());
+    } catch (RuntimeException ex) {
+      lease.close();
+      throw ex;
     }
-    Builder request = target.request();
-    requestDecorators.forEach(d -> d.decorate(request, workflow, taskContext));
-    headersMap.ifPresent(h -> h.apply(workflow, taskContext, input).forEach(request::header));
-    return CompletableFuture.supplyAsync(
-        () -> requestFunction.apply(request, uri, workflow, taskContext, input),
-        workflow.definition().application().executorService());
+    return result.whenComplete((r, ex) -> lease.close());
   }
 }
@@ -44,6 +44,7 @@ public class HttpExecutorBuilder {
   private boolean redirect;
   private WorkflowValueResolver<Map<String, Object>> headersMap;
   private WorkflowValueResolver<Map<String, Object>> queryMap;
+  private List<String> projection = List.of();
 
   private HttpExecutorBuilder(WorkflowDefinition definition) {
     this.definition = definition;
@@ -115,6 +116,15 @@ public class HttpExecutorBuilder {
     return this;
   }
 
+  /**
+   * Path of field names the response is going to be filtered by, see {@link
+   * HttpModelConverter#toModel}
+   */
+  public HttpExecutorBuilder withProjection(List<String> projection) {
+    this.projection = projection;
+    return this;
+  }
+
   public HttpExecutor build(String uri) {
     return build((w, f, n) -> URI.create(uri));
   }
@@ -142,13 +152,13 @@ public class HttpExecutorBuilder {
       case HttpMethod.PUT:
       case HttpMethod.PATCH:
         return new WithBodyRequestExecutor(
-            httpMethod, redirect, auth, definition.application(), body);
+            httpMethod, redirect, auth, projection, definition.application(), body);
       case HttpMethod.DELETE:
       case HttpMethod.HEAD:
       case HttpMethod.OPTIONS:
       case HttpMethod.GET:
       default:
-        return new WithoutBodyRequestExecutor(httpMethod, redirect, auth);
+        return new WithoutBodyRequestExecutor(httpMethod, redirect, auth, projection);
     }
   }
 }
@@ -17,8 +17,10 @@ package io.serverlessworkflow.impl.executors.http;
 
 import io.serverlessworkflow.impl.WorkflowError;
 import io.serverlessworkflow.impl.WorkflowModel;
+import io.serverlessworkflow.impl.WorkflowModelFactory;
 import jakarta.ws.rs.client.Entity;
 import jakarta.ws.rs.core.Response;
+import java.util.List;
 import org.slf4j.LoggerFactory;
 
 public interface HttpModelConverter {
@@ -29,6 +31,19 @@ public interface HttpModelConverter {
 
   Class<?> responseType();
 
+  /** Step of a projection standing for every element of an array or value of an object */
+  String EACH = "[]";
+
+  /**
+   * Converts the body of a successful response into a model. A non empty <code>projection</code> is
+   * the path (field names or {@link #EACH}) the task output is going to be filtered by, so the
+   * fields outside that path might be skipped while reading the body.
+   */
+  default WorkflowModel toModel(
+      Response response, WorkflowModelFactory factory, List<String> projection) {
+    return factory.fromAny(response.readEntity(responseType()));
+  }
+
   default WorkflowError.Builder errorFromResponse(
       WorkflowError.Builder errorBuilder, Response response) {
     errorBuilder.title(response.getStatusInfo().getReasonPhrase());
@@ -20,9 +20,13 @@ import io.serverlessworkflow.impl.WorkflowContext;
 import io.serverlessworkflow.impl.WorkflowModel;
 import jakarta.ws.rs.client.Invocation.Builder;
 import java.net.URI;
+import java.util.concurrent.CompletableFuture;
 
-@FunctionalInterface
 interface RequestExecutor {
   WorkflowModel apply(
       Builder request, URI uri, WorkflowContext workflow, TaskContext task, WorkflowModel model);
+
+  /** Same as apply, but the request is sent through the reactive invoker of the client */
+  CompletableFuture<WorkflowModel> applyAsync(
+      Builder request, URI uri, WorkflowContext workflow, TaskContext task, WorkflowModel model);
 }
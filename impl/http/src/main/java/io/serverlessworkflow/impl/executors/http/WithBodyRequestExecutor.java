@@ -24,7 +24,9 @@ import io.serverlessworkflow.impl.WorkflowUtils;
 import io.serverlessworkflow.impl.auth.AuthProvider;
 import jakarta.ws.rs.client.Invocation.Builder;
 import jakarta.ws.rs.core.Response;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
 
 class WithBodyRequestExecutor extends AbstractRequestExecutor {
   private final WorkflowFilter bodyFilter;
@@ -33,9 +35,10 @@ class WithBodyRequestExecutor extends AbstractRequestExecutor {
       String method,
       boolean redirect,
       Optional<AuthProvider> auth,
+      List<String> projection,
       WorkflowApplication application,
       Object body) {
-    super(method, redirect, auth);
+    super(method, redirect, auth, projection);
     bodyFilter = WorkflowUtils.buildWorkflowFilter(application, body);
   }
 
@@ -48,4 +51,14 @@ class WithBodyRequestExecutor extends AbstractRequestExecutor {
       WorkflowModel model) {
     return request.method(method, converter.toEntity(bodyFilter.apply(workflow, task, model)));
   }
+
+  @Override
+  protected CompletionStage<Response> invokeRequestAsync(
+      Builder request,
+      HttpModelConverter converter,
+      WorkflowContext workflow,
+      TaskContext task,
+      WorkflowModel model) {
+    return request.rx().method(method, converter.toEntity(bodyFilter.apply(workflow, task, model)));
+  }
 }
@@ -21,12 +21,15 @@ import io.serverlessworkflow.impl.WorkflowModel;
 import io.serverlessworkflow.impl.auth.AuthProvider;
 import jakarta.ws.rs.client.Invocation.Builder;
 import jakarta.ws.rs.core.Response;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
 
 class WithoutBodyRequestExecutor extends AbstractRequestExecutor {
 
-  public WithoutBodyRequestExecutor(String method, boolean redirect, Optional<AuthProvider> auth) {
-    super(method, redirect, auth);
+  public WithoutBodyRequestExecutor(
+      String method, boolean redirect, Optional<AuthProvider> auth, List<String> projection) {
+    super(method, redirect, auth, projection);
   }
 
   @Override
@@ -38,4 +41,14 @@ class WithoutBodyRequestExecutor extends AbstractRequestExecutor {
       WorkflowModel model) {
     return request.method(method);
   }
+
+  @Override
+  protected CompletionStage<Response> invokeRequestAsync(
+      Builder request,
+      HttpModelConverter converter,
+      WorkflowContext workflow,
+      TaskContext task,
+      WorkflowModel model) {
+    return request.rx().method(method);
+  }
 }
@@ -28,7 +28,6 @@ import io.serverlessworkflow.impl.auth.JWT;
 import io.serverlessworkflow.impl.auth.JWTConverter;
 import io.serverlessworkflow.impl.executors.http.HttpClientResolver;
 import jakarta.ws.rs.ProcessingException;
-import jakarta.ws.rs.client.Client;
 import jakarta.ws.rs.client.Entity;
 import jakarta.ws.rs.client.Invocation;
 import jakarta.ws.rs.client.ResponseProcessingException;
@@ -37,6 +36,7 @@ import jakarta.ws.rs.core.Form;
 import jakarta.ws.rs.core.GenericType;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import java.net.URI;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -71,7 +71,20 @@ class JaxRSAccessTokenProvider implements AccessTokenProvider {
 
   private Map<String, Object> invoke(
       WorkflowContext workflowContext, TaskContext taskContext, WorkflowModel model) {
-    try (Response response = executeRequest(workflowContext, taskContext, model)) {
+    URI uri = requestInfo.uri().apply(workflowContext, taskContext, model);
+    return HttpClientResolver.withClient(
+        workflowContext,
+        taskContext,
+        uri,
+        client -> invoke(client.target(uri), workflowContext, taskContext, model));
+  }
+
+  private Map<String, Object> invoke(
+      WebTarget target,
+      WorkflowContext workflowContext,
+      TaskContext taskContext,
+      WorkflowModel model) {
+    try (Response response = executeRequest(target, workflowContext, taskContext, model)) {
       int status = response.getStatus();
       if (status < 200 || status >= 300) {
         StringBuilder message = new StringBuilder("Failed to obtain token. Error code: " + status);
@@ -99,10 +112,8 @@ class JaxRSAccessTokenProvider implements AccessTokenProvider {
     }
   }
 
-  private Response executeRequest(WorkflowContext workflow, TaskContext task, WorkflowModel model) {
-
-    Client client = HttpClientResolver.client(workflow, task);
-    WebTarget target = client.target(requestInfo.uri().apply(workflow, task, model));
+  private Response executeRequest(
+      WebTarget target, WorkflowContext workflow, TaskContext task, WorkflowModel model) {
 
     Invocation.Builder builder = commonHeaders(target, workflow, task, model);
     builder.header("grant_type", requestInfo.grantType());
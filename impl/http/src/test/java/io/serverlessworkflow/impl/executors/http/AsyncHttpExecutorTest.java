@@ -0,0 +1,141 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.executors.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+import io.serverlessworkflow.api.WorkflowFormat;
+import io.serverlessworkflow.api.WorkflowReader;
+import io.serverlessworkflow.impl.WorkflowApplication;
+import io.serverlessworkflow.impl.WorkflowDefinition;
+import io.serverlessworkflow.impl.WorkflowException;
+import io.serverlessworkflow.impl.WorkflowModel;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AsyncHttpExecutorTest {
+
+  private static final String WORKFLOW =
+      """
+      document:
+        dsl: '1.0.0'
+        namespace: test
+        name: async-http-%s
+        version: '0.1.0'
+      do:
+        - getStub:
+            call: http
+            with:
+              method: get
+              endpoint: http://127.0.0.1:%d/%s
+      """;
+
+  private MockWebServer server;
+  private HttpClientFactory factory;
+  private WorkflowApplication appl;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger maxInFlight = new AtomicInteger();
+
+  @BeforeEach
+  void setup() throws IOException {
+    server = new MockWebServer();
+    server.setDispatcher(
+        new Dispatcher() {
+          @Override
+          public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+              Thread.sleep(50);
+            } finally {
+              inFlight.decrementAndGet();
+            }
+            return request.getPath().equals("/fail")
+                ? new MockResponse().setResponseCode(500)
+                : new MockResponse()
+                    .setHeader("Content-Type", "application/json")
+                    .setBody("{\"status\":\"ok\"}");
+          }
+        });
+    server.start();
+    factory =
+        HttpClientFactory.builder()
+            .withDefaults(
+                new HttpClientFactory.Settings(
+                    Duration.ofSeconds(5), Duration.ofSeconds(5), 1, true, true, Map.of()))
+            .build();
+    appl =
+        WorkflowApplication.builder()
+            .withAdditionalObject(HttpClientFactory.HTTP_CLIENT_FACTORY, () -> factory)
+            .build();
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    appl.close();
+    factory.close();
+    server.close();
+  }
+
+  @Test
+  void testAsyncCall() throws IOException {
+    assertThat(definition("stub").instance(Map.of()).start().join().asMap())
+        .contains(Map.of("status", "ok"));
+  }
+
+  @Test
+  void testAsyncCallsLimited() throws Exception {
+    WorkflowDefinition definition = definition("stub");
+    List<CompletableFuture<WorkflowModel>> calls =
+        IntStream.range(0, 4).mapToObj(i -> definition.instance(Map.of()).start()).toList();
+    CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+    calls.forEach(call -> assertThat(call.join().asMap()).contains(Map.of("status", "ok")));
+    assertThat(server.getRequestCount()).isEqualTo(4);
+    assertThat(maxInFlight).hasValue(1);
+  }
+
+  @Test
+  void testAsyncCallFailure() throws IOException {
+    CompletionException exception =
+        catchThrowableOfType(
+            CompletionException.class, () -> definition("fail").instance(Map.of()).start().join());
+    assertThat(exception.getCause()).isInstanceOf(WorkflowException.class);
+    assertThat(((WorkflowException) exception.getCause()).getWorkflowError().status())
+        .isEqualTo(500);
+    // the slot of the failed call was released
+    testAsyncCall();
+  }
+
+  private WorkflowDefinition definition(String path) throws IOException {
+    return appl.workflowDefinition(
+        WorkflowReader.readWorkflowFromString(
+            WORKFLOW.formatted(path, server.getPort(), path), WorkflowFormat.YAML));
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.executors.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CallableTaskHttpExecutorBuilderTest {
+
+  @Test
+  void testFieldPath() {
+    assertThat(CallableTaskHttpExecutorBuilder.projection(".a")).containsExactly("a");
+    assertThat(CallableTaskHttpExecutorBuilder.projection(".a.b_1")).containsExactly("a", "b_1");
+  }
+
+  @Test
+  void testIterationPath() {
+    assertThat(CallableTaskHttpExecutorBuilder.projection(".[]")).containsExactly("[]");
+    assertThat(CallableTaskHttpExecutorBuilder.projection(".[].a")).containsExactly("[]", "a");
+    assertThat(CallableTaskHttpExecutorBuilder.projection(".a[].b[]"))
+        .containsExactly("a", "[]", "b", "[]");
+  }
+
+  @Test
+  void testNotPushedDown() {
+    for (String expr : List.of("", ".", "a", ".a | .b", ".a[0]", ".[0].a", ".a.[]", "map(.a)")) {
+      assertThat(CallableTaskHttpExecutorBuilder.projection(expr)).as(expr).isEmpty();
+    }
+  }
+}
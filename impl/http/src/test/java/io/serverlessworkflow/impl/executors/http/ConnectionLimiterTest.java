@@ -0,0 +1,67 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.executors.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+class ConnectionLimiterTest {
+
+  @Test
+  void testUnlimited() {
+    ConnectionLimiter limiter = new ConnectionLimiter(0);
+    for (int i = 0; i < 100; i++) {
+      assertThat(limiter.acquire()).isDone();
+    }
+  }
+
+  @Test
+  void testWaitsForRelease() {
+    ConnectionLimiter limiter = new ConnectionLimiter(2);
+    assertThat(limiter.acquire()).isDone();
+    assertThat(limiter.acquire()).isDone();
+    CompletableFuture<Void> third = limiter.acquire();
+    CompletableFuture<Void> fourth = limiter.acquire();
+    assertThat(third).isNotDone();
+    limiter.release();
+    assertThat(third).isDone();
+    assertThat(fourth).isNotDone();
+    limiter.release();
+    assertThat(fourth).isDone();
+  }
+
+  @Test
+  void testSlotHandedOver() {
+    ConnectionLimiter limiter = new ConnectionLimiter(1);
+    assertThat(limiter.acquire()).isDone();
+    CompletableFuture<Void> waiting = limiter.acquire();
+    limiter.release();
+    assertThat(waiting).isDone();
+    // the slot went to the waiting request, so it is still in use
+    assertThat(limiter.acquire()).isNotDone();
+  }
+
+  @Test
+  void testSlotFreedWithoutWaiters() {
+    ConnectionLimiter limiter = new ConnectionLimiter(1);
+    assertThat(limiter.acquire()).isDone();
+    limiter.release();
+    assertThat(limiter.acquire()).isDone();
+    assertThat(limiter.acquire()).isNotDone();
+  }
+}
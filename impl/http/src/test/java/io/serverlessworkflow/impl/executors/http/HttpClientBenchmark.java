@@ -0,0 +1,144 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.executors.http;
+
+import io.serverlessworkflow.api.WorkflowFormat;
+import io.serverlessworkflow.api.WorkflowReader;
+import io.serverlessworkflow.impl.WorkflowApplication;
+import io.serverlessworkflow.impl.WorkflowDefinition;
+import io.serverlessworkflow.impl.WorkflowModel;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Latency distribution (see p0.50 and p0.99 in the results) of a workflow calling a local stub that
+ * takes 5 ms to answer, with 32 concurrent callers. <code>async</code> sends the requests through
+ * the reactive invoker rather than the blocking io executor and <code>
+ * maxConnectionsPerHost</code> bounds the requests in flight to the stub (0 is unbounded).
+ *
+ * <p>Run with <code>mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=io.serverlessworkflow.impl.executors.http.HttpClientBenchmark</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(32)
+@Fork(1)
+public class HttpClientBenchmark {
+
+  private static final String WORKFLOW =
+      """
+      document:
+        dsl: '1.0.0'
+        namespace: test
+        name: http-client-benchmark
+        version: '0.1.0'
+      do:
+        - getStub:
+            call: http
+            with:
+              method: get
+              endpoint: http://127.0.0.1:%d/stub
+      """;
+
+  @Param({"false", "true"})
+  public boolean async;
+
+  @Param({"0", "16"})
+  public int maxConnectionsPerHost;
+
+  private MockWebServer server;
+  private HttpClientFactory factory;
+  private WorkflowApplication appl;
+  private WorkflowDefinition definition;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    server = new MockWebServer();
+    server.setDispatcher(
+        new Dispatcher() {
+          @Override
+          public MockResponse dispatch(RecordedRequest request) {
+            return new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setBody("{\"status\":\"ok\"}")
+                .setHeadersDelay(5, TimeUnit.MILLISECONDS);
+          }
+        });
+    server.start();
+    factory =
+        HttpClientFactory.builder()
+            .withDefaults(
+                new HttpClientFactory.Settings(
+                    Duration.ofSeconds(5),
+                    Duration.ofSeconds(5),
+                    maxConnectionsPerHost,
+                    true,
+                    async,
+                    Map.of()))
+            .build();
+    appl =
+        WorkflowApplication.builder()
+            .withAdditionalObject(HttpClientFactory.HTTP_CLIENT_FACTORY, () -> factory)
+            .build();
+    definition =
+        appl.workflowDefinition(
+            WorkflowReader.readWorkflowFromString(
+                WORKFLOW.formatted(server.getPort()), WorkflowFormat.YAML));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    appl.close();
+    factory.close();
+    server.close();
+  }
+
+  @Benchmark
+  public WorkflowModel call() {
+    return definition.instance(Map.of()).start().join();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(HttpClientBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.executors.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.serverlessworkflow.impl.WorkflowApplication;
+import io.serverlessworkflow.impl.config.AbstractConfigManager;
+import io.serverlessworkflow.impl.executors.http.HttpClientFactory.Lease;
+import io.serverlessworkflow.impl.executors.http.HttpClientFactory.Settings;
+import jakarta.ws.rs.client.Client;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class HttpClientFactoryTest {
+
+  private static final URI FIRST = URI.create("http://first:8080/path");
+  private static final URI SECOND = URI.create("http://second:8080/path");
+  private static final URI THIRD = URI.create("http://third:8080/path");
+
+  @Test
+  void testConfigSettings() {
+    Map<String, String> config =
+        Map.of(
+            "io.serverlessworkflow.impl.http.readTimeoutMillis", "1000",
+            "io.serverlessworkflow.impl.http.maxConnectionsPerHost", "4",
+            "io.serverlessworkflow.impl.http.second.readTimeoutMillis", "2000",
+            "io.serverlessworkflow.impl.http.second.async", "true",
+            "io.serverlessworkflow.impl.http.property.custom", "value");
+    try (WorkflowApplication appl =
+        WorkflowApplication.builder().withConfigManager(new MapConfigManager(config)).build()) {
+      HttpClientFactory factory = HttpClientFactory.of(appl);
+      assertThat(settings(factory, FIRST))
+          .isEqualTo(
+              new Settings(
+                  Duration.ZERO, Duration.ofSeconds(1), 4, true, false, Map.of("custom", "value")));
+      assertThat(settings(factory, SECOND))
+          .isEqualTo(
+              new Settings(
+                  Duration.ZERO, Duration.ofSeconds(2), 4, true, true, Map.of("custom", "value")));
+    }
+  }
+
+  @Test
+  void testBuilderSettings() {
+    Settings defaults =
+        new Settings(Duration.ofSeconds(1), Duration.ZERO, 0, true, false, Map.of());
+    Settings second = new Settings(Duration.ZERO, Duration.ofSeconds(3), 2, false, true, Map.of());
+    try (HttpClientFactory factory =
+        HttpClientFactory.builder().withDefaults(defaults).withHost("second", second).build()) {
+      assertThat(settings(factory, FIRST)).isEqualTo(defaults);
+      assertThat(settings(factory, SECOND)).isEqualTo(second);
+    }
+  }
+
+  @Test
+  void testClientSharedPerEndpoint() {
+    try (HttpClientFactory factory = HttpClientFactory.builder().build()) {
+      Client client = client(factory, FIRST);
+      assertThat(client(factory, URI.create("http://first:8080/other"))).isSameAs(client);
+      assertThat(client(factory, SECOND)).isNotSameAs(client);
+      assertThat(client(factory, URI.create("https://first:8080/path"))).isNotSameAs(client);
+    }
+  }
+
+  @Test
+  void testClientPerRequestWithoutKeepAlive() {
+    try (HttpClientFactory factory =
+        HttpClientFactory.builder()
+            .withDefaults(new Settings(Duration.ZERO, Duration.ZERO, 0, false, false, Map.of()))
+            .build()) {
+      Lease first = factory.acquire(FIRST);
+      Lease second = factory.acquire(FIRST);
+      assertThat(first.client()).isNotSameAs(second.client());
+      assertThat(first.endpoint()).isSameAs(second.endpoint());
+      first.close();
+      assertClosed(first.client());
+      assertOpen(second.client());
+      second.close();
+      assertClosed(second.client());
+    }
+  }
+
+  @Test
+  void testEvictedClientClosedOnceReleased() {
+    try (HttpClientFactory factory = HttpClientFactory.builder().withMaxEndpoints(2).build()) {
+      Lease inFlight = factory.acquire(FIRST);
+      client(factory, SECOND);
+      // evicts the first endpoint, whose client is still in use
+      client(factory, THIRD);
+      assertOpen(inFlight.client());
+      inFlight.close();
+      assertClosed(inFlight.client());
+      assertThat(client(factory, FIRST)).isNotSameAs(inFlight.client());
+    }
+  }
+
+  @Test
+  void testEvictsLeastRecentlyUsed() {
+    try (HttpClientFactory factory = HttpClientFactory.builder().withMaxEndpoints(2).build()) {
+      Client first = client(factory, FIRST);
+      Client second = client(factory, SECOND);
+      assertThat(client(factory, FIRST)).isSameAs(first);
+      client(factory, THIRD);
+      assertOpen(first);
+      assertClosed(second);
+      assertThat(client(factory, FIRST)).isSameAs(first);
+    }
+  }
+
+  @Test
+  void testClose() {
+    HttpClientFactory factory = HttpClientFactory.builder().build();
+    Client idle = client(factory, FIRST);
+    Lease inFlight = factory.acquire(SECOND);
+    factory.close();
+    assertClosed(idle);
+    assertOpen(inFlight.client());
+    inFlight.close();
+    assertClosed(inFlight.client());
+    assertThatThrownBy(() -> factory.acquire(FIRST)).isInstanceOf(IllegalStateException.class);
+  }
+
+  private static Settings settings(HttpClientFactory factory, URI uri) {
+    try (Lease lease = factory.acquire(uri)) {
+      return lease.endpoint().settings();
+    }
+  }
+
+  private static Client client(HttpClientFactory factory, URI uri) {
+    try (Lease lease = factory.acquire(uri)) {
+      return lease.client();
+    }
+  }
+
+  private static void assertOpen(Client client) {
+    assertThat(client.target(FIRST)).isNotNull();
+  }
+
+  private static void assertClosed(Client client) {
+    assertThatThrownBy(() -> client.target(FIRST)).isInstanceOf(IllegalStateException.class);
+  }
+
+  private static class MapConfigManager extends AbstractConfigManager {
+    private final Map<String, String> config;
+
+    MapConfigManager(Map<String, String> config) {
+      this.config = config;
+    }
+
+    @Override
+    protected String get(String propName) {
+      return config.get(propName);
+    }
+
+    @Override
+    protected <T> T convertComplex(String value, Class<T> propClass) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Iterable<String> names() {
+      return config.keySet();
+    }
+  }
+}
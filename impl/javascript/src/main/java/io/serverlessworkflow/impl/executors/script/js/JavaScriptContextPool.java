@@ -0,0 +1,280 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.executors.script.js;
+
+import io.serverlessworkflow.impl.WorkflowApplication;
+import io.serverlessworkflow.impl.scripts.ScriptContext;
+import io.serverlessworkflow.impl.scripts.ScriptLanguageId;
+import io.serverlessworkflow.impl.scripts.StreamSuppliers;
+import io.serverlessworkflow.impl.utils.BoundedCache;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Application scoped GraalVM {@link Engine} shared by all the JavaScript contexts, so parsed and
+ * compiled code is reused across script runs, plus a bounded pool of idle contexts.
+ *
+ * <p>To keep runs isolated when a context is reused, the script is evaluated as the body of a
+ * function, so its declarations do not outlive it, and the globals it leaves behind (arguments,
+ * <code>process</code> and implicitly created ones) are deleted afterwards. The properties of the
+ * built-in objects (the initial globals, their prototypes and the prototype chains of both) are
+ * recorded when the context is created and compared after every run, so a script that adds,
+ * replaces or deletes any of them, or freezes one of those objects, gets its context discarded. A
+ * context that fails or cannot be cleaned up is closed rather than returned to the pool as well. A
+ * pool with zero contexts creates a context per run, still sharing the engine.
+ */
+class JavaScriptContextPool implements AutoCloseable {
+
+  private static final Logger logger = LoggerFactory.getLogger(JavaScriptContextPool.class);
+
+  static final String JS_CONTEXT_POOL = "javascriptContextPool";
+  static final String MAX_CONTEXTS_PROPERTY = "io.serverlessworkflow.impl.scripts.js.maxContexts";
+  static final int DEFAULT_MAX_CONTEXTS = Runtime.getRuntime().availableProcessors();
+  static final int DEFAULT_MAX_SOURCES = 256;
+
+  private static final String LANG = ScriptLanguageId.JS.getLang();
+
+  // returns a function telling whether the built-in objects are as they were when it was created,
+  // it only uses functions and loops that a script cannot replace
+  private static final String BUILT_INS_SNAPSHOT =
+      """
+      (function() {
+        const { ownKeys, getOwnPropertyDescriptor, getPrototypeOf, isExtensible } = Reflect;
+        const same = Object.is;
+        const isObject = (o) => (typeof o === 'object' && o !== null) || typeof o === 'function';
+        const objects = [];
+        const visit = (o) => {
+          while (isObject(o) && !objects.includes(o)) {
+            objects.push(o);
+            o = getPrototypeOf(o);
+          }
+        };
+        visit(globalThis);
+        for (const key of ownKeys(globalThis)) {
+          const value = getOwnPropertyDescriptor(globalThis, key).value;
+          visit(value);
+          if (typeof value === 'function') {
+            visit(value.prototype);
+          }
+        }
+        const snapshot = objects.map((o) => ({
+          object: o,
+          extensible: isExtensible(o),
+          proto: getPrototypeOf(o),
+          keys: ownKeys(o),
+          descriptors: ownKeys(o).map((key) => getOwnPropertyDescriptor(o, key))
+        }));
+        const sameDescriptor = (a, b) =>
+          a !== undefined
+          && same(a.value, b.value)
+          && a.get === b.get
+          && a.set === b.set
+          && a.writable === b.writable
+          && a.enumerable === b.enumerable
+          && a.configurable === b.configurable;
+        return function() {
+          for (let i = 0; i < snapshot.length; i++) {
+            const entry = snapshot[i];
+            const o = entry.object;
+            if (isExtensible(o) !== entry.extensible || getPrototypeOf(o) !== entry.proto) {
+              return false;
+            }
+            const keys = ownKeys(o);
+            if (keys.length !== entry.keys.length) {
+              return false;
+            }
+            for (let j = 0; j < keys.length; j++) {
+              if (keys[j] !== entry.keys[j]
+                  || !sameDescriptor(getOwnPropertyDescriptor(o, keys[j]), entry.descriptors[j])) {
+                return false;
+              }
+            }
+          }
+          return true;
+        };
+      })()
+      """;
+
+  private final Engine engine;
+  private final BlockingQueue<PooledContext> idle;
+  private final BoundedCache<String, Source> sources = new BoundedCache<>(DEFAULT_MAX_SOURCES);
+  private volatile boolean closed;
+
+  static JavaScriptContextPool of(WorkflowApplication application) {
+    return application.sharedResource(
+        JS_CONTEXT_POOL,
+        () ->
+            new JavaScriptContextPool(
+                application
+                    .configManager()
+                    .config(MAX_CONTEXTS_PROPERTY, Integer.class)
+                    .orElse(DEFAULT_MAX_CONTEXTS)));
+  }
+
+  JavaScriptContextPool(int maxContexts) {
+    this.engine = Engine.newBuilder().option("engine.WarnInterpreterOnly", "false").build();
+    this.idle = maxContexts > 0 ? new ArrayBlockingQueue<>(maxContexts) : null;
+  }
+
+  StreamSuppliers run(ScriptContext script) {
+    PooledContext context = idle == null ? null : idle.poll();
+    if (context == null) {
+      context = new PooledContext();
+    }
+    boolean reusable = false;
+    try {
+      Value bindings = context.bindings;
+      script.args().forEach(bindings::putMember);
+      bindings.putMember("process", processEnv(context.context, script.envs()));
+      context.context.eval(source(script.code()));
+      StreamSuppliers output = StreamSuppliers.from(context.stdout, context.stderr);
+      reusable = context.reset();
+      return output;
+    } finally {
+      if (!reusable || idle == null || closed || !idle.offer(context)) {
+        context.close();
+      }
+    }
+  }
+
+  int idleContexts() {
+    return idle == null ? 0 : idle.size();
+  }
+
+  private Source source(String code) {
+    return sources.computeIfAbsent(
+        code,
+        c ->
+            Source.newBuilder(LANG, "(function() {" + c + "\n})();", "script")
+                .cached(true)
+                .buildLiteral());
+  }
+
+  private static Value processEnv(Context context, Map<String, Object> envs) {
+    Value process = context.eval(LANG, "({ env: {} })");
+    Value env = process.getMember("env");
+    envs.forEach(env::putMember);
+    return process;
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    if (idle != null) {
+      PooledContext context;
+      while ((context = idle.poll()) != null) {
+        context.close();
+      }
+    }
+    engine.close(true);
+  }
+
+  private class PooledContext {
+    private final SwitchableOutputStream out = new SwitchableOutputStream();
+    private final SwitchableOutputStream err = new SwitchableOutputStream();
+    private final Context context;
+    private final Value bindings;
+    private final Set<String> initialKeys;
+    private final Value builtInsUnchanged;
+    private ByteArrayOutputStream stdout;
+    private ByteArrayOutputStream stderr;
+
+    PooledContext() {
+      this.context =
+          Context.newBuilder(LANG)
+              .engine(engine)
+              .out(out)
+              .err(err)
+              .useSystemExit(true)
+              .allowCreateProcess(false)
+              .build();
+      this.bindings = context.getBindings(LANG);
+      this.initialKeys = Set.copyOf(bindings.getMemberKeys());
+      this.builtInsUnchanged = context.eval(LANG, BUILT_INS_SNAPSHOT);
+      redirect();
+    }
+
+    private void redirect() {
+      stdout = new ByteArrayOutputStream();
+      stderr = new ByteArrayOutputStream();
+      out.target = stdout;
+      err.target = stderr;
+    }
+
+    /*
+     * Removes the globals added by the last run, returns false if any of them could not be or if
+     * the run changed a built-in object
+     */
+    boolean reset() {
+      for (String key : Set.copyOf(bindings.getMemberKeys())) {
+        if (!initialKeys.contains(key)) {
+          try {
+            if (!bindings.removeMember(key)) {
+              return false;
+            }
+          } catch (UnsupportedOperationException ex) {
+            logger.debug("Global {} cannot be removed, context will not be reused", key, ex);
+            return false;
+          }
+        }
+      }
+      try {
+        if (!builtInsUnchanged.execute().asBoolean()) {
+          logger.debug("Built-in objects were changed, context will not be reused");
+          return false;
+        }
+      } catch (RuntimeException ex) {
+        logger.debug("Built-in objects cannot be checked, context will not be reused", ex);
+        return false;
+      }
+      redirect();
+      return true;
+    }
+
+    void close() {
+      try {
+        context.close();
+      } catch (RuntimeException ex) {
+        logger.debug("Error closing JavaScript context", ex);
+      }
+    }
+  }
+
+  private static class SwitchableOutputStream extends OutputStream {
+    private volatile OutputStream target;
+
+    @Override
+    public void write(int b) throws IOException {
+      target.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      target.write(b, off, len);
+    }
+  }
+}
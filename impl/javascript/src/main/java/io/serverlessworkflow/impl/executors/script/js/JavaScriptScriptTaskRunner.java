@@ -22,16 +22,11 @@ import io.serverlessworkflow.impl.scripts.ScriptContext;
 import io.serverlessworkflow.impl.scripts.ScriptLanguageId;
 import io.serverlessworkflow.impl.scripts.ScriptRunner;
 import io.serverlessworkflow.impl.scripts.ScriptUtils;
-import io.serverlessworkflow.impl.scripts.StreamSuppliers;
-import java.io.ByteArrayOutputStream;
-import java.util.Map;
-import org.graalvm.polyglot.Context;
-import org.graalvm.polyglot.Source;
-import org.graalvm.polyglot.Value;
 
 /**
  * JavaScript implementation of the {@link ScriptRunner} interface that executes JavaScript scripts
- * using GraalVM Polyglot API.
+ * using GraalVM Polyglot API. Contexts are taken from the {@link JavaScriptContextPool} of the
+ * application.
  */
 public class JavaScriptScriptTaskRunner implements ScriptRunner {
 
@@ -40,49 +35,17 @@ public class JavaScriptScriptTaskRunner implements ScriptRunner {
     return ScriptLanguageId.JS;
   }
 
-  /*
-   * Configures the process.env object in the JavaScript context with the provided environment
-   * variables.
-   *
-   * @param context the GraalVM context
-   * @param envs the environment variables to set
-   */
-  private void configureProcessEnv(Context context, Map<String, Object> envs) {
-    String js = ScriptLanguageId.JS.getLang();
-    Value bindings = context.getBindings(js);
-    Value process = context.eval(js, "({ env: {} })");
-
-    for (var entry : envs.entrySet()) {
-      process.getMember("env").putMember(entry.getKey(), entry.getValue());
-    }
-    bindings.putMember("process", process);
-  }
-
   @Override
   public WorkflowModel runScript(
       ScriptContext scriptContext,
       WorkflowContext workflowContext,
       TaskContext taskContext,
       WorkflowModel model) {
-    ByteArrayOutputStream stdout = new ByteArrayOutputStream();
-    ByteArrayOutputStream stderr = new ByteArrayOutputStream();
-    try (Context ctx =
-        Context.newBuilder()
-            .err(stderr)
-            .out(stdout)
-            .useSystemExit(true)
-            .allowCreateProcess(false)
-            .option("engine.WarnInterpreterOnly", "false")
-            .build()) {
-      scriptContext.args().forEach(ctx.getBindings(identifier().getLang())::putMember);
-      configureProcessEnv(ctx, scriptContext.envs());
-      ctx.eval(Source.create(identifier().getLang(), scriptContext.code()));
-      return ScriptUtils.modelFromOutput(
-          0,
-          StreamSuppliers.from(stdout, stderr),
-          scriptContext.returnType(),
-          workflowContext.definition().application().modelFactory(),
-          model);
-    }
+    return ScriptUtils.modelFromOutput(
+        0,
+        JavaScriptContextPool.of(workflowContext.definition().application()).run(scriptContext),
+        scriptContext.returnType(),
+        workflowContext.definition().application().modelFactory(),
+        model);
   }
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.executors.script.js;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.serverlessworkflow.impl.scripts.ScriptContext;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JavaScriptContextPoolTest {
+
+  private JavaScriptContextPool pool;
+
+  @BeforeEach
+  void setup() {
+    pool = new JavaScriptContextPool(1);
+  }
+
+  @AfterEach
+  void close() {
+    pool.close();
+  }
+
+  @Test
+  void testContextReused() {
+    assertThat(run("var a = [1, 2]; b = a.map(x => x * 2); console.log(JSON.stringify(b))"))
+        .isEqualTo("[2,4]");
+    assertThat(pool.idleContexts()).isEqualTo(1);
+    assertThat(run("console.log(typeof a + ' ' + typeof b)")).isEqualTo("undefined undefined");
+    assertThat(pool.idleContexts()).isEqualTo(1);
+  }
+
+  @Test
+  void testPrototypeChangeNotLeaked() {
+    run("Array.prototype.leaked = 1; console.log([].leaked)");
+    assertThat(pool.idleContexts()).isZero();
+    assertThat(run("console.log(typeof [].leaked)")).isEqualTo("undefined");
+  }
+
+  @Test
+  void testBuiltInReplacementNotLeaked() {
+    run("Math.random = () => 4; JSON.stringify = () => 'leaked'");
+    assertThat(pool.idleContexts()).isZero();
+    assertThat(run("console.log(Math.random() < 1 && JSON.stringify(1) === '1')"))
+        .isEqualTo("true");
+  }
+
+  @Test
+  void testBuiltInDeletionNotLeaked() {
+    run("delete Object.keys; delete globalThis.Map");
+    assertThat(pool.idleContexts()).isZero();
+    assertThat(run("console.log(typeof Object.keys + ' ' + typeof Map)"))
+        .isEqualTo("function function");
+  }
+
+  @Test
+  void testFreezeNotLeaked() {
+    run("Object.freeze(Object.prototype)");
+    assertThat(pool.idleContexts()).isZero();
+    assertThat(run("console.log(Object.isFrozen(Object.prototype))")).isEqualTo("false");
+  }
+
+  @Test
+  void testEnvNotLeaked() {
+    assertThat(run(Map.of(), Map.of("SECRET", "value"), "console.log(process.env.SECRET)"))
+        .isEqualTo("value");
+    assertThat(pool.idleContexts()).isEqualTo(1);
+    assertThat(run(Map.of(), Map.of("OTHER", "other"), "console.log(typeof process.env.SECRET)"))
+        .isEqualTo("undefined");
+    assertThat(run("console.log(typeof process)")).isEqualTo("object");
+  }
+
+  @Test
+  void testArgsNotLeaked() {
+    assertThat(run(Map.of("name", "first"), Map.of(), "console.log(name)")).isEqualTo("first");
+    assertThat(pool.idleContexts()).isEqualTo(1);
+    assertThat(run("console.log(typeof name)")).isEqualTo("undefined");
+  }
+
+  private String run(String code) {
+    return run(Map.of(), Map.of(), code);
+  }
+
+  private String run(Map<String, Object> args, Map<String, Object> envs, String code) {
+    return pool.run(new ScriptContext(args, envs, code, null)).outputStream().get();
+  }
+}
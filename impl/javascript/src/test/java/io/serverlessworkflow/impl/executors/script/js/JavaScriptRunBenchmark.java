@@ -0,0 +1,124 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.executors.script.js;
+
+import io.serverlessworkflow.impl.scripts.ScriptContext;
+import io.serverlessworkflow.impl.scripts.StreamSuppliers;
+import java.io.ByteArrayOutputStream;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Script runs per second of a small JavaScript task reading its arguments and environment. <code>
+ * cold</code> builds a standalone context per run, as done before contexts were pooled, <code>
+ * engine</code> builds a context per run sharing the engine and <code>pooled</code> reuses pooled
+ * contexts.
+ *
+ * <p>Run with <code>mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=io.serverlessworkflow.impl.executors.script.js.JavaScriptRunBenchmark</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JavaScriptRunBenchmark {
+
+  private static final String CODE =
+      "function total(items) {\n"
+          + "  return items.reduce((sum, item) => sum + item.price * item.quantity, 0);\n"
+          + "}\n"
+          + "const items = JSON.parse(order);\n"
+          + "console.log(`${process.env.CURRENCY} ${total(items).toFixed(2)}`);";
+
+  private static final ScriptContext SCRIPT =
+      new ScriptContext(
+          Map.of(
+              "order", "[{\"price\": 9.99, \"quantity\": 2}, {\"price\": 4.5, \"quantity\": 10}]"),
+          Map.of("CURRENCY", "EUR"),
+          CODE,
+          null);
+
+  @Param({"cold", "engine", "pooled"})
+  public String mode;
+
+  private JavaScriptContextPool pool;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    if (!mode.equals("cold")) {
+      pool = new JavaScriptContextPool(mode.equals("pooled") ? 4 : 0);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    if (pool != null) {
+      pool.close();
+    }
+  }
+
+  @Benchmark
+  public String run() {
+    return pool == null ? cold() : pool.run(SCRIPT).outputStream().get();
+  }
+
+  private static String cold() {
+    ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+    ByteArrayOutputStream stderr = new ByteArrayOutputStream();
+    try (Context ctx =
+        Context.newBuilder()
+            .err(stderr)
+            .out(stdout)
+            .useSystemExit(true)
+            .allowCreateProcess(false)
+            .option("engine.WarnInterpreterOnly", "false")
+            .build()) {
+      Value bindings = ctx.getBindings("js");
+      SCRIPT.args().forEach(bindings::putMember);
+      Value process = ctx.eval("js", "({ env: {} })");
+      SCRIPT.envs().forEach(process.getMember("env")::putMember);
+      bindings.putMember("process", process);
+      ctx.eval(Source.create("js", SCRIPT.code()));
+      return StreamSuppliers.from(stdout, stderr).outputStream().get();
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(JavaScriptRunBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
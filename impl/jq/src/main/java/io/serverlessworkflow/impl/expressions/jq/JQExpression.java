@@ -19,18 +19,14 @@ import static io.serverlessworkflow.impl.jackson.JsonUtils.modelToJson;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
-import io.serverlessworkflow.impl.AuthorizationDescriptor;
 import io.serverlessworkflow.impl.TaskContext;
 import io.serverlessworkflow.impl.WorkflowContext;
 import io.serverlessworkflow.impl.WorkflowError;
 import io.serverlessworkflow.impl.WorkflowException;
 import io.serverlessworkflow.impl.WorkflowModel;
 import io.serverlessworkflow.impl.expressions.ObjectExpression;
-import io.serverlessworkflow.impl.expressions.TaskDescriptor;
-import io.serverlessworkflow.impl.expressions.WorkflowDescriptor;
-import io.serverlessworkflow.impl.jackson.FunctionJsonNode;
+import io.serverlessworkflow.impl.expressions.jq.JQScopePlan.PlannedScope;
 import io.serverlessworkflow.impl.jackson.JsonUtils;
-import java.util.Map;
 import java.util.function.Supplier;
 import net.thisptr.jackson.jq.Output;
 import net.thisptr.jackson.jq.Scope;
@@ -43,20 +39,25 @@ public class JQExpression implements ObjectExpression {
   private final Supplier<Scope> scope;
   private final String expr;
   private final net.thisptr.jackson.jq.Expression internalExpr;
+  private final JQScopePlan plan;
+  private final ThreadLocal<PlannedScope> recycledScopes;
 
   public JQExpression(Supplier<Scope> scope, String expr, Version version)
       throws JsonQueryException {
     this.expr = expr;
     this.scope = scope;
     this.internalExpr = ExpressionParser.compile(expr, version);
+    this.plan = JQScopePlan.of(expr);
+    this.recycledScopes = plan.isRecyclable() ? new ThreadLocal<>() : null;
   }
 
   @Override
   public Object eval(WorkflowContext workflow, TaskContext task, WorkflowModel model) {
     JsonNodeOutput output = new JsonNodeOutput();
     JsonNode node = modelToJson(model);
+    PlannedScope planned = acquireScope();
     try {
-      internalExpr.apply(createScope(workflow, task), node, output);
+      internalExpr.apply(planned.bind(workflow, task), node, output);
       return output.getResult();
     } catch (JsonQueryException e) {
       throw new WorkflowException(
@@ -65,9 +66,15 @@ public class JQExpression implements ObjectExpression {
               .details(e.getMessage())
               .build(),
           e);
+    } finally {
+      planned.release();
     }
   }
 
+  JQScopePlan plan() {
+    return plan;
+  }
+
   private static class JsonNodeOutput implements Output {
     private JsonNode result;
     private boolean arrayCreated;
@@ -91,38 +98,20 @@ public class JQExpression implements ObjectExpression {
     }
   }
 
-  private Scope createScope(WorkflowContext workflow, TaskContext task) {
-    Scope childScope = Scope.newChildScope(scope.get());
-    if (task != null) {
-      childScope.setValue("input", modelToJson(task.input()));
-      childScope.setValue("output", modelToJson(task.output()));
-      childScope.setValue("task", () -> JsonUtils.fromValue(TaskDescriptor.of(task)));
-      task.variables().forEach((k, v) -> childScope.setValue(k, JsonUtils.fromValue(v)));
-      AuthorizationDescriptor auth = task.authorization();
-      if (auth != null) {
-        childScope.setValue("authorization", JsonUtils.fromValue(auth));
-      }
+  private PlannedScope acquireScope() {
+    Scope parent = scope.get();
+    if (recycledScopes == null) {
+      return plan.newScope(parent);
+    }
+    PlannedScope planned = recycledScopes.get();
+    if (planned != null && planned.isAvailable(parent)) {
+      return planned;
     }
-    if (workflow != null) {
-      childScope.setValue(
-          "secret",
-          new FunctionJsonNode(
-              k -> {
-                Map<String, Object> secret =
-                    workflow.definition().application().secretManager().secret(k);
-                if (secret.isEmpty()) {
-                  throw new WorkflowException(WorkflowError.authorization().build());
-                }
-                return secret;
-              }));
-      childScope.setValue("context", modelToJson(workflow.context()));
-      childScope.setValue(
-          "runtime",
-          () ->
-              JsonUtils.fromValue(
-                  workflow.definition().application().runtimeDescriptorFactory().get()));
-      childScope.setValue("workflow", () -> JsonUtils.fromValue(WorkflowDescriptor.of(workflow)));
+    // first evaluation on this thread, a reentrant one or a different parent scope
+    PlannedScope fresh = plan.newScope(parent);
+    if (planned == null) {
+      recycledScopes.set(fresh);
     }
-    return childScope;
+    return fresh;
   }
 }
@@ -17,10 +17,13 @@ package io.serverlessworkflow.impl.expressions.jq;
 
 import io.cloudevents.CloudEventData;
 import io.cloudevents.jackson.JsonCloudEventData;
+import io.serverlessworkflow.impl.expressions.ExpressionDescriptor;
 import io.serverlessworkflow.impl.expressions.ExpressionUtils;
 import io.serverlessworkflow.impl.expressions.ObjectExpression;
 import io.serverlessworkflow.impl.expressions.ObjectExpressionFactory;
 import io.serverlessworkflow.impl.jackson.JsonUtils;
+import io.serverlessworkflow.impl.utils.BoundedCache;
+import io.serverlessworkflow.impl.utils.CacheStats;
 import java.time.OffsetDateTime;
 import java.util.Collection;
 import java.util.Map;
@@ -28,19 +31,36 @@ import java.util.Objects;
 import java.util.function.Supplier;
 import net.thisptr.jackson.jq.BuiltinFunctionLoader;
 import net.thisptr.jackson.jq.Scope;
+import net.thisptr.jackson.jq.Version;
 import net.thisptr.jackson.jq.Versions;
 import net.thisptr.jackson.jq.exception.JsonQueryException;
 
 public class JQExpressionFactory extends ObjectExpressionFactory {
 
+  public static final int DEFAULT_CACHE_MAX_SIZE = 10_000;
+  // weight of a compiled expression is the length of its text
+  public static final long DEFAULT_CACHE_MAX_WEIGHT = 4_000_000L;
+
   private final Supplier<Scope> scopeSupplier;
+  private final BoundedCache<ExpressionKey, JQExpression> cache;
+
+  private record ExpressionKey(String expr, Version version) {}
 
   public JQExpressionFactory() {
     this(new DefaultScopeSupplier());
   }
 
   public JQExpressionFactory(Supplier<Scope> scopeSupplier) {
+    this(scopeSupplier, DEFAULT_CACHE_MAX_SIZE, DEFAULT_CACHE_MAX_WEIGHT);
+  }
+
+  /**
+   * @param cacheMaxSize maximum number of compiled expressions kept, zero disables caching
+   * @param cacheMaxWeight maximum number of expression characters kept
+   */
+  public JQExpressionFactory(Supplier<Scope> scopeSupplier, int cacheMaxSize, long cacheMaxWeight) {
     this.scopeSupplier = Objects.requireNonNull(scopeSupplier, "scopeSupplier must be not null");
+    this.cache = new BoundedCache<>(cacheMaxSize, cacheMaxWeight, (k, v) -> k.expr().length());
   }
 
   private static class DefaultScopeSupplier implements Supplier<Scope> {
@@ -61,13 +81,29 @@ public class JQExpressionFactory extends ObjectExpressionFactory {
 
   @Override
   public ObjectExpression buildExpression(String expression) {
+    return cache.computeIfAbsent(
+        new ExpressionKey(ExpressionUtils.trimExpr(expression), Versions.JQ_1_6), this::compile);
+  }
+
+  private JQExpression compile(ExpressionKey key) {
     try {
-      return new JQExpression(scopeSupplier, ExpressionUtils.trimExpr(expression), Versions.JQ_1_6);
+      return new JQExpression(scopeSupplier, key.expr(), key.version());
     } catch (JsonQueryException e) {
       throw new IllegalArgumentException(e);
     }
   }
 
+  @Override
+  public boolean isContextFree(ExpressionDescriptor desc) {
+    return desc.asString() != null
+        && ((JQExpression) buildExpression(desc.asString())).plan().variables().isEmpty();
+  }
+
+  @Override
+  public CacheStats cacheStats() {
+    return cache.stats();
+  }
+
   @Override
   protected boolean toBoolean(Object eval) {
     return JsonUtils.convertValue(eval, Boolean.class);
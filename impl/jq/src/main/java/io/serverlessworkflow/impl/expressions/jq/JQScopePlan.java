@@ -0,0 +1,219 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.expressions.jq;
+
+import static io.serverlessworkflow.impl.jackson.JsonUtils.modelToJson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.serverlessworkflow.impl.AuthorizationDescriptor;
+import io.serverlessworkflow.impl.TaskContext;
+import io.serverlessworkflow.impl.WorkflowContext;
+import io.serverlessworkflow.impl.WorkflowError;
+import io.serverlessworkflow.impl.WorkflowException;
+import io.serverlessworkflow.impl.expressions.TaskDescriptor;
+import io.serverlessworkflow.impl.expressions.WorkflowDescriptor;
+import io.serverlessworkflow.impl.jackson.FunctionJsonNode;
+import io.serverlessworkflow.impl.jackson.JsonUtils;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import net.thisptr.jackson.jq.Scope;
+import net.thisptr.jackson.jq.Scope.ValueWithPath;
+
+/**
+ * Variables referenced by a jq expression, computed once when the expression is built. Evaluation
+ * scopes created from the plan only bind those variables, and every value is computed on first
+ * access, so an expression that does not use <code>$context</code> never converts the workflow
+ * context to json.
+ *
+ * <p>Only the runtime variables (<code>$input</code>, <code>$context</code>...) are bound when the
+ * scope is created. Any other name is bound per evaluation if it is a task variable, otherwise it
+ * is left to the parent scope or to jq itself (imported data, for example).
+ */
+final class JQScopePlan {
+
+  private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\$([a-zA-Z_][a-zA-Z0-9_]*)");
+
+  // function definitions and imports are stored into the scope they are evaluated with
+  private static final Pattern SCOPE_MUTATION_PATTERN =
+      Pattern.compile("\\b(def|import|include)\\b");
+
+  private static final Set<String> RUNTIME_VARIABLES =
+      Set.of("secret", "context", "runtime", "workflow", "input", "output", "task");
+
+  private final String[] variables;
+  private final String[] runtimeVariables;
+  private final String[] taskVariables;
+  private final boolean recyclable;
+
+  private JQScopePlan(String[] variables, boolean recyclable) {
+    this.variables = variables;
+    this.runtimeVariables =
+        Arrays.stream(variables).filter(RUNTIME_VARIABLES::contains).toArray(String[]::new);
+    this.taskVariables =
+        Arrays.stream(variables).filter(v -> !RUNTIME_VARIABLES.contains(v)).toArray(String[]::new);
+    this.recyclable = recyclable;
+  }
+
+  static JQScopePlan of(String expr) {
+    // Lexical scan rather than a walk of the compiled tree, which jackson-jq does not expose.
+    // Occurrences inside string literals or shadowed by local bindings are harmless, they are just
+    // never looked up.
+    Set<String> names = new LinkedHashSet<>();
+    Matcher matcher = VARIABLE_PATTERN.matcher(expr);
+    while (matcher.find()) {
+      names.add(matcher.group(1));
+    }
+    return new JQScopePlan(
+        names.toArray(String[]::new), !SCOPE_MUTATION_PATTERN.matcher(expr).find());
+  }
+
+  /**
+   * Whether a scope built from this plan might be reused for a later evaluation. Expressions that
+   * define functions or import modules mutate their scope and therefore always get a fresh one.
+   */
+  boolean isRecyclable() {
+    return recyclable;
+  }
+
+  Set<String> variables() {
+    return Set.of(variables);
+  }
+
+  PlannedScope newScope(Scope parent) {
+    return new PlannedScope(parent);
+  }
+
+  final class PlannedScope {
+
+    private final Scope parent;
+    private final Scope scope;
+    private final JsonNode[] values;
+    private WorkflowContext workflow;
+    private TaskContext task;
+    private boolean inUse;
+
+    private PlannedScope(Scope parent) {
+      this.parent = parent;
+      this.scope = Scope.newChildScope(parent);
+      this.values = new JsonNode[runtimeVariables.length];
+      for (int i = 0; i < runtimeVariables.length; i++) {
+        final int index = i;
+        scope.setValue(runtimeVariables[i], () -> value(index));
+      }
+    }
+
+    Scope bind(WorkflowContext workflow, TaskContext task) {
+      this.workflow = workflow;
+      this.task = task;
+      this.inUse = true;
+      if (task == null || taskVariables.length == 0) {
+        return scope;
+      }
+      // a recycled scope cannot unbind a name, so task variables go into a throwaway child
+      Scope child = null;
+      Map<String, Object> values = task.variables();
+      AuthorizationDescriptor auth = task.authorization();
+      for (String name : taskVariables) {
+        if (auth != null && name.equals("authorization")) {
+          child = child == null ? Scope.newChildScope(scope) : child;
+          child.setValue(name, () -> JsonUtils.fromValue(auth));
+        } else if (values.containsKey(name)) {
+          child = child == null ? Scope.newChildScope(scope) : child;
+          child.setValue(name, () -> JsonUtils.fromValue(values.get(name)));
+        }
+      }
+      return child == null ? scope : child;
+    }
+
+    void release() {
+      this.workflow = null;
+      this.task = null;
+      Arrays.fill(values, null);
+      this.inUse = false;
+    }
+
+    boolean isAvailable(Scope parent) {
+      return !inUse && this.parent == parent;
+    }
+
+    private JsonNode value(int index) {
+      JsonNode value = values[index];
+      if (value == null) {
+        value = resolve(runtimeVariables[index]);
+        values[index] = value;
+      }
+      return value;
+    }
+
+    private JsonNode resolve(String name) {
+      if (workflow != null) {
+        switch (name) {
+          case "secret":
+            return secret(workflow);
+          case "context":
+            return modelToJson(workflow.context());
+          case "runtime":
+            return JsonUtils.fromValue(
+                workflow.definition().application().runtimeDescriptorFactory().get());
+          case "workflow":
+            return JsonUtils.fromValue(WorkflowDescriptor.of(workflow));
+          default:
+        }
+      }
+      if (task != null) {
+        Map<String, Object> taskVariables = task.variables();
+        if (taskVariables.containsKey(name)) {
+          return JsonUtils.fromValue(taskVariables.get(name));
+        }
+        switch (name) {
+          case "input":
+            return modelToJson(task.input());
+          case "output":
+            return modelToJson(task.output());
+          case "task":
+            return JsonUtils.fromValue(TaskDescriptor.of(task));
+          default:
+        }
+      }
+      ValueWithPath parentValue = parent.getValueWithPath(name);
+      if (parentValue != null) {
+        return parentValue.value();
+      }
+      WorkflowError.Builder error =
+          WorkflowError.expression().details("$" + name + " is not defined");
+      if (task != null) {
+        error.instance(task.position().jsonPointer());
+      }
+      throw new WorkflowException(error.build());
+    }
+  }
+
+  private static JsonNode secret(WorkflowContext workflow) {
+    return new FunctionJsonNode(
+        k -> {
+          Map<String, Object> secret =
+              workflow.definition().application().secretManager().secret(k);
+          if (secret.isEmpty()) {
+            throw new WorkflowException(WorkflowError.authorization().build());
+          }
+          return secret;
+        });
+  }
+}
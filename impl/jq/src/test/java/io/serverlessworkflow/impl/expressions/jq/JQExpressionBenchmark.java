@@ -0,0 +1,126 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.expressions.jq;
+
+import static io.serverlessworkflow.impl.WorkflowUtils.loadFirst;
+import static io.serverlessworkflow.impl.jackson.JsonUtils.modelToJson;
+
+import io.serverlessworkflow.impl.TaskContext;
+import io.serverlessworkflow.impl.WorkflowContext;
+import io.serverlessworkflow.impl.WorkflowModel;
+import io.serverlessworkflow.impl.WorkflowModelFactory;
+import io.serverlessworkflow.impl.WorkflowPosition;
+import io.serverlessworkflow.impl.expressions.TaskDescriptor;
+import io.serverlessworkflow.impl.jackson.JsonUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import net.thisptr.jackson.jq.BuiltinFunctionLoader;
+import net.thisptr.jackson.jq.Expression;
+import net.thisptr.jackson.jq.Scope;
+import net.thisptr.jackson.jq.Versions;
+import net.thisptr.jackson.jq.exception.JsonQueryException;
+import net.thisptr.jackson.jq.internal.javacc.ExpressionParser;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares evaluating a jq expression with a scope that eagerly binds every workflow variable (the
+ * former behaviour of {@link JQExpression}) against the planned, recycled scopes.
+ *
+ * <p>Run with <code>mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=io.serverlessworkflow.impl.expressions.jq.JQExpressionBenchmark</code>
+ */
+@State(org.openjdk.jmh.annotations.Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JQExpressionBenchmark {
+
+  @Param({".name", "$input.name", "{name: .name, item: $item.id}"})
+  public String expression;
+
+  private Scope rootScope;
+  private Expression legacyExpr;
+  private JQExpression plannedExpr;
+  private WorkflowContext workflow;
+  private TaskContext task;
+  private WorkflowModel model;
+
+  @Setup
+  public void setup() throws JsonQueryException {
+    rootScope = Scope.newEmptyScope();
+    BuiltinFunctionLoader.getInstance().loadFunctions(Versions.JQ_1_6, rootScope);
+    legacyExpr = ExpressionParser.compile(expression, Versions.JQ_1_6);
+    plannedExpr = new JQExpression(() -> rootScope, expression, Versions.JQ_1_6);
+
+    WorkflowModelFactory modelFactory = loadFirst(WorkflowModelFactory.class).orElseThrow();
+    List<Map<String, Object>> items = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      items.add(Map.of("id", i, "description", "item number " + i));
+    }
+    model = modelFactory.fromAny(Map.of("name", "John", "items", items));
+    workflow = Mockito.mock(WorkflowContext.class);
+    Mockito.when(workflow.context()).thenReturn(modelFactory.fromAny(Map.of("items", items)));
+    task =
+        new TaskContext(
+            model, Mockito.mock(WorkflowPosition.class), Optional.empty(), "setTask", null);
+    task.variables().put("item", items.get(0));
+    task.variables().put("index", 0);
+  }
+
+  @Benchmark
+  public void eagerScope(Blackhole bh) throws JsonQueryException {
+    legacyExpr.apply(legacyScope(), modelToJson(model), bh::consume);
+  }
+
+  @Benchmark
+  public Object plannedScope() {
+    return plannedExpr.eval(workflow, task, model);
+  }
+
+  private Scope legacyScope() {
+    Scope childScope = Scope.newChildScope(rootScope);
+    childScope.setValue("input", modelToJson(task.input()));
+    childScope.setValue("output", modelToJson(task.output()));
+    childScope.setValue("task", () -> JsonUtils.fromValue(TaskDescriptor.of(task)));
+    task.variables().forEach((k, v) -> childScope.setValue(k, JsonUtils.fromValue(v)));
+    childScope.setValue("context", modelToJson(workflow.context()));
+    return childScope;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(JQExpressionBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
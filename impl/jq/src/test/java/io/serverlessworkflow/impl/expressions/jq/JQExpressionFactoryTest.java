@@ -17,9 +17,14 @@ package io.serverlessworkflow.impl.expressions.jq;
 
 import static io.serverlessworkflow.impl.WorkflowUtils.loadFirst;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import io.serverlessworkflow.impl.TaskContext;
 import io.serverlessworkflow.impl.WorkflowContext;
+import io.serverlessworkflow.impl.WorkflowException;
 import io.serverlessworkflow.impl.WorkflowModelFactory;
+import io.serverlessworkflow.impl.WorkflowPosition;
 import io.serverlessworkflow.impl.WorkflowValueResolver;
 import io.serverlessworkflow.impl.expressions.ExpressionDescriptor;
 import io.serverlessworkflow.impl.jackson.JsonUtils;
@@ -27,6 +32,13 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import net.thisptr.jackson.jq.BuiltinFunctionLoader;
+import net.thisptr.jackson.jq.Scope;
+import net.thisptr.jackson.jq.Versions;
+import net.thisptr.jackson.jq.module.Module;
+import net.thisptr.jackson.jq.module.ModuleLoader;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -93,4 +105,81 @@ class JQExpressionFactoryTest {
     assertThat(result.get("name")).isEqualTo("John");
     assertThat(result.get("surname")).isEqualTo("Doe");
   }
+
+  @Test
+  void testScopePlanVariables() {
+    assertThat(JQScopePlan.of(".name").variables()).isEmpty();
+    assertThat(JQScopePlan.of("{name: $input.name, item: $item, again: $item}").variables())
+        .isEqualTo(Set.of("input", "item"));
+    assertThat(JQScopePlan.of("$input").isRecyclable()).isTrue();
+    assertThat(JQScopePlan.of("def twice: . * 2; $input | twice").isRecyclable()).isFalse();
+  }
+
+  @Test
+  void testRecycledScopeVariables() {
+    WorkflowValueResolver<Object> expr =
+        factory.resolveValue(ExpressionDescriptor.from("${{item: $item, input: $input.name}}"));
+    for (int i = 0; i < 3; i++) {
+      TaskContext task = taskContext(Map.of("name", "John" + i));
+      task.variables().put("item", i);
+      assertThat(expr.apply(workflowContext, task, task.input()))
+          .isEqualTo(Map.of("item", i, "input", "John" + i));
+    }
+  }
+
+  @Test
+  void testUndefinedVariable() {
+    WorkflowValueResolver<Object> expr =
+        factory.resolveValue(ExpressionDescriptor.from("${$missing}"));
+    TaskContext task = taskContext(Map.of());
+    assertThatThrownBy(() -> expr.apply(workflowContext, task, task.input()))
+        .isInstanceOf(WorkflowException.class);
+  }
+
+  @Test
+  void testJqBoundVariables() {
+    Scope root = Scope.newEmptyScope();
+    BuiltinFunctionLoader.getInstance().loadFunctions(Versions.JQ_1_6, root);
+    root.setModuleLoader(
+        new ModuleLoader() {
+          @Override
+          public Module loadModule(Module caller, String path, JsonNode metadata) {
+            return null;
+          }
+
+          @Override
+          public JsonNode loadData(Module caller, String path, JsonNode metadata) {
+            return JsonUtils.mapper().createObjectNode().put("limit", 5);
+          }
+        });
+    factory = new JQExpressionFactory(() -> root);
+    WorkflowValueResolver<Object> expr =
+        factory.resolveValue(
+            ExpressionDescriptor.from(
+                "${import \"settings\" as $settings; "
+                    + "{limit: $settings.limit, items: [.items[] as $x | $x * $item], name: $input.name}}"));
+    TaskContext task = taskContext(Map.of("name", "John", "items", List.of(1, 2)));
+    task.variables().put("item", 10);
+    assertThat(expr.apply(workflowContext, task, task.input()))
+        .isEqualTo(Map.of("limit", 5, "items", List.of(10, 20), "name", "John"));
+  }
+
+  @Test
+  void testCompiledExpressionCache() {
+    factory.resolveValue(ExpressionDescriptor.from("${.name}"));
+    factory.resolveValue(ExpressionDescriptor.from("${ .name }"));
+    factory.resolveString(ExpressionDescriptor.from("${.surname}"));
+    assertThat(factory.cacheStats().hits()).isEqualTo(1);
+    assertThat(factory.cacheStats().misses()).isEqualTo(2);
+    assertThat(factory.cacheStats().size()).isEqualTo(2);
+  }
+
+  private TaskContext taskContext(Map<String, Object> input) {
+    return new TaskContext(
+        modelFactory.fromAny(input),
+        Mockito.mock(WorkflowPosition.class),
+        Optional.empty(),
+        "task",
+        null);
+  }
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.executors.http.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.serverlessworkflow.impl.WorkflowModel;
+import io.serverlessworkflow.impl.WorkflowModelFactory;
+import io.serverlessworkflow.impl.executors.http.HttpModelConverter;
+import io.serverlessworkflow.impl.jackson.JsonUtils;
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Parses json responses straight from the entity stream into a tree, without an intermediate java
+ * representation. When a projection is given, only the fields along its path are added to the tree,
+ * the rest of them are skipped by the parser. Iteration steps keep every element of an array, or
+ * every value of an object, each of them projected by the rest of the path.
+ */
+class JacksonModelConverter implements HttpModelConverter {
+
+  @Override
+  public Class<?> responseType() {
+    return JsonNode.class;
+  }
+
+  @Override
+  public WorkflowModel toModel(
+      Response response, WorkflowModelFactory factory, List<String> projection) {
+    if (!isJson(response.getMediaType())) {
+      return HttpModelConverter.super.toModel(response, factory, projection);
+    }
+    try (InputStream in = response.readEntity(InputStream.class)) {
+      return factory.fromAny(readTree(in, projection));
+    } catch (IOException ex) {
+      throw new ProcessingException(ex);
+    }
+  }
+
+  static JsonNode readTree(InputStream in, List<String> projection) throws IOException {
+    try (JsonParser parser = JsonUtils.mapper().createParser(in)) {
+      return parser.nextToken() == null ? null : readNode(parser, projection, 0);
+    }
+  }
+
+  private static JsonNode readNode(JsonParser parser, List<String> projection, int depth)
+      throws IOException {
+    if (depth == projection.size()) {
+      return JsonUtils.mapper().readTree(parser);
+    }
+    String step = projection.get(depth);
+    if (step.equals(EACH) && parser.currentToken() == JsonToken.START_ARRAY) {
+      ArrayNode node = JsonUtils.array();
+      while (parser.nextToken() != JsonToken.END_ARRAY) {
+        node.add(readNode(parser, projection, depth + 1));
+      }
+      return node;
+    }
+    if (parser.currentToken() != JsonToken.START_OBJECT) {
+      return JsonUtils.mapper().readTree(parser);
+    }
+    ObjectNode node = JsonUtils.object();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String name = parser.currentName();
+      parser.nextToken();
+      if (step.equals(EACH) || name.equals(step)) {
+        node.set(name, readNode(parser, projection, depth + 1));
+      } else {
+        parser.skipChildren();
+      }
+    }
+    return node;
+  }
+
+  private static boolean isJson(MediaType mediaType) {
+    return mediaType == null
+        || MediaType.APPLICATION_JSON_TYPE.isCompatible(mediaType)
+        || mediaType.getSubtype().endsWith("+json");
+  }
+}
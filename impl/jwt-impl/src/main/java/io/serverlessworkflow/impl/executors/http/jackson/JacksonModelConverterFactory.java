@@ -15,7 +15,6 @@
  */
 package io.serverlessworkflow.impl.executors.http.jackson;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import io.serverlessworkflow.impl.TaskContextData;
 import io.serverlessworkflow.impl.WorkflowContextData;
 import io.serverlessworkflow.impl.additional.NamedWorkflowAdditionalObject;
@@ -27,13 +26,7 @@ public class JacksonModelConverterFactory
 
   private static class JacksonModelConverterHolder {
 
-    private static HttpModelConverter converter =
-        new HttpModelConverter() {
-          @Override
-          public Class<?> responseType() {
-            return JsonNode.class;
-          }
-        };
+    private static HttpModelConverter converter = new JacksonModelConverter();
   }
 
   @Override
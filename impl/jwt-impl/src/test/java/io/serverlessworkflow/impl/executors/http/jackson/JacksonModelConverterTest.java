@@ -0,0 +1,83 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.executors.http.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.serverlessworkflow.impl.jackson.JsonUtils;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class JacksonModelConverterTest {
+
+  private static final String BODY =
+      "{\"page\":{\"size\":2,\"items\":[{\"id\":1},{\"id\":2}]},\"links\":{\"next\":\"/2\"},"
+          + "\"page2\":[1,2,3]}";
+
+  @Test
+  void fullBody() throws IOException {
+    assertEquals(JsonUtils.mapper().readTree(BODY), read(BODY, List.of()));
+  }
+
+  @Test
+  void projectedBody() throws IOException {
+    assertEquals(
+        JsonUtils.mapper().readTree("{\"page\":{\"items\":[{\"id\":1},{\"id\":2}]}}"),
+        read(BODY, List.of("page", "items")));
+  }
+
+  @Test
+  void projectionOutsideObject() throws IOException {
+    assertEquals(JsonUtils.mapper().readTree("[1,2]"), read("[1,2]", List.of("page")));
+    assertEquals(
+        JsonUtils.mapper().readTree("{\"page\":5}"), read("{\"page\":5}", List.of("page", "size")));
+    assertEquals(JsonUtils.object(), read(BODY, List.of("missing")));
+  }
+
+  @Test
+  void projectedArrayElements() throws IOException {
+    assertEquals(
+        JsonUtils.mapper().readTree("[{\"id\":1},{\"id\":2},{},3]"),
+        read(
+            "[{\"id\":1,\"name\":\"a\"},{\"id\":2,\"tags\":[1]},{\"name\":\"c\"},3]",
+            List.of("[]", "id")));
+    assertEquals(
+        JsonUtils.mapper().readTree("{\"page\":{\"items\":[{\"id\":1},{\"id\":2}]}}"),
+        read(BODY, List.of("page", "items", "[]", "id")));
+  }
+
+  @Test
+  void projectedObjectValues() throws IOException {
+    assertEquals(
+        JsonUtils.mapper().readTree("{\"page\":{},\"links\":{\"next\":\"/2\"},\"page2\":[1,2,3]}"),
+        read(BODY, List.of("[]", "next")));
+  }
+
+  @Test
+  void emptyBody() throws IOException {
+    assertNull(read("", List.of()));
+  }
+
+  private static JsonNode read(String body, List<String> projection) throws IOException {
+    return JacksonModelConverter.readTree(
+        new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), projection);
+  }
+}
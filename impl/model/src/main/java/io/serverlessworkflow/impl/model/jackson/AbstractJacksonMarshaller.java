@@ -16,7 +16,10 @@
 package io.serverlessworkflow.impl.model.jackson;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.serverlessworkflow.impl.jackson.JsonUtils;
+import io.serverlessworkflow.impl.marshaller.CompactInputBuffer;
+import io.serverlessworkflow.impl.marshaller.CompactOutputBuffer;
 import io.serverlessworkflow.impl.marshaller.CustomObjectMarshaller;
 import io.serverlessworkflow.impl.marshaller.WorkflowInputBuffer;
 import io.serverlessworkflow.impl.marshaller.WorkflowOutputBuffer;
@@ -27,6 +30,10 @@ public abstract class AbstractJacksonMarshaller<T> implements CustomObjectMarsha
 
   @Override
   public void write(WorkflowOutputBuffer buffer, T object) {
+    if (buffer instanceof CompactOutputBuffer compact) {
+      CompactJsonCodec.write(compact, toNode(object));
+      return;
+    }
     try {
       buffer.writeBytes(JsonUtils.mapper().writeValueAsBytes(object));
     } catch (JsonProcessingException e) {
@@ -34,9 +41,22 @@ public abstract class AbstractJacksonMarshaller<T> implements CustomObjectMarsha
     }
   }
 
+  private static JsonNode toNode(Object object) {
+    // models already hold a tree, no need to serialize them again
+    if (object instanceof JacksonModel model) {
+      return model.node;
+    } else if (object instanceof JacksonModelCollection collection) {
+      return collection.node;
+    }
+    return JsonUtils.mapper().valueToTree(object);
+  }
+
   @Override
   public T read(WorkflowInputBuffer buffer, Class<? extends T> clazz) {
     try {
+      if (buffer instanceof CompactInputBuffer compact) {
+        return JsonUtils.mapper().treeToValue(CompactJsonCodec.read(compact), clazz);
+      }
       return JsonUtils.mapper().readValue(buffer.readBytes(), clazz);
     } catch (IOException e) {
       throw new UncheckedIOException(e);
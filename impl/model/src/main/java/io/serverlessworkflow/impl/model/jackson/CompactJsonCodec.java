@@ -0,0 +1,154 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.model.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.POJONode;
+import io.serverlessworkflow.impl.jackson.JsonUtils;
+import io.serverlessworkflow.impl.marshaller.CompactInputBuffer;
+import io.serverlessworkflow.impl.marshaller.CompactOutputBuffer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Iterator;
+import java.util.Map.Entry;
+
+/**
+ * Binary encoding of json trees for compact buffers: a tag byte per node, field names through the
+ * buffer dictionary and numbers in their native binary form.
+ */
+class CompactJsonCodec {
+
+  private static final byte NULL = 0;
+  private static final byte TRUE = 1;
+  private static final byte FALSE = 2;
+  private static final byte INT = 3;
+  private static final byte LONG = 4;
+  private static final byte DOUBLE = 5;
+  private static final byte BIG_INTEGER = 6;
+  private static final byte DECIMAL = 7;
+  private static final byte STRING = 8;
+  private static final byte BINARY = 9;
+  private static final byte ARRAY = 10;
+  private static final byte OBJECT = 11;
+
+  private CompactJsonCodec() {}
+
+  static void write(CompactOutputBuffer buffer, JsonNode node) {
+    switch (node.getNodeType()) {
+      case OBJECT:
+        buffer.writeByte(OBJECT);
+        buffer.writeInt(node.size());
+        Iterator<Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+          Entry<String, JsonNode> field = fields.next();
+          buffer.writeName(field.getKey());
+          write(buffer, field.getValue());
+        }
+        break;
+      case ARRAY:
+        buffer.writeByte(ARRAY);
+        buffer.writeInt(node.size());
+        for (JsonNode item : node) {
+          write(buffer, item);
+        }
+        break;
+      case STRING:
+        buffer.writeByte(STRING);
+        buffer.writeString(node.textValue());
+        break;
+      case BOOLEAN:
+        buffer.writeByte(node.booleanValue() ? TRUE : FALSE);
+        break;
+      case NUMBER:
+        writeNumber(buffer, node);
+        break;
+      case BINARY:
+        buffer.writeByte(BINARY);
+        buffer.writeBytes(JsonUtils.mapper().convertValue(node, byte[].class));
+        break;
+      case POJO:
+        write(buffer, JsonUtils.mapper().valueToTree(((POJONode) node).getPojo()));
+        break;
+      default:
+        buffer.writeByte(NULL);
+    }
+  }
+
+  private static void writeNumber(CompactOutputBuffer buffer, JsonNode node) {
+    if (node.isInt() || node.isShort()) {
+      buffer.writeByte(INT);
+      buffer.writeInt(node.intValue());
+    } else if (node.isLong()) {
+      buffer.writeByte(LONG);
+      buffer.writeLong(node.longValue());
+    } else if (node.isBigInteger()) {
+      buffer.writeByte(BIG_INTEGER);
+      buffer.writeBytes(node.bigIntegerValue().toByteArray());
+    } else if (node.isBigDecimal()) {
+      buffer.writeByte(DECIMAL);
+      buffer.writeString(node.decimalValue().toString());
+    } else {
+      buffer.writeByte(DOUBLE);
+      buffer.writeDouble(node.doubleValue());
+    }
+  }
+
+  static JsonNode read(CompactInputBuffer buffer) {
+    JsonNodeFactory factory = JsonUtils.mapper().getNodeFactory();
+    byte tag = buffer.readByte();
+    switch (tag) {
+      case NULL:
+        return factory.nullNode();
+      case TRUE:
+        return factory.booleanNode(true);
+      case FALSE:
+        return factory.booleanNode(false);
+      case INT:
+        return factory.numberNode(buffer.readInt());
+      case LONG:
+        return factory.numberNode(buffer.readLong());
+      case DOUBLE:
+        return factory.numberNode(buffer.readDouble());
+      case BIG_INTEGER:
+        return factory.numberNode(new BigInteger(buffer.readBytes()));
+      case DECIMAL:
+        return factory.numberNode(new BigDecimal(buffer.readString()));
+      case STRING:
+        return factory.textNode(buffer.readString());
+      case BINARY:
+        return factory.binaryNode(buffer.readBytes());
+      case ARRAY:
+        int size = buffer.readInt();
+        ArrayNode array = factory.arrayNode(size);
+        while (size-- > 0) {
+          array.add(read(buffer));
+        }
+        return array;
+      case OBJECT:
+        int fields = buffer.readInt();
+        ObjectNode object = factory.objectNode();
+        while (fields-- > 0) {
+          object.set(buffer.readName(), read(buffer));
+        }
+        return object;
+      default:
+        throw new IllegalStateException("Unknown json tag " + tag);
+    }
+  }
+}
@@ -18,12 +18,14 @@ package io.serverlessworkflow.impl.model.jackson;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import io.serverlessworkflow.impl.jackson.JsonUtils;
+import io.serverlessworkflow.impl.marshaller.CompactBufferFactory;
 import io.serverlessworkflow.impl.marshaller.DefaultBufferFactory;
 import io.serverlessworkflow.impl.marshaller.WorkflowBufferFactory;
 import io.serverlessworkflow.impl.marshaller.WorkflowInputBuffer;
 import io.serverlessworkflow.impl.marshaller.WorkflowOutputBuffer;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
 import org.junit.jupiter.api.Test;
 
 class JacksonModelSerializationTest {
@@ -49,8 +51,34 @@ class JacksonModelSerializationTest {
     testMarshallUnMarshall(new JacksonModelCollection(JsonUtils.mapper().createArrayNode().add(1)));
   }
 
+  @Test
+  void testCompactModel() {
+    testMarshallUnMarshall(
+        CompactBufferFactory.factory(),
+        new JacksonModel(
+            JsonUtils.mapper()
+                .createObjectNode()
+                .put("Mortadelo", "TIA")
+                .put("age", 42)
+                .put("id", Long.MAX_VALUE)
+                .put("ratio", 0.5)
+                .put("big", new BigDecimal("1.000000000000000000001"))
+                .put("active", true)
+                .putNull("boss")
+                .set(
+                    "agents",
+                    JsonUtils.mapper()
+                        .createArrayNode()
+                        .add(JsonUtils.mapper().createObjectNode().put("Mortadelo", "TIA"))
+                        .add(JsonUtils.mapper().createObjectNode().put("Filemon", "TIA")))));
+  }
+
   private void testMarshallUnMarshall(Object object) {
-    WorkflowBufferFactory factory = DefaultBufferFactory.factory();
+    testMarshallUnMarshall(DefaultBufferFactory.factory(), object);
+    testMarshallUnMarshall(CompactBufferFactory.factory(), object);
+  }
+
+  private void testMarshallUnMarshall(WorkflowBufferFactory factory, Object object) {
     ByteArrayOutputStream output = new ByteArrayOutputStream();
     try (WorkflowOutputBuffer writer = factory.output(output)) {
       writer.writeObject(object);
@@ -21,31 +21,31 @@ import io.serverlessworkflow.impl.WorkflowApplication;
 import io.serverlessworkflow.impl.WorkflowContext;
 import io.serverlessworkflow.impl.WorkflowModel;
 import io.serverlessworkflow.impl.executors.CallableTask;
-import io.serverlessworkflow.impl.executors.http.HttpExecutor;
 import io.serverlessworkflow.impl.executors.http.HttpExecutorBuilder;
 import io.serverlessworkflow.impl.resources.ExternalResourceHandler;
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Iterator;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 class OpenAPIExecutor implements CallableTask {
 
   private final OpenAPIProcessor processor;
   private final ExternalResource resource;
   private final Map<String, Object> parameters;
-  private final HttpExecutorBuilder builder;
+  private final Supplier<HttpExecutorBuilder> builder;
+
+  // the resource loader keeps returning the same document till it is reloaded
+  private volatile CompiledPlan compiledPlan;
+
+  private record CompiledPlan(UnifiedOpenAPI document, OperationPlan plan) {}
 
   OpenAPIExecutor(
       OpenAPIProcessor processor,
       ExternalResource resource,
       Map<String, Object> parameters,
-      HttpExecutorBuilder builder) {
+      Supplier<HttpExecutorBuilder> builder) {
     this.processor = processor;
     this.resource = resource;
     this.parameters = parameters;
@@ -57,94 +57,30 @@ class OpenAPIExecutor implements CallableTask {
       WorkflowContext workflowContext, TaskContext taskContext, WorkflowModel input) {
 
     // In the same workflow, access to an already cached document
-    final OperationDefinition operationDefinition =
-        processor.parse(
-            workflowContext
-                .definition()
-                .resourceLoader()
-                .load(
-                    resource,
-                    h -> readUnifiedOpenAPI(workflowContext, taskContext, h),
-                    workflowContext,
-                    taskContext,
-                    input));
-
-    fillHttpBuilder(workflowContext.definition().application(), operationDefinition);
-    // One executor per operation, even if the document is the same
-    // Me may refactor this even further to reuse the same executor (since the base URI is the same,
-    // but the path differs, although some use cases may require different client configurations for
-    // different paths...)
-    Collection<HttpExecutor> executors =
-        operationDefinition.getServers().stream().map(builder::build).toList();
-
-    Iterator<HttpExecutor> iter = executors.iterator();
-    if (!iter.hasNext()) {
-      throw new IllegalArgumentException(
-          "List of servers is empty for schema " + resource.getName());
-    }
-    CompletableFuture<WorkflowModel> future =
-        iter.next().apply(workflowContext, taskContext, input);
-    while (iter.hasNext()) {
-      future.exceptionallyCompose(i -> iter.next().apply(workflowContext, taskContext, input));
-    }
-    return future;
+    UnifiedOpenAPI document =
+        workflowContext
+            .definition()
+            .resourceLoader()
+            .load(
+                resource,
+                h -> readUnifiedOpenAPI(workflowContext, taskContext, h),
+                workflowContext,
+                taskContext,
+                input);
+    return plan(workflowContext.definition().application(), document)
+        .apply(workflowContext, taskContext, input);
   }
 
-  private void fillHttpBuilder(WorkflowApplication application, OperationDefinition operation) {
-    Map<String, Object> headersMap = new HashMap<>();
-    Map<String, Object> queryMap = new HashMap<>();
-    Map<String, Object> pathParameters = new HashMap<>();
-    Set<String> missingParams = new HashSet<>();
-
-    Map<String, Object> bodyParameters = new HashMap<>(parameters);
-    for (ParameterDefinition parameter : operation.getParameters()) {
-      switch (parameter.in()) {
-        case "header":
-          param(parameter, bodyParameters, headersMap, missingParams);
-          break;
-        case "path":
-          param(parameter, bodyParameters, pathParameters, missingParams);
-          break;
-        case "query":
-          param(parameter, bodyParameters, queryMap, missingParams);
-          break;
-      }
-    }
-
-    if (!missingParams.isEmpty()) {
-      throw new IllegalArgumentException(
-          "Missing required OpenAPI parameters for operation '"
-              + (operation.getOperation().operationId() != null
-                  ? operation.getOperation().operationId()
-                  : "<unknown>" + "': ")
-              + missingParams);
-    }
-    builder
-        .withMethod(operation.getMethod())
-        .withPath(new OperationPathResolver(operation.getPath(), application, pathParameters))
-        .withBody(bodyParameters)
-        .withQueryMap(queryMap)
-        .withHeaders(headersMap);
-  }
-
-  private void param(
-      ParameterDefinition parameter,
-      Map<String, Object> origMap,
-      Map<String, Object> collectorMap,
-      Set<String> missingParams) {
-    String name = parameter.name();
-    if (origMap.containsKey(name)) {
-      collectorMap.put(parameter.name(), origMap.remove(name));
-    } else if (parameter.required()) {
-
-      UnifiedOpenAPI.Schema schema = parameter.schema();
-      Object defaultValue = schema != null ? schema._default() : null;
-      if (defaultValue != null) {
-        collectorMap.put(name, defaultValue);
-      } else {
-        missingParams.add(name);
-      }
+  private OperationPlan plan(WorkflowApplication application, UnifiedOpenAPI document) {
+    CompiledPlan compiled = compiledPlan;
+    if (compiled == null || compiled.document() != document) {
+      compiled =
+          new CompiledPlan(
+              document,
+              new OperationPlan(application, processor.parse(document), parameters, builder.get()));
+      compiledPlan = compiled;
     }
+    return compiled.plan();
   }
 
   private UnifiedOpenAPI readUnifiedOpenAPI(
@@ -25,6 +25,7 @@ import io.serverlessworkflow.impl.executors.CallableTaskBuilder;
 import io.serverlessworkflow.impl.executors.CallableTaskFactory;
 import io.serverlessworkflow.impl.executors.http.HttpExecutorBuilder;
 import java.util.Map;
+import java.util.function.Supplier;
 
 public class OpenAPIExecutorBuilder implements CallableTaskBuilder<CallOpenAPI> {
 
@@ -43,10 +44,13 @@ public class OpenAPIExecutorBuilder implements CallableTaskBuilder<CallOpenAPI>
         with.getParameters() != null && with.getParameters().getAdditionalProperties() != null
             ? with.getParameters().getAdditionalProperties()
             : Map.of();
-    HttpExecutorBuilder builder =
-        HttpExecutorBuilder.builder(definition)
-            .withAuth(with.getAuthentication())
-            .redirect(with.isRedirect());
+    Supplier<HttpExecutorBuilder> builder =
+        () ->
+            HttpExecutorBuilder.builder(definition)
+                .withAuth(with.getAuthentication())
+                .redirect(with.isRedirect());
+    // fails early if the authentication reference is not defined
+    builder.get();
     return () -> new OpenAPIExecutor(processor, resource, parameters, builder);
   }
 }
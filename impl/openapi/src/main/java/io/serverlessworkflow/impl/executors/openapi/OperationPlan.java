@@ -0,0 +1,156 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.executors.openapi;
+
+import io.serverlessworkflow.impl.TaskContext;
+import io.serverlessworkflow.impl.WorkflowApplication;
+import io.serverlessworkflow.impl.WorkflowContext;
+import io.serverlessworkflow.impl.WorkflowException;
+import io.serverlessworkflow.impl.WorkflowModel;
+import io.serverlessworkflow.impl.executors.http.HttpExecutor;
+import io.serverlessworkflow.impl.executors.http.HttpExecutorBuilder;
+import jakarta.ws.rs.ProcessingException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Operation of an OpenAPI document ready to be invoked: parameters are already split into path,
+ * query, header and body ones and there is one {@link HttpExecutor} per server, in the order they
+ * are declared in the document.
+ *
+ * <p>Servers are tried in order. The next one is only tried when the previous one could not be
+ * reached or replied with a server error, since any other error would be the same for every server.
+ */
+class OperationPlan {
+
+  private static final Logger logger = LoggerFactory.getLogger(OperationPlan.class);
+
+  private final String operationId;
+  private final List<String> servers;
+  private final List<HttpExecutor> executors;
+
+  OperationPlan(
+      WorkflowApplication application,
+      OperationDefinition operation,
+      Map<String, Object> parameters,
+      HttpExecutorBuilder builder) {
+    this.operationId = operation.getOperation().operationId();
+    this.servers = operation.getServers();
+    if (servers.isEmpty()) {
+      throw new IllegalArgumentException(
+          "List of servers is empty for operation '" + operationId + "'");
+    }
+    Map<String, Object> headersMap = new HashMap<>();
+    Map<String, Object> queryMap = new HashMap<>();
+    Map<String, Object> pathParameters = new HashMap<>();
+    Set<String> missingParams = new HashSet<>();
+
+    Map<String, Object> bodyParameters = new HashMap<>(parameters);
+    for (ParameterDefinition parameter : operation.getParameters()) {
+      switch (parameter.in()) {
+        case "header":
+          param(parameter, bodyParameters, headersMap, missingParams);
+          break;
+        case "path":
+          param(parameter, bodyParameters, pathParameters, missingParams);
+          break;
+        case "query":
+          param(parameter, bodyParameters, queryMap, missingParams);
+          break;
+      }
+    }
+
+    if (!missingParams.isEmpty()) {
+      throw new IllegalArgumentException(
+          "Missing required OpenAPI parameters for operation '"
+              + (operationId != null ? operationId : "<unknown>")
+              + "': "
+              + missingParams);
+    }
+    builder
+        .withMethod(operation.getMethod())
+        .withPath(new OperationPathResolver(operation.getPath(), application, pathParameters))
+        .withBody(bodyParameters)
+        .withQueryMap(queryMap)
+        .withHeaders(headersMap);
+    this.executors = servers.stream().map(builder::build).toList();
+  }
+
+  CompletableFuture<WorkflowModel> apply(
+      WorkflowContext workflowContext, TaskContext taskContext, WorkflowModel input) {
+    return apply(0, workflowContext, taskContext, input);
+  }
+
+  private CompletableFuture<WorkflowModel> apply(
+      int index, WorkflowContext workflowContext, TaskContext taskContext, WorkflowModel input) {
+    CompletableFuture<WorkflowModel> future =
+        executors.get(index).apply(workflowContext, taskContext, input);
+    if (index + 1 == executors.size()) {
+      return future;
+    }
+    return future.exceptionallyCompose(
+        ex -> {
+          if (!isServerFailure(ex)) {
+            return CompletableFuture.failedFuture(ex);
+          }
+          logger.debug(
+              "Server {} failed for operation {}, trying {}",
+              servers.get(index),
+              operationId,
+              servers.get(index + 1),
+              ex);
+          return apply(index + 1, workflowContext, taskContext, input);
+        });
+  }
+
+  private static boolean isServerFailure(Throwable ex) {
+    if (ex instanceof CompletionException && ex.getCause() != null) {
+      ex = ex.getCause();
+    }
+    if (ex instanceof WorkflowException workflowException) {
+      return workflowException.getCause() instanceof ProcessingException
+          || workflowException.getWorkflowError().status() >= 500;
+    }
+    return ex instanceof ProcessingException;
+  }
+
+  private static void param(
+      ParameterDefinition parameter,
+      Map<String, Object> origMap,
+      Map<String, Object> collectorMap,
+      Set<String> missingParams) {
+    String name = parameter.name();
+    if (origMap.containsKey(name)) {
+      collectorMap.put(parameter.name(), origMap.remove(name));
+    } else if (parameter.required()) {
+
+      UnifiedOpenAPI.Schema schema = parameter.schema();
+      Object defaultValue = schema != null ? schema._default() : null;
+      if (defaultValue != null) {
+        collectorMap.put(name, defaultValue);
+      } else {
+        missingParams.add(name);
+      }
+    }
+  }
+}
@@ -16,6 +16,7 @@
 package io.serverlessworkflow.impl.persistence;
 
 import io.serverlessworkflow.impl.WorkflowDefinitionData;
+import io.serverlessworkflow.impl.WorkloadType;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
@@ -26,13 +27,17 @@ public abstract class AbstractAsyncPersistenceExecutor implements PersistenceExe
   public CompletableFuture<Void> execute(Runnable runnable, WorkflowDefinitionData definition) {
 
     return CompletableFuture.runAsync(
-        runnable, executorService().orElse(definition.application().executorService()));
+        runnable,
+        executorService()
+            .orElse(definition.application().executorService(WorkloadType.PERSISTENCE)));
   }
 
   @Override
   public <T> CompletableFuture<T> execute(Supplier<T> runnable, WorkflowDefinitionData definition) {
     return CompletableFuture.supplyAsync(
-        runnable, executorService().orElse(definition.application().executorService()));
+        runnable,
+        executorService()
+            .orElse(definition.application().executorService(WorkloadType.PERSISTENCE)));
   }
 
   protected abstract Optional<ExecutorService> executorService();
@@ -20,12 +20,26 @@ import io.serverlessworkflow.impl.WorkflowContextData;
 import io.serverlessworkflow.impl.WorkflowStatus;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 public abstract class AbstractPersistenceInstanceWriter implements PersistenceInstanceWriter {
 
   public static final String CLOUD_EVENT_IDS = "CloudEventIds";
 
+  private final ContextCheckpointMode checkpointMode;
+  // context checkpoint per instance, only used in ON_CHANGE mode
+  private final Map<String, ContextCheckpoint> checkpoints = new ConcurrentHashMap<>();
+
+  protected AbstractPersistenceInstanceWriter() {
+    this(ContextCheckpointMode.FULL);
+  }
+
+  protected AbstractPersistenceInstanceWriter(ContextCheckpointMode checkpointMode) {
+    this.checkpointMode = checkpointMode;
+  }
+
   @Override
   public CompletableFuture<Void> started(WorkflowContextData workflowContext) {
     return doStartInstance(
@@ -55,6 +69,7 @@ public abstract class AbstractPersistenceInstanceWriter implements PersistenceIn
   }
 
   protected CompletableFuture<Void> removeProcessInstance(WorkflowContextData workflowContext) {
+    checkpoints.remove(workflowContext.instanceData().id());
     return doCompleteInstance(t -> t.removeProcessInstance(workflowContext), workflowContext);
   }
 
@@ -73,7 +88,70 @@ public abstract class AbstractPersistenceInstanceWriter implements PersistenceIn
   @Override
   public CompletableFuture<Void> taskCompleted(
       WorkflowContextData workflowContext, TaskContextData taskContext) {
-    return doTransaction(t -> t.writeCompletedTask(workflowContext, taskContext), workflowContext);
+    if (checkpointMode == ContextCheckpointMode.FULL) {
+      return doTransaction(
+          t -> t.writeCompletedTask(workflowContext, taskContext, true), workflowContext);
+    }
+    long version = workflowContext.contextVersion();
+    if (version == WorkflowContextData.UNKNOWN_CONTEXT_VERSION) {
+      return doTransaction(
+          t -> {
+            t.writeCompletedTask(workflowContext, taskContext, false);
+            t.writeContext(workflowContext);
+          },
+          workflowContext);
+    }
+    String instanceId = workflowContext.instanceData().id();
+    ContextCheckpoint checkpoint =
+        checkpoints.computeIfAbsent(instanceId, k -> new ContextCheckpoint());
+    if (checkpoint.written == version) {
+      return doTransaction(
+          t -> t.writeCompletedTask(workflowContext, taskContext, false), workflowContext);
+    }
+    return checkpoint
+        .enqueue(
+            () -> {
+              // read before the context is written, so the stored context is at least that
+              // version
+              long current = workflowContext.contextVersion();
+              boolean writeContext = current != checkpoint.written;
+              return doTransaction(
+                      t -> {
+                        t.writeCompletedTask(workflowContext, taskContext, false);
+                        if (writeContext) {
+                          t.writeContext(workflowContext);
+                        }
+                      },
+                      workflowContext)
+                  .thenRun(() -> checkpoint.written = current);
+            })
+        .whenComplete((r, e) -> removeIfFinished(workflowContext));
+  }
+
+  // the instance might have been removed while the context was being written
+  private void removeIfFinished(WorkflowContextData workflowContext) {
+    WorkflowStatus status = workflowContext.instanceData().status();
+    if (status == WorkflowStatus.COMPLETED
+        || status == WorkflowStatus.FAULTED
+        || status == WorkflowStatus.CANCELLED) {
+      checkpoints.remove(workflowContext.instanceData().id());
+    }
+  }
+
+  /**
+   * Context writes of an instance are chained, so a stale context never overwrites a newer one when
+   * transactions are committed concurrently. Only a committed context counts as written, a failed
+   * write is retried by the next task.
+   */
+  private static class ContextCheckpoint {
+    private volatile long written = WorkflowContextData.UNKNOWN_CONTEXT_VERSION;
+    private CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+
+    synchronized CompletableFuture<Void> enqueue(Supplier<CompletableFuture<Void>> write) {
+      CompletableFuture<Void> result = tail.handle((r, e) -> null).thenCompose(v -> write.get());
+      tail = result;
+      return result;
+    }
   }
 
   @Override
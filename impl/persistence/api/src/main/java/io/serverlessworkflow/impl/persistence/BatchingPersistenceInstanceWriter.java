@@ -0,0 +1,228 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.persistence;
+
+import io.serverlessworkflow.impl.WorkflowContextData;
+import io.serverlessworkflow.impl.WorkflowDefinitionData;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writer that groups the operations of many instances into a single store transaction.
+ *
+ * <p>Operations are queued and applied in arrival order by one committer thread, which keeps the
+ * order of the operations of every instance. The committer takes whatever is pending, up to <code>
+ * maxBatchSize</code> operations, optionally waiting up to <code>maxDelay</code> for the batch to
+ * fill, and commits it. The future returned for every operation completes once the transaction
+ * containing it has been committed. If a batch cannot be committed, its operations are retried one
+ * per transaction, so only the faulty ones fail. If a transaction cannot even be started, or an
+ * unexpected error is thrown, the operations of the batch fail and the committer goes on with the
+ * next batch.
+ */
+public class BatchingPersistenceInstanceWriter extends AbstractPersistenceInstanceWriter {
+
+  private static final Logger logger =
+      LoggerFactory.getLogger(BatchingPersistenceInstanceWriter.class);
+
+  public static final int DEFAULT_MAX_BATCH_SIZE = 256;
+  public static final Duration DEFAULT_MAX_DELAY = Duration.ZERO;
+
+  private static final PendingOperation CLOSE = new PendingOperation(null, null, null);
+
+  private final PersistenceInstanceStore store;
+  private final int maxBatchSize;
+  private final long maxDelayNanos;
+  private final BlockingQueue<PendingOperation> queue = new LinkedBlockingQueue<>();
+  private final AtomicBoolean started = new AtomicBoolean();
+  private final Thread committer;
+  // operations are queued under the read lock, so none can follow the close marker
+  private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+  private boolean closed;
+
+  private record PendingOperation(
+      Consumer<PersistenceInstanceOperations> operation,
+      WorkflowDefinitionData definition,
+      CompletableFuture<Void> future) {}
+
+  protected BatchingPersistenceInstanceWriter(
+      PersistenceInstanceStore store,
+      int maxBatchSize,
+      Duration maxDelay,
+      ContextCheckpointMode checkpointMode) {
+    super(checkpointMode);
+    if (maxBatchSize <= 0 || maxDelay.isNegative()) {
+      throw new IllegalArgumentException(
+          "Batch size should be positive and delay should not be negative, but they are "
+              + maxBatchSize
+              + " and "
+              + maxDelay);
+    }
+    this.store = store;
+    this.maxBatchSize = maxBatchSize;
+    this.maxDelayNanos = maxDelay.toNanos();
+    this.committer = new Thread(this::run, "workflow-persistence-committer");
+    committer.setDaemon(true);
+  }
+
+  @Override
+  protected CompletableFuture<Void> doTransaction(
+      Consumer<PersistenceInstanceOperations> operation, WorkflowContextData context) {
+    PendingOperation pending =
+        new PendingOperation(operation, context.definition(), new CompletableFuture<>());
+    Lock lock = closeLock.readLock();
+    lock.lock();
+    try {
+      if (closed) {
+        return CompletableFuture.failedFuture(closedException());
+      }
+      if (started.compareAndSet(false, true)) {
+        committer.start();
+      }
+      queue.add(pending);
+    } finally {
+      lock.unlock();
+    }
+    return pending.future();
+  }
+
+  private void run() {
+    List<PendingOperation> batch = new ArrayList<>(maxBatchSize);
+    boolean running = true;
+    while (running) {
+      try {
+        batch.add(queue.take());
+        fill(batch);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        running = false;
+      }
+      int closeIndex = batch.indexOf(CLOSE);
+      if (closeIndex >= 0) {
+        batch.subList(closeIndex, batch.size()).clear();
+        running = false;
+      }
+      try {
+        commit(batch);
+      } catch (Throwable ex) {
+        // the committer must survive, otherwise every later operation would wait forever
+        logger.error("Unexpected error committing batch of {} operations", batch.size(), ex);
+        batch.forEach(pending -> pending.future().completeExceptionally(ex));
+      }
+      batch.clear();
+    }
+  }
+
+  private void fill(List<PendingOperation> batch) throws InterruptedException {
+    long deadline = System.nanoTime() + maxDelayNanos;
+    while (batch.size() < maxBatchSize && !batch.contains(CLOSE)) {
+      if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+        continue;
+      }
+      long remaining = deadline - System.nanoTime();
+      if (remaining <= 0) {
+        break;
+      }
+      PendingOperation next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+      if (next == null) {
+        break;
+      }
+      batch.add(next);
+    }
+  }
+
+  private void commit(List<PendingOperation> batch) {
+    // commit and rollback receive the definition, so a transaction cannot span several of them
+    Map<WorkflowDefinitionData, List<PendingOperation>> byDefinition = new LinkedHashMap<>();
+    for (PendingOperation pending : batch) {
+      byDefinition.computeIfAbsent(pending.definition(), k -> new ArrayList<>()).add(pending);
+    }
+    byDefinition.forEach(this::commit);
+  }
+
+  private void commit(WorkflowDefinitionData definition, List<PendingOperation> operations) {
+    PersistenceInstanceTransaction transaction = null;
+    try {
+      transaction = store.begin();
+      for (PendingOperation pending : operations) {
+        pending.operation().accept(transaction);
+      }
+      transaction.commit(definition);
+    } catch (RuntimeException ex) {
+      if (transaction == null) {
+        logger.debug("Cannot begin transaction for {} operations", operations.size(), ex);
+        operations.forEach(pending -> pending.future().completeExceptionally(ex));
+        return;
+      }
+      try {
+        transaction.rollback(definition);
+      } catch (RuntimeException rollEx) {
+        logger.warn("Exception during rollback. Ignoring it", rollEx);
+      }
+      if (operations.size() == 1) {
+        operations.get(0).future().completeExceptionally(ex);
+      } else {
+        logger.debug(
+            "Error committing batch of {} operations, retrying them one by one",
+            operations.size(),
+            ex);
+        operations.forEach(pending -> commit(definition, List.of(pending)));
+      }
+      return;
+    }
+    operations.forEach(pending -> pending.future().complete(null));
+  }
+
+  @Override
+  public void close() throws InterruptedException {
+    Lock lock = closeLock.writeLock();
+    lock.lock();
+    try {
+      if (closed) {
+        return;
+      }
+      closed = true;
+    } finally {
+      lock.unlock();
+    }
+    if (started.get()) {
+      queue.add(CLOSE);
+      committer.join();
+    }
+    List<PendingOperation> pending = new ArrayList<>();
+    queue.drainTo(pending);
+    pending.stream()
+        .filter(p -> p != CLOSE)
+        .forEach(p -> p.future().completeExceptionally(closedException()));
+  }
+
+  private static IllegalStateException closedException() {
+    return new IllegalStateException("Persistence writer has been closed");
+  }
+}
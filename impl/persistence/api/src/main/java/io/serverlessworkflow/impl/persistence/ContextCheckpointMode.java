@@ -0,0 +1,29 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.persistence;
+
+/** How the workflow context is persisted when a task completes */
+public enum ContextCheckpointMode {
+  /** The whole context is stored with every completed task. This is the default */
+  FULL,
+  /**
+   * The context is stored in its own entry, only when it has changed since the last time it was
+   * written for the instance. Contexts whose version is unknown are written with every completed
+   * task. Task records written in this mode cannot be read by releases that do not support it, so
+   * it must be enabled only once every reader of the store has been upgraded.
+   */
+  ON_CHANGE
+}
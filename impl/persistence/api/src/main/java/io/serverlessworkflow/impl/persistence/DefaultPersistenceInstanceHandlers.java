@@ -17,6 +17,7 @@ package io.serverlessworkflow.impl.persistence;
 
 import static io.serverlessworkflow.impl.WorkflowUtils.safeClose;
 
+import java.time.Duration;
 import java.util.concurrent.ExecutorService;
 
 public class DefaultPersistenceInstanceHandlers extends PersistenceInstanceHandlers {
@@ -25,6 +26,9 @@ public class DefaultPersistenceInstanceHandlers extends PersistenceInstanceHandl
 
     private final PersistenceInstanceStore store;
     private PersistenceExecutor executor;
+    private ContextCheckpointMode checkpointMode = ContextCheckpointMode.FULL;
+    private int maxBatchSize;
+    private Duration maxBatchDelay;
 
     private Builder(PersistenceInstanceStore store) {
       this.store = store;
@@ -40,10 +44,36 @@ public class DefaultPersistenceInstanceHandlers extends PersistenceInstanceHandl
       return this;
     }
 
+    public Builder withContextCheckpointMode(ContextCheckpointMode checkpointMode) {
+      this.checkpointMode = checkpointMode;
+      return this;
+    }
+
+    /**
+     * Groups the operations of concurrent instances into shared transactions, see {@link
+     * BatchingPersistenceInstanceWriter}. The persistence executor is not used then.
+     */
+    public Builder withGroupCommit(int maxBatchSize, Duration maxBatchDelay) {
+      this.maxBatchSize = maxBatchSize;
+      this.maxBatchDelay = maxBatchDelay;
+      return this;
+    }
+
+    public Builder withGroupCommit() {
+      return withGroupCommit(
+          BatchingPersistenceInstanceWriter.DEFAULT_MAX_BATCH_SIZE,
+          BatchingPersistenceInstanceWriter.DEFAULT_MAX_DELAY);
+    }
+
     public PersistenceInstanceHandlers build() {
       return new DefaultPersistenceInstanceHandlers(
-          new DefaultPersistenceInstanceWriter(
-              store, executor == null ? new AsyncPersistenceExecutor() : executor),
+          maxBatchDelay == null
+              ? new DefaultPersistenceInstanceWriter(
+                  store,
+                  executor == null ? new AsyncPersistenceExecutor() : executor,
+                  checkpointMode)
+              : new BatchingPersistenceInstanceWriter(
+                  store, maxBatchSize, maxBatchDelay, checkpointMode),
           new DefaultPersistenceInstanceReader(store),
           store);
     }
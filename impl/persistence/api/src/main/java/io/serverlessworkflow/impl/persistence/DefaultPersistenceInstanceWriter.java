@@ -31,6 +31,14 @@ public class DefaultPersistenceInstanceWriter extends TransactedPersistenceInsta
 
   protected DefaultPersistenceInstanceWriter(
       PersistenceInstanceStore store, PersistenceExecutor persistenceExecutor) {
+    this(store, persistenceExecutor, ContextCheckpointMode.FULL);
+  }
+
+  protected DefaultPersistenceInstanceWriter(
+      PersistenceInstanceStore store,
+      PersistenceExecutor persistenceExecutor,
+      ContextCheckpointMode checkpointMode) {
+    super(checkpointMode);
     this.store = store;
     this.persistenceExecutor = persistenceExecutor;
   }
@@ -27,7 +27,16 @@ public interface PersistenceInstanceOperations extends CorrelationOperations {
 
   void writeRetryTask(WorkflowContextData workflowContext, TaskContextData taskContext);
 
-  void writeCompletedTask(WorkflowContextData workflowContext, TaskContextData taskContext);
+  default void writeCompletedTask(
+      WorkflowContextData workflowContext, TaskContextData taskContext) {
+    writeCompletedTask(workflowContext, taskContext, true);
+  }
+
+  void writeCompletedTask(
+      WorkflowContextData workflowContext, TaskContextData taskContext, boolean includeContext);
+
+  /** Stores the current workflow context, replacing the one previously stored for the instance */
+  void writeContext(WorkflowContextData workflowContext);
 
   void writeStatus(WorkflowContextData workflowContext, WorkflowStatus suspended);
 
@@ -23,6 +23,12 @@ import java.util.function.Consumer;
 public abstract class TransactedPersistenceInstanceWriter
     extends AbstractPersistenceInstanceWriter {
 
+  protected TransactedPersistenceInstanceWriter() {}
+
+  protected TransactedPersistenceInstanceWriter(ContextCheckpointMode checkpointMode) {
+    super(checkpointMode);
+  }
+
   @Override
   protected CompletableFuture<Void> doTransaction(
       Consumer<PersistenceInstanceOperations> operation, WorkflowContextData context) {
@@ -24,12 +24,16 @@ import io.serverlessworkflow.impl.WorkflowModel;
 import io.serverlessworkflow.impl.WorkflowMutableInstance;
 import io.serverlessworkflow.impl.WorkflowStatus;
 import io.serverlessworkflow.impl.executors.TransitionInfo;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class WorkflowPersistenceInstance extends WorkflowMutableInstance {
 
   private final PersistenceWorkflowInfo info;
+  // parallel loop iterations restore their tasks concurrently
+  private final Map<String, PersistenceTaskInfo> tasks;
 
   public static WorkflowInstance of(WorkflowDefinition definition, PersistenceWorkflowInfo info) {
     return definition
@@ -40,11 +44,12 @@ public class WorkflowPersistenceInstance extends WorkflowMutableInstance {
   private WorkflowPersistenceInstance(WorkflowDefinition definition, PersistenceWorkflowInfo info) {
     super(definition, info.id(), info.input());
     this.info = info;
+    this.tasks = new ConcurrentHashMap<>(info.tasks());
     info.tasks()
         .forEach(
             (k, v) -> {
               if (v instanceof CompletedTaskInfo task) {
-                iterationsMap.put(k, task.iteration());
+                iteration(k, task.iteration());
               }
             });
     this.startedAt = info.startedAt();
@@ -63,10 +68,10 @@ public class WorkflowPersistenceInstance extends WorkflowMutableInstance {
 
   @Override
   public void restoreContext(WorkflowContext workflow, TaskContext context) {
-    if (info.tasks().isEmpty()) {
+    if (tasks.isEmpty()) {
       return;
     }
-    PersistenceTaskInfo taskInfo = info.tasks().remove(context.position().jsonPointer());
+    PersistenceTaskInfo taskInfo = tasks.remove(context.position().jsonPointer());
     if (taskInfo == null) {
       return;
     }
@@ -79,7 +84,12 @@ public class WorkflowPersistenceInstance extends WorkflowMutableInstance {
                   ? null
                   : workflow.definition().taskExecutor(completedTaskInfo.nextPosition()),
               completedTaskInfo.isEndNode()));
-      workflow.context(completedTaskInfo.context());
+      // unless checkpointed in full, only the latest context is stored, apart from the tasks
+      WorkflowModel taskContext =
+          completedTaskInfo.context() == null ? info.context() : completedTaskInfo.context();
+      if (taskContext != null) {
+        workflow.context(taskContext);
+      }
     } else if (taskInfo instanceof RetriedTaskInfo retriedTaskInfo) {
       if (context.retryAttempt() == 0) {
         context.retryAttempt(retriedTaskInfo.retryAttempt());
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.serverlessworkflow.impl.WorkflowContextData;
+import io.serverlessworkflow.impl.WorkflowDefinitionData;
+import io.serverlessworkflow.impl.WorkflowInstanceData;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class BatchingPersistenceInstanceWriterTest {
+
+  private record Committed(WorkflowDefinitionData definition, List<String> instances) {}
+
+  private final List<Committed> committed = Collections.synchronizedList(new ArrayList<>());
+  private final CountDownLatch firstCommit = new CountDownLatch(1);
+  private final CountDownLatch release = new CountDownLatch(1);
+  private final WorkflowDefinitionData definition = mock(WorkflowDefinitionData.class);
+  private BatchingPersistenceInstanceWriter writer;
+  private volatile boolean failBegin;
+
+  @AfterEach
+  void close() throws InterruptedException {
+    release.countDown();
+    writer.close();
+  }
+
+  @Test
+  void testBatchGrouping() throws Exception {
+    writer = writer(256);
+    blockFirstCommit();
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int i = 1; i <= 5; i++) {
+      futures.add(write("i" + i, definition));
+    }
+    release.countDown();
+    CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+    assertThat(committed)
+        .containsExactly(
+            new Committed(definition, List.of("i0")),
+            new Committed(definition, List.of("i1", "i2", "i3", "i4", "i5")));
+  }
+
+  @Test
+  void testMaxBatchSize() throws Exception {
+    writer = writer(2);
+    blockFirstCommit();
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int i = 1; i <= 5; i++) {
+      futures.add(write("i" + i, definition));
+    }
+    release.countDown();
+    CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+    assertThat(committed)
+        .containsExactly(
+            new Committed(definition, List.of("i0")),
+            new Committed(definition, List.of("i1", "i2")),
+            new Committed(definition, List.of("i3", "i4")),
+            new Committed(definition, List.of("i5")));
+  }
+
+  @Test
+  void testCommitOrderPerDefinition() throws Exception {
+    WorkflowDefinitionData other = mock(WorkflowDefinitionData.class);
+    writer = writer(256);
+    blockFirstCommit();
+    List<CompletableFuture<Void>> futures =
+        List.of(
+            write("a1", other),
+            write("b1", definition),
+            write("a2", other),
+            write("b2", definition));
+    release.countDown();
+    CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+    assertThat(committed)
+        .containsExactly(
+            new Committed(definition, List.of("i0")),
+            new Committed(other, List.of("a1", "a2")),
+            new Committed(definition, List.of("b1", "b2")));
+  }
+
+  @Test
+  void testFailedBatchFallsBackToSingleOperations() throws Exception {
+    writer = writer(256);
+    blockFirstCommit();
+    CompletableFuture<Void> first = write("i1", definition);
+    CompletableFuture<Void> failing = write("fail", definition);
+    CompletableFuture<Void> last = write("i2", definition);
+    release.countDown();
+    first.get(5, TimeUnit.SECONDS);
+    last.get(5, TimeUnit.SECONDS);
+    assertThat(failing).failsWithin(Duration.ofSeconds(5));
+    assertThat(committed)
+        .containsExactly(
+            new Committed(definition, List.of("i0")),
+            new Committed(definition, List.of("i1")),
+            new Committed(definition, List.of("i2")));
+  }
+
+  @Test
+  void testBeginFailure() throws Exception {
+    writer = writer(256);
+    blockFirstCommit();
+    failBegin = true;
+    CompletableFuture<Void> failing = write("i1", definition);
+    release.countDown();
+    assertThat(failing).failsWithin(Duration.ofSeconds(5));
+    failBegin = false;
+    write("i2", definition).get(5, TimeUnit.SECONDS);
+    assertThat(committed)
+        .containsExactly(
+            new Committed(definition, List.of("i0")), new Committed(definition, List.of("i2")));
+  }
+
+  @Test
+  void testUnexpectedError() throws Exception {
+    writer = writer(256);
+    release.countDown();
+    assertThat(write("error", definition)).failsWithin(Duration.ofSeconds(5));
+    write("i1", definition).get(5, TimeUnit.SECONDS);
+    assertThat(committed).containsExactly(new Committed(definition, List.of("i1")));
+  }
+
+  @Test
+  void testWriteWhileClosing() throws Exception {
+    writer = writer(256);
+    release.countDown();
+    List<CompletableFuture<Void>> futures = Collections.synchronizedList(new ArrayList<>());
+    Thread producer =
+        new Thread(
+            () -> {
+              for (int i = 0; i < 10000; i++) {
+                futures.add(write("i" + i, definition));
+              }
+            });
+    producer.start();
+    while (futures.size() < 100) {
+      Thread.onSpinWait();
+    }
+    writer.close();
+    producer.join();
+    // every operation is either committed or rejected, none is left behind
+    CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+        .exceptionally(ex -> null)
+        .get(5, TimeUnit.SECONDS);
+    assertThat(futures.get(futures.size() - 1)).isCompletedExceptionally();
+    assertThat(committed.stream().mapToInt(c -> c.instances().size()).sum())
+        .isEqualTo(futures.stream().filter(f -> !f.isCompletedExceptionally()).count());
+  }
+
+  private BatchingPersistenceInstanceWriter writer(int maxBatchSize) {
+    return new BatchingPersistenceInstanceWriter(
+        this::begin, maxBatchSize, Duration.ZERO, ContextCheckpointMode.ON_CHANGE);
+  }
+
+  // commits a first operation and keeps the committer busy until released
+  private void blockFirstCommit() throws InterruptedException {
+    write("i0", definition);
+    assertThat(firstCommit.await(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  private CompletableFuture<Void> write(String instanceId, WorkflowDefinitionData definition) {
+    WorkflowContextData context = mock(WorkflowContextData.class);
+    WorkflowInstanceData instance = mock(WorkflowInstanceData.class);
+    when(instance.id()).thenReturn(instanceId);
+    when(context.instanceData()).thenReturn(instance);
+    when(context.definition()).thenReturn(definition);
+    return writer.suspended(context);
+  }
+
+  private PersistenceInstanceTransaction begin() {
+    if (failBegin) {
+      throw new IllegalStateException("Store is not available");
+    }
+    List<String> instances = new ArrayList<>();
+    PersistenceInstanceTransaction transaction = mock(PersistenceInstanceTransaction.class);
+    doAnswer(
+            invocation -> {
+              String id = invocation.<WorkflowContextData>getArgument(0).instanceData().id();
+              if (id.equals("fail")) {
+                throw new IllegalStateException("Cannot write " + id);
+              } else if (id.equals("error")) {
+                throw new AssertionError("Cannot write " + id);
+              }
+              instances.add(id);
+              return null;
+            })
+        .when(transaction)
+        .writeStatus(any(), any());
+    doAnswer(
+            invocation -> {
+              firstCommit.countDown();
+              release.await();
+              committed.add(new Committed(invocation.getArgument(0), instances));
+              return null;
+            })
+        .when(transaction)
+        .commit(any());
+    return transaction;
+  }
+}
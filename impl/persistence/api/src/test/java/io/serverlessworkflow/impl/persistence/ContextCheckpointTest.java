@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.serverlessworkflow.impl.TaskContextData;
+import io.serverlessworkflow.impl.WorkflowContextData;
+import io.serverlessworkflow.impl.WorkflowInstanceData;
+import io.serverlessworkflow.impl.WorkflowStatus;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ContextCheckpointTest {
+
+  private record Pending(
+      Consumer<PersistenceInstanceOperations> operation, CompletableFuture<Void> result) {}
+
+  private final List<Pending> pending = new ArrayList<>();
+  private final AtomicLong version = new AtomicLong();
+  private final WorkflowContextData context = mock(WorkflowContextData.class);
+  private final TaskContextData task = mock(TaskContextData.class);
+  private AbstractPersistenceInstanceWriter writer;
+
+  @BeforeEach
+  void setup() {
+    WorkflowInstanceData instance = mock(WorkflowInstanceData.class);
+    when(instance.id()).thenReturn("instance");
+    when(instance.status()).thenReturn(WorkflowStatus.RUNNING);
+    when(context.instanceData()).thenReturn(instance);
+    when(context.contextVersion()).thenAnswer(invocation -> version.get());
+    writer =
+        new AbstractPersistenceInstanceWriter(ContextCheckpointMode.ON_CHANGE) {
+          @Override
+          protected CompletableFuture<Void> doTransaction(
+              Consumer<PersistenceInstanceOperations> operation, WorkflowContextData context) {
+            CompletableFuture<Void> result = new CompletableFuture<>();
+            pending.add(new Pending(operation, result));
+            return result;
+          }
+        };
+  }
+
+  @Test
+  void testContextWritesAreChained() {
+    version.set(1);
+    CompletableFuture<Void> first = writer.taskCompleted(context, task);
+    version.set(2);
+    CompletableFuture<Void> second = writer.taskCompleted(context, task);
+    // the second context write waits for the first one to be committed
+    assertThat(pending).hasSize(1);
+    PersistenceInstanceOperations firstOps = commit(0);
+    verify(firstOps).writeContext(context);
+    assertThat(first).isCompleted();
+    assertThat(pending).hasSize(2);
+    PersistenceInstanceOperations secondOps = commit(1);
+    verify(secondOps).writeContext(context);
+    assertThat(second).isCompleted();
+    // the context has not changed since it was last written
+    writer.taskCompleted(context, task);
+    PersistenceInstanceOperations thirdOps = commit(2);
+    verify(thirdOps).writeCompletedTask(context, task, false);
+    verify(thirdOps, never()).writeContext(any());
+  }
+
+  @Test
+  void testFailedContextWriteIsRetried() {
+    version.set(1);
+    CompletableFuture<Void> first = writer.taskCompleted(context, task);
+    pending.get(0).result().completeExceptionally(new IllegalStateException("Store failure"));
+    assertThat(first).isCompletedExceptionally();
+    writer.taskCompleted(context, task);
+    PersistenceInstanceOperations ops = commit(1);
+    verify(ops, times(1)).writeContext(context);
+  }
+
+  private PersistenceInstanceOperations commit(int index) {
+    PersistenceInstanceOperations ops = mock(PersistenceInstanceOperations.class);
+    Pending transaction = pending.get(index);
+    transaction.operation().accept(ops);
+    transaction.result().complete(null);
+    return ops;
+  }
+}
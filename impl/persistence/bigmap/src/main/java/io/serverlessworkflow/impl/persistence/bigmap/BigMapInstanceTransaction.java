@@ -22,6 +22,7 @@ import io.serverlessworkflow.impl.WorkflowContextData;
 import io.serverlessworkflow.impl.WorkflowDefinition;
 import io.serverlessworkflow.impl.WorkflowDefinitionData;
 import io.serverlessworkflow.impl.WorkflowInstanceData;
+import io.serverlessworkflow.impl.WorkflowModel;
 import io.serverlessworkflow.impl.WorkflowStatus;
 import io.serverlessworkflow.impl.persistence.PersistenceInstanceInfo;
 import io.serverlessworkflow.impl.persistence.PersistenceInstanceTransaction;
@@ -37,6 +38,9 @@ import java.util.stream.Stream;
 public abstract class BigMapInstanceTransaction<V, T, S, A, C, P>
     implements PersistenceInstanceTransaction {
 
+  /** Entry of the instance tasks map holding the context, when it is not stored with each task */
+  protected static final String CONTEXT_KEY = "#context";
+
   @Override
   public void writeInstanceData(WorkflowContextData workflowContext) {
     String key = key(workflowContext);
@@ -48,18 +52,25 @@ public abstract class BigMapInstanceTransaction<V, T, S, A, C, P>
 
   @Override
   public void writeRetryTask(WorkflowContextData workflowContext, TaskContextData taskContext) {
-    tasks(key(workflowContext))
+    tasks(workflowContext.definition(), key(workflowContext))
         .put(
             taskContext.position().jsonPointer(),
             marshallTaskRetried(workflowContext, (TaskContext) taskContext));
   }
 
   @Override
-  public void writeCompletedTask(WorkflowContextData workflowContext, TaskContextData taskContext) {
-    tasks(key(workflowContext))
+  public void writeCompletedTask(
+      WorkflowContextData workflowContext, TaskContextData taskContext, boolean includeContext) {
+    tasks(workflowContext.definition(), key(workflowContext))
         .put(
             taskContext.position().jsonPointer(),
-            marshallTaskCompleted(workflowContext, (TaskContext) taskContext));
+            marshallTaskCompleted(workflowContext, (TaskContext) taskContext, includeContext));
+  }
+
+  @Override
+  public void writeContext(WorkflowContextData workflowContext) {
+    tasks(workflowContext.definition(), key(workflowContext))
+        .put(CONTEXT_KEY, marshallContext(workflowContext.context()));
   }
 
   @Override
@@ -73,7 +84,10 @@ public abstract class BigMapInstanceTransaction<V, T, S, A, C, P>
         .map(
             e ->
                 readPersistenceInfo(
-                    e.getKey(), e.getValue(), tasks(e.getKey()), status.get(e.getKey())));
+                    e.getKey(),
+                    e.getValue(),
+                    tasks(definition, e.getKey()),
+                    status.get(e.getKey())));
   }
 
   private boolean testAppl(Map<String, A> applicationData, String key, String applicationId) {
@@ -87,7 +101,8 @@ public abstract class BigMapInstanceTransaction<V, T, S, A, C, P>
     Map<String, V> instances = instanceData(definition);
     return instances.containsKey(key)
         ? Optional.of(
-            readPersistenceInfo(key, instances.get(key), tasks(key), status(definition).get(key)))
+            readPersistenceInfo(
+                key, instances.get(key), tasks(definition, key), status(definition).get(key)))
         : Optional.empty();
   }
 
@@ -102,7 +117,7 @@ public abstract class BigMapInstanceTransaction<V, T, S, A, C, P>
     WorkflowDefinitionData definition = workflowContext.definition();
     instanceData(definition).remove(key);
     clearStatus(definition, key);
-    removeTasks(key);
+    removeTasks(definition, key);
   }
 
   @Override
@@ -156,14 +171,17 @@ public abstract class BigMapInstanceTransaction<V, T, S, A, C, P>
   protected PersistenceWorkflowInfo readPersistenceInfo(
       String instanceId, V instanceData, Map<String, T> tasksData, S status) {
     PersistenceInstanceInfo instanceInfo = unmarshallInstanceInfo(instanceData);
+    T contextData = tasksData.get(CONTEXT_KEY);
     return new PersistenceWorkflowInfo(
         instanceId,
         instanceInfo.startedAt(),
         instanceInfo.input(),
         status == null ? null : unmarshallStatus(status),
         tasksData.entrySet().stream()
+            .filter(entry -> !entry.getKey().equals(CONTEXT_KEY))
             .collect(
-                Collectors.toMap(Entry::getKey, entry -> unmarshallTaskInfo(entry.getValue()))));
+                Collectors.toMap(Entry::getKey, entry -> unmarshallTaskInfo(entry.getValue()))),
+        contextData == null ? null : unmarshallContext(contextData));
   }
 
   private String key(WorkflowContextData workflowContext) {
@@ -178,6 +196,11 @@ public abstract class BigMapInstanceTransaction<V, T, S, A, C, P>
 
   protected abstract Map<String, T> tasks(String instanceId);
 
+  /** Tasks of the instance, for stores that keep them per definition rather than per instance */
+  protected Map<String, T> tasks(WorkflowDefinitionData definition, String instanceId) {
+    return tasks(instanceId);
+  }
+
   protected abstract Map<String, C> cloudEvents(String regId);
 
   protected abstract Map<String, P> processedCloudEvents(String regId);
@@ -191,7 +214,11 @@ public abstract class BigMapInstanceTransaction<V, T, S, A, C, P>
   protected abstract V marshallInstance(WorkflowInstanceData instance);
 
   protected abstract T marshallTaskCompleted(
-      WorkflowContextData workflowContext, TaskContext taskContext);
+      WorkflowContextData workflowContext, TaskContext taskContext, boolean includeContext);
+
+  protected abstract T marshallContext(WorkflowModel context);
+
+  protected abstract WorkflowModel unmarshallContext(T contextData);
 
   protected abstract T marshallTaskRetried(
       WorkflowContextData workflowContext, TaskContext taskContext);
@@ -210,5 +237,9 @@ public abstract class BigMapInstanceTransaction<V, T, S, A, C, P>
 
   protected abstract void removeTasks(String key);
 
+  protected void removeTasks(WorkflowDefinitionData definition, String key) {
+    removeTasks(key);
+  }
+
   protected abstract void deleteAllProcessedMaps();
 }
@@ -47,6 +47,7 @@ public abstract class BytesMapInstanceTransaction
   private static final byte VERSION_0 = 0;
   private static final byte VERSION_1 = 1;
   private static final byte VERSION_2 = 2;
+  private static final byte VERSION_3 = 3;
   private static final byte[] PROCESSED_VALUE = new byte[] {1};
 
   private final WorkflowBufferFactory factory;
@@ -56,15 +57,19 @@ public abstract class BytesMapInstanceTransaction
   }
 
   @Override
-  protected byte[] marshallTaskCompleted(WorkflowContextData contextData, TaskContext taskContext) {
+  protected byte[] marshallTaskCompleted(
+      WorkflowContextData contextData, TaskContext taskContext, boolean includeContext) {
 
-    try (ByteArrayOutputStream bytes = new ByteArrayOutputStream();
-        WorkflowOutputBuffer writer = factory.output(bytes)) {
-      writer.writeByte(VERSION_2);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (WorkflowOutputBuffer writer = factory.output(bytes)) {
+      // records holding the context keep the version 2 layout, readable by older releases
+      writer.writeByte(includeContext ? VERSION_2 : VERSION_3);
       writer.writeEnum(TaskStatus.COMPLETED);
       writer.writeInstant(taskContext.completedAt());
       writeModel(writer, taskContext.output());
-      writeModel(writer, contextData.context());
+      if (includeContext) {
+        writeModel(writer, contextData.context());
+      }
       TransitionInfo transition = taskContext.transition();
       writer.writeBoolean(transition.isEndNode());
       AbstractTaskExecutor<?> next = (AbstractTaskExecutor<?>) transition.next();
@@ -75,36 +80,48 @@ public abstract class BytesMapInstanceTransaction
         writer.writeString(next.position().jsonPointer());
       }
       writer.writeInt(taskContext.iteration());
-      return bytes.toByteArray();
-    } catch (IOException e) {
-      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  @Override
+  protected byte[] marshallContext(WorkflowModel context) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (WorkflowOutputBuffer writer = factory.output(bytes)) {
+      writer.writeByte(VERSION_0);
+      writeModel(writer, context);
+    }
+    return bytes.toByteArray();
+  }
+
+  @Override
+  protected WorkflowModel unmarshallContext(byte[] contextData) {
+    try (WorkflowInputBuffer buffer = factory.input(new ByteArrayInputStream(contextData))) {
+      buffer.readByte(); // version byte not used at the moment
+      return (WorkflowModel) buffer.readObject();
     }
   }
 
   @Override
   protected byte[] marshallStatus(WorkflowStatus status) {
-    try (ByteArrayOutputStream bytes = new ByteArrayOutputStream();
-        WorkflowOutputBuffer writer = factory.output(bytes)) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (WorkflowOutputBuffer writer = factory.output(bytes)) {
       writer.writeByte(VERSION_0);
       writer.writeEnum(status);
-      return bytes.toByteArray();
-    } catch (IOException e) {
-      throw new UncheckedIOException(e);
     }
+    return bytes.toByteArray();
   }
 
   @Override
   protected byte[] marshallInstance(WorkflowInstanceData instance) {
 
-    try (ByteArrayOutputStream bytes = new ByteArrayOutputStream();
-        WorkflowOutputBuffer writer = factory.output(bytes)) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (WorkflowOutputBuffer writer = factory.output(bytes)) {
       writer.writeByte(VERSION_0);
       writer.writeInstant(instance.startedAt());
       writeModel(writer, instance.input());
-      return bytes.toByteArray();
-    } catch (IOException e) {
-      throw new UncheckedIOException(e);
     }
+    return bytes.toByteArray();
   }
 
   protected void writeModel(WorkflowOutputBuffer writer, WorkflowModel model) {
@@ -142,11 +159,30 @@ public abstract class BytesMapInstanceTransaction
           return readVersion1(buffer);
         case VERSION_2:
           return readVersion2(buffer);
+        case VERSION_3:
+          return readVersion3(buffer);
       }
       throw new UnsupportedOperationException("Unknown version " + version);
     }
   }
 
+  private PersistenceTaskInfo readVersion3(WorkflowInputBuffer buffer) {
+    TaskStatus taskStatus = buffer.readEnum(TaskStatus.class);
+    switch (taskStatus) {
+      case COMPLETED:
+        return new CompletedTaskInfo(
+            buffer.readInstant(),
+            (WorkflowModel) buffer.readObject(),
+            null,
+            buffer.readBoolean(),
+            buffer.readBoolean() ? buffer.readString() : null,
+            buffer.readInt());
+      case RETRIED:
+        return new RetriedTaskInfo(buffer.readInt());
+    }
+    throw new UnsupportedOperationException("Unknown status " + taskStatus);
+  }
+
   private PersistenceTaskInfo readVersion2(WorkflowInputBuffer buffer) {
     TaskStatus taskStatus = buffer.readEnum(TaskStatus.class);
     switch (taskStatus) {
@@ -201,8 +237,8 @@ public abstract class BytesMapInstanceTransaction
   }
 
   protected byte[] marshallCloudEvent(CloudEvent event) {
-    try (ByteArrayOutputStream bytes = new ByteArrayOutputStream();
-        WorkflowOutputBuffer writer = factory.output(bytes)) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (WorkflowOutputBuffer writer = factory.output(bytes)) {
       writer.writeEnum(event.getSpecVersion());
       writer.writeString(event.getId());
       writer.writeString(event.getType());
@@ -213,10 +249,8 @@ public abstract class BytesMapInstanceTransaction
       writer.writeObject(event.getDataContentType());
       writer.writeObject(event.getData() == null ? null : event.getData().toBytes());
       MarshallingUtils.writeCloudEventExtensions(writer, event);
-      return bytes.toByteArray();
-    } catch (IOException e) {
-      throw new UncheckedIOException(e);
     }
+    return bytes.toByteArray();
   }
 
   protected CloudEvent unmarshallCloudEvent(byte[] eventData) {
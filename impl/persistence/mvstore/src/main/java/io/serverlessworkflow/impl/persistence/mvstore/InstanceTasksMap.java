@@ -0,0 +1,107 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.persistence.mvstore;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.h2.mvstore.tx.TransactionMap;
+
+/**
+ * Tasks of one instance within the map shared by all instances of a definition, whose keys are the
+ * instance id, a separator and the task position. Lookups are point reads and iteration is a range
+ * scan over the instance prefix.
+ */
+class InstanceTasksMap extends AbstractMap<String, byte[]> {
+
+  // cannot be part of an id, so the prefix of an instance never matches keys of another one
+  static final char SEPARATOR = '\u0000';
+  private static final char LAST = '\uffff';
+
+  private final TransactionMap<String, byte[]> sharedMap;
+  private final String prefix;
+
+  InstanceTasksMap(TransactionMap<String, byte[]> sharedMap, String instanceId) {
+    this.sharedMap = sharedMap;
+    this.prefix = key(instanceId, "");
+  }
+
+  static String key(String instanceId, String position) {
+    return instanceId + SEPARATOR + position;
+  }
+
+  @Override
+  public byte[] get(Object key) {
+    return key instanceof String position ? sharedMap.get(prefix + position) : null;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return key instanceof String position && sharedMap.containsKey(prefix + position);
+  }
+
+  @Override
+  public byte[] put(String key, byte[] value) {
+    return sharedMap.put(prefix + key, value);
+  }
+
+  @Override
+  public byte[] remove(Object key) {
+    return key instanceof String position ? sharedMap.remove(prefix + position) : null;
+  }
+
+  @Override
+  public void clear() {
+    List<String> keys = new ArrayList<>();
+    sharedMap.keyIterator(prefix, prefix + LAST).forEachRemaining(keys::add);
+    keys.forEach(sharedMap::remove);
+  }
+
+  @Override
+  public Set<Entry<String, byte[]>> entrySet() {
+    return new AbstractSet<>() {
+      @Override
+      public Iterator<Entry<String, byte[]>> iterator() {
+        Iterator<Entry<String, byte[]>> iter = sharedMap.entryIterator(prefix, prefix + LAST);
+        return new Iterator<>() {
+          @Override
+          public boolean hasNext() {
+            return iter.hasNext();
+          }
+
+          @Override
+          public Entry<String, byte[]> next() {
+            Entry<String, byte[]> entry = iter.next();
+            return Map.entry(entry.getKey().substring(prefix.length()), entry.getValue());
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        int size = 0;
+        for (Iterator<?> iter = iterator(); iter.hasNext(); iter.next()) {
+          size++;
+        }
+        return size;
+      }
+    };
+  }
+}
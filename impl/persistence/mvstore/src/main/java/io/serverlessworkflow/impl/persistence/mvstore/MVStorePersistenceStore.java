@@ -19,22 +19,101 @@ import io.serverlessworkflow.impl.marshaller.DefaultBufferFactory;
 import io.serverlessworkflow.impl.marshaller.WorkflowBufferFactory;
 import io.serverlessworkflow.impl.persistence.PersistenceInstanceStore;
 import io.serverlessworkflow.impl.persistence.bigmap.BigMapInstanceTransaction;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.h2.mvstore.MVStore;
+import org.h2.mvstore.tx.Transaction;
+import org.h2.mvstore.tx.TransactionMap;
 import org.h2.mvstore.tx.TransactionStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class MVStorePersistenceStore implements PersistenceInstanceStore {
+
+  private static final Logger logger = LoggerFactory.getLogger(MVStorePersistenceStore.class);
+
+  private static final String TASKS_SUFFIX =
+      MVStoreTransaction.ID_SEPARATOR + MVStoreTransaction.TASKS_SUFFIX;
+  private static final String INSTANCES_SUFFIX =
+      MVStoreTransaction.ID_SEPARATOR + MVStoreTransaction.INSTANCES_SUFFIX;
+
   private final TransactionStore transactionStore;
   private final MVStore mvStore;
   private WorkflowBufferFactory factory;
+  private final MVStoreTaskLayout layout;
 
   public MVStorePersistenceStore(String dbName) {
     this(dbName, DefaultBufferFactory.factory());
   }
 
   public MVStorePersistenceStore(String dbName, WorkflowBufferFactory factory) {
+    this(dbName, factory, MVStoreTaskLayout.MAP_PER_INSTANCE);
+  }
+
+  public MVStorePersistenceStore(String dbName, MVStoreTaskLayout layout) {
+    this(dbName, DefaultBufferFactory.factory(), layout);
+  }
+
+  public MVStorePersistenceStore(
+      String dbName, WorkflowBufferFactory factory, MVStoreTaskLayout layout) {
     this.mvStore = MVStore.open(dbName);
     this.transactionStore = new TransactionStore(mvStore);
     this.factory = factory;
+    this.layout = layout;
+    if (layout == MVStoreTaskLayout.MAP_PER_DEFINITION) {
+      migrateInstanceTaskMaps();
+    }
+  }
+
+  private void migrateInstanceTaskMaps() {
+    Set<String> mapNames = mvStore.getMapNames();
+    Set<String> definitions =
+        mapNames.stream()
+            .filter(name -> name.endsWith(INSTANCES_SUFFIX))
+            .map(name -> name.substring(0, name.length() - INSTANCES_SUFFIX.length()))
+            .collect(Collectors.toSet());
+    List<String> instanceTaskMaps =
+        mapNames.stream()
+            .filter(name -> name.endsWith(TASKS_SUFFIX))
+            .filter(name -> !definitions.contains(withoutTasksSuffix(name)))
+            .toList();
+    if (instanceTaskMaps.isEmpty()) {
+      return;
+    }
+    logger.info(
+        "Migrating {} instance task maps to one map per definition", instanceTaskMaps.size());
+    Transaction transaction = transactionStore.begin();
+    try {
+      for (String instanceTaskMap : instanceTaskMaps) {
+        String instanceId = withoutTasksSuffix(instanceTaskMap);
+        definitions.stream()
+            .filter(d -> transaction.openMap(d + INSTANCES_SUFFIX).containsKey(instanceId))
+            .findFirst()
+            .ifPresentOrElse(
+                d -> migrate(transaction, instanceTaskMap, d + TASKS_SUFFIX, instanceId),
+                () -> logger.warn("No instance found for task map {}, skipping", instanceTaskMap));
+      }
+      transaction.commit();
+    } catch (RuntimeException ex) {
+      transaction.rollback();
+      throw ex;
+    }
+  }
+
+  private static void migrate(
+      Transaction transaction, String instanceTaskMap, String definitionTaskMap, String id) {
+    TransactionMap<String, byte[]> source = transaction.openMap(instanceTaskMap);
+    TransactionMap<String, byte[]> target = transaction.openMap(definitionTaskMap);
+    for (Map.Entry<String, byte[]> entry : source.entrySet()) {
+      target.put(InstanceTasksMap.key(id, entry.getKey()), entry.getValue());
+    }
+    transaction.removeMap(source);
+  }
+
+  private static String withoutTasksSuffix(String mapName) {
+    return mapName.substring(0, mapName.length() - TASKS_SUFFIX.length());
   }
 
   @Override
@@ -44,6 +123,6 @@ public class MVStorePersistenceStore implements PersistenceInstanceStore {
 
   @Override
   public BigMapInstanceTransaction<byte[], byte[], byte[], byte[], byte[], byte[]> begin() {
-    return new MVStoreTransaction(mvStore, transactionStore.begin(), factory);
+    return new MVStoreTransaction(mvStore, transactionStore.begin(), factory, layout);
   }
 }
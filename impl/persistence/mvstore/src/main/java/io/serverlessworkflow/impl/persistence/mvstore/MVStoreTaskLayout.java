@@ -0,0 +1,27 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.persistence.mvstore;
+
+/** How completed and retried tasks are laid out in the MVStore */
+public enum MVStoreTaskLayout {
+  /** One map per instance, named after the instance id */
+  MAP_PER_INSTANCE,
+  /**
+   * One map per definition, keyed by instance id and task position. Maps left by {@link
+   * #MAP_PER_INSTANCE} are migrated when the store is opened.
+   */
+  MAP_PER_DEFINITION
+}
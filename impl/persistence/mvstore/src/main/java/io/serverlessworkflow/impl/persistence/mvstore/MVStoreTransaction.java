@@ -28,15 +28,27 @@ import org.h2.mvstore.tx.TransactionMap;
 public class MVStoreTransaction extends BytesMapInstanceTransaction {
 
   protected static final String ID_SEPARATOR = "-";
+  protected static final String TASKS_SUFFIX = "tasks";
+  protected static final String INSTANCES_SUFFIX = "instances";
   private static final String PROCESSED_PREFIX = "PROCESSED" + ID_SEPARATOR;
 
   private final Transaction transaction;
   private final MVStore store;
+  private final MVStoreTaskLayout layout;
 
   public MVStoreTransaction(MVStore store, Transaction transaction, WorkflowBufferFactory factory) {
+    this(store, transaction, factory, MVStoreTaskLayout.MAP_PER_INSTANCE);
+  }
+
+  public MVStoreTransaction(
+      MVStore store,
+      Transaction transaction,
+      WorkflowBufferFactory factory,
+      MVStoreTaskLayout layout) {
     super(factory);
     this.transaction = transaction;
     this.store = store;
+    this.layout = layout;
   }
 
   protected static String identifier(Workflow workflow, String sep) {
@@ -46,7 +58,7 @@ public class MVStoreTransaction extends BytesMapInstanceTransaction {
 
   @Override
   public Map<String, byte[]> instanceData(WorkflowDefinitionData workflowContext) {
-    return openMap(workflowContext, "instances");
+    return openMap(workflowContext, INSTANCES_SUFFIX);
   }
 
   @Override
@@ -54,6 +66,13 @@ public class MVStoreTransaction extends BytesMapInstanceTransaction {
     return taskMap(instanceId);
   }
 
+  @Override
+  protected Map<String, byte[]> tasks(WorkflowDefinitionData definition, String instanceId) {
+    return layout == MVStoreTaskLayout.MAP_PER_DEFINITION
+        ? new InstanceTasksMap(transaction.openMap(definitionTaskMapName(definition)), instanceId)
+        : tasks(instanceId);
+  }
+
   @Override
   public Map<String, byte[]> status(WorkflowDefinitionData workflowContext) {
     return openMap(workflowContext, "status");
@@ -64,6 +83,15 @@ public class MVStoreTransaction extends BytesMapInstanceTransaction {
     transaction.removeMap(taskMap(instanceId));
   }
 
+  @Override
+  protected void removeTasks(WorkflowDefinitionData definition, String instanceId) {
+    if (layout == MVStoreTaskLayout.MAP_PER_DEFINITION) {
+      tasks(definition, instanceId).clear();
+    } else {
+      removeTasks(instanceId);
+    }
+  }
+
   private TransactionMap<String, byte[]> taskMap(String instanceId) {
     return transaction.openMap(mapTaskName(instanceId));
   }
@@ -73,8 +101,12 @@ public class MVStoreTransaction extends BytesMapInstanceTransaction {
         identifier(workflowDefinition.workflow(), ID_SEPARATOR) + ID_SEPARATOR + suffix);
   }
 
-  private String mapTaskName(String instanceId) {
-    return instanceId + ID_SEPARATOR + "tasks";
+  static String mapTaskName(String instanceId) {
+    return instanceId + ID_SEPARATOR + TASKS_SUFFIX;
+  }
+
+  private static String definitionTaskMapName(WorkflowDefinitionData definition) {
+    return identifier(definition.workflow(), ID_SEPARATOR) + ID_SEPARATOR + TASKS_SUFFIX;
   }
 
   @Override
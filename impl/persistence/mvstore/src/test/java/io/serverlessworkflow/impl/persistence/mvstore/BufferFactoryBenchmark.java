@@ -0,0 +1,134 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.persistence.mvstore;
+
+import io.serverlessworkflow.impl.WorkflowApplication;
+import io.serverlessworkflow.impl.WorkflowModel;
+import io.serverlessworkflow.impl.marshaller.CompactBufferFactory;
+import io.serverlessworkflow.impl.marshaller.DefaultBufferFactory;
+import io.serverlessworkflow.impl.marshaller.MarshallingUtils;
+import io.serverlessworkflow.impl.marshaller.WorkflowBufferFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Time to write and read a workflow model made of a list of orders with each buffer factory. The
+ * <code>bytes</code> counter reports the size of the written model.
+ *
+ * <p>Run with <code>mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=io.serverlessworkflow.impl.persistence.mvstore.BufferFactoryBenchmark</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BufferFactoryBenchmark {
+
+  public enum Factory {
+    DEFAULT,
+    COMPACT,
+    COMPACT_UNCOMPRESSED
+  }
+
+  @Param({"DEFAULT", "COMPACT", "COMPACT_UNCOMPRESSED"})
+  public Factory factory;
+
+  @Param({"10", "1000"})
+  public int size;
+
+  private WorkflowApplication appl;
+  private WorkflowBufferFactory bufferFactory;
+  private WorkflowModel model;
+  private byte[] written;
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class WrittenBytes {
+    public long bytes;
+  }
+
+  @Setup(Level.Trial)
+  public void setup() {
+    bufferFactory =
+        switch (factory) {
+          case DEFAULT -> DefaultBufferFactory.factory();
+          case COMPACT -> CompactBufferFactory.factory();
+          case COMPACT_UNCOMPRESSED -> CompactBufferFactory.factory(Integer.MAX_VALUE);
+        };
+    appl = WorkflowApplication.builder().build();
+    List<Map<String, Object>> orders =
+        IntStream.range(0, size)
+            .<Map<String, Object>>mapToObj(
+                i ->
+                    Map.of(
+                        "orderId",
+                        i,
+                        "customer",
+                        "customer-" + i % 10,
+                        "amount",
+                        i * 1.5,
+                        "paid",
+                        i % 2 == 0,
+                        "status",
+                        "PENDING"))
+            .toList();
+    model = appl.modelFactory().fromAny(Map.of("orders", orders));
+    written = MarshallingUtils.writeModel(bufferFactory, model);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    appl.close();
+  }
+
+  @Benchmark
+  public byte[] write(WrittenBytes counter) {
+    byte[] bytes = MarshallingUtils.writeModel(bufferFactory, model);
+    counter.bytes = bytes.length;
+    return bytes;
+  }
+
+  @Benchmark
+  public WorkflowModel read() {
+    return MarshallingUtils.readModel(bufferFactory, written);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(BufferFactoryBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.persistence.mvstore;
+
+import static io.serverlessworkflow.api.WorkflowReader.readWorkflowFromClasspath;
+
+import io.serverlessworkflow.impl.TaskContext;
+import io.serverlessworkflow.impl.WorkflowApplication;
+import io.serverlessworkflow.impl.WorkflowContextData;
+import io.serverlessworkflow.impl.WorkflowDefinition;
+import io.serverlessworkflow.impl.WorkflowDefinitionData;
+import io.serverlessworkflow.impl.WorkflowModel;
+import io.serverlessworkflow.impl.marshaller.DefaultBufferFactory;
+import io.serverlessworkflow.impl.persistence.ContextCheckpointMode;
+import io.serverlessworkflow.impl.persistence.DefaultPersistenceInstanceHandlers;
+import io.serverlessworkflow.impl.persistence.PersistenceApplicationBuilder;
+import io.serverlessworkflow.impl.persistence.PersistenceExecutor;
+import io.serverlessworkflow.impl.persistence.PersistenceInstanceHandlers;
+import io.serverlessworkflow.impl.persistence.PersistenceInstanceStore;
+import io.serverlessworkflow.impl.persistence.bigmap.BigMapInstanceTransaction;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.h2.mvstore.MVStore;
+import org.h2.mvstore.tx.TransactionStore;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Bytes written to an in memory MVStore per workflow run, when a large context is exported once and
+ * then a loop completes one task per item without touching it. Besides the time per run, the <code>
+ * taskBytes</code> and <code>contextBytes</code> counters report the bytes written by one run with
+ * each {@link ContextCheckpointMode}.
+ *
+ * <p>Run with <code>mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=io.serverlessworkflow.impl.persistence.mvstore.ContextCheckpointBenchmark</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContextCheckpointBenchmark {
+
+  @Param({"FULL", "ON_CHANGE"})
+  public ContextCheckpointMode mode;
+
+  @Param({"100", "1000"})
+  public int size;
+
+  private final AtomicLong taskBytes = new AtomicLong();
+  private final AtomicLong contextBytes = new AtomicLong();
+  private PersistenceInstanceHandlers handlers;
+  private WorkflowApplication appl;
+  private WorkflowDefinition definition;
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class WrittenBytes {
+    public long taskBytes;
+    public long contextBytes;
+  }
+
+  private static class InlinePersistenceExecutor implements PersistenceExecutor {
+    @Override
+    public <T> CompletableFuture<T> execute(
+        Supplier<T> supplier, WorkflowDefinitionData definition) {
+      return CompletableFuture.completedFuture(supplier.get());
+    }
+
+    @Override
+    public CompletableFuture<Void> execute(Runnable runnable, WorkflowDefinitionData definition) {
+      runnable.run();
+      return CompletableFuture.completedFuture(null);
+    }
+  }
+
+  private class CountingStore implements PersistenceInstanceStore {
+
+    private final MVStore mvStore = MVStore.open(null);
+    private final TransactionStore transactionStore = new TransactionStore(mvStore);
+
+    @Override
+    public BigMapInstanceTransaction<byte[], byte[], byte[], byte[], byte[], byte[]> begin() {
+      return new MVStoreTransaction(
+          mvStore, transactionStore.begin(), DefaultBufferFactory.factory()) {
+        @Override
+        protected byte[] marshallTaskCompleted(
+            WorkflowContextData contextData, TaskContext taskContext, boolean includeContext) {
+          byte[] bytes = super.marshallTaskCompleted(contextData, taskContext, includeContext);
+          taskBytes.addAndGet(bytes.length);
+          return bytes;
+        }
+
+        @Override
+        protected byte[] marshallContext(WorkflowModel context) {
+          byte[] bytes = super.marshallContext(context);
+          contextBytes.addAndGet(bytes.length);
+          return bytes;
+        }
+      };
+    }
+
+    @Override
+    public void close() {
+      mvStore.close();
+    }
+  }
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    handlers =
+        DefaultPersistenceInstanceHandlers.builder(new CountingStore())
+            .withPersistenceExecutor(new InlinePersistenceExecutor())
+            .withContextCheckpointMode(mode)
+            .build();
+    appl = PersistenceApplicationBuilder.builder(WorkflowApplication.builder(), handlers).build();
+    definition =
+        appl.workflowDefinition(readWorkflowFromClasspath("checkpoint-large-context.yaml"));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    appl.close();
+    handlers.close();
+  }
+
+  @Benchmark
+  public WorkflowModel run(WrittenBytes written) {
+    long tasksBefore = taskBytes.get();
+    long contextBefore = contextBytes.get();
+    WorkflowModel model = definition.instance(Map.of("size", size)).start().join();
+    // every run writes the same, so keep the last one rather than the total of the iteration
+    written.taskBytes = taskBytes.get() - tasksBefore;
+    written.contextBytes = contextBytes.get() - contextBefore;
+    return model;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder().include(ContextCheckpointBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.persistence.mvstore;
+
+import static io.serverlessworkflow.api.WorkflowReader.readWorkflowFromClasspath;
+
+import io.serverlessworkflow.impl.WorkflowApplication;
+import io.serverlessworkflow.impl.WorkflowDefinition;
+import io.serverlessworkflow.impl.persistence.DefaultPersistenceInstanceHandlers;
+import io.serverlessworkflow.impl.persistence.PersistenceApplicationBuilder;
+import io.serverlessworkflow.impl.persistence.PersistenceInstanceHandlers;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Completed tasks per second persisted into a file based MVStore while {@value #INSTANCES}
+ * instances run a loop of {@value #ITEMS} tasks concurrently, committing every operation on its own
+ * or grouping them.
+ *
+ * <p>Run with <code>mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=io.serverlessworkflow.impl.persistence.mvstore.GroupCommitBenchmark</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GroupCommitBenchmark {
+
+  private static final int INSTANCES = 64;
+  private static final int ITEMS = 20;
+
+  @Param({"false", "true"})
+  public boolean groupCommit;
+
+  private Path dbFile;
+  private PersistenceInstanceHandlers handlers;
+  private WorkflowApplication appl;
+  private WorkflowDefinition definition;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    dbFile = Files.createTempFile("group-commit", ".db");
+    DefaultPersistenceInstanceHandlers.Builder builder =
+        DefaultPersistenceInstanceHandlers.builder(new MVStorePersistenceStore(dbFile.toString()));
+    if (groupCommit) {
+      builder.withGroupCommit();
+    }
+    handlers = builder.build();
+    appl = PersistenceApplicationBuilder.builder(WorkflowApplication.builder(), handlers).build();
+    definition =
+        appl.workflowDefinition(readWorkflowFromClasspath("checkpoint-large-context.yaml"));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    appl.close();
+    handlers.close();
+    Files.deleteIfExists(dbFile);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(INSTANCES * ITEMS)
+  public void completeTasks() {
+    CompletableFuture<?>[] instances = new CompletableFuture<?>[INSTANCES];
+    for (int i = 0; i < INSTANCES; i++) {
+      instances[i] = definition.instance(Map.of("size", ITEMS)).start();
+    }
+    CompletableFuture.allOf(instances).join();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(GroupCommitBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
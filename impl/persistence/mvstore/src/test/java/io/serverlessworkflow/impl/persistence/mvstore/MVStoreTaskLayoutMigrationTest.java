@@ -0,0 +1,116 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.persistence.mvstore;
+
+import static io.serverlessworkflow.api.WorkflowReader.readWorkflowFromClasspath;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.serverlessworkflow.impl.TaskContext;
+import io.serverlessworkflow.impl.WorkflowApplication;
+import io.serverlessworkflow.impl.WorkflowContext;
+import io.serverlessworkflow.impl.WorkflowDefinition;
+import io.serverlessworkflow.impl.WorkflowInstance;
+import io.serverlessworkflow.impl.WorkflowModel;
+import io.serverlessworkflow.impl.WorkflowPosition;
+import io.serverlessworkflow.impl.executors.TransitionInfo;
+import io.serverlessworkflow.impl.persistence.DefaultPersistenceInstanceHandlers;
+import io.serverlessworkflow.impl.persistence.PersistenceInstanceHandlers;
+import io.serverlessworkflow.impl.persistence.WorkflowPersistenceInstance;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+import org.h2.mvstore.MVStore;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class MVStoreTaskLayoutMigrationTest {
+
+  private static final String DB_NAME = "dbmigration.db";
+
+  private static WorkflowApplication app;
+  private static WorkflowDefinition definition;
+
+  @BeforeAll
+  static void init() throws IOException {
+    app = WorkflowApplication.builder().build();
+    definition = app.workflowDefinition(readWorkflowFromClasspath("simple-expression.yaml"));
+  }
+
+  @AfterAll
+  static void cleanup() {
+    app.close();
+  }
+
+  @AfterEach
+  void destroy() throws IOException {
+    Files.delete(Path.of(DB_NAME));
+  }
+
+  @Test
+  void testMigrateInstanceTaskMaps() {
+    String id = app.idFactory().get();
+    WorkflowPosition position =
+        app.positionFactory().get().addProperty("do").addIndex(0).addProperty("useExpression");
+    WorkflowContext workflowContext = mock(WorkflowContext.class);
+    WorkflowInstance workflowInstance = mock(WorkflowInstance.class);
+    when(workflowContext.context()).thenReturn(app.modelFactory().fromNull());
+    when(workflowContext.definition()).thenReturn(definition);
+    when(workflowContext.instanceData()).thenReturn(workflowInstance);
+    when(workflowInstance.id()).thenReturn(id);
+    when(workflowInstance.startedAt()).thenReturn(Instant.now());
+    when(workflowInstance.input()).thenReturn(app.modelFactory().from(Map.of("name", "Javierito")));
+    TaskContext taskContext = mock(TaskContext.class);
+    when(taskContext.position()).thenReturn(position);
+    when(taskContext.completedAt()).thenReturn(Instant.now());
+    when(taskContext.output()).thenReturn(app.modelFactory().from(Map.of("name", "fulanito")));
+    when(taskContext.transition()).thenReturn(new TransitionInfo(null, true));
+
+    try (PersistenceInstanceHandlers handlers =
+        DefaultPersistenceInstanceHandlers.from(
+            new MVStorePersistenceStore(DB_NAME, MVStoreTaskLayout.MAP_PER_INSTANCE))) {
+      handlers.writer().started(workflowContext).join();
+      handlers.writer().taskCompleted(workflowContext, taskContext).join();
+    }
+
+    try (PersistenceInstanceHandlers handlers =
+        DefaultPersistenceInstanceHandlers.from(
+            new MVStorePersistenceStore(DB_NAME, MVStoreTaskLayout.MAP_PER_DEFINITION))) {
+      WorkflowPersistenceInstance instance =
+          (WorkflowPersistenceInstance) handlers.reader().find(definition, id).orElseThrow();
+      TaskContext restoredContext = mock(TaskContext.class);
+      when(restoredContext.position()).thenReturn(position);
+      instance.restoreContext(mock(WorkflowContext.class), restoredContext);
+      ArgumentCaptor<WorkflowModel> model = ArgumentCaptor.forClass(WorkflowModel.class);
+      verify(restoredContext).output(model.capture());
+      assertThat(model.getValue().asMap().orElseThrow()).isEqualTo(Map.of("name", "fulanito"));
+    }
+
+    MVStore store = MVStore.open(DB_NAME);
+    try {
+      assertThat(store.hasMap(MVStoreTransaction.mapTaskName(id))).isFalse();
+    } finally {
+      store.close();
+    }
+  }
+}
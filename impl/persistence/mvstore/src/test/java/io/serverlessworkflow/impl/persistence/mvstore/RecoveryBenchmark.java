@@ -0,0 +1,187 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.persistence.mvstore;
+
+import static io.serverlessworkflow.api.WorkflowReader.readWorkflowFromClasspath;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.serverlessworkflow.impl.TaskContext;
+import io.serverlessworkflow.impl.WorkflowApplication;
+import io.serverlessworkflow.impl.WorkflowContext;
+import io.serverlessworkflow.impl.WorkflowDefinition;
+import io.serverlessworkflow.impl.WorkflowInstance;
+import io.serverlessworkflow.impl.WorkflowPosition;
+import io.serverlessworkflow.impl.executors.TransitionInfo;
+import io.serverlessworkflow.impl.persistence.DefaultPersistenceInstanceHandlers;
+import io.serverlessworkflow.impl.persistence.PersistenceInstanceHandlers;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.h2.mvstore.MVStore;
+import org.h2.mvstore.tx.Transaction;
+import org.h2.mvstore.tx.TransactionMap;
+import org.h2.mvstore.tx.TransactionStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Time to open a file based MVStore holding <code>instances</code> pending instances, with two
+ * persisted tasks each, and scan all of them back, as done when recovering after a restart.
+ *
+ * <p>Populating a million instances with one map per instance takes a while, use <code>
+ * -p instances=10000</code> for a quick check.
+ *
+ * <p>Run with <code>mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=io.serverlessworkflow.impl.persistence.mvstore.RecoveryBenchmark</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RecoveryBenchmark {
+
+  private static final int COMMIT_EVERY = 10_000;
+
+  @Param({"10000", "1000000"})
+  public int instances;
+
+  @Param({"MAP_PER_INSTANCE", "MAP_PER_DEFINITION"})
+  public MVStoreTaskLayout layout;
+
+  private Path dbFile;
+  private WorkflowApplication appl;
+  private WorkflowDefinition definition;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    appl = WorkflowApplication.builder().build();
+    definition = appl.workflowDefinition(readWorkflowFromClasspath("simple-expression.yaml"));
+    Path templateFile = Files.createTempFile("recovery-template", ".db");
+    dbFile = Files.createTempFile("recovery", ".db");
+    try {
+      String templateId = writeTemplate(templateFile.toString());
+      populate(templateFile.toString(), templateId);
+    } finally {
+      Files.deleteIfExists(templateFile);
+    }
+  }
+
+  private String writeTemplate(String fileName) {
+    String id = appl.idFactory().get();
+    WorkflowContext workflowContext = mock(WorkflowContext.class);
+    WorkflowInstance workflowInstance = mock(WorkflowInstance.class);
+    when(workflowContext.context()).thenReturn(appl.modelFactory().fromNull());
+    when(workflowContext.definition()).thenReturn(definition);
+    when(workflowContext.instanceData()).thenReturn(workflowInstance);
+    when(workflowInstance.id()).thenReturn(id);
+    when(workflowInstance.startedAt()).thenReturn(Instant.now());
+    when(workflowInstance.input()).thenReturn(appl.modelFactory().from(Map.of("name", "John")));
+    try (PersistenceInstanceHandlers handlers =
+        DefaultPersistenceInstanceHandlers.from(new MVStorePersistenceStore(fileName))) {
+      handlers.writer().started(workflowContext).join();
+      for (int i = 0; i < 2; i++) {
+        handlers.writer().taskCompleted(workflowContext, taskContext(i)).join();
+      }
+    }
+    return id;
+  }
+
+  private TaskContext taskContext(int index) {
+    WorkflowPosition position =
+        appl.positionFactory().get().addProperty("do").addIndex(index).addProperty("task");
+    TaskContext taskContext = mock(TaskContext.class);
+    when(taskContext.position()).thenReturn(position);
+    when(taskContext.completedAt()).thenReturn(Instant.now());
+    when(taskContext.output()).thenReturn(appl.modelFactory().from(Map.of("index", index)));
+    when(taskContext.transition()).thenReturn(new TransitionInfo(null, false));
+    return taskContext;
+  }
+
+  private void populate(String templateFile, String templateId) {
+    String definitionId = MVStoreTransaction.identifier(definition.workflow(), "-");
+    MVStore template = MVStore.open(templateFile);
+    MVStore target = MVStore.open(dbFile.toString());
+    try {
+      Transaction source = new TransactionStore(template).begin();
+      byte[] instanceData =
+          source.<String, byte[]>openMap(definitionId + "-instances").get(templateId);
+      Map<String, byte[]> tasks =
+          new HashMap<>(source.<String, byte[]>openMap(templateId + "-tasks"));
+      TransactionStore targetStore = new TransactionStore(target);
+      Transaction transaction = targetStore.begin();
+      for (int i = 0; i < instances; i++) {
+        String id = appl.idFactory().get();
+        transaction.<String, byte[]>openMap(definitionId + "-instances").put(id, instanceData);
+        if (layout == MVStoreTaskLayout.MAP_PER_DEFINITION) {
+          TransactionMap<String, byte[]> taskMap = transaction.openMap(definitionId + "-tasks");
+          tasks.forEach((k, v) -> taskMap.put(InstanceTasksMap.key(id, k), v));
+        } else {
+          transaction.<String, byte[]>openMap(id + "-tasks").putAll(tasks);
+        }
+        if (i % COMMIT_EVERY == COMMIT_EVERY - 1) {
+          transaction.commit();
+          transaction = targetStore.begin();
+        }
+      }
+      transaction.commit();
+    } finally {
+      template.close();
+      target.close();
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    appl.close();
+    Files.deleteIfExists(dbFile);
+  }
+
+  @Benchmark
+  public long recover() {
+    try (PersistenceInstanceHandlers handlers =
+            DefaultPersistenceInstanceHandlers.from(
+                new MVStorePersistenceStore(dbFile.toString(), layout));
+        Stream<WorkflowInstance> stream = handlers.reader().scanAll(definition)) {
+      return stream.count();
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(RecoveryBenchmark.class.getSimpleName()).build()).run();
+  }
+}
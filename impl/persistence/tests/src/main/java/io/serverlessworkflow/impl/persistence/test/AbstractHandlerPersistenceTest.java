@@ -190,4 +190,53 @@ public abstract class AbstractHandlerPersistenceTest {
       assertThat(stream.count()).isEqualTo(0);
     }
   }
+
+  @Test
+  void testContextChangesAcrossTasks() {
+    handlers.writer().started(workflowContext).join();
+    completeTask(0, 1, Map.of("step", 1));
+    completeTask(1, 2, Map.of("step", 2));
+    // same version, so the context is not written again
+    completeTask(2, 2, Map.of("step", 3));
+    WorkflowPersistenceInstance instance =
+        (WorkflowPersistenceInstance)
+            handlers.reader().find(definition, workflowInstance.id()).orElseThrow();
+    for (int i = 0; i < 3; i++) {
+      assertThat(restoredContext(instance, i).asMap().orElseThrow()).isEqualTo(Map.of("step", 2));
+    }
+  }
+
+  @Test
+  void testContextWithUnknownVersion() {
+    handlers.writer().started(workflowContext).join();
+    completeTask(0, WorkflowContextData.UNKNOWN_CONTEXT_VERSION, Map.of("step", 1));
+    completeTask(1, WorkflowContextData.UNKNOWN_CONTEXT_VERSION, Map.of("step", 2));
+    WorkflowPersistenceInstance instance =
+        (WorkflowPersistenceInstance)
+            handlers.reader().find(definition, workflowInstance.id()).orElseThrow();
+    assertThat(restoredContext(instance, 1).asMap().orElseThrow()).isEqualTo(Map.of("step", 2));
+  }
+
+  private WorkflowPosition taskPosition(int index) {
+    return app.positionFactory().get().addProperty("do").addIndex(index).addProperty("task");
+  }
+
+  private void completeTask(int index, long contextVersion, Map<String, Object> newContext) {
+    when(workflowContext.contextVersion()).thenReturn(contextVersion);
+    when(workflowContext.context()).thenReturn(app.modelFactory().from(newContext));
+    handlers
+        .writer()
+        .taskCompleted(workflowContext, completedTaskContext(taskPosition(index), Map.of()))
+        .join();
+  }
+
+  private WorkflowModel restoredContext(WorkflowPersistenceInstance instance, int index) {
+    WorkflowContext restoredWContext = mock(WorkflowContext.class);
+    TaskContext restoredTContext = mock(TaskContext.class);
+    when(restoredTContext.position()).thenReturn(taskPosition(index));
+    instance.restoreContext(restoredWContext, restoredTContext);
+    ArgumentCaptor<WorkflowModel> context = ArgumentCaptor.forClass(WorkflowModel.class);
+    verify(restoredWContext).context(context.capture());
+    return context.getValue();
+  }
 }
@@ -15,6 +15,7 @@
  */
 package io.serverlessworkflow.impl.persistence.test;
 
+import io.serverlessworkflow.impl.persistence.ContextCheckpointMode;
 import io.serverlessworkflow.impl.persistence.DefaultPersistenceInstanceHandlers;
 import io.serverlessworkflow.impl.persistence.PersistenceInstanceHandlers;
 import io.serverlessworkflow.impl.persistence.PersistenceInstanceStore;
@@ -22,7 +23,9 @@ import io.serverlessworkflow.impl.persistence.PersistenceInstanceStore;
 public abstract class AbstractPersistenceTest extends AbstractHandlerPersistenceTest {
 
   protected PersistenceInstanceHandlers getPersistenceHandlers() {
-    return DefaultPersistenceInstanceHandlers.builder(persistenceStore()).build();
+    return DefaultPersistenceInstanceHandlers.builder(persistenceStore())
+        .withContextCheckpointMode(ContextCheckpointMode.ON_CHANGE)
+        .build();
   }
 
   protected abstract PersistenceInstanceStore persistenceStore();
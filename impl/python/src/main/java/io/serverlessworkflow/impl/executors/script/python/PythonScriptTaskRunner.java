@@ -22,7 +22,9 @@ import io.serverlessworkflow.impl.scripts.ScriptContext;
 import io.serverlessworkflow.impl.scripts.ScriptLanguageId;
 import io.serverlessworkflow.impl.scripts.ScriptRunner;
 import io.serverlessworkflow.impl.scripts.ScriptUtils;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,6 +43,21 @@ public class PythonScriptTaskRunner implements ScriptRunner {
       WorkflowContext workflowContext,
       TaskContext taskContext,
       WorkflowModel model) {
+    Optional<PythonWorkerPool> pool =
+        PythonWorkerPool.of(workflowContext.definition().application());
+    if (pool.isPresent()) {
+      List<String> args = new ArrayList<>();
+      scriptContext.args().forEach((k, v) -> addArg(args, k, v));
+      logger.debug("Invoking python worker with arguments {}", args);
+      PythonWorkerPool.Result result =
+          pool.get().run(scriptContext.code(), args, scriptContext.envs());
+      return ScriptUtils.buildResult(
+          workflowContext.definition(),
+          result.code(),
+          result.output(),
+          scriptContext.returnType(),
+          model);
+    }
     ProcessBuilder builder = new ProcessBuilder("python", "-c", scriptContext.code());
     ScriptUtils.addEnviromment(builder, scriptContext.envs());
     scriptContext.args().forEach((k, v) -> addArg(builder.command(), k, v));
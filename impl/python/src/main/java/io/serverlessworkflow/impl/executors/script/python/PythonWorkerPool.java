@@ -0,0 +1,257 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.executors.script.python;
+
+import io.serverlessworkflow.impl.WorkflowApplication;
+import io.serverlessworkflow.impl.config.ConfigManager;
+import io.serverlessworkflow.impl.scripts.StreamSuppliers;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of long lived Python interpreters, so script runs do not pay the interpreter start up.
+ *
+ * <p>Every worker runs <code>worker.py</code>, which executes each received script the way <code>
+ * python -c</code> would (fresh globals, <code>sys.argv</code> and extra environment variables
+ * restored afterwards), capturing its output and exit code. At most <code>workers</code> scripts
+ * run at the same time, other callers wait for a worker to become available. A worker is replaced
+ * after <code>maxCallsPerWorker</code> calls, since modules imported by the scripts stay loaded, or
+ * as soon as it dies or a call exceeds <code>timeout</code>.
+ */
+class PythonWorkerPool implements AutoCloseable {
+
+  private static final Logger logger = LoggerFactory.getLogger(PythonWorkerPool.class);
+
+  static final String PYTHON_WORKER_POOL = "pythonWorkerPool";
+  static final String WORKERS_PROPERTY = "io.serverlessworkflow.impl.scripts.python.workers";
+  static final String TIMEOUT_PROPERTY = "io.serverlessworkflow.impl.scripts.python.timeoutMillis";
+  static final String MAX_CALLS_PROPERTY =
+      "io.serverlessworkflow.impl.scripts.python.maxCallsPerWorker";
+  static final long DEFAULT_TIMEOUT_MILLIS = 60_000;
+  static final int DEFAULT_MAX_CALLS_PER_WORKER = 1000;
+
+  record Result(int code, StreamSuppliers output) {}
+
+  private final List<String> command;
+  private final Duration timeout;
+  private final int maxCallsPerWorker;
+  private final Semaphore permits;
+  private final BlockingQueue<Worker> idle = new LinkedBlockingQueue<>();
+  private final Set<Worker> workers = ConcurrentHashMap.newKeySet();
+  private final ScheduledExecutorService watchdog;
+  private volatile boolean closed;
+
+  /** Pool of the application, empty if workers are not enabled through configuration */
+  static Optional<PythonWorkerPool> of(WorkflowApplication application) {
+    ConfigManager config = application.configManager();
+    int workers = config.config(WORKERS_PROPERTY, Integer.class).orElse(0);
+    if (workers <= 0) {
+      return Optional.empty();
+    }
+    return Optional.of(
+        application.sharedResource(
+            PYTHON_WORKER_POOL,
+            () ->
+                new PythonWorkerPool(
+                    "python",
+                    workers,
+                    Duration.ofMillis(
+                        config.config(TIMEOUT_PROPERTY, Long.class).orElse(DEFAULT_TIMEOUT_MILLIS)),
+                    config
+                        .config(MAX_CALLS_PROPERTY, Integer.class)
+                        .orElse(DEFAULT_MAX_CALLS_PER_WORKER))));
+  }
+
+  PythonWorkerPool(String python, int workers, Duration timeout, int maxCallsPerWorker) {
+    this.command = List.of(python, "-u", "-c", workerScript());
+    this.timeout = timeout;
+    this.maxCallsPerWorker = maxCallsPerWorker;
+    this.permits = new Semaphore(workers);
+    this.watchdog =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> {
+              Thread thread = new Thread(r, "python-worker-watchdog");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  Result run(String code, List<String> args, Map<String, Object> envs) {
+    try {
+      permits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for a python worker", e);
+    }
+    Worker worker = null;
+    boolean reusable = false;
+    try {
+      if (closed) {
+        throw new IllegalStateException("Python worker pool has been closed");
+      }
+      worker = idle.poll();
+      if (worker == null || !worker.process.isAlive()) {
+        if (worker != null) {
+          worker.destroy();
+        }
+        worker = new Worker();
+      }
+      Result result = worker.call(code, args, envs);
+      reusable = worker.process.isAlive() && worker.calls < maxCallsPerWorker;
+      return result;
+    } finally {
+      if (worker != null) {
+        if (reusable && !closed) {
+          idle.offer(worker);
+        } else {
+          worker.destroy();
+        }
+      }
+      permits.release();
+    }
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    workers.forEach(Worker::destroy);
+    idle.clear();
+    watchdog.shutdownNow();
+  }
+
+  private static String workerScript() {
+    try (InputStream in = PythonWorkerPool.class.getResourceAsStream("worker.py")) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot read python worker script", e);
+    }
+  }
+
+  private class Worker {
+    private final Process process;
+    private final DataOutputStream requests;
+    private final DataInputStream responses;
+    private int calls;
+
+    Worker() {
+      try {
+        this.process =
+            new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.DISCARD).start();
+      } catch (IOException e) {
+        throw new UncheckedIOException("Cannot start python worker", e);
+      }
+      this.requests = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()));
+      this.responses = new DataInputStream(new BufferedInputStream(process.getInputStream()));
+      workers.add(this);
+      logger.debug("Started python worker {}", process.pid());
+    }
+
+    Result call(String code, List<String> args, Map<String, Object> envs) {
+      calls++;
+      AtomicBoolean timedOut = new AtomicBoolean();
+      ScheduledFuture<?> timer =
+          watchdog.schedule(
+              () -> {
+                timedOut.set(true);
+                process.destroyForcibly();
+              },
+              timeout.toMillis(),
+              TimeUnit.MILLISECONDS);
+      try {
+        writeString(code);
+        requests.writeInt(args.size());
+        for (String arg : args) {
+          writeString(arg);
+        }
+        requests.writeInt(envs.size());
+        for (Map.Entry<String, Object> env : envs.entrySet()) {
+          writeString(env.getKey());
+          writeString(String.valueOf(env.getValue()));
+        }
+        requests.flush();
+        int exitCode = responses.readInt();
+        String stdout = readString();
+        String stderr = readString();
+        return new Result(exitCode, new StreamSuppliers(() -> stdout, () -> stderr));
+      } catch (IOException e) {
+        if (timedOut.get()) {
+          throw new IllegalStateException(
+              "Python script did not complete within " + timeout,
+              new TimeoutException(timeout.toString()));
+        }
+        // the script killed the interpreter, report it the way a python -c process would end
+        int exitCode = exitCode(e);
+        return new Result(exitCode, new StreamSuppliers(() -> "", () -> ""));
+      } finally {
+        timer.cancel(false);
+      }
+    }
+
+    private int exitCode(IOException e) {
+      try {
+        if (process.waitFor(1, TimeUnit.SECONDS)) {
+          return process.exitValue();
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+      throw new UncheckedIOException("Python worker " + process.pid() + " stopped responding", e);
+    }
+
+    private void writeString(String value) throws IOException {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      requests.writeInt(bytes.length);
+      requests.write(bytes);
+    }
+
+    private String readString() throws IOException {
+      int length = responses.readInt();
+      if (length < 0) {
+        throw new EOFException("Invalid frame length " + length);
+      }
+      return new String(responses.readNBytes(length), StandardCharsets.UTF_8);
+    }
+
+    void destroy() {
+      workers.remove(this);
+      process.destroyForcibly();
+    }
+  }
+}
@@ -0,0 +1,98 @@
+# Long lived interpreter used by PythonWorkerPool. Every request runs a script as
+# `python -c <code> <args>` would, with the given extra environment variables.
+#
+# Frames are 4 byte big endian lengths followed by that many bytes.
+# Request: code, argument count, arguments, variable count, names and values (UTF-8).
+# Response: exit code (4 bytes, signed), stdout and stderr (UTF-8).
+import contextlib
+import io
+import os
+import struct
+import sys
+import traceback
+
+
+def read_exact(stream, size):
+    data = b""
+    while len(data) < size:
+        chunk = stream.read(size - len(data))
+        if not chunk:
+            raise EOFError()
+        data += chunk
+    return data
+
+
+def read_int(stream):
+    return struct.unpack(">i", read_exact(stream, 4))[0]
+
+
+def read_string(stream):
+    return read_exact(stream, read_int(stream)).decode("utf-8")
+
+
+def write_string(stream, value):
+    data = value.encode("utf-8", "replace")
+    stream.write(struct.pack(">i", len(data)))
+    stream.write(data)
+
+
+def exit_status(code, err):
+    if code is None:
+        return 0
+    if isinstance(code, int):
+        return code
+    print(code, file=err)
+    return 1
+
+
+def run(code, argv, env):
+    saved_env = dict(os.environ)
+    saved_argv = sys.argv
+    out = io.StringIO()
+    err = io.StringIO()
+    status = 0
+    os.environ.update(env)
+    sys.argv = ["-c"] + argv
+    try:
+        with contextlib.redirect_stdout(out), contextlib.redirect_stderr(err):
+            try:
+                exec(compile(code, "<string>", "exec"), {"__name__": "__main__"})
+            except SystemExit as ex:
+                status = exit_status(ex.code, err)
+            except BaseException as ex:
+                # skip this frame, so the traceback looks like the one of python -c
+                traceback.print_exception(type(ex), ex, ex.__traceback__.tb_next)
+                status = 1
+    finally:
+        os.environ.clear()
+        os.environ.update(saved_env)
+        sys.argv = saved_argv
+    return status, out.getvalue(), err.getvalue()
+
+
+def main():
+    requests = os.fdopen(os.dup(0), "rb", buffering=0)
+    responses = os.fdopen(os.dup(1), "wb")
+    # scripts writing straight to the file descriptors must not corrupt the protocol
+    devnull = os.open(os.devnull, os.O_RDWR)
+    os.dup2(devnull, 0)
+    os.dup2(2, 1)
+    sys.stdin = io.StringIO()
+    while True:
+        try:
+            code = read_string(requests)
+            argv = [read_string(requests) for _ in range(read_int(requests))]
+            env = {}
+            for _ in range(read_int(requests)):
+                name = read_string(requests)
+                env[name] = read_string(requests)
+        except EOFError:
+            return
+        status, out, err = run(code, argv, env)
+        responses.write(struct.pack(">i", status))
+        write_string(responses, out)
+        write_string(responses, err)
+        responses.flush()
+
+
+main()
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.executors.script.python;
+
+import io.serverlessworkflow.impl.scripts.StreamSuppliers;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Script runs per second of a small Python task reading its arguments and environment. <code>
+ * process</code> spawns <code>python -c</code> per run, as done without workers, and <code>pooled
+ * </code> sends the script to pooled workers.
+ *
+ * <p>Run with <code>mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=io.serverlessworkflow.impl.executors.script.python.PythonRunBenchmark</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PythonRunBenchmark {
+
+  private static final String CODE =
+      "import json, os, sys\n"
+          + "items = json.loads(sys.argv[2])\n"
+          + "total = sum(item['price'] * item['quantity'] for item in items)\n"
+          + "print(f\"{os.environ['CURRENCY']} {total:.2f}\")";
+
+  private static final List<String> ARGS =
+      List.of(
+          "--order", "[{\"price\": 9.99, \"quantity\": 2}, {\"price\": 4.5, \"quantity\": 10}]");
+
+  private static final Map<String, Object> ENVS = Map.of("CURRENCY", "EUR");
+
+  @Param({"process", "pooled"})
+  public String mode;
+
+  private PythonWorkerPool pool;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    if (mode.equals("pooled")) {
+      pool = new PythonWorkerPool("python", 4, Duration.ofSeconds(30), 1000);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    if (pool != null) {
+      pool.close();
+    }
+  }
+
+  @Benchmark
+  public String run() throws IOException, InterruptedException {
+    return pool == null ? process() : pool.run(CODE, ARGS, ENVS).output().outputStream().get();
+  }
+
+  private static String process() throws IOException, InterruptedException {
+    ProcessBuilder builder = new ProcessBuilder("python", "-c", CODE);
+    builder.command().addAll(ARGS);
+    ENVS.forEach((k, v) -> builder.environment().put(k, (String) v));
+    Process process = builder.start();
+    process.waitFor();
+    return StreamSuppliers.from(process).outputStream().get();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(PythonRunBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
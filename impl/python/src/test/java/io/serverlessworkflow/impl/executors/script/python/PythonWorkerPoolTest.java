@@ -0,0 +1,163 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.executors.script.python;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import io.serverlessworkflow.impl.executors.script.python.PythonWorkerPool.Result;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class PythonWorkerPoolTest {
+
+  private static final String PYTHON = "python";
+  private static final String PID = "import os\nprint(os.getpid())";
+
+  private PythonWorkerPool pool;
+
+  @BeforeAll
+  static void checkPython() {
+    boolean available;
+    try {
+      Process process = new ProcessBuilder(PYTHON, "--version").start();
+      available = process.waitFor(10, TimeUnit.SECONDS) && process.exitValue() == 0;
+    } catch (IOException e) {
+      available = false;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      available = false;
+    }
+    assumeTrue(available, "Python is not available");
+  }
+
+  @AfterEach
+  void close() {
+    if (pool != null) {
+      pool.close();
+    }
+  }
+
+  @Test
+  void testWorkerReused() {
+    pool = pool(Duration.ofSeconds(30), 10);
+    String pid = pid();
+    assertThat(stdout(run("print('hello')"))).isEqualTo("hello");
+    assertThat(pid()).isEqualTo(pid);
+  }
+
+  @Test
+  void testTimeoutKillsWorker() {
+    pool = pool(Duration.ofMillis(500), 10);
+    String pid = pid();
+    assertThatThrownBy(() -> run("import time\ntime.sleep(30)"))
+        .isInstanceOf(IllegalStateException.class)
+        .hasCauseInstanceOf(TimeoutException.class);
+    assertThat(pid()).isNotEqualTo(pid);
+  }
+
+  @Test
+  void testCrashedWorkerReplaced() {
+    pool = pool(Duration.ofSeconds(30), 10);
+    String pid = pid();
+    assertThat(run("import os\nos._exit(3)").code()).isEqualTo(3);
+    assertThat(pid()).isNotEqualTo(pid);
+  }
+
+  @Test
+  void testWorkerRecycledAfterMaxCalls() {
+    pool = pool(Duration.ofSeconds(30), 2);
+    String pid = pid();
+    assertThat(pid()).isEqualTo(pid);
+    String recycled = pid();
+    assertThat(recycled).isNotEqualTo(pid);
+    assertThat(pid()).isEqualTo(recycled);
+  }
+
+  @Test
+  void testExitCodes() {
+    pool = pool(Duration.ofSeconds(30), 10);
+    String pid = pid();
+    assertThat(run("import sys\nsys.exit()").code()).isZero();
+    assertThat(run("import sys\nsys.exit(4)").code()).isEqualTo(4);
+    Result result = run("import sys\nsys.exit('bye')");
+    assertThat(result.code()).isEqualTo(1);
+    assertThat(stderr(result)).isEqualTo("bye");
+    assertThat(run("exit(5)").code()).isEqualTo(5);
+    // none of them ended the interpreter
+    assertThat(pid()).isEqualTo(pid);
+  }
+
+  @Test
+  void testStderrAndTraceback() {
+    pool = pool(Duration.ofSeconds(30), 10);
+    Result result =
+        run("import sys\nprint('out')\nprint('warn', file=sys.stderr)\nraise ValueError('boom')");
+    assertThat(result.code()).isEqualTo(1);
+    assertThat(stdout(result)).isEqualTo("out");
+    assertThat(stderr(result))
+        .startsWith("warn")
+        .contains("Traceback (most recent call last):")
+        .contains("File \"<string>\", line 4")
+        .endsWith("ValueError: boom")
+        .doesNotContain("worker");
+  }
+
+  @Test
+  void testEnvAndArgsIsolated() {
+    pool = pool(Duration.ofSeconds(30), 10);
+    Result first =
+        pool.run(
+            "import os, sys\nos.environ['ADDED'] = 'yes'\nprint(os.environ['NAME'], sys.argv)",
+            List.of("--name", "first"),
+            Map.of("NAME", "value"));
+    assertThat(stdout(first)).isEqualTo("value ['-c', '--name', 'first']");
+    assertThat(
+            stdout(
+                run(
+                    "import os, sys\n"
+                        + "print(os.environ.get('NAME'), os.environ.get('ADDED'), sys.argv)")))
+        .isEqualTo("None None ['-c']");
+  }
+
+  private PythonWorkerPool pool(Duration timeout, int maxCallsPerWorker) {
+    return new PythonWorkerPool(PYTHON, 1, timeout, maxCallsPerWorker);
+  }
+
+  private String pid() {
+    return stdout(run(PID));
+  }
+
+  private Result run(String code) {
+    return pool.run(code, List.of(), Map.of());
+  }
+
+  private static String stdout(Result result) {
+    return result.output().outputStream().get().trim();
+  }
+
+  private static String stderr(Result result) {
+    return result.output().errorStream().get().trim();
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.test;
+
+import static io.serverlessworkflow.fluent.spec.dsl.DSL.*;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+import io.cloudevents.jackson.JsonCloudEventData;
+import io.serverlessworkflow.api.types.Workflow;
+import io.serverlessworkflow.fluent.spec.WorkflowBuilder;
+import io.serverlessworkflow.impl.WorkflowApplication;
+import io.serverlessworkflow.impl.WorkflowDefinition;
+import io.serverlessworkflow.impl.WorkflowInstance;
+import io.serverlessworkflow.impl.WorkflowStatus;
+import io.serverlessworkflow.impl.events.InMemoryEvents;
+import io.serverlessworkflow.impl.jackson.JsonUtils;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Latency of dispatching one event to the registrations of its type as the number of instances
+ * waiting on it grows. <code>indexed=false</code> uses an expect expression that refers to a
+ * variable, which forces the linear scan.
+ *
+ * <p>Run with <code>mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=io.serverlessworkflow.impl.test.CorrelationDispatchBenchmark</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CorrelationDispatchBenchmark {
+
+  private static final String EVENT_TYPE = "order.paid";
+
+  @Param({"100", "10000", "100000"})
+  public int waitingInstances;
+
+  @Param({"true", "false"})
+  public boolean indexed;
+
+  private DirectEvents events;
+  private WorkflowApplication appl;
+  private List<WorkflowInstance> instances;
+  private CloudEvent unmatchedEvent;
+
+  private static class DirectEvents extends InMemoryEvents {
+    private final Map<String, Consumer<CloudEvent>> consumers = new ConcurrentHashMap<>();
+
+    @Override
+    public void register(String topicName, Consumer<CloudEvent> consumer) {
+      super.register(topicName, consumer);
+      consumers.put(topicName, consumer);
+    }
+
+    void dispatch(CloudEvent ce) {
+      consumers.get(ce.getType()).accept(ce);
+    }
+  }
+
+  @Setup(Level.Trial)
+  public void setup() throws InterruptedException {
+    events = new DirectEvents();
+    appl =
+        WorkflowApplication.builder().withEventConsumer(events).withEventPublisher(events).build();
+    WorkflowDefinition definition =
+        appl.workflowDefinition(workflow(indexed ? ".orderId" : "$input.orderId"));
+    instances = new ArrayList<>(waitingInstances);
+    for (int i = 0; i < waitingInstances; i++) {
+      WorkflowInstance instance = definition.instance(Map.of("orderId", "order-" + i));
+      instance.start();
+      instances.add(instance);
+    }
+    for (WorkflowInstance instance : instances) {
+      while (instance.status() != WorkflowStatus.WAITING) {
+        Thread.sleep(1);
+      }
+    }
+    unmatchedEvent =
+        CloudEventBuilder.v1()
+            .withId("1")
+            .withType(EVENT_TYPE)
+            .withSource(URI.create("http://www.example.com"))
+            .withData(JsonCloudEventData.wrap(JsonUtils.fromValue(Map.of("orderId", "none"))))
+            .build();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    instances.forEach(WorkflowInstance::cancel);
+    appl.close();
+  }
+
+  @Benchmark
+  public void dispatch() {
+    events.dispatch(unmatchedEvent);
+  }
+
+  private static Workflow workflow(String expect) {
+    return WorkflowBuilder.workflow("wait-order-paid", "test", "0.1.0")
+        .tasks(
+            doTasks(
+                listen(
+                    "waitForPayment",
+                    l ->
+                        l.to(
+                            listenTo ->
+                                listenTo.one(
+                                    filter ->
+                                        filter
+                                            .with(props -> props.type(EVENT_TYPE))
+                                            .correlate(
+                                                "orderId",
+                                                cp -> cp.from(".data.orderId").expect(expect)))))))
+        .build();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(CorrelationDispatchBenchmark.class.getSimpleName())
+                .build())
+        .run();
+  }
+}
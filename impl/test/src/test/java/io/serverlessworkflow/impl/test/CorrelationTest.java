@@ -98,6 +98,39 @@ class CorrelationTest {
     assertCorrelateNoMatch(workflow);
   }
 
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("correlateWorkflowSources")
+  void testCorrelateAmongManyWaiting(String sourceName, Workflow workflow) throws Exception {
+    WorkflowDefinition def = appl.workflowDefinition(workflow);
+    List<WorkflowInstance> instances =
+        Stream.of("P1", "P2", "P3").map(id -> def.instance(Map.of("patientId", id))).toList();
+    List<CompletableFuture<WorkflowModel>> futures =
+        instances.stream().map(WorkflowInstance::start).toList();
+
+    await()
+        .pollDelay(Duration.ofMillis(5))
+        .atMost(Duration.ofSeconds(3))
+        .untilAsserted(
+            () ->
+                assertThat(instances)
+                    .allMatch(instance -> instance.status() == WorkflowStatus.WAITING));
+
+    appl.eventPublishers()
+        .forEach(
+            p ->
+                p.publish(
+                    buildCloudEvent(
+                        "com.example.hospital.patient.admitted",
+                        Map.of("patientId", "P2", "name", "John"))));
+
+    futures.get(1).get(2, TimeUnit.SECONDS);
+    assertThat(instances.get(1).status()).isEqualTo(WorkflowStatus.COMPLETED);
+    assertThat(instances.get(0).status()).isEqualTo(WorkflowStatus.WAITING);
+    assertThat(instances.get(2).status()).isEqualTo(WorkflowStatus.WAITING);
+    instances.get(0).cancel();
+    instances.get(2).cancel();
+  }
+
   private static Stream<Arguments> correlateWorkflowSources() throws IOException {
     return Stream.of(
             readWorkflowFromClasspath("workflows-samples/listen-correlate.yaml"),
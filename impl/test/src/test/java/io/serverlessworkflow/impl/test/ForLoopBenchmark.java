@@ -0,0 +1,114 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.test;
+
+import static io.serverlessworkflow.api.WorkflowReader.readWorkflowFromString;
+
+import io.serverlessworkflow.api.WorkflowFormat;
+import io.serverlessworkflow.impl.WorkflowApplication;
+import io.serverlessworkflow.impl.WorkflowDefinition;
+import io.serverlessworkflow.impl.WorkflowModel;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Throughput of a <code>for</code> task whose iterations wait one millisecond, simulating a remote
+ * call, executed sequentially (<code>maxConcurrency=1</code>) and in parallel.
+ *
+ * <p>Run with <code>mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=io.serverlessworkflow.impl.test.ForLoopBenchmark</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ForLoopBenchmark {
+
+  private static final String WORKFLOW =
+      """
+      document:
+        dsl: '1.0.0-alpha5'
+        namespace: test
+        name: for-benchmark
+        version: '0.1.0'
+      do:
+        - callAll:
+            metadata:
+              maxConcurrency: %d
+            for:
+              each: item
+              in: .items
+            do:
+              - remoteCall:
+                  wait:
+                    milliseconds: 1
+      """;
+
+  @Param({"1", "16", "64"})
+  public int maxConcurrency;
+
+  @Param({"256"})
+  public int items;
+
+  private WorkflowApplication appl;
+  private WorkflowDefinition definition;
+  private Map<String, Object> input;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    appl = WorkflowApplication.builder().build();
+    definition =
+        appl.workflowDefinition(
+            readWorkflowFromString(WORKFLOW.formatted(maxConcurrency), WorkflowFormat.YAML));
+    List<Integer> collection = IntStream.range(0, items).boxed().toList();
+    input = Map.of("items", collection);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    appl.close();
+  }
+
+  @Benchmark
+  public WorkflowModel loop() {
+    return definition.instance(input).start().join();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(ForLoopBenchmark.class.getSimpleName()).build()).run();
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.test;
+
+import static io.serverlessworkflow.api.WorkflowReader.readWorkflowFromClasspath;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import io.serverlessworkflow.impl.WorkflowApplication;
+import io.serverlessworkflow.impl.WorkflowException;
+import io.serverlessworkflow.impl.lifecycle.TaskCompletedEvent;
+import io.serverlessworkflow.impl.lifecycle.WorkflowExecutionListener;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class ForParallelFailureTest {
+
+  @Test
+  void testFailureWaitsForRunningIterations() throws IOException {
+    AtomicInteger processed = new AtomicInteger();
+    WorkflowExecutionListener listener =
+        new WorkflowExecutionListener() {
+          @Override
+          public void onTaskCompleted(TaskCompletedEvent ev) {
+            if (ev.taskContext().taskName().equals("processed")) {
+              processed.incrementAndGet();
+            }
+          }
+        };
+    try (WorkflowApplication appl = WorkflowApplication.builder().withListener(listener).build()) {
+      Throwable ex =
+          catchThrowable(
+              () ->
+                  appl.workflowDefinition(
+                          readWorkflowFromClasspath("workflows-samples/for-parallel-fail.yaml"))
+                      .instance(Map.of("input", List.of(1, 2, 3)))
+                      .start()
+                      .join());
+      assertThat(ex).hasRootCauseInstanceOf(WorkflowException.class);
+      // the first iteration was already running and finished before the task failed, while the
+      // third one was never started
+      assertThat(processed).hasValue(1);
+    }
+  }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.serverlessworkflow.api.WorkflowFormat;
+import io.serverlessworkflow.api.WorkflowReader;
+import io.serverlessworkflow.impl.WorkflowApplication;
+import io.serverlessworkflow.impl.config.AbstractConfigManager;
+import io.serverlessworkflow.impl.executors.http.CallableTaskHttpExecutorBuilder;
+import io.serverlessworkflow.impl.jackson.JsonUtils;
+import io.serverlessworkflow.impl.lifecycle.TaskCompletedEvent;
+import io.serverlessworkflow.impl.lifecycle.WorkflowExecutionListener;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import mockwebserver3.Dispatcher;
+import mockwebserver3.MockResponse;
+import mockwebserver3.MockWebServer;
+import mockwebserver3.RecordedRequest;
+import okhttp3.Headers;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Output of http calls is the same whether their output filter is pushed down or not, only the raw
+ * output is pruned
+ */
+class HttpProjectionPushdownTest {
+
+  private static final String OBJECT_BODY =
+      """
+      {
+        "page": {"size": 2, "items": [{"id": 1, "name": "a"}, {"id": 2, "name": "b"}]},
+        "links": {"next": "/2", "prev": null},
+        "tags": {"x": {"id": 3, "other": true}, "y": {"id": 4}}
+      }
+      """;
+
+  private static final String ARRAY_BODY =
+      """
+      [{"id": 1, "name": "a", "extra": [1, 2]}, {"id": 2, "name": "b"}, {"name": "c"}]
+      """;
+
+  private static final String WORKFLOW =
+      """
+      document:
+        dsl: '1.0.0'
+        namespace: test
+        name: projection-%d
+        version: '0.1.0'
+      do:
+        - getStub:
+            call: http
+            with:
+              method: get
+              endpoint: http://localhost:%d/%s
+            output:
+              as: '%s'
+      """;
+
+  private static final AtomicInteger counter = new AtomicInteger();
+
+  private static MockWebServer server;
+  private static WorkflowApplication pushdown;
+  private static WorkflowApplication noPushdown;
+
+  @BeforeAll
+  static void init() throws IOException {
+    server = new MockWebServer();
+    server.setDispatcher(
+        new Dispatcher() {
+          @Override
+          public MockResponse dispatch(RecordedRequest request) {
+            return new MockResponse(
+                200,
+                Headers.of("Content-Type", "application/json"),
+                request.getTarget().equals("/array") ? ARRAY_BODY : OBJECT_BODY);
+          }
+        });
+    server.start();
+    pushdown = WorkflowApplication.builder().build();
+    noPushdown =
+        WorkflowApplication.builder()
+            .withConfigManager(
+                new MapConfigManager(
+                    Map.of(CallableTaskHttpExecutorBuilder.PROJECTION_PUSHDOWN_PROPERTY, "false")))
+            .build();
+  }
+
+  @AfterAll
+  static void cleanup() {
+    pushdown.close();
+    noPushdown.close();
+    server.close();
+  }
+
+  @ParameterizedTest
+  @CsvSource(
+      delimiter = '|',
+      value = {
+        "object | .page",
+        "object | .page.items",
+        "object | .page.items[].id",
+        "object | .page.items[]",
+        "object | .links.prev",
+        "object | .missing",
+        "object | .missing.field",
+        "object | .tags[].id",
+        "object | .[]",
+        "object | ${ .page.size }",
+        "array  | .[].name",
+        "array  | .[].id",
+        "array  | .[].extra",
+        "array  | .[]",
+        "array  | .[0].name",
+        "array  | map(.id)"
+      })
+  void testSameOutput(String path, String filter) throws IOException {
+    Object expected = run(noPushdown, path, filter);
+    assertThat(run(pushdown, path, filter)).isEqualTo(expected);
+  }
+
+  @Test
+  void testRawOutputPruned() throws IOException {
+    assertThat(rawOutput(WorkflowApplication.builder(), ".page.size"))
+        .isEqualTo(Map.of("page", Map.of("size", 2)));
+    assertThat(
+            rawOutput(
+                WorkflowApplication.builder()
+                    .withConfigManager(
+                        new MapConfigManager(
+                            Map.of(
+                                CallableTaskHttpExecutorBuilder.PROJECTION_PUSHDOWN_PROPERTY,
+                                "false"))),
+                ".page.size"))
+        .isEqualTo(JsonUtils.mapper().readValue(OBJECT_BODY, Map.class));
+  }
+
+  private static Object rawOutput(WorkflowApplication.Builder builder, String filter)
+      throws IOException {
+    AtomicReference<Object> rawOutput = new AtomicReference<>();
+    try (WorkflowApplication appl =
+        builder
+            .withListener(
+                new WorkflowExecutionListener() {
+                  @Override
+                  public void onTaskCompleted(TaskCompletedEvent ev) {
+                    rawOutput.set(ev.taskContext().rawOutput().asJavaObject());
+                  }
+                })
+            .build()) {
+      run(appl, "object", filter);
+    }
+    return rawOutput.get();
+  }
+
+  private static Object run(WorkflowApplication appl, String path, String filter)
+      throws IOException {
+    return appl.workflowDefinition(
+            WorkflowReader.readWorkflowFromString(
+                WORKFLOW.formatted(counter.incrementAndGet(), server.getPort(), path, filter),
+                WorkflowFormat.YAML))
+        .instance(Map.of())
+        .start()
+        .join()
+        .asJavaObject();
+  }
+
+  private static class MapConfigManager extends AbstractConfigManager {
+    private final Map<String, String> config;
+
+    MapConfigManager(Map<String, String> config) {
+      this.config = config;
+    }
+
+    @Override
+    protected String get(String propName) {
+      return config.get(propName);
+    }
+
+    @Override
+    protected <T> T convertComplex(String value, Class<T> propClass) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Iterable<String> names() {
+      return config.keySet();
+    }
+  }
+}
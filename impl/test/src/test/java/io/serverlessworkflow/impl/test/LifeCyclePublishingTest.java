@@ -0,0 +1,210 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.test;
+
+import static io.serverlessworkflow.impl.LifecycleEvents.WORKFLOW_COMPLETED;
+import static io.serverlessworkflow.impl.LifecycleEvents.WORKFLOW_STARTED;
+import static io.serverlessworkflow.impl.LifecycleEvents.WORKFLOW_STATUS_CHANGED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.data.PojoCloudEventData;
+import io.serverlessworkflow.api.WorkflowReader;
+import io.serverlessworkflow.impl.WorkflowApplication;
+import io.serverlessworkflow.impl.WorkflowDefinition;
+import io.serverlessworkflow.impl.events.EventPublisher;
+import io.serverlessworkflow.impl.jackson.events.JacksonLifeCyclePublisher;
+import io.serverlessworkflow.impl.lifecycle.LifecycleEventType;
+import io.serverlessworkflow.impl.lifecycle.ce.LifeCyclePublishingConfig;
+import io.serverlessworkflow.impl.lifecycle.ce.WorkflowStatusCEDataEvent;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class LifeCyclePublishingTest {
+
+  private static class RecordingPublisher implements EventPublisher {
+
+    private final Collection<List<CloudEvent>> batches = new CopyOnWriteArrayList<>();
+
+    @Override
+    public CompletableFuture<Void> publish(CloudEvent event) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public void publishLifeCycle(CloudEvent event) {
+      batches.add(List.of(event));
+    }
+
+    @Override
+    public void publishLifeCycle(Collection<CloudEvent> events) {
+      batches.add(List.copyOf(events));
+    }
+
+    List<CloudEvent> events() {
+      return batches.stream().flatMap(List::stream).toList();
+    }
+
+    @Override
+    public void close() {}
+  }
+
+  @Test
+  void testBatched() throws IOException {
+    RecordingPublisher publisher = new RecordingPublisher();
+    try (WorkflowApplication appl =
+        application(
+            publisher,
+            LifeCyclePublishingConfig.builder().withFlushInterval(Duration.ofMillis(50)).build())) {
+      definition(appl).instance(Map.of()).start().join();
+      await()
+          .atMost(Duration.ofSeconds(2))
+          .until(() -> types(publisher.events()).contains(WORKFLOW_COMPLETED));
+      assertThat(publisher.batches.size()).isLessThan(publisher.events().size());
+      assertThat(types(publisher.events())).contains(WORKFLOW_STARTED, WORKFLOW_STATUS_CHANGED);
+    }
+  }
+
+  private static class BatchRecordingLifeCyclePublisher extends JacksonLifeCyclePublisher {
+
+    private final Collection<List<CloudEvent>> batches = new CopyOnWriteArrayList<>();
+
+    @Override
+    protected void publish(WorkflowApplication application, Collection<CloudEvent> batch) {
+      batches.add(List.copyOf(batch));
+    }
+  }
+
+  @Test
+  void testBatchedThroughPublisherHook() throws IOException {
+    RecordingPublisher publisher = new RecordingPublisher();
+    BatchRecordingLifeCyclePublisher lifeCyclePublisher = new BatchRecordingLifeCyclePublisher();
+    try (WorkflowApplication appl =
+        WorkflowApplication.builder()
+            .withEventPublisher(publisher)
+            .withListener(lifeCyclePublisher)
+            .withLifeCyclePublishing(
+                LifeCyclePublishingConfig.builder()
+                    .withTypes(List.of(LifecycleEventType.WORKFLOW_COMPLETED))
+                    .withFlushInterval(Duration.ofMinutes(1))
+                    .build())
+            .build()) {
+      definition(appl).instance(Map.of()).start().join();
+    }
+    assertThat(lifeCyclePublisher.batches)
+        .singleElement()
+        .satisfies(batch -> assertThat(types(batch)).containsExactly(WORKFLOW_COMPLETED));
+    // the publisher loaded from the class path still hands its own batches to the event publisher
+    assertThat(types(publisher.events())).containsExactly(WORKFLOW_COMPLETED);
+  }
+
+  @Test
+  void testFilteredTypes() throws IOException {
+    RecordingPublisher publisher = new RecordingPublisher();
+    try (WorkflowApplication appl =
+        application(
+            publisher,
+            LifeCyclePublishingConfig.builder()
+                .withTypes(
+                    List.of(
+                        LifecycleEventType.WORKFLOW_STARTED, LifecycleEventType.WORKFLOW_COMPLETED))
+                .build())) {
+      definition(appl).instance(Map.of()).start().join();
+    }
+    assertThat(types(publisher.events())).containsExactly(WORKFLOW_STARTED, WORKFLOW_COMPLETED);
+  }
+
+  @Test
+  void testSampling() throws IOException {
+    RecordingPublisher publisher = new RecordingPublisher();
+    try (WorkflowApplication appl =
+        application(
+            publisher,
+            LifeCyclePublishingConfig.builder()
+                .withTypes(List.of(LifecycleEventType.WORKFLOW_STARTED))
+                .withSamplingRate(0.5)
+                .build())) {
+      WorkflowDefinition definition = definition(appl);
+      IntStream.range(0, 200).forEach(i -> definition.instance(Map.of()).start().join());
+    }
+    assertThat(publisher.events()).hasSizeBetween(50, 150);
+  }
+
+  @Test
+  void testDefinitionSampling() throws IOException {
+    RecordingPublisher publisher = new RecordingPublisher();
+    try (WorkflowApplication appl = WorkflowApplication.builder().build()) {
+      WorkflowDefinition definition = definition(appl);
+      try (WorkflowApplication sampledAppl =
+          application(
+              publisher,
+              LifeCyclePublishingConfig.builder().withSamplingRate(definition.id(), 0).build())) {
+        definition(sampledAppl).instance(Map.of()).start().join();
+      }
+    }
+    assertThat(publisher.events()).isEmpty();
+  }
+
+  @Test
+  void testCoalesceStatusChanges() throws IOException {
+    RecordingPublisher publisher = new RecordingPublisher();
+    try (WorkflowApplication appl =
+        application(
+            publisher,
+            LifeCyclePublishingConfig.builder()
+                .withTypes(List.of(LifecycleEventType.WORKFLOW_STATUS_CHANGED))
+                .coalesceStatusChanges()
+                .withFlushInterval(Duration.ofMinutes(1))
+                .build())) {
+      definition(appl).instance(Map.of()).start().join();
+    }
+    assertThat(publisher.batches).hasSize(1);
+    assertThat(publisher.events())
+        .singleElement()
+        .satisfies(
+            ce ->
+                assertThat(
+                        ((WorkflowStatusCEDataEvent)
+                                ((PojoCloudEventData<?>) ce.getData()).getValue())
+                            .status())
+                    .isEqualTo("COMPLETED"));
+  }
+
+  private static WorkflowApplication application(
+      EventPublisher publisher, LifeCyclePublishingConfig config) {
+    return WorkflowApplication.builder()
+        .withEventPublisher(publisher)
+        .withLifeCyclePublishing(config)
+        .build();
+  }
+
+  private static WorkflowDefinition definition(WorkflowApplication appl) throws IOException {
+    return appl.workflowDefinition(
+        WorkflowReader.readWorkflowFromClasspath("workflows-samples/simple-expression.yaml"));
+  }
+
+  private static List<String> types(List<CloudEvent> events) {
+    return events.stream().map(CloudEvent::getType).toList();
+  }
+}
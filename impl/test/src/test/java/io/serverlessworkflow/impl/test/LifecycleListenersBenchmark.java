@@ -0,0 +1,140 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.test;
+
+import static io.serverlessworkflow.api.WorkflowReader.readWorkflowFromString;
+
+import io.serverlessworkflow.api.WorkflowFormat;
+import io.serverlessworkflow.impl.WorkflowApplication;
+import io.serverlessworkflow.impl.WorkflowDefinition;
+import io.serverlessworkflow.impl.WorkflowModel;
+import io.serverlessworkflow.impl.lifecycle.TaskCompletedEvent;
+import io.serverlessworkflow.impl.lifecycle.TaskStartedEvent;
+import io.serverlessworkflow.impl.lifecycle.WorkflowExecutionListener;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Latency of a workflow made of 50 <code>set</code> tasks, with lifecycle cloud event publishing
+ * disabled and no listener (<code>listeners=false</code>), so no lifecycle event is ever built, and
+ * with a listener counting started and completed tasks.
+ *
+ * <p>Run with <code>mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=io.serverlessworkflow.impl.test.LifecycleListenersBenchmark</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LifecycleListenersBenchmark {
+
+  private static final String WORKFLOW =
+      """
+      document:
+        dsl: '1.0.0-alpha5'
+        namespace: test
+        name: listeners-benchmark
+        version: '0.1.0'
+      do:
+      %s""";
+
+  private static final String TASK =
+      """
+        - task%d:
+            set:
+              value: %d
+      """;
+
+  @Param({"50"})
+  public int tasks;
+
+  @Param({"false", "true"})
+  public boolean listeners;
+
+  private WorkflowApplication appl;
+  private WorkflowDefinition definition;
+
+  private static class TaskCounterListener implements WorkflowExecutionListener {
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+
+    @Override
+    public void onTaskStarted(TaskStartedEvent ev) {
+      started.increment();
+    }
+
+    @Override
+    public void onTaskCompleted(TaskCompletedEvent ev) {
+      completed.increment();
+    }
+  }
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    WorkflowApplication.Builder builder =
+        WorkflowApplication.builder().disableLifeCycleCEPublishing();
+    if (listeners) {
+      builder.withListener(new TaskCounterListener());
+    }
+    appl = builder.build();
+    definition =
+        appl.workflowDefinition(
+            readWorkflowFromString(
+                WORKFLOW.formatted(
+                    IntStream.range(0, tasks)
+                        .mapToObj(i -> TASK.formatted(i, i))
+                        .collect(Collectors.joining())),
+                WorkflowFormat.YAML));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    appl.close();
+  }
+
+  @Benchmark
+  public WorkflowModel run() {
+    return definition.instance(Map.of()).start().join();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder().include(LifecycleListenersBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
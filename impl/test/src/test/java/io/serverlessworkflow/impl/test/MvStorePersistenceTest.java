@@ -18,9 +18,11 @@ package io.serverlessworkflow.impl.test;
 import static io.serverlessworkflow.api.WorkflowReader.readWorkflowFromClasspath;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.cloudevents.core.builder.CloudEventBuilder;
 import io.serverlessworkflow.impl.WorkflowApplication;
 import io.serverlessworkflow.impl.WorkflowDefinition;
 import io.serverlessworkflow.impl.WorkflowInstance;
+import io.serverlessworkflow.impl.WorkflowModel;
 import io.serverlessworkflow.impl.WorkflowStatus;
 import io.serverlessworkflow.impl.lifecycle.TraceExecutionListener;
 import io.serverlessworkflow.impl.persistence.DefaultPersistenceInstanceHandlers;
@@ -28,13 +30,17 @@ import io.serverlessworkflow.impl.persistence.PersistenceApplicationBuilder;
 import io.serverlessworkflow.impl.persistence.PersistenceInstanceHandlers;
 import io.serverlessworkflow.impl.persistence.mvstore.MVStorePersistenceStore;
 import java.io.IOException;
+import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 import org.awaitility.Awaitility;
 import org.junit.jupiter.api.Test;
@@ -107,6 +113,114 @@ public class MvStorePersistenceTest {
     runIt("db-samples/suspended_v1.db", WorkflowStatus.SUSPENDED);
   }
 
+  @Test
+  void testRestoreParallelLoop() throws IOException {
+    final String dbName = "db-samples/parallel.db";
+    final String applicationId = "parallel-restore";
+    String instanceId;
+    try {
+      TaskCounterPerInstanceListener firstRun = new TaskCounterPerInstanceListener();
+      try (PersistenceInstanceHandlers handlers =
+              DefaultPersistenceInstanceHandlers.from(new MVStorePersistenceStore(dbName));
+          WorkflowApplication application =
+              PersistenceApplicationBuilder.builder(
+                      WorkflowApplication.builder().withId(applicationId).withListener(firstRun),
+                      handlers.writer())
+                  .build()) {
+        WorkflowInstance instance =
+            application
+                .workflowDefinition(
+                    readWorkflowFromClasspath("workflows-samples/for-parallel-listen.yaml"))
+                .instance(Map.of("input", List.of(1, 2, 3)));
+        instance.start();
+        // the three set tasks are done and every iteration is listening
+        Awaitility.await()
+            .atMost(Duration.ofSeconds(5))
+            .until(() -> firstRun.taskCounter(instance.id()).started() == 7);
+        instanceId = instance.id();
+      }
+      TaskCounterPerInstanceListener taskCounter = new TaskCounterPerInstanceListener();
+      try (PersistenceInstanceHandlers handlers =
+              DefaultPersistenceInstanceHandlers.from(new MVStorePersistenceStore(dbName));
+          WorkflowApplication application =
+              PersistenceApplicationBuilder.builder(
+                      WorkflowApplication.builder().withId(applicationId).withListener(taskCounter),
+                      handlers.writer())
+                  .build()) {
+        WorkflowDefinition definition =
+            application.workflowDefinition(
+                readWorkflowFromClasspath("workflows-samples/for-parallel-listen.yaml"));
+        WorkflowInstance instance = handlers.reader().find(definition, instanceId).orElseThrow();
+        instance.start();
+        // every iteration restores its own set task rather than running it again
+        Awaitility.await()
+            .atMost(Duration.ofSeconds(5))
+            .until(() -> taskCounter.taskCounter(instanceId).started() >= 4);
+        assertThat(instance.status()).isEqualTo(WorkflowStatus.WAITING);
+        assertThat(taskCounter.taskCounter(instanceId).started()).isEqualTo(4);
+        assertThat(taskCounter.taskCounter(instanceId).completed()).isEqualTo(0);
+      }
+    } finally {
+      Files.deleteIfExists(Path.of(dbName));
+    }
+  }
+
+  @Test
+  void testRestoreChangedContext() throws Exception {
+    final String dbName = "db-samples/context.db";
+    final String applicationId = "context-restore";
+    String instanceId;
+    try {
+      try (PersistenceInstanceHandlers handlers =
+              DefaultPersistenceInstanceHandlers.from(new MVStorePersistenceStore(dbName));
+          WorkflowApplication application =
+              PersistenceApplicationBuilder.builder(
+                      WorkflowApplication.builder().withId(applicationId), handlers.writer())
+                  .build()) {
+        WorkflowInstance instance =
+            application
+                .workflowDefinition(
+                    readWorkflowFromClasspath("workflows-samples/export-listen.yaml"))
+                .instance(Map.of());
+        instance.start();
+        Awaitility.await()
+            .atMost(Duration.ofSeconds(5))
+            .until(() -> instance.status() == WorkflowStatus.WAITING);
+        instanceId = instance.id();
+      }
+      try (PersistenceInstanceHandlers handlers =
+              DefaultPersistenceInstanceHandlers.from(new MVStorePersistenceStore(dbName));
+          WorkflowApplication application =
+              PersistenceApplicationBuilder.builder(
+                      WorkflowApplication.builder().withId(applicationId), handlers.writer())
+                  .build()) {
+        WorkflowDefinition definition =
+            application.workflowDefinition(
+                readWorkflowFromClasspath("workflows-samples/export-listen.yaml"));
+        WorkflowInstance instance = handlers.reader().find(definition, instanceId).orElseThrow();
+        CompletableFuture<WorkflowModel> future = instance.start();
+        Awaitility.await()
+            .atMost(Duration.ofSeconds(5))
+            .until(() -> instance.status() == WorkflowStatus.WAITING);
+        application
+            .eventPublishers()
+            .forEach(
+                p ->
+                    p.publish(
+                        CloudEventBuilder.v1()
+                            .withId("1")
+                            .withType("go")
+                            .withSource(URI.create("http://www.example.com"))
+                            .build()));
+        // the context exported by the first two tasks, the third one left it unchanged
+        assertThat(future.get(5, TimeUnit.SECONDS).asMap().orElseThrow())
+            .isEqualTo(Map.of("first", 1, "second", 2));
+      }
+    } finally {
+      Files.deleteIfExists(Path.of(dbName));
+    }
+  }
+
   private void runIt(String dbName, WorkflowStatus expectedStatus) throws IOException {
     TaskCounterPerInstanceListener taskCounter = new TaskCounterPerInstanceListener();
     try (PersistenceInstanceHandlers handlers =
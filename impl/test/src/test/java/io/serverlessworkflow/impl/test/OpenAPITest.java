@@ -18,6 +18,7 @@ package io.serverlessworkflow.impl.test;
 import static io.serverlessworkflow.api.WorkflowReader.readWorkflowFromClasspath;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -25,8 +26,10 @@ import io.serverlessworkflow.api.types.Workflow;
 import io.serverlessworkflow.impl.WorkflowApplication;
 import io.serverlessworkflow.impl.WorkflowDefinition;
 import io.serverlessworkflow.impl.WorkflowException;
+import io.serverlessworkflow.impl.resources.DefaultResourceLoader;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -101,12 +104,15 @@ public class OpenAPITest {
     try (InputStream is = OpenAPITest.class.getResourceAsStream("/schema/openapi/openapi.yaml")) {
       yaml = is.readAllBytes();
     }
+    // revalidate the cached document on every use, as the caching tests expect
+    System.setProperty(DefaultResourceLoader.TTL_PROPERTY, "0");
     app = WorkflowApplication.builder().build();
   }
 
   @AfterAll
   static void cleanup() {
     app.close();
+    System.clearProperty(DefaultResourceLoader.TTL_PROPERTY);
   }
 
   @BeforeEach
@@ -244,7 +250,43 @@ public class OpenAPITest {
 
     assertData(definition.instance().start().get().asMap().orElseThrow());
     openAPIRequest = openApiServer.takeRequest();
-    assertEquals("HEAD", openAPIRequest.getMethod());
+    // the cached document is returned right away and revalidated in background
+    assertEquals("GET", openAPIRequest.getMethod());
+    assertNotNull(openAPIRequest.getHeader("If-Modified-Since"));
+  }
+
+  @Test
+  public void testOpenAPIServerFailover() throws Exception {
+    Workflow workflow =
+        readWorkflowFromClasspath("workflows-samples/openapi/get-user-get-request.yaml");
+
+    yamlBuffer.clear();
+    yamlBuffer.writeUtf8(
+        new String(yaml, StandardCharsets.UTF_8)
+            .replace("servers:\n", "servers:\n  - url: http://127.0.0.1:8885/api/v1\n"));
+    openApiServer.enqueue(
+        new MockResponse()
+            .setBody(yamlBuffer)
+            .setHeader("Content-Type", "application/yaml")
+            .setResponseCode(200));
+
+    MockWebServer unavailableServer = new MockWebServer();
+    unavailableServer.start(8885);
+    // a new application, so the document is not already cached by a previous test
+    try (WorkflowApplication failoverApp = WorkflowApplication.builder().build()) {
+      unavailableServer.enqueue(new MockResponse().setResponseCode(503));
+      restServer.enqueue(
+          new MockResponse()
+              .setBody(PROJECT_GET_JSON_POSITIVE)
+              .setHeader("Content-Type", "application/json")
+              .setResponseCode(200));
+
+      assertData(
+          failoverApp.workflowDefinition(workflow).instance().start().get().asMap().orElseThrow());
+      assertEquals(1, unavailableServer.getRequestCount());
+    } finally {
+      unavailableServer.shutdown();
+    }
   }
 
   private void assertData(Map<String, Object> result) throws InterruptedException {
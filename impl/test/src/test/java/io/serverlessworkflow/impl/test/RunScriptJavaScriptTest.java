@@ -20,6 +20,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import io.serverlessworkflow.api.WorkflowReader;
 import io.serverlessworkflow.api.types.Workflow;
 import io.serverlessworkflow.impl.WorkflowApplication;
+import io.serverlessworkflow.impl.WorkflowDefinition;
 import io.serverlessworkflow.impl.WorkflowException;
 import io.serverlessworkflow.impl.WorkflowModel;
 import java.io.IOException;
@@ -122,6 +123,20 @@ public class RunScriptJavaScriptTest {
     }
   }
 
+  @Test
+  void testConsecutiveRunsAreIsolated() throws IOException {
+    Workflow workflow =
+        WorkflowReader.readWorkflowFromClasspath(
+            "workflows-samples/run-script/console-log-declarations.yaml");
+    try (WorkflowApplication appl = WorkflowApplication.builder().build()) {
+      WorkflowDefinition definition = appl.workflowDefinition(workflow);
+      for (int i = 0; i < 3; i++) {
+        WorkflowModel model = definition.instance(Map.of()).start().join();
+        Assertions.assertThat(model.asText()).contains("undefined hello");
+      }
+    }
+  }
+
   @Test
   void testFunctionThrowingError() throws IOException {
     Workflow workflow =
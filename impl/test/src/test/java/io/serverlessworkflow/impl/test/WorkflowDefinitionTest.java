@@ -88,6 +88,14 @@ public class WorkflowDefinitionTest {
             "workflows-samples/for-collect.yaml",
             Map.of("input", Arrays.asList(1, 2, 3)),
             o -> assertThat(o).isEqualTo(Map.of("output", Arrays.asList(2, 4, 6)))),
+        args(
+            "workflows-samples/for-parallel.yaml",
+            Map.of("input", Arrays.asList(1, 2, 3, 4, 5)),
+            o -> assertThat(o).isEqualTo(Arrays.asList(2, 5, 8, 11, 14))),
+        args(
+            "workflows-samples/for-parallel-last.yaml",
+            Map.of("input", Arrays.asList(1, 2, 3, 4, 5)),
+            o -> assertThat(o).isEqualTo(Map.of("value", 14))),
         args(
             "workflows-samples/simple-expression.yaml",
             Map.of("input", Arrays.asList(1, 2, 3)),
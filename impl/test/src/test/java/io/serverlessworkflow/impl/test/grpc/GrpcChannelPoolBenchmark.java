@@ -0,0 +1,117 @@
+/*
+ * Copyright 2020-Present The Serverless Workflow Specification Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.serverlessworkflow.impl.test.grpc;
+
+import static io.serverlessworkflow.fluent.spec.dsl.DSL.*;
+
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.serverlessworkflow.fluent.spec.WorkflowBuilder;
+import io.serverlessworkflow.impl.WorkflowApplication;
+import io.serverlessworkflow.impl.WorkflowDefinition;
+import io.serverlessworkflow.impl.WorkflowModel;
+import io.serverlessworkflow.impl.executors.grpc.GrpcChannelPool;
+import io.serverlessworkflow.impl.test.grpc.handlers.PersonUnaryHandler;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Unary gRPC calls per second against a local server, opening a channel per call (<code>
+ * pooled=false</code>) or reusing the channels of {@link GrpcChannelPool}.
+ *
+ * <p>Run with <code>mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=io.serverlessworkflow.impl.test.grpc.GrpcChannelPoolBenchmark</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class GrpcChannelPoolBenchmark {
+
+  private static final int PORT = 5019;
+
+  @Param({"false", "true"})
+  public boolean pooled;
+
+  private Server server;
+  private GrpcChannelPool pool;
+  private WorkflowApplication appl;
+  private WorkflowDefinition definition;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    server = ServerBuilder.forPort(PORT).addService(new PersonUnaryHandler()).build().start();
+    pool =
+        GrpcChannelPool.builder()
+            .withMaxChannelsPerTarget(pooled ? GrpcChannelPool.DEFAULT_MAX_CHANNELS_PER_TARGET : 0)
+            .build();
+    appl =
+        WorkflowApplication.builder()
+            .withAdditionalObject(GrpcChannelPool.GRPC_CHANNEL_POOL, () -> pool)
+            .build();
+    definition =
+        appl.workflowDefinition(
+            WorkflowBuilder.workflow("grpc-channel-pool", "test", "0.1.0")
+                .tasks(
+                    doTasks(
+                        call(
+                            "greet",
+                            grpc()
+                                .proto("workflows-samples/grpc/proto/person.proto")
+                                .service("Person", "localhost", PORT)
+                                .method("GetPerson"))))
+                .build());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws InterruptedException {
+    appl.close();
+    pool.close();
+    server.shutdownNow();
+    server.awaitTermination(10, TimeUnit.SECONDS);
+  }
+
+  @Benchmark
+  public WorkflowModel unaryCall() {
+    return definition.instance(Map.of()).start().join();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(GrpcChannelPoolBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
@@ -28,12 +28,17 @@ import io.serverlessworkflow.impl.WorkflowApplication;
 import io.serverlessworkflow.impl.WorkflowDefinition;
 import io.serverlessworkflow.impl.WorkflowDefinitionId;
 import io.serverlessworkflow.impl.WorkflowModel;
+import io.serverlessworkflow.impl.executors.grpc.GrpcExecutor;
+import io.serverlessworkflow.impl.executors.grpc.GrpcStreamSink;
 import io.serverlessworkflow.impl.test.grpc.handlers.ContributorServerStreamingHandler;
 import io.serverlessworkflow.impl.test.junit.DisabledIfProtocUnavailable;
 import java.io.IOException;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 import org.assertj.core.api.Assertions;
@@ -97,6 +102,32 @@ public class GrpcServerStreamingTest {
     Assertions.assertThat(collection).hasSize(5);
   }
 
+  @Test
+  void grpcContributorsStreamSink() throws IOException {
+    List<WorkflowModel> received = new CopyOnWriteArrayList<>();
+    GrpcStreamSink sink =
+        (workflowContext, taskContext, message) -> {
+          received.add(message);
+          return CompletableFuture.completedFuture(null);
+        };
+    try (WorkflowApplication sinkApp =
+        WorkflowApplication.builder()
+            .withAdditionalObject(GrpcExecutor.GRPC_STREAM_SINK, (w, t) -> sink)
+            .build()) {
+      WorkflowModel model =
+          sinkApp
+              .workflowDefinition(
+                  readWorkflowFromClasspath(
+                      "workflows-samples/grpc/contributors-server-stream-call.yaml"))
+              .instance(Map.of())
+              .start()
+              .join();
+
+      assertThat(model.asNumber().map(Number::longValue)).contains(5L);
+      assertThat(received).hasSize(5);
+    }
+  }
+
   @ParameterizedTest(name = "{0}")
   @MethodSource("contributorsServerStreamSources")
   void testContributorsServerStreamDsl(String sourceName, Workflow workflow) throws IOException {
@@ -115,6 +115,26 @@ public class GrpcUnaryTest {
     assertThat(output).contains(Map.entry("name", "John Doe"), Map.entry("id", 891182));
   }
 
+  @Test
+  void grpcPersonPrecompiledDescriptor() {
+    Workflow workflow =
+        WorkflowBuilder.workflow("grpc-descriptor-set-example", "test", "0.1.0")
+            .tasks(
+                doTasks(
+                    call(
+                        "greet",
+                        grpc()
+                            .proto("workflows-samples/grpc/proto/person.protobin")
+                            .service("Person", "localhost", PORT_FOR_EXAMPLES)
+                            .method("GetPerson"))))
+            .build();
+
+    Map<String, Object> output =
+        app.workflowDefinition(workflow).instance(Map.of()).start().join().asMap().orElseThrow();
+
+    assertThat(output).contains(Map.entry("name", "John Doe"), Map.entry("id", 891182));
+  }
+
   private static Stream<Arguments> getPersonCallSources() throws IOException {
     return Stream.of(
             readWorkflowFromClasspath("workflows-samples/grpc/get-person-call.yaml"),